@@ -0,0 +1,71 @@
+/*
+ * Copyright 2014-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.utflute.guice.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.dbflute.utflute.guice.benchmark.fixture.BenchmarkContainerTestCase;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The benchmark of container initialization, Guice.createInjector() via xinitializeContainer(). <br>
+ * Module element replay is compared, which skips configuring modules.
+ * @author jflute
+ * @since 0.9.9 (2026/10/18 Sunday)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ContainerBuildBenchmark {
+
+    @Param({ "true", "false" })
+    public boolean moduleElementReplay;
+
+    protected BenchmarkContainerTestCase _testCase;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        _testCase = new BenchmarkContainerTestCase();
+        _testCase.setUseModuleElementReplay(moduleElementReplay);
+        _testCase.prepareContainer();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        _testCase.destroyContainer();
+    }
+
+    @Benchmark
+    public Object initializeContainer() {
+        _testCase.rebuildContainer();
+        return _testCase;
+    }
+}
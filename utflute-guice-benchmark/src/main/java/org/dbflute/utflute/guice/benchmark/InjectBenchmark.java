@@ -0,0 +1,73 @@
+/*
+ * Copyright 2014-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.utflute.guice.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.dbflute.utflute.guice.benchmark.fixture.BenchmarkAction;
+import org.dbflute.utflute.guice.benchmark.fixture.BenchmarkContainerTestCase;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The benchmark of inject() to action bean, which has super class and several annotations. <br>
+ * The cached injection plan is compared with the component binder of UTFlute core.
+ * @author jflute
+ * @since 0.9.9 (2026/10/18 Sunday)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InjectBenchmark {
+
+    @Param({ "true", "false" })
+    public boolean injectionPlanCache;
+
+    protected BenchmarkContainerTestCase _testCase;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        _testCase = new BenchmarkContainerTestCase();
+        _testCase.setUseInjectionPlanCache(injectionPlanCache);
+        _testCase.prepareContainer();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        _testCase.destroyContainer();
+    }
+
+    @Benchmark
+    public Object injectAction() {
+        final BenchmarkAction action = new BenchmarkAction();
+        _testCase.injectBean(action);
+        return action;
+    }
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright 2014-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.utflute.guice.benchmark.fixture;
+
+/**
+ * The action for inject() benchmark, like FooAction of the tests.
+ * @author jflute
+ * @since 0.9.9 (2026/10/18 Sunday)
+ */
+public class BenchmarkAction {
+
+    @javax.inject.Inject
+    protected BenchmarkBhv benchmarkBhv;
+
+    @com.google.inject.Inject
+    protected BenchmarkFacade benchmarkFacade;
+
+    @com.google.inject.Inject
+    private BenchmarkFacade benchmarkHelper;
+
+    @com.google.inject.Inject
+    protected BenchmarkLogic benchmarkLogic;
+
+    @com.google.inject.Inject
+    private BenchmarkService benchmarkService;
+
+    public BenchmarkFacade facadeInstance() {
+        return benchmarkFacade;
+    }
+
+    public BenchmarkService serviceInstance() {
+        return benchmarkService;
+    }
+
+    public BenchmarkFacade helperInstance() {
+        return benchmarkHelper;
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright 2014-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.utflute.guice.benchmark.fixture;
+
+import java.util.List;
+
+import org.dbflute.utflute.core.transaction.TransactionResource;
+import org.dbflute.utflute.guice.ContainerTestCase;
+
+import com.google.inject.Module;
+
+/**
+ * The test case for benchmark, which opens the container handling of test case as public methods. <br>
+ * It is not run by JUnit, benchmark state calls the methods directly.
+ * @author jflute
+ * @since 0.9.9 (2026/10/18 Sunday)
+ */
+public class BenchmarkContainerTestCase extends ContainerTestCase {
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected boolean _useModuleElementReplay = true;
+    protected boolean _useInjectionPlanCache = true;
+
+    // ===================================================================================
+    //                                                                            Settings
+    //                                                                            ========
+    @Override
+    protected List<Module> prepareModuleList() {
+        final List<Module> moduleList = super.prepareModuleList();
+        BenchmarkModuleFactory.setupModuleList(moduleList);
+        return moduleList;
+    }
+
+    @Override
+    protected boolean isUseModuleElementReplay() {
+        return _useModuleElementReplay;
+    }
+
+    @Override
+    protected boolean isUseInjectionPlanCache() {
+        return _useInjectionPlanCache;
+    }
+
+    @Override
+    protected boolean isUseContainerMetricsSummary() {
+        return false; // JMH has its own result
+    }
+
+    // ===================================================================================
+    //                                                                 Container Operation
+    //                                                                 ===================
+    /**
+     * Prepare the container as setUp() of test case, recycled if cached.
+     */
+    public void prepareContainer() {
+        xprepareTestCaseContainer();
+        inject(this); // e.g. transaction manager
+    }
+
+    /**
+     * Destroy the current container and prepare new one, which is initialization path.
+     */
+    public void rebuildContainer() {
+        xreleaseContainer();
+        xdestroyContainer();
+        xprepareTestCaseContainer();
+    }
+
+    /**
+     * Release the container as tearDown() of test case.
+     */
+    public void releaseContainer() {
+        xreleaseContainer();
+    }
+
+    /**
+     * Release and destroy the container. e.g. end of benchmark
+     */
+    public void destroyContainer() {
+        xreleaseContainer();
+        xdestroyContainer();
+    }
+
+    public void injectBean(Object bean) {
+        inject(bean);
+    }
+
+    public TransactionResource beginTransaction() {
+        return beginNewTransaction();
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public void setUseModuleElementReplay(boolean useModuleElementReplay) {
+        _useModuleElementReplay = useModuleElementReplay;
+    }
+
+    public void setUseInjectionPlanCache(boolean useInjectionPlanCache) {
+        _useInjectionPlanCache = useInjectionPlanCache;
+    }
+}
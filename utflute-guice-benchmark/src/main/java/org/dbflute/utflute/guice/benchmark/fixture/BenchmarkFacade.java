@@ -0,0 +1,35 @@
+/*
+ * Copyright 2014-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.utflute.guice.benchmark.fixture;
+
+import com.google.inject.Inject;
+
+/**
+ * @author jflute
+ * @since 0.9.9 (2026/10/18 Sunday)
+ */
+public class BenchmarkFacade extends BenchmarkBaseFacade {
+
+    @Inject
+    private BenchmarkBhv benchmarkBhv; // same name as super's
+
+    @Inject
+    protected BenchmarkLogic benchmarkLogic;
+
+    public BenchmarkBhv myBehaviorInstance() {
+        return benchmarkBhv;
+    }
+}
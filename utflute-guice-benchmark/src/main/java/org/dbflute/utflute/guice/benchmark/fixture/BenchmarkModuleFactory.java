@@ -0,0 +1,106 @@
+/*
+ * Copyright 2014-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.utflute.guice.benchmark.fixture;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.sql.DataSource;
+import javax.transaction.SystemException;
+import javax.transaction.TransactionManager;
+import javax.transaction.UserTransaction;
+
+import com.atomikos.icatch.jta.UserTransactionImp;
+import com.atomikos.icatch.jta.UserTransactionManager;
+import com.atomikos.jdbc.AtomikosNonXADataSourceBean;
+import com.google.inject.AbstractModule;
+import com.google.inject.Binder;
+import com.google.inject.Module;
+
+/**
+ * The factory of modules for benchmark, same structure as MockUnitTestCase of the tests. <br>
+ * The database is in-memory H2 (instead of the file of the tests) not to depend on build directory.
+ * @author jflute
+ * @since 0.9.9 (2026/10/18 Sunday)
+ */
+public class BenchmarkModuleFactory {
+
+    // ===================================================================================
+    //                                                                          Definition
+    //                                                                          ==========
+    /** The sequence of resource name, Atomikos needs unique name per data source. */
+    protected static final AtomicInteger _resourceSequence = new AtomicInteger();
+
+    // ===================================================================================
+    //                                                                         Module List
+    //                                                                         ===========
+    public static void setupModuleList(List<Module> moduleList) {
+        final Module appModule = new Module() {
+            public void configure(Binder binder) {
+                binder.bind(BenchmarkBhv.class).toInstance(new BenchmarkBhv());
+                binder.bind(BenchmarkFacade.class).toInstance(new BenchmarkFacade());
+                binder.bind(BenchmarkLogic.class).toInstance(new BenchmarkLogic());
+                binder.bind(BenchmarkService.class).toInstance(new BenchmarkService());
+            }
+        };
+        moduleList.add(appModule);
+        moduleList.add(new TransactionModule(createDataSource()));
+    }
+
+    protected static DataSource createDataSource() {
+        final AtomikosNonXADataSourceBean bean = new AtomikosNonXADataSourceBean();
+        bean.setUniqueResourceName("BENCHMARKDB" + _resourceSequence.incrementAndGet());
+        bean.setDriverClassName("org.h2.Driver");
+        bean.setUrl("jdbc:h2:mem:benchmarkdb;DB_CLOSE_DELAY=-1");
+        bean.setUser("sa");
+        bean.setPassword("");
+        bean.setPoolSize(20);
+        bean.setBorrowConnectionTimeout(60);
+        return bean;
+    }
+
+    // ===================================================================================
+    //                                                                  Transaction Module
+    //                                                                  ==================
+    public static class TransactionModule extends AbstractModule {
+
+        protected final DataSource _dataSource;
+
+        public TransactionModule(DataSource dataSource) {
+            if (dataSource == null) {
+                String msg = "The argument 'dataSource' should not be null!";
+                throw new IllegalArgumentException(msg);
+            }
+            _dataSource = dataSource;
+        }
+
+        @Override
+        protected void configure() {
+            try {
+                final UserTransactionImp userTransactionImp = new UserTransactionImp();
+                userTransactionImp.setTransactionTimeout(300);
+                UserTransactionManager userTransactionManager = new UserTransactionManager();
+                userTransactionManager.setForceShutdown(true);
+                userTransactionManager.init();
+                bind(UserTransaction.class).toInstance(userTransactionImp);
+                bind(TransactionManager.class).toInstance(userTransactionManager);
+                bind(DataSource.class).toInstance(_dataSource);
+            } catch (SystemException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright 2014-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.utflute.guice.benchmark.fixture;
+
+import java.util.List;
+
+import org.dbflute.utflute.guice.web.WebContainerTestCase;
+
+import com.google.inject.Module;
+
+/**
+ * The web test case for benchmark, which opens the web-mock preparation as public method. <br>
+ * Mock instances are not kept (registration is simple list addition) not to grow per invocation.
+ * @author jflute
+ * @since 0.9.9 (2026/10/18 Sunday)
+ */
+public class BenchmarkWebTestCase extends WebContainerTestCase {
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected Object _latestMock; // for benchmark to consume
+
+    // ===================================================================================
+    //                                                                            Settings
+    //                                                                            ========
+    @Override
+    protected List<Module> prepareModuleList() {
+        final List<Module> moduleList = super.prepareModuleList();
+        BenchmarkModuleFactory.setupModuleList(moduleList);
+        return moduleList;
+    }
+
+    @Override
+    protected boolean isUseContainerMetricsSummary() {
+        return false; // JMH has its own result
+    }
+
+    @Override
+    protected void registerMockInstance(Object mock) {
+        _latestMock = mock;
+    }
+
+    // ===================================================================================
+    //                                                                 Container Operation
+    //                                                                 ===================
+    /**
+     * Prepare the container and web mocks as setUp() of web test case.
+     */
+    public void prepareContainer() {
+        xprepareTestCaseContainer();
+    }
+
+    /**
+     * Prepare the web mocks only. e.g. request, response, session
+     * @return The latest registered mock. (NotNull)
+     */
+    public Object prepareWebMock() {
+        xdoPrepareWebMockContext();
+        return _latestMock;
+    }
+
+    public void destroyContainer() {
+        xreleaseContainer();
+        xdestroyContainer();
+    }
+}
@@ -15,12 +15,16 @@
  */
 package org.dbflute.utflute.guice.web;
 
+import java.util.Map;
+
 import javax.servlet.ServletContext;
 import javax.servlet.http.Cookie;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpSession;
 
 import org.dbflute.utflute.guice.ContainerTestCase;
+import org.dbflute.utflute.guice.container.GuiceContainerEntry;
+import org.dbflute.utflute.guice.container.GuiceContainerFingerprint;
 import org.dbflute.utflute.mocklet.MockletHttpServletRequest;
 import org.dbflute.utflute.mocklet.MockletHttpServletRequestImpl;
 import org.dbflute.utflute.mocklet.MockletHttpServletResponse;
@@ -40,12 +44,6 @@ public abstract class WebContainerTestCase extends ContainerTestCase {
     // ===================================================================================
     //                                                                           Attribute
     //                                                                           =========
-    // -----------------------------------------------------
-    //                                         Static Cached
-    //                                         -------------
-    /** The cached determination of suppressing web mock. (NullAllowed: null means beginning or ending) */
-    private static Boolean _xcachedSuppressWebMock;
-
     // -----------------------------------------------------
     //                                              Web Mock
     //                                              --------
@@ -67,20 +65,40 @@ public abstract class WebContainerTestCase extends ContainerTestCase {
         xdoPrepareWebMockContext();
     }
 
+    @Override
+    protected void xsetupContainerConfig(Map<String, Object> configMap) {
+        super.xsetupContainerConfig(configMap);
+        // container is cached per web mock determination (instead of static cache of the determination)
+        // so test classes of both determinations can recycle their containers even if parallel
+        configMap.put("webMock", isSuppressWebMock() ? "suppressed" : "used");
+    }
+
+    @Override
+    protected String xconvertConfigDifferenceToMissReason(String difference) {
+        if ("config:webMock".equals(difference)) {
+            return "web-mock mismatch";
+        }
+        return super.xconvertConfigDifferenceToMissReason(difference);
+    }
+
     @Override
     protected boolean xcanRecycleContainer() {
         return super.xcanRecycleContainer() && xwebMockCanAcceptContainerRecycle();
     }
 
+    /**
+     * Can the web mock determination accept recycling the container? <br>
+     * The container is cached per the determination so it is basically true,
+     * but false when the recycled container was prepared by the different determination.
+     * @return The determination, true or false.
+     * @deprecated the determination is compared by config of container fingerprint, override xsetupContainerConfig() instead
+     */
+    @Deprecated
     protected boolean xwebMockCanAcceptContainerRecycle() {
+        final GuiceContainerEntry entry = xgetContainerRegistry().findEntry(xgetCurrentFingerprint());
+        final String webMock = entry != null ? entry.getFingerprint().getConfigMap().get("webMock") : null;
         // no mark or no change
-        return _xcachedSuppressWebMock == null || _xcachedSuppressWebMock.equals(isSuppressWebMock());
-    }
-
-    @Override
-    protected void xsaveCachedInstance() {
-        super.xsaveCachedInstance();
-        _xcachedSuppressWebMock = isSuppressWebMock();
+        return webMock == null || webMock.equals(isSuppressWebMock() ? "suppressed" : "used");
     }
 
     /**
@@ -257,12 +275,24 @@ public abstract class WebContainerTestCase extends ContainerTestCase {
     // ===================================================================================
     //                                                                            Accessor
     //                                                                            ========
+    /**
+     * @return The web mock determination of latest prepared container. (NullAllowed: at first)
+     * @deprecated the determination is cached as config of container fingerprint, use isSuppressWebMock()
+     */
+    @Deprecated
     protected static Boolean xgetCachedSuppressWebMock() {
-        return _xcachedSuppressWebMock;
+        final GuiceContainerFingerprint fingerprint = xgetLatestFingerprint();
+        final String webMock = fingerprint != null ? fingerprint.getConfigMap().get("webMock") : null;
+        return webMock != null ? "suppressed".equals(webMock) : null;
     }
 
+    /**
+     * @param xcachedSuppressWebMock The ignored determination. (NullAllowed)
+     * @deprecated the determination is cached as config of container fingerprint (derived from isSuppressWebMock()) so does nothing
+     */
+    @Deprecated
     protected static void xsetCachedSuppressWebMock(Boolean xcachedSuppressWebMock) {
-        _xcachedSuppressWebMock = xcachedSuppressWebMock;
+        // the fingerprint of each container keeps the determination
     }
 
     protected MockletHttpServletRequest xgetMockRequest() {
@@ -38,6 +38,19 @@ import com.google.inject.Module;
  */
 public abstract class MockGuiceTestCase extends WebContainerTestCase {
 
+    static { // Atomikos components are not AutoCloseable, so close them when the container is destroyed
+        registerContainerDisposer(component -> {
+            if (component instanceof UserTransactionManager) {
+                ((UserTransactionManager) component).close();
+                return true;
+            } else if (component instanceof AtomikosNonXADataSourceBean) {
+                ((AtomikosNonXADataSourceBean) component).close();
+                return true;
+            }
+            return false;
+        });
+    }
+
     @Override
     protected List<Module> prepareModuleList() {
         final List<Module> moduleList = super.prepareModuleList();
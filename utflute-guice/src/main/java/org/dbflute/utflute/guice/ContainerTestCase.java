@@ -15,9 +15,36 @@
  */
 package org.dbflute.utflute.guice;
 
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+
 import javax.sql.DataSource;
 
+import org.dbflute.utflute.guice.container.GuiceConnectionWarmer;
+import org.dbflute.utflute.guice.container.GuiceElementRecord;
+import org.dbflute.utflute.guice.fixture.GuiceFixtureCache;
+import org.dbflute.utflute.guice.fixture.GuiceFixtureLoader;
+import org.dbflute.utflute.guice.fixture.GuiceFixtureReader;
+import org.dbflute.utflute.guice.statement.GuiceSlowQuery;
+import org.dbflute.utflute.guice.statement.GuiceSlowQueryListener;
+import org.dbflute.utflute.guice.statement.GuiceSlowQueryReport;
+import org.dbflute.utflute.guice.statement.GuiceStatementCapture;
+import org.dbflute.utflute.guice.statement.GuiceStatementCaptureDataSource;
+import org.dbflute.utflute.guice.statement.GuiceStatementCaptureRewriter;
+import org.dbflute.utflute.guice.statement.GuiceStatementRecord;
+import org.dbflute.utflute.guice.synthetic.GuiceSyntheticDataGenerator;
+import org.dbflute.utflute.guice.synthetic.GuiceSyntheticResult;
+import org.dbflute.util.DfResourceUtil;
+
+import com.google.inject.Binding;
 import com.google.inject.Inject;
+import com.google.inject.Injector;
+import com.google.inject.Key;
 
 /**
  * @author jflute
@@ -28,10 +55,88 @@ public abstract class ContainerTestCase extends GuiceTestCase {
     // ===================================================================================
     //                                                                           Attribute
     //                                                                           =========
+    // -----------------------------------------------------
+    //                                          Static Cache
+    //                                          ------------
+    /** The cache of parsed fixtures, shared across tests in the recycled container. (NotNull) */
+    private static final GuiceFixtureCache _xfixtureCache = new GuiceFixtureCache();
+
+    // -----------------------------------------------------
+    //                                              Injected
+    //                                              --------
     /** The (main) data source for database. (NotNull: after injection) */
     @Inject
     private DataSource _xdataSource;
 
+    // -----------------------------------------------------
+    //                                        Synthetic Data
+    //                                        --------------
+    /** The generator of synthetic data in the test, which knows generated tables. (NullAllowed: lazy-loaded) */
+    private GuiceSyntheticDataGenerator _xsyntheticDataGenerator;
+
+    // -----------------------------------------------------
+    //                                     Statement Capture
+    //                                     -----------------
+    /** The capture of statements executed in the test. (NullAllowed: when not capturing) */
+    private GuiceStatementCapture _xcurrentStatementCapture;
+
+    /** The listener of slow queries in the test. (NullAllowed: when no slow query report) */
+    private GuiceSlowQueryListener _xcurrentSlowQueryListener;
+
+    // ===================================================================================
+    //                                                                  Connection Warm-up
+    //                                                                  ==================
+    @Override
+    protected void xprepareCreatedContainer(Injector injector) {
+        super.xprepareCreatedContainer(injector);
+        final int connectionCount = prepareWarmUpConnectionCount();
+        if (connectionCount <= 0) {
+            return;
+        }
+        final Binding<DataSource> binding = injector.getExistingBinding(Key.get(DataSource.class));
+        if (binding == null) { // e.g. no database
+            return;
+        }
+        final GuiceConnectionWarmer warmer = new GuiceConnectionWarmer(binding.getProvider().get(), connectionCount);
+        if (isUseBackgroundConnectionWarmUp()) {
+            final Thread thread = new Thread(() -> xwarmUpConnection(warmer, true), "utflute-guice-warm-up");
+            thread.setDaemon(true); // not to block JVM end
+            thread.start();
+        } else {
+            xwarmUpConnection(warmer, false);
+        }
+    }
+
+    protected void xwarmUpConnection(GuiceConnectionWarmer warmer, boolean background) {
+        final long before = System.nanoTime();
+        final List<Throwable> failureList = warmer.warmUp();
+        final long cost = System.nanoTime() - before;
+        xgetContainerMetrics().recordConnectionWarmUp(cost);
+        final String backgroundExp = background ? ", background" : "";
+        log("connection warm-up: " + (cost / 1000000L) + "ms (" + warmer.getConnectionCount() + " connections" + backgroundExp + ")");
+        for (Throwable failure : failureList) {
+            log("*Failed to warm up the connection: " + failure);
+        }
+    }
+
+    /**
+     * Prepare the count of connections opened in parallel after the container is created. (default: 0, no warm-up) <br>
+     * It should be less than the max size of the pool, or warm-up waits for connections that it holds itself.
+     * @return The count of connections. (NotMinus)
+     */
+    protected int prepareWarmUpConnectionCount() { // customize point
+        return 0;
+    }
+
+    /**
+     * Does it warm up connections in background thread? (default: false) <br>
+     * The first test does not wait for warm-up but it may compete with warm-up for the pool.
+     * @return The determination, true or false.
+     */
+    protected boolean isUseBackgroundConnectionWarmUp() { // customize point
+        return false;
+    }
+
     // ===================================================================================
     //                                                                         JDBC Helper
     //                                                                         ===========
@@ -42,4 +147,398 @@ public abstract class ContainerTestCase extends GuiceTestCase {
     protected DataSource getDataSource() { // user method
         return _xdataSource;
     }
+
+    // ===================================================================================
+    //                                                                             Fixture
+    //                                                                             =======
+    /**
+     * Load the fixture (TSV or CSV by extension) into the table named by the file name. <br>
+     * Rows are inserted by JDBC batch in the current transaction (so rolled back after the test).
+     * <pre>
+     * loadFixture("fixture/MEMBER.tsv"); // class-path resource (or file path)
+     * </pre>
+     * @param fixturePath The class-path resource path or file path of fixture whose first line is column names. (NotNull)
+     * @return The count of inserted rows.
+     */
+    protected int loadFixture(String fixturePath) { // user method
+        final String fileName = new File(fixturePath).getName();
+        final int extIndex = fileName.lastIndexOf('.');
+        return loadFixture(extIndex > 0 ? fileName.substring(0, extIndex) : fileName, fixturePath);
+    }
+
+    /**
+     * Load the fixture (TSV or CSV by extension) into the table. <br>
+     * Rows are inserted by JDBC batch in the current transaction (so rolled back after the test).
+     * @param tableName The name of table to insert rows. (NotNull)
+     * @param fixturePath The class-path resource path or file path of fixture whose first line is column names. (NotNull)
+     * @return The count of inserted rows.
+     */
+    protected int loadFixture(String tableName, String fixturePath) { // user method
+        final GuiceFixtureLoader loader = createFixtureLoader();
+        final URL resourceUrl = xfindFixtureResource(fixturePath);
+        final File fixtureFile = new File(fixturePath);
+        if (resourceUrl == null && !fixtureFile.isFile()) {
+            String msg = "Not found the fixture in class-path and file system: " + fixturePath;
+            throw new IllegalStateException(msg);
+        }
+        final long before = System.currentTimeMillis();
+        final int insertedCount;
+        Connection conn = null;
+        try {
+            conn = getDataSource().getConnection();
+            if (resourceUrl != null) {
+                insertedCount = loader.load(conn, tableName, resourceUrl);
+            } else {
+                insertedCount = loader.load(conn, tableName, fixtureFile.toPath());
+            }
+        } catch (IOException e) {
+            String msg = "Failed to read the fixture: " + fixturePath;
+            throw new IllegalStateException(msg, e);
+        } catch (SQLException e) {
+            String msg = "Failed to insert the fixture: table=" + tableName + ", fixture=" + fixturePath;
+            throw new IllegalStateException(msg, e);
+        } finally {
+            if (conn != null) {
+                try {
+                    conn.close();
+                } catch (SQLException ignored) {}
+            }
+        }
+        log("...Loading fixture: " + tableName + " (" + insertedCount + " rows) " + (System.currentTimeMillis() - before) + "ms");
+        return insertedCount;
+    }
+
+    protected GuiceFixtureLoader createFixtureLoader() {
+        final GuiceFixtureLoader loader = new GuiceFixtureLoader(_xfixtureCache);
+        loader.setBatchSize(prepareFixtureBatchSize());
+        loader.setMappedThreshold(prepareFixtureMappedThreshold());
+        return loader;
+    }
+
+    protected URL xfindFixtureResource(String fixturePath) {
+        final String resourcePath = fixturePath.startsWith("/") ? fixturePath.substring(1) : fixturePath;
+        final ClassLoader contextLoader = Thread.currentThread().getContextClassLoader();
+        final URL url = contextLoader != null ? contextLoader.getResource(resourcePath) : null;
+        return url != null ? url : getClass().getClassLoader().getResource(resourcePath);
+    }
+
+    /**
+     * @return The count of rows per executeBatch() in fixture loading. (Positive)
+     */
+    protected int prepareFixtureBatchSize() { // customize point
+        return GuiceFixtureLoader.DEFAULT_BATCH_SIZE;
+    }
+
+    /**
+     * @return The size of fixture file to be streamed by memory-mapping without cache.
+     */
+    protected long prepareFixtureMappedThreshold() { // customize point
+        return GuiceFixtureReader.DEFAULT_MAPPED_THRESHOLD;
+    }
+
+    protected static GuiceFixtureCache xgetFixtureCache() {
+        return _xfixtureCache;
+    }
+
+    // ===================================================================================
+    //                                                                      Synthetic Data
+    //                                                                      ==============
+    /**
+     * Generate synthetic rows into the table, whose values are derived from JDBC metadata. <br>
+     * The data is deterministic by the seed, and foreign keys reference existing rows
+     * or rows generated in the test (so generate parent tables before children).
+     * <pre>
+     * generateSyntheticData("MEMBER", 10000);
+     * generateSyntheticData("PURCHASE", 1000000); // references the generated members
+     * </pre>
+     * Single writer (default) inserts in the current transaction, so rolled back after the test. <br>
+     * Multiple writers ({@link #prepareSyntheticWriterCount()}) commit per batch in worker threads,
+     * so use them for dedicated database and clean up by yourself.
+     * @param tableName The name of table, case-insensitive. (NotNull)
+     * @param rowCount The count of rows to be inserted. (NotMinus)
+     * @return The result of generation, which has rows per second. (NotNull)
+     */
+    protected GuiceSyntheticResult generateSyntheticData(String tableName, long rowCount) { // user method
+        if (_xsyntheticDataGenerator == null) {
+            _xsyntheticDataGenerator = createSyntheticDataGenerator();
+        }
+        final GuiceSyntheticResult result;
+        try {
+            result = _xsyntheticDataGenerator.generate(tableName, rowCount);
+        } catch (SQLException e) {
+            String msg = "Failed to generate synthetic data: table=" + tableName + ", rowCount=" + rowCount;
+            throw new IllegalStateException(msg, e);
+        }
+        log("...Generating synthetic data: " + result.toDisplay());
+        return result;
+    }
+
+    protected GuiceSyntheticDataGenerator createSyntheticDataGenerator() {
+        final GuiceSyntheticDataGenerator generator = new GuiceSyntheticDataGenerator(getDataSource(), prepareSyntheticDataSeed());
+        generator.setWriterCount(prepareSyntheticWriterCount());
+        generator.setBatchSize(prepareSyntheticBatchSize());
+        return generator;
+    }
+
+    /**
+     * @return The seed of synthetic data, same seed generates same data.
+     */
+    protected long prepareSyntheticDataSeed() { // customize point
+        return 1L;
+    }
+
+    /**
+     * @return The count of writer threads of synthetic data. (Positive: one means in the current transaction)
+     */
+    protected int prepareSyntheticWriterCount() { // customize point
+        return 1;
+    }
+
+    /**
+     * @return The count of rows per executeBatch() in synthetic data generation. (Positive)
+     */
+    protected int prepareSyntheticBatchSize() { // customize point
+        return GuiceSyntheticDataGenerator.DEFAULT_BATCH_SIZE;
+    }
+
+    // ===================================================================================
+    //                                                                   Statement Capture
+    //                                                                   =================
+    /**
+     * Does it capture statements executed in the test? (default: false) <br>
+     * If true, the container wraps the bound DataSource to record SQL, bind count, execution time and rows,
+     * and the summary of repeated statement shapes is logged after the test. <br>
+     * (the capture is per test thread, so statements executed in other threads e.g. worker transaction are not captured)
+     * @return The determination, true or false.
+     */
+    protected boolean isUseStatementCapture() { // customize point
+        return false;
+    }
+
+    /**
+     * @return The max count of same query shape allowed by assertNoNPlusOne(). (Positive)
+     */
+    protected int prepareNPlusOneThreshold() { // customize point
+        return 5;
+    }
+
+    /**
+     * @return The max count of repeated statement shapes in the summary after the test. (NotMinus: zero means no summary)
+     */
+    protected int prepareStatementSummaryLimit() { // customize point
+        return 5;
+    }
+
+    @Override
+    protected void xsetupContainerConfig(Map<String, Object> configMap) {
+        super.xsetupContainerConfig(configMap);
+        if (xisUseStatementWrapping()) { // data source is wrapped in the same modules
+            configMap.put("statementCapture", true);
+        }
+    }
+
+    protected boolean xisUseStatementWrapping() {
+        return isUseStatementCapture() || isUseSlowQueryReport();
+    }
+
+    @Override
+    protected GuiceElementRecord xrewriteModuleElement(GuiceElementRecord elementRecord) {
+        final GuiceElementRecord superRecord = super.xrewriteModuleElement(elementRecord);
+        if (!xisUseStatementWrapping()) {
+            return superRecord;
+        }
+        final GuiceStatementCaptureRewriter rewriter = new GuiceStatementCaptureRewriter();
+        final GuiceElementRecord rewrittenRecord = superRecord.toRewritten(elementList -> {
+            return rewriter.rewrite(superRecord.getStage(), elementList);
+        });
+        log("...Wrapping data source for statement capture: count=" + rewriter.getRewrittenCount());
+        return rewrittenRecord;
+    }
+
+    @Override
+    public void setUp() throws Exception {
+        super.setUp();
+        xstartStatementCapture();
+        xstartSlowQueryListener();
+    }
+
+    @Override
+    public void tearDown() throws Exception {
+        try {
+            xstopStatementCapture(); // before roll-back
+            xstopSlowQueryListener();
+        } finally {
+            super.tearDown();
+        }
+    }
+
+    protected void xstartStatementCapture() {
+        if (!isUseStatementCapture()) {
+            return;
+        }
+        final DataSource dataSource = getDataSource();
+        if (!(dataSource instanceof GuiceStatementCaptureDataSource)) { // e.g. unsupported binding
+            log("*Cannot capture statements because the data source is not wrapped: " + dataSource);
+            return;
+        }
+        _xcurrentStatementCapture = new GuiceStatementCapture();
+        ((GuiceStatementCaptureDataSource) dataSource).startCapture(_xcurrentStatementCapture);
+    }
+
+    protected void xstopStatementCapture() {
+        if (_xcurrentStatementCapture == null) {
+            return;
+        }
+        final GuiceStatementCapture capture = _xcurrentStatementCapture;
+        _xcurrentStatementCapture = null;
+        ((GuiceStatementCaptureDataSource) getDataSource()).stopCapture();
+        final int summaryLimit = prepareStatementSummaryLimit();
+        if (summaryLimit > 0 && capture.getStatementCount() > 0) {
+            log(capture.buildSummary(summaryLimit));
+        }
+    }
+
+    /**
+     * Get the list of statements captured in the test. (needs statement capture)
+     * @return The list of captured records in executed order. (NotNull, EmptyAllowed)
+     */
+    protected List<GuiceStatementRecord> getCapturedStatementList() { // user method
+        return xgetCurrentStatementCapture().getRecordList();
+    }
+
+    /**
+     * Clear the statements captured until now. e.g. after arrange
+     * <pre>
+     * loadFixture("fixture/MEMBER.tsv");
+     * clearCapturedStatement();
+     * memberLogic.selectMemberList();
+     * assertQueryCount(1);
+     * </pre>
+     */
+    protected void clearCapturedStatement() { // user method
+        xgetCurrentStatementCapture(); // to check
+        _xcurrentStatementCapture = new GuiceStatementCapture();
+        ((GuiceStatementCaptureDataSource) getDataSource()).startCapture(_xcurrentStatementCapture);
+    }
+
+    /**
+     * Assert the count of statements (both query and update) captured in the test.
+     * @param expectedCount The expected count of executed statements.
+     */
+    protected void assertQueryCount(int expectedCount) {
+        final List<GuiceStatementRecord> recordList = getCapturedStatementList();
+        if (recordList.size() != expectedCount) {
+            fail("Unexpected count of statements: expected=" + expectedCount + ", actual=" + recordList.size() + " " + recordList);
+        }
+    }
+
+    /**
+     * Assert no same query shape is repeated more than the threshold. ({@link #prepareNPlusOneThreshold()}) <br>
+     * The shape is SQL whose literals and IN lists are normalized, so it finds N+1 queries in loops.
+     */
+    protected void assertNoNPlusOne() {
+        final Map<String, Integer> repeatedMap = xgetCurrentStatementCapture().findRepeatedQueryShape(prepareNPlusOneThreshold());
+        if (!repeatedMap.isEmpty()) {
+            fail("Found the N+1 queries (count by shape): " + repeatedMap);
+        }
+    }
+
+    protected GuiceStatementCapture xgetCurrentStatementCapture() {
+        if (_xcurrentStatementCapture == null) {
+            String msg = "Not capturing statements, override isUseStatementCapture() and return true.";
+            throw new IllegalStateException(msg);
+        }
+        return _xcurrentStatementCapture;
+    }
+
+    // ===================================================================================
+    //                                                                          Slow Query
+    //                                                                          ==========
+    /**
+     * Does it report slow queries with their execution plans? (default: false) <br>
+     * If true, statements slower than the threshold are explained on the same connection (e.g. H2),
+     * full table scans are flagged, and they are written to the report file per test class. <br>
+     * (the data source is wrapped as statement capture, see {@link #isUseStatementCapture()})
+     * @return The determination, true or false.
+     */
+    protected boolean isUseSlowQueryReport() { // customize point
+        return false;
+    }
+
+    /**
+     * @return The threshold milliseconds of slow query. (NotMinus: zero means all statements)
+     */
+    protected long prepareSlowQueryThresholdMillis() { // customize point
+        return 100L;
+    }
+
+    /**
+     * Prepare the directory of slow query report. (default: utflute-slow-query under build directory)
+     * @return The directory of slow query report. (NullAllowed: if null, only logging)
+     */
+    protected File prepareSlowQueryReportDir() { // customize point
+        final File buildDir;
+        try {
+            buildDir = DfResourceUtil.getBuildDir(getClass());
+        } catch (RuntimeException ignored) { // e.g. in jar file
+            return null;
+        }
+        return buildDir != null ? new File(buildDir, "utflute-slow-query") : null;
+    }
+
+    /**
+     * Create the listener of slow queries. e.g. explain prefix for your database
+     * @param thresholdMillis The threshold milliseconds of slow query. (NotMinus)
+     * @return The new-created listener. (NotNull)
+     */
+    protected GuiceSlowQueryListener createSlowQueryListener(long thresholdMillis) {
+        return new GuiceSlowQueryListener(thresholdMillis);
+    }
+
+    protected void xstartSlowQueryListener() {
+        if (!isUseSlowQueryReport()) {
+            return;
+        }
+        final DataSource dataSource = getDataSource();
+        if (!(dataSource instanceof GuiceStatementCaptureDataSource)) { // e.g. unsupported binding
+            log("*Cannot report slow queries because the data source is not wrapped: " + dataSource);
+            return;
+        }
+        _xcurrentSlowQueryListener = createSlowQueryListener(prepareSlowQueryThresholdMillis());
+        ((GuiceStatementCaptureDataSource) dataSource).addListener(_xcurrentSlowQueryListener);
+    }
+
+    protected void xstopSlowQueryListener() {
+        if (_xcurrentSlowQueryListener == null) {
+            return;
+        }
+        final GuiceSlowQueryListener listener = _xcurrentSlowQueryListener;
+        _xcurrentSlowQueryListener = null;
+        ((GuiceStatementCaptureDataSource) getDataSource()).removeListener(listener);
+        final List<GuiceSlowQuery> slowQueryList = listener.getSlowQueryList();
+        for (GuiceSlowQuery slowQuery : slowQueryList) {
+            log("*Slow query: " + slowQuery.toDisplay());
+        }
+        final File reportDir = prepareSlowQueryReportDir();
+        if (reportDir == null) {
+            return;
+        }
+        try {
+            new GuiceSlowQueryReport(reportDir).write(getClass().getName(), getName(), slowQueryList);
+        } catch (IOException e) { // not fail the test
+            log("*Failed to write the slow query report: " + reportDir + ", " + e);
+        }
+    }
+
+    /**
+     * Get the list of slow queries found in the test until now. (needs slow query report)
+     * @return The list of slow queries with their plans. (NotNull, EmptyAllowed)
+     */
+    protected List<GuiceSlowQuery> getSlowQueryList() { // user method
+        if (_xcurrentSlowQueryListener == null) {
+            String msg = "Not listening slow queries, override isUseSlowQueryReport() and return true.";
+            throw new IllegalStateException(msg);
+        }
+        return _xcurrentSlowQueryListener.getSlowQueryList();
+    }
 }
@@ -15,11 +15,20 @@
  */
 package org.dbflute.utflute.guice;
 
+import java.io.File;
 import java.lang.annotation.Annotation;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadFactory;
 
+import javax.sql.DataSource;
+import javax.transaction.Transaction;
 import javax.transaction.TransactionManager;
 
 import org.dbflute.utflute.core.InjectionTestCase;
@@ -27,11 +36,46 @@ import org.dbflute.utflute.core.binding.BindingAnnotationRule;
 import org.dbflute.utflute.core.binding.ComponentBinder;
 import org.dbflute.utflute.core.transaction.TransactionFailureException;
 import org.dbflute.utflute.core.transaction.TransactionResource;
+import org.dbflute.utflute.guice.container.GuiceComponentDisposer;
+import org.dbflute.utflute.guice.container.GuiceComponentIndex;
+import org.dbflute.utflute.guice.container.GuiceContainerBootstrapper;
+import org.dbflute.utflute.guice.container.GuiceContainerDestroyer;
+import org.dbflute.utflute.guice.container.GuiceContainerEntry;
+import org.dbflute.utflute.guice.container.GuiceContainerFingerprint;
+import org.dbflute.utflute.guice.container.GuiceContainerRegistration;
+import org.dbflute.utflute.guice.container.GuiceContainerRegistry;
+import org.dbflute.utflute.guice.container.GuiceElementCache;
+import org.dbflute.utflute.guice.container.GuiceElementRecord;
+import org.dbflute.utflute.guice.container.GuiceLazySingletonRewriter;
+import org.dbflute.utflute.guice.container.GuiceMockOverlay;
+import org.dbflute.utflute.guice.container.GuiceSingletonTracker;
+import org.dbflute.utflute.guice.injection.GuiceInjectionPlanCache;
+import org.dbflute.utflute.guice.load.GuiceBenchmarkCall;
+import org.dbflute.utflute.guice.load.GuiceBenchmarkResult;
+import org.dbflute.utflute.guice.load.GuiceLoadCall;
+import org.dbflute.utflute.guice.load.GuiceLoadDriver;
+import org.dbflute.utflute.guice.load.GuiceLoadResult;
+import org.dbflute.utflute.guice.load.GuiceMicroBenchmark;
+import org.dbflute.utflute.guice.metrics.GuiceContainerMetrics;
+import org.dbflute.utflute.guice.metrics.GuiceMeasuredBlock;
+import org.dbflute.utflute.guice.metrics.GuiceProvisionProfiler;
+import org.dbflute.utflute.guice.metrics.GuiceResourceMeter;
+import org.dbflute.utflute.guice.metrics.GuiceResourceUsage;
+import org.dbflute.utflute.guice.metrics.GuiceTimingRecord;
+import org.dbflute.utflute.guice.metrics.GuiceTimingStore;
+import org.dbflute.utflute.guice.statement.GuiceStatementCaptureDataSource;
+import org.dbflute.utflute.guice.transaction.GuiceSavepointDataSource;
+import org.dbflute.utflute.guice.transaction.GuiceSavepointTransactionResource;
+import org.dbflute.utflute.guice.transaction.GuiceWorkerTransactionRegistry;
+import org.dbflute.util.DfResourceUtil;
 
+import com.google.inject.Binding;
 import com.google.inject.Guice;
 import com.google.inject.Inject;
 import com.google.inject.Injector;
+import com.google.inject.Key;
 import com.google.inject.Module;
+import com.google.inject.Stage;
 
 /**
  * @author jflute
@@ -45,8 +89,32 @@ public abstract class GuiceTestCase extends InjectionTestCase {
     // -----------------------------------------------------
     //                                          Static Cache
     //                                          ------------
-    /** The cached injector for DI container. (NullAllowed: null means beginning or test execution) */
-    private static Injector _xcachedInjector;
+    /** The registry of cached injectors keyed by fingerprint of module list, thread-safe. (NotNull) */
+    private static final GuiceContainerRegistry _xcontainerRegistry = new GuiceContainerRegistry();
+
+    /** The cached injector for DI container, latest prepared one. (NullAllowed: null means beginning or test execution) */
+    private static volatile Injector _xcachedInjector;
+
+    /** The cache of recorded module elements keyed by fingerprint, survives container destroy. (NotNull) */
+    private static final GuiceElementCache _xelementCache = new GuiceElementCache();
+
+    /** The cache of injection plans per bean type, shared by all containers. (NotNull) */
+    private static final GuiceInjectionPlanCache _xinjectionPlanCache = new GuiceInjectionPlanCache();
+
+    /** The metrics of container lifecycle in the JVM, thread-safe. (NotNull) */
+    private static final GuiceContainerMetrics _xcontainerMetrics = new GuiceContainerMetrics();
+
+    /** The fingerprint of latest prepared container, to derive the reason of recycle miss. (NullAllowed: at first) */
+    private static volatile GuiceContainerFingerprint _xlatestFingerprint;
+
+    /** The module types per test class for the fingerprint, not to prepare modules at every test. (NotNull) */
+    private static final Map<Class<?>, List<String>> _xmoduleTypeCache = new ConcurrentHashMap<Class<?>, List<String>>();
+
+    /** The list of custom disposers for container components, prior to default disposers. (NotNull) */
+    private static final List<GuiceComponentDisposer> _xcustomDisposerList = new CopyOnWriteArrayList<GuiceComponentDisposer>();
+
+    /** The bootstrapper of container in background thread. (NotNull) */
+    private static final GuiceContainerBootstrapper _xcontainerBootstrapper = new GuiceContainerBootstrapper();
 
     // -----------------------------------------------------
     //                                          Guice Object
@@ -54,10 +122,49 @@ public abstract class GuiceTestCase extends InjectionTestCase {
     /** The current active injector for DI container. {Guice Object} */
     private Injector _xcurrentActiveInjector;
 
+    /** The component index of current active injector. (NullAllowed: lazy-loaded, switched with the injector) */
+    private GuiceComponentIndex _xcurrentComponentIndex;
+
+    /** The fingerprint of current container configuration. (NullAllowed: before preparing container) */
+    private GuiceContainerFingerprint _xcurrentFingerprint;
+
+    /** The registry entry of current container, acquired until tearDown(). (NullAllowed: when not prepared or released) */
+    private GuiceContainerEntry _xcurrentEntry;
+
+    /** The overlay container for mock instances of the test case. (NullAllowed: when no mock or no overlay) */
+    private GuiceMockOverlay _xcurrentMockOverlay;
+
+    /** The list of registered mock instances for injection plan and overlay container. (NullAllowed: lazy-loaded, cleared per test case) */
+    private List<Object> _xregisteredMockList;
+
+    /** Does the mock overlay need to be (re)built? e.g. mock registered after the overlay built */
+    private boolean _xoverlayMockDirty;
+
     /** The transaction manager for platform. (NotNull: after injection) */
     @Inject
     private TransactionManager _xtransactionManager;
 
+    /** The registry of worker transactions in the test, rolled back at tear-down. (NotNull) */
+    private final GuiceWorkerTransactionRegistry _xworkerTransactionRegistry = new GuiceWorkerTransactionRegistry();
+
+    // -----------------------------------------------------
+    //                                           Test Timing
+    //                                           -----------
+    /** The nanoseconds of setUp() in the test, for timing store. */
+    private long _xcurrentSetUpNanos;
+
+    /** The nanoseconds of transaction begin and roll-back in the test thread, for timing store. */
+    private long _xcurrentTransactionNanos;
+
+    /** The nanoseconds of test method, for timing store. */
+    private long _xcurrentBodyNanos;
+
+    /** Has the test method succeeded? Only successful tests are stored. */
+    private boolean _xcurrentBodySuccess;
+
+    /** The resource usage of test method in the test thread. (NullAllowed: before the test method ends) */
+    private GuiceResourceUsage _xcurrentBodyUsage;
+
     // ===================================================================================
     //                                                                            Settings
     //                                                                            ========
@@ -66,35 +173,92 @@ public abstract class GuiceTestCase extends InjectionTestCase {
     //                                     -----------------
     @Override
     protected void xprepareTestCaseContainer() {
+        xreserveAsyncBootstrapIfNeeds(); // for next test cases, not in constructor (subclass fields are not ready)
         xdoPrepareTestCaseContainer();
         xsaveCachedInstance();
     }
 
     protected void xdoPrepareTestCaseContainer() {
-        if (isUseOneTimeContainer()) {
-            xdestroyContainer();
+        xreleaseContainer(); // just in case
+        List<Module> moduleList = null; // prepared only when the container is created (or first time)
+        List<String> moduleTypeList = _xmoduleTypeCache.get(getClass());
+        if (moduleTypeList == null) {
+            moduleList = xprepareModuleList();
+            moduleTypeList = GuiceContainerFingerprint.extractModuleTypeList(moduleList);
+            _xmoduleTypeCache.put(getClass(), moduleTypeList);
         }
-        if (xisInitializedContainer()) {
-            if (xcanRecycleContainer()) {
-                log("...Recycling guice");
-                xrecycleContainerInstance();
-                return;
-            } else {
+        _xcurrentFingerprint = xbuildContainerFingerprintByType(moduleTypeList);
+        xshutdownRemovedContainer(_xcontainerRegistry.setCapacity(prepareContainerCacheCapacity()));
+        xdisposeRemovedElementRecord(_xelementCache.setCapacity(prepareElementCacheCapacity()));
+        if (_xcontainerBootstrapper.isBootstrapping(_xcurrentFingerprint)) {
+            log("...Waiting for guice bootstrapped in background");
+        }
+        synchronized (_xcontainerRegistry.findPreparationLock(_xcurrentFingerprint)) { // for parallel test classes
+            final GuiceContainerFingerprint latestFingerprint = _xlatestFingerprint;
+            _xlatestFingerprint = _xcurrentFingerprint;
+            String missReason = null;
+            if (isUseOneTimeContainer()) {
                 xdestroyContainer();
+                missReason = "one-time";
             }
+            if (xisInitializedContainer()) {
+                if (xcanRecycleContainer()) {
+                    log("...Recycling guice");
+                    xrecycleContainerInstance();
+                    if (_xcurrentActiveInjector != null) {
+                        _xelementCache.touch(_xcurrentFingerprint); // keep replayable while the container is used
+                        _xcontainerMetrics.recordRecycleHit();
+                        return;
+                    } // evicted by other thread just now so initialize
+                    missReason = "evicted";
+                } else {
+                    xdestroyContainer();
+                    missReason = "recycle rejected";
+                }
+            }
+            if (missReason == null) {
+                missReason = xderiveRecycleMissReason(latestFingerprint);
+            }
+            _xcontainerMetrics.recordRecycleMiss(missReason);
+            xinitializeContainer(moduleList != null ? moduleList : xprepareModuleList());
         }
-        final List<Module> moduleList = prepareModuleList();
-        xinitializeContainer(moduleList);
+    }
+
+    protected String xderiveRecycleMissReason(GuiceContainerFingerprint latestFingerprint) {
+        if (latestFingerprint == null) {
+            return "first";
+        }
+        final List<String> diffList = _xcurrentFingerprint.extractDifference(latestFingerprint);
+        if (diffList.isEmpty()) { // same configuration but not cached
+            return "destroyed or evicted";
+        }
+        return xconvertConfigDifferenceToMissReason(diffList.get(0)); // first one is enough
+    }
+
+    /**
+     * Convert the difference of container configuration to the reason of recycle miss for metrics.
+     * @param difference The difference from the fingerprint. e.g. modules, config:stage (NotNull)
+     * @return The reason expression. (NotNull)
+     */
+    protected String xconvertConfigDifferenceToMissReason(String difference) {
+        if (difference.startsWith("config:")) {
+            return "config change (" + difference.substring("config:".length()) + ")";
+        }
+        return difference + " change";
     }
 
     protected boolean xcanRecycleContainer() {
-        // fixedly true, change unsupported for now
+        // fixedly true here, configuration change is handled by fingerprint
         // (keep same structure as other DI containers)
         return true;
     }
 
     protected void xrecycleContainerInstance() {
-        _xcurrentActiveInjector = _xcachedInjector;
+        _xcurrentEntry = _xcontainerRegistry.acquire(_xcurrentFingerprint);
+        _xcurrentActiveInjector = _xcurrentEntry != null ? _xcurrentEntry.getInjector() : null;
+        if (_xcurrentActiveInjector != null) {
+            _xcachedInjector = _xcurrentActiveInjector;
+        }
     }
 
     protected void xsaveCachedInstance() {
@@ -103,15 +267,366 @@ public abstract class GuiceTestCase extends InjectionTestCase {
 
     /**
      * Prepare module list for Google Guice. <br>
-     * You should add DataSource and TransactionManager to the module. 
+     * You should add DataSource and TransactionManager to the module. <br>
+     * It is called once per test class for the fingerprint and when the container is created (not at every test),
+     * so the module types should be same in the test class.
      * @return The list of module. (NotNull)
      */
     protected List<Module> prepareModuleList() { // customize point
         return new ArrayList<Module>(); // as default
     }
 
+    protected List<Module> xprepareModuleList() {
+        final List<Module> moduleList = prepareModuleList();
+        if (isUseProvisionProfiler()) { // module type is in the fingerprint so profiled container is separated
+            final List<Module> profiledList = new ArrayList<Module>(moduleList);
+            profiledList.add(new GuiceProvisionProfiler(prepareProvisionProfilerReportLimit()));
+            return profiledList;
+        }
+        return moduleList;
+    }
+
+    /**
+     * Does it profile provisions of the container? (default: false) <br>
+     * If true, the profiler module is appended to the module list and it records provision time,
+     * call count and dependency chain per key (including Guice.createInjector()). <br>
+     * The top-N report of the most expensive providers and constructors is logged
+     * when the container is destroyed or at the end of JVM.
+     * @return The determination, true or false.
+     */
+    protected boolean isUseProvisionProfiler() { // customize point
+        return false;
+    }
+
+    /**
+     * @return The count of rows (most expensive keys) in the report of provision profiler. (Positive)
+     */
+    protected int prepareProvisionProfilerReportLimit() { // customize point
+        return GuiceProvisionProfiler.DEFAULT_REPORT_LIMIT;
+    }
+
+    // -----------------------------------------------------
+    //                                          Mock Overlay
+    //                                          ------------
+    /**
+     * Does it use the overlay container for mock instances? <br>
+     * If true, registered mocks override the container bindings of their types
+     * so that they are injected deep into the object graph (not only to outer beans). <br>
+     * The overlay is lightweight injector from recorded elements of the cached container,
+     * so it costs much less than one-time container, and it is recycled while the mock instances are the same. <br>
+     * (objects of the cached container are not mutated: instance-bound components with injection points
+     * are created again in the overlay, so state set to them after construction is not inherited)
+     * @return The determination, true or false.
+     */
+    protected boolean isUseMockOverlayContainer() { // customize point
+        return false;
+    }
+
+    @Override
+    protected void registerMockInstance(Object mock) {
+        super.registerMockInstance(mock);
+        if (_xregisteredMockList == null) {
+            _xregisteredMockList = new ArrayList<Object>();
+        }
+        _xregisteredMockList.add(mock);
+        if (isUseMockOverlayContainer()) {
+            _xoverlayMockDirty = true; // built lazily when component needed
+        }
+    }
+
+    protected void xprepareMockOverlayIfNeeds() {
+        if (!_xoverlayMockDirty) {
+            return;
+        }
+        _xoverlayMockDirty = false;
+        xrestoreMockOverlay(); // previous overlay if exists
+        final GuiceContainerEntry baseEntry = _xcurrentEntry;
+        if (baseEntry == null) {
+            String msg = "Not found the cached container for mock overlay: " + _xcurrentFingerprint;
+            throw new IllegalStateException(msg);
+        }
+        _xcurrentMockOverlay = GuiceMockOverlay.build(baseEntry, _xregisteredMockList, replaced -> {
+            xdisposeMockOverlay(replaced); // by other mocks
+        });
+        log("...Overlaying mocks on guice: " + _xcurrentMockOverlay.getOverriddenKeySet());
+        _xcurrentActiveInjector = _xcurrentMockOverlay.getOverlayInjector();
+    }
+
+    protected void xrestoreMockOverlay() {
+        if (_xcurrentMockOverlay == null) {
+            return;
+        }
+        _xcurrentActiveInjector = _xcurrentMockOverlay.getBaseInjector();
+        if (_xcurrentMockOverlay.getBaseEntry().releaseMockOverlay(_xcurrentMockOverlay)) { // not cached
+            xdisposeMockOverlay(_xcurrentMockOverlay);
+        }
+        _xcurrentMockOverlay = null;
+    }
+
+    protected void xdisposeMockOverlay(GuiceMockOverlay overlay) {
+        // singletons owned by the overlay (instances of the base are not disposed)
+        final List<String> failureList = xcreateContainerDestroyer().destroyProvisioned(overlay.getOverlayInjector());
+        for (String failure : failureList) {
+            log(failure);
+        }
+    }
+
+    // -----------------------------------------------------
+    //                                     Release Container
+    //                                     -----------------
+    @Override
+    public void setUp() throws Exception {
+        final long before = System.nanoTime();
+        boolean success = false;
+        try {
+            super.setUp();
+            success = true;
+        } finally {
+            if (!success) { // tearDown() is not called
+                xreleaseContainer();
+            }
+            _xcurrentSetUpNanos = System.nanoTime() - before;
+            _xcontainerMetrics.recordTestPrepare(_xcurrentSetUpNanos);
+            if (isUseContainerMetricsSummary()) {
+                _xcontainerMetrics.registerSummaryHookIfNeeds(summary -> log(summary));
+            }
+        }
+    }
+
+    @Override
+    public void tearDown() throws Exception {
+        final long before = System.nanoTime();
+        try {
+            xrollbackWorkerTransaction(); // before the test case transaction
+            super.tearDown();
+        } finally {
+            xrestoreMockOverlay();
+            _xregisteredMockList = null;
+            _xoverlayMockDirty = false;
+            xreleaseContainer();
+            _xcontainerMetrics.recordTestTearDown(System.nanoTime() - before);
+        }
+        xstoreTestTiming(System.nanoTime() - before); // only when tear-down succeeded
+    }
+
+    @Override
+    protected void runTest() throws Throwable {
+        final GuiceResourceMeter meter = GuiceResourceMeter.start();
+        try {
+            super.runTest();
+            _xcurrentBodySuccess = true;
+        } finally {
+            _xcurrentBodyUsage = meter.stop();
+            _xcurrentBodyNanos = _xcurrentBodyUsage.getWallNanos();
+            if (isUseTestResourceUsageReport()) {
+                log("test body: " + _xcurrentBodyUsage.toDisplay());
+            }
+        }
+    }
+
+    protected void xreleaseContainer() {
+        if (_xcurrentEntry == null) {
+            return;
+        }
+        final GuiceContainerEntry entry = _xcurrentEntry;
+        _xcurrentEntry = null;
+        xshutdownRemovedContainer(_xcontainerRegistry.release(entry)); // shut down if retired and no reference
+    }
+
+    // -----------------------------------------------------
+    //                                       Async Bootstrap
+    //                                       ---------------
+    /**
+     * Does it create the containers of predicted next test cases in background thread? <br>
+     * If true, the first setUp() of the test case class reserves the predicted test case types,
+     * their module lists are prepared and containers are created in background thread,
+     * and the next test case waits for it only when it needs the container. <br>
+     * You can also reserve them by reserveAsyncContainerBootstrap() e.g. in static initializer.
+     * @return The determination, true or false.
+     */
+    protected boolean isUseAsyncContainerBootstrap() { // customize point
+        return false;
+    }
+
+    /**
+     * Prepare the list of test case types predicted to run next, whose containers are also bootstrapped. <br>
+     * It is called only when async bootstrap is used. (the predicted types should use it too)
+     * @return The list of test case types. (NotNull, EmptyAllowed)
+     */
+    protected List<Class<? extends GuiceTestCase>> preparePredictedNextTestCaseList() { // customize point
+        return new ArrayList<Class<? extends GuiceTestCase>>(); // as default
+    }
+
+    protected void xreserveAsyncBootstrapIfNeeds() {
+        if (!isUseAsyncContainerBootstrap()) {
+            return;
+        }
+        if (!_xcontainerBootstrapper.markReserved(getClass())) { // already reserved or not first setUp()
+            return; // own container is prepared by this test case
+        }
+        for (Class<? extends GuiceTestCase> predictedType : preparePredictedNextTestCaseList()) {
+            xreserveAsyncBootstrap(predictedType);
+        }
+    }
+
+    /**
+     * Reserve the container creation of the test case type in background thread. (once per type) <br>
+     * It is static registration so you can call it before instances are created. e.g. static initializer
+     * <pre>
+     * static {
+     *     reserveAsyncContainerBootstrap(FooActionTest.class);
+     * }
+     * </pre>
+     * @param testCaseType The type of test case to bootstrap its container. (NotNull)
+     */
+    public static void reserveAsyncContainerBootstrap(Class<? extends GuiceTestCase> testCaseType) { // user method
+        if (testCaseType == null) {
+            String msg = "The argument 'testCaseType' should not be null!";
+            throw new IllegalArgumentException(msg);
+        }
+        xreserveAsyncBootstrap(testCaseType);
+    }
+
+    protected static void xreserveAsyncBootstrap(Class<? extends GuiceTestCase> testCaseType) {
+        _xcontainerBootstrapper.reserve(testCaseType, () -> {
+            final GuiceTestCase bootstrapper; // new instance here, not to touch the running one
+            try {
+                bootstrapper = testCaseType.getDeclaredConstructor().newInstance();
+            } catch (Exception ignored) { // e.g. no default constructor, test case will create it
+                return;
+            }
+            bootstrapper.xbootstrapContainer();
+        });
+    }
+
+    protected void xbootstrapContainer() { // in background thread
+        List<Module> moduleList = null; // prepared only inside the lock (or first time for fingerprint)
+        List<String> moduleTypeList = _xmoduleTypeCache.get(getClass());
+        if (moduleTypeList == null) { // same as test case, module types are needed for fingerprint
+            moduleList = xprepareModuleList();
+            moduleTypeList = GuiceContainerFingerprint.extractModuleTypeList(moduleList);
+            _xmoduleTypeCache.put(getClass(), moduleTypeList);
+        }
+        final GuiceContainerFingerprint fingerprint = xbuildContainerFingerprintByType(moduleTypeList);
+        if (_xcontainerRegistry.contains(fingerprint)) { // e.g. prepared by test case already
+            return;
+        }
+        _xcontainerBootstrapper.markBootstrapping(fingerprint);
+        try {
+            synchronized (_xcontainerRegistry.findPreparationLock(fingerprint)) { // test case waits for it
+                if (_xcontainerRegistry.contains(fingerprint)) { // prepared while waiting for the lock
+                    return;
+                }
+                if (moduleList == null) {
+                    moduleList = xprepareModuleList();
+                }
+                log("...Bootstrapping guice in background: " + moduleList);
+                final long before = System.currentTimeMillis();
+                final long beforeNanos = System.nanoTime();
+                final GuiceElementRecord elementRecord = xrecordModuleElement(fingerprint, moduleList);
+                final Injector injector = xcreateInjector(elementRecord);
+                _xcontainerMetrics.recordBackgroundBuild(System.nanoTime() - beforeNanos);
+                xlogContainerStartup(elementRecord, before);
+                xprepareCreatedContainer(injector);
+                xshutdownRemovedContainer(_xcontainerRegistry.registerWithoutAcquire(fingerprint, injector, elementRecord));
+            }
+        } catch (RuntimeException e) { // test case will create it again and see the exception
+            log("Failed to bootstrap guice in background: " + fingerprint, e);
+        } finally {
+            _xcontainerBootstrapper.unmarkBootstrapping(fingerprint);
+        }
+    }
+
+    // -----------------------------------------------------
+    //                                               Metrics
+    //                                               -------
+    /**
+     * Does it log the summary of container metrics at the end of JVM? (default: false) <br>
+     * Metrics (e.g. container build time, recycle hit rate) are recorded anyway,
+     * and you can get them by xgetContainerMetrics().
+     * @return The determination, true or false.
+     */
+    protected boolean isUseContainerMetricsSummary() { // customize point
+        return false;
+    }
+
+    // -----------------------------------------------------
+    //                                         Startup Mode
+    //                                         ------------
+    /**
+     * Prepare the stage of Google Guice for the container. <br>
+     * DEVELOPMENT is quick startup (lazy singletons), PRODUCTION creates all singletons at startup,
+     * and TOOL is only for analysis of bindings (components cannot be provided).
+     * @return The stage of Google Guice. (NotNull)
+     */
+    protected Stage prepareGuiceStage() { // customize point
+        return Stage.DEVELOPMENT; // same as Guice.createInjector(modules)
+    }
+
+    /**
+     * Does it start the container with lazy singletons even if asEagerSingleton()? <br>
+     * If true, eager singletons are created when they are used first, for quick time-to-first-test.
+     * @return The determination, true or false.
+     */
+    protected boolean isUseLazySingletonStartup() { // customize point
+        return false;
+    }
+
+    // -----------------------------------------------------
+    //                                 Container Fingerprint
+    //                                 ---------------------
+    protected GuiceContainerFingerprint xbuildContainerFingerprint(List<Module> moduleList) {
+        return xbuildContainerFingerprintByType(GuiceContainerFingerprint.extractModuleTypeList(moduleList));
+    }
+
+    protected GuiceContainerFingerprint xbuildContainerFingerprintByType(List<String> moduleTypeList) {
+        final Map<String, Object> configMap = new LinkedHashMap<String, Object>();
+        xsetupContainerConfig(configMap);
+        return GuiceContainerFingerprint.ofModuleType(moduleTypeList, configMap);
+    }
+
+    protected void xsetupContainerConfig(Map<String, Object> configMap) {
+        configMap.put("stage", prepareGuiceStage());
+        if (isUseLazySingletonStartup()) {
+            configMap.put("lazySingleton", true);
+        }
+        if (isUseSavepointTransaction()) { // data source is different (savepoint or real) in the same modules
+            configMap.put("savepointTransaction", true);
+        }
+        setupContainerConfig(configMap);
+    }
+
+    /**
+     * Set up the configuration that identifies the container with the module classes. <br>
+     * Containers are cached per the module classes and this configuration,
+     * so declare it if your modules of same classes are configured differently. e.g. different data source
+     * @param configMap The map of configuration to be declared. (NotNull, EmptyAllowed)
+     */
+    protected void setupContainerConfig(Map<String, Object> configMap) { // customize point
+    }
+
+    /**
+     * Prepare the max count of cached containers (per configuration). <br>
+     * The least recently used container is destroyed when over the count.
+     * @return The positive count.
+     */
+    protected int prepareContainerCacheCapacity() { // customize point
+        return GuiceContainerRegistry.DEFAULT_CAPACITY;
+    }
+
+    /**
+     * Prepare the max count of cached module element records (per configuration). <br>
+     * It should be larger than the container cache capacity
+     * so that the container evicted by the capacity is rebuilt by replay (without module configuration).
+     * @return The positive count.
+     */
+    protected int prepareElementCacheCapacity() { // customize point
+        return GuiceElementCache.DEFAULT_CAPACITY;
+    }
+
     @Override
     protected void xclearCachedContainer() {
+        xremoveCurrentContainer(); // only current configuration, others are still cached
         _xcachedInjector = null;
     }
 
@@ -123,19 +638,201 @@ public abstract class GuiceTestCase extends InjectionTestCase {
      */
     @Override
     protected TransactionResource beginNewTransaction() { // user method
+        if (isUseSavepointTransaction()) {
+            return xbeginSavepointTransaction();
+        }
         if (_xtransactionManager == null) { // no use transaction (just in case)
             return null;
         }
+        final long before = System.nanoTime();
         try {
             _xtransactionManager.begin();
         } catch (Exception e) {
             throw new TransactionFailureException("Failed to begin the transaction.", e);
         }
-        final GuiceTransactionResource resource = new GuiceTransactionResource();
+        xrecordTransactionBegin(System.nanoTime() - before);
+        final GuiceTransactionResource resource = xcreateTransactionResource();
         resource.setTransactionManager(_xtransactionManager);
         return resource; // for thread-fire's transaction or manual transaction
     }
 
+    protected void xrecordTransactionBegin(long nanos) { // in test thread
+        _xcontainerMetrics.recordTransactionBegin(nanos);
+        _xcurrentTransactionNanos += nanos;
+    }
+
+    protected void xrecordTransactionRollback(long nanos) { // in test thread
+        _xcontainerMetrics.recordTransactionRollback(nanos);
+        _xcurrentTransactionNanos += nanos;
+    }
+
+    protected GuiceTransactionResource xcreateTransactionResource() {
+        return new GuiceTransactionResource() {
+            @Override
+            public void rollback() { // measured for metrics
+                final long before = System.nanoTime();
+                try {
+                    super.rollback();
+                } finally {
+                    xrecordTransactionRollback(System.nanoTime() - before);
+                }
+            }
+        };
+    }
+
+    // -----------------------------------------------------
+    //                                 Savepoint Transaction
+    //                                 ---------------------
+    /**
+     * Does it use savepoint transaction instead of JTA transaction? (default: false) <br>
+     * One long-lived physical transaction is opened per container (data source),
+     * and each test runs inside a JDBC savepoint rolled back at tear-down. <br>
+     * Bind {@link GuiceSavepointDataSource} as DataSource in your module to use this.
+     * @return The determination, true or false.
+     */
+    protected boolean isUseSavepointTransaction() { // customize point
+        return false;
+    }
+
+    protected TransactionResource xbeginSavepointTransaction() {
+        final GuiceSavepointDataSource dataSource = xfindSavepointDataSource();
+        final long before = System.nanoTime();
+        final GuiceSavepointTransactionResource resource;
+        try {
+            resource = dataSource.beginSavepoint();
+        } catch (Exception e) {
+            throw new TransactionFailureException("Failed to begin the savepoint transaction.", e);
+        }
+        xrecordTransactionBegin(System.nanoTime() - before);
+        return new GuiceSavepointTransactionResource(resource.getDataSource(), resource.getSavepoint()) {
+            @Override
+            public void rollback() { // measured for metrics
+                final long rollbackBefore = System.nanoTime();
+                try {
+                    super.rollback();
+                } finally {
+                    xrecordTransactionRollback(System.nanoTime() - rollbackBefore);
+                }
+            }
+        };
+    }
+
+    protected GuiceSavepointDataSource xfindSavepointDataSource() {
+        final GuiceComponentIndex componentIndex = xgetCurrentComponentIndex();
+        final Key<DataSource> key = Key.get(DataSource.class);
+        DataSource dataSource = componentIndex.hasComponent(key) ? componentIndex.findProvider(key).get() : null;
+        if (dataSource instanceof GuiceStatementCaptureDataSource) { // wrapped by container
+            dataSource = ((GuiceStatementCaptureDataSource) dataSource).getRealDataSource();
+        }
+        if (!(dataSource instanceof GuiceSavepointDataSource)) {
+            String msg = "The savepoint transaction needs GuiceSavepointDataSource bound as DataSource in your module:";
+            msg = msg + " e.g. bind(DataSource.class).toInstance(new GuiceSavepointDataSource(realDataSource))";
+            msg = msg + ", but actual=" + dataSource;
+            throw new IllegalStateException(msg);
+        }
+        return (GuiceSavepointDataSource) dataSource;
+    }
+
+    // -----------------------------------------------------
+    //                                    Worker Transaction
+    //                                    ------------------
+    /**
+     * Wrap the task to be executed in the own transaction of the worker thread (also virtual thread). <br>
+     * The transaction is begun at the first task of the thread (resumed at next tasks),
+     * suspended after each task and rolled back at tear-down, so finish workers in the test.
+     * <pre>
+     * ExecutorService executor = Executors.newFixedThreadPool(4); // or virtual thread executor
+     * for (int i = 0; i &lt; 100; i++) {
+     *     executor.submit(inWorkerTransaction(() -&gt; {
+     *         memberBhv.insert(...);
+     *     }));
+     * }
+     * executor.shutdown();
+     * executor.awaitTermination(...);
+     * </pre>
+     * If the thread already has transaction (e.g. caller-runs), the task runs in it.
+     * @param task The task executed in worker thread. (NotNull)
+     * @return The wrapped task. (NotNull)
+     */
+    protected Runnable inWorkerTransaction(Runnable task) { // user method
+        return () -> {
+            try {
+                xexecuteInWorkerTransaction(() -> {
+                    task.run();
+                    return null;
+                });
+            } catch (RuntimeException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new TransactionFailureException("Failed to execute the task in worker transaction.", e);
+            }
+        };
+    }
+
+    /**
+     * Wrap the task to be executed in the own transaction of the worker thread (also virtual thread). <br>
+     * The transaction is rolled back at tear-down, see {@link #inWorkerTransaction(Runnable)}.
+     * @param <RESULT> The type of task result.
+     * @param task The task executed in worker thread. (NotNull)
+     * @return The wrapped task. (NotNull)
+     */
+    protected <RESULT> Callable<RESULT> inWorkerTransaction(Callable<RESULT> task) { // user method
+        return () -> xexecuteInWorkerTransaction(task);
+    }
+
+    protected <RESULT> RESULT xexecuteInWorkerTransaction(Callable<RESULT> task) throws Exception {
+        final TransactionManager manager = _xtransactionManager;
+        if (manager == null) { // no use transaction (just in case)
+            return task.call();
+        }
+        if (isUseSavepointTransaction()) { // one physical connection cannot be shared by threads
+            String msg = "The worker transaction is unsupported in savepoint transaction mode.";
+            throw new IllegalStateException(msg);
+        }
+        if (manager.getTransaction() != null) { // e.g. caller-runs in test thread
+            return task.call();
+        }
+        final Thread worker = Thread.currentThread();
+        final Transaction existing = _xworkerTransactionRegistry.find(worker);
+        if (existing != null) {
+            manager.resume(existing);
+        } else {
+            final long before = System.nanoTime();
+            manager.begin();
+            _xcontainerMetrics.recordTransactionBegin(System.nanoTime() - before);
+            try {
+                _xworkerTransactionRegistry.register(worker, manager.getTransaction());
+            } catch (RuntimeException e) { // e.g. after tear-down
+                manager.rollback();
+                throw e;
+            }
+        }
+        try {
+            return task.call();
+        } finally {
+            manager.suspend(); // kept open until tear-down, not to remain in pooled thread
+        }
+    }
+
+    protected void xrollbackWorkerTransaction() {
+        final int workerCount = _xworkerTransactionRegistry.size();
+        if (workerCount == 0) {
+            _xworkerTransactionRegistry.rollbackAll(); // to close
+            return;
+        }
+        final long before = System.nanoTime();
+        final List<Throwable> failureList = _xworkerTransactionRegistry.rollbackAll();
+        xrecordTransactionRollback(System.nanoTime() - before);
+        log("...Rolling back worker transactions: count=" + workerCount);
+        for (Throwable failure : failureList) {
+            log("*Failed to roll back the worker transaction: " + failure);
+        }
+    }
+
+    protected GuiceWorkerTransactionRegistry xgetWorkerTransactionRegistry() {
+        return _xworkerTransactionRegistry;
+    }
+
     // ===================================================================================
     //                                                                   Component Binding
     //                                                                   =================
@@ -155,6 +852,67 @@ public abstract class GuiceTestCase extends InjectionTestCase {
         return ruleMap;
     }
 
+    // -----------------------------------------------------
+    //                                        Injection Plan
+    //                                        --------------
+    /**
+     * Inject the dependencies to the bean by the cached injection plan of its class. <br>
+     * The class hierarchy is scanned only once (shared by all containers),
+     * and registered mock instances are prior to components of the container.
+     * @param bean The bean to be injected. (NotNull)
+     */
+    @Override
+    protected void inject(Object bean) { // user method
+        if (!isUseInjectionPlanCache()) {
+            super.inject(bean);
+            return;
+        }
+        if (bean == null) {
+            throw new IllegalArgumentException("The argument 'bean' should not be null.");
+        }
+        xprepareMockOverlayIfNeeds();
+        _xinjectionPlanCache.findPlan(bean.getClass()).inject(bean, (key, optional) -> xresolveInjection(key, optional));
+    }
+
+    /**
+     * Inject the dependencies to the beans by the cached injection plans.
+     * @param beanList The collection of beans to be injected. (NotNull, EmptyAllowed)
+     */
+    protected void injectAll(Collection<?> beanList) { // user method
+        if (beanList == null) {
+            throw new IllegalArgumentException("The argument 'beanList' should not be null.");
+        }
+        for (Object bean : beanList) {
+            inject(bean);
+        }
+    }
+
+    /**
+     * Does it use the cached injection plans for inject()? (default: true) <br>
+     * Override this and return false to use the component binder of UTFlute core.
+     * @return The determination, true or false.
+     */
+    protected boolean isUseInjectionPlanCache() { // customize point
+        return true;
+    }
+
+    protected Object xresolveInjection(Key<?> key, boolean optional) {
+        if (key.getAnnotationType() == null && _xregisteredMockList != null) {
+            final Class<?> rawType = key.getTypeLiteral().getRawType();
+            for (int i = _xregisteredMockList.size() - 1; i >= 0; --i) { // latter is prior
+                final Object mock = _xregisteredMockList.get(i);
+                if (rawType.isInstance(mock)) {
+                    return mock;
+                }
+            }
+        }
+        final GuiceComponentIndex componentIndex = xgetCurrentComponentIndex();
+        if (!componentIndex.hasComponent(key)) { // not injected as the component binder of UTFlute core
+            return null;
+        }
+        return componentIndex.findProvider(key).get();
+    }
+
     // ===================================================================================
     //                                                                      Guice Handling
     //                                                                      ==============
@@ -162,13 +920,97 @@ public abstract class GuiceTestCase extends InjectionTestCase {
     //                                            Initialize
     //                                            ----------
     protected boolean xisInitializedContainer() {
-        return _xcachedInjector != null;
+        return _xcurrentFingerprint != null && _xcontainerRegistry.contains(_xcurrentFingerprint);
     }
 
     protected void xinitializeContainer(List<Module> moduleList) {
+        if (_xcurrentFingerprint == null) { // e.g. directly called
+            _xcurrentFingerprint = xbuildContainerFingerprint(moduleList);
+        }
         log("...Initializing guice: " + moduleList);
-        _xcurrentActiveInjector = Guice.createInjector(moduleList.toArray(new Module[] {}));
+        final long before = System.currentTimeMillis();
+        final long beforeNanos = System.nanoTime();
+        final GuiceElementRecord elementRecord = xrecordModuleElement(_xcurrentFingerprint, moduleList);
+        _xcurrentActiveInjector = xcreateInjector(elementRecord);
+        _xcontainerMetrics.recordContainerBuild(System.nanoTime() - beforeNanos);
+        xlogContainerStartup(elementRecord, before);
+        xprepareCreatedContainer(_xcurrentActiveInjector);
         _xcachedInjector = _xcurrentActiveInjector;
+        final GuiceContainerRegistration registration =
+                _xcontainerRegistry.register(_xcurrentFingerprint, _xcurrentActiveInjector, elementRecord);
+        _xcurrentEntry = registration.getRegisteredEntry(); // already acquired
+        xshutdownRemovedContainer(registration.getShutdownList());
+    }
+
+    protected GuiceElementRecord xrecordModuleElement(GuiceContainerFingerprint fingerprint, List<Module> moduleList) {
+        // record elements to replay them for e.g. mock overlay without configuring modules again
+        final boolean replayUsed = xisUseModuleElementReplayNow();
+        if (replayUsed) {
+            final GuiceElementRecord cachedRecord = _xelementCache.find(fingerprint);
+            if (cachedRecord != null) { // rebuild after destroy e.g. removed by capacity
+                log("...Replaying recorded elements: count=" + cachedRecord.getElementList().size());
+                return cachedRecord;
+            }
+        }
+        GuiceElementRecord elementRecord = GuiceElementRecord.record(prepareGuiceStage(), moduleList);
+        if (isUseLazySingletonStartup()) {
+            final GuiceLazySingletonRewriter rewriter = new GuiceLazySingletonRewriter();
+            elementRecord = elementRecord.toLazySingleton(rewriter);
+            log("...Rewriting eager singletons to lazy: count=" + rewriter.getRewrittenCount());
+        }
+        elementRecord = xrewriteModuleElement(elementRecord);
+        if (replayUsed) {
+            if (elementRecord.isReplayable()) {
+                xdisposeRemovedElementRecord(_xelementCache.register(fingerprint, elementRecord));
+            } else {
+                log("*Cannot replay the elements so modules are configured at every rebuild: " + elementRecord.getUnreplayableReason());
+            }
+        }
+        return elementRecord;
+    }
+
+    /**
+     * Does it replay the recorded module elements when the container is rebuilt? (default: true) <br>
+     * Modules are not configured again for e.g. container destroyed by capacity,
+     * and instance-bound components (e.g. data source) are shared by the rebuilt containers. <br>
+     * (one-time container does not replay them, it is always created by fresh modules) <br>
+     * Override this and return false if your modules should create fresh instances at every rebuild.
+     * @return The determination, true or false.
+     */
+    protected boolean isUseModuleElementReplay() { // customize point
+        return true;
+    }
+
+    protected boolean xisUseModuleElementReplayNow() {
+        return isUseModuleElementReplay() && !isUseOneTimeContainer(); // one-time needs fresh instances
+    }
+
+    /**
+     * Rewrite the recorded elements before the container is created. e.g. wrapping data source <br>
+     * The rewritten record is cached for replay so the rewriting should be decided by the container config.
+     * @param elementRecord The record of module elements. (NotNull)
+     * @return The rewritten record or the same record. (NotNull)
+     */
+    protected GuiceElementRecord xrewriteModuleElement(GuiceElementRecord elementRecord) {
+        return elementRecord; // no rewriting here
+    }
+
+    protected Injector xcreateInjector(GuiceElementRecord elementRecord) {
+        // singleton tracker is per injector to dispose singletons owned by the injector
+        return Guice.createInjector(elementRecord.getStage(), elementRecord.toModule(), new GuiceSingletonTracker());
+    }
+
+    protected void xlogContainerStartup(GuiceElementRecord elementRecord, long before) {
+        final long cost = System.currentTimeMillis() - before;
+        final String lazyExp = isUseLazySingletonStartup() ? ", lazySingleton" : "";
+        log("guice startup: " + cost + "ms (" + elementRecord.getStage() + lazyExp + ")");
+    }
+
+    /**
+     * Prepare the created container before registration, called only when the container is created.
+     * @param injector The created injector. (NotNull)
+     */
+    protected void xprepareCreatedContainer(Injector injector) { // e.g. connection warm-up by sub-class
     }
 
     // -----------------------------------------------------
@@ -176,43 +1018,472 @@ public abstract class GuiceTestCase extends InjectionTestCase {
     //                                               -------
     @Override
     protected void xdestroyContainer() {
+        xremoveCurrentContainer();
         _xcachedInjector = null;
         _xcurrentActiveInjector = null;
     }
 
+    protected void xremoveCurrentContainer() {
+        if (_xcurrentFingerprint == null) { // not prepared yet
+            return;
+        }
+        xshutdownRemovedContainer(_xcontainerRegistry.remove(_xcurrentFingerprint)); // retired if used by other
+    }
+
+    protected void xshutdownRemovedContainer(List<GuiceContainerEntry> removedList) {
+        for (GuiceContainerEntry removed : removedList) {
+            xshutdownContainer(removed);
+        }
+    }
+
+    protected void xshutdownContainer(GuiceContainerEntry entry) {
+        log("...Shutting down guice: " + entry.getFingerprint());
+        if (entry.getInjector() == _xcachedInjector) {
+            _xcachedInjector = null;
+        }
+        final long before = System.currentTimeMillis();
+        for (GuiceMockOverlay overlay : entry.clearMockOverlay()) { // cached per mocks
+            xdisposeMockOverlay(overlay);
+        }
+        final GuiceContainerDestroyer destroyer = xcreateContainerDestroyer();
+        final GuiceElementRecord elementRecord = entry.getElementRecord();
+        final List<String> failureList;
+        if (elementRecord != null && _xelementCache.isCached(elementRecord)) {
+            // instances are owned by the element record, disposed when it is evicted
+            failureList = destroyer.destroyProvisioned(entry.getInjector());
+        } else {
+            failureList = destroyer.destroy(entry.getInjector());
+        }
+        for (String failure : failureList) {
+            log(failure);
+        }
+        final Binding<GuiceProvisionProfiler> profilerBinding = entry.getInjector().getExistingBinding(Key.get(GuiceProvisionProfiler.class));
+        if (profilerBinding != null) { // profiled container
+            profilerBinding.getProvider().get().reportIfNeeds();
+        }
+        log("guice shutdown: " + (System.currentTimeMillis() - before) + "ms");
+    }
+
+    protected void xdisposeRemovedElementRecord(List<GuiceElementRecord> removedList) {
+        for (GuiceElementRecord removed : removedList) {
+            if (_xcontainerRegistry.isInUse(removed)) { // disposed when the container is shut down
+                continue;
+            }
+            final List<Object> instanceList = removed.extractBoundInstanceList();
+            final List<String> failureList = xcreateContainerDestroyer().destroyInstances(instanceList);
+            for (String failure : failureList) {
+                log(failure);
+            }
+        }
+    }
+
+    protected GuiceContainerDestroyer xcreateContainerDestroyer() {
+        return new GuiceContainerDestroyer(_xcustomDisposerList);
+    }
+
+    /**
+     * Register the custom disposer of container components, which is used by all test cases. <br>
+     * It is called before default disposers (AutoCloseable and ExecutorService) when the container is destroyed,
+     * and components of other types are disposed only by custom disposers. e.g. pool that needs special shutdown
+     * <pre>
+     * static {
+     *     registerContainerDisposer(component -&gt; {
+     *         if (component instanceof MyPool) {
+     *             ((MyPool) component).terminate();
+     *             return true;
+     *         }
+     *         return false;
+     *     });
+     * }
+     * </pre>
+     * @param disposer The disposer of component. (NotNull)
+     */
+    protected static void registerContainerDisposer(GuiceComponentDisposer disposer) {
+        if (disposer == null) {
+            throw new IllegalArgumentException("The argument 'disposer' should not be null.");
+        }
+        _xcustomDisposerList.add(disposer);
+    }
+
+    // -----------------------------------------------------
+    //                                       Component Index
+    //                                       ---------------
+    protected GuiceComponentIndex xgetCurrentComponentIndex() {
+        final Injector injector = _xcurrentActiveInjector;
+        if (injector == null) {
+            String msg = "Not found the active injector, the container is not prepared: " + _xcurrentFingerprint;
+            throw new IllegalStateException(msg);
+        }
+        if (_xcurrentComponentIndex == null || _xcurrentComponentIndex.getInjector() != injector) { // switched
+            _xcurrentComponentIndex = xfindComponentIndex(injector);
+        }
+        return _xcurrentComponentIndex;
+    }
+
+    protected GuiceComponentIndex xfindComponentIndex(Injector injector) {
+        if (_xcurrentMockOverlay != null && _xcurrentMockOverlay.getOverlayInjector() == injector) {
+            return _xcurrentMockOverlay.getComponentIndex();
+        }
+        if (_xcurrentEntry != null && _xcurrentEntry.getInjector() == injector) { // basically here
+            return _xcurrentEntry.getComponentIndex();
+        }
+        return new GuiceComponentIndex(injector); // e.g. injector set by sub class
+    }
+
     // -----------------------------------------------------
     //                                             Component
     //                                             ---------
     /** {@inheritDoc} */
     protected <COMPONENT> COMPONENT getComponent(Class<COMPONENT> type) { // user method
-        return _xcurrentActiveInjector.getInstance(type);
+        xprepareMockOverlayIfNeeds();
+        return xgetCurrentComponentIndex().getComponent(type);
     }
 
-    /** {@inheritDoc} */
+    /**
+     * Get the component by the name of &#64;Named binding. (com.google.inject.name or javax.inject)
+     * @param <COMPONENT> The type of component.
+     * @param name The value of &#64;Named. (NotNull)
+     * @return The component instance. (NotNull)
+     * @throws IllegalStateException When the component is not found or the name is ambiguous.
+     */
     protected <COMPONENT> COMPONENT getComponent(String name) { // user method
-        throw new IllegalStateException("The guice does not support by-name component: " + name);
+        xprepareMockOverlayIfNeeds();
+        return xgetCurrentComponentIndex().getComponent(name);
     }
 
     /** {@inheritDoc} */
     protected boolean hasComponent(Class<?> type) { // user method
+        // determined by the index, not instantiate the component
+        xprepareMockOverlayIfNeeds();
+        return xgetCurrentComponentIndex().hasComponent(Key.get(type));
+    }
+
+    /** {@inheritDoc} */
+    protected boolean hasComponent(String name) { // user method
+        xprepareMockOverlayIfNeeds();
+        return xgetCurrentComponentIndex().hasComponent(name);
+    }
+
+    // ===================================================================================
+    //                                                                      Component Load
+    //                                                                      ==============
+    /**
+     * Call the component by concurrent callers until the total calls are done, recording latencies.
+     * <pre>
+     * GuiceLoadResult result = runLoad(FooService.class, 8, 100000, service -&gt; service.find(3));
+     * assertLoadPercentileLessThan(result, 99.0, 5); // p99 under 5ms
+     * </pre>
+     * Callers are made by {@link #prepareLoadThreadFactory()}, e.g. virtual threads.
+     * @param <COMPONENT> The type of component.
+     * @param type The type of component to be called. (NotNull)
+     * @param callerCount The count of concurrent callers. (Positive)
+     * @param callCount The total count of calls by all callers. (Positive)
+     * @param call The call against the component, errors are counted. (NotNull)
+     * @return The result of load, which has throughput and percentiles. (NotNull)
+     */
+    protected <COMPONENT> GuiceLoadResult runLoad(Class<COMPONENT> type, int callerCount, long callCount,
+            GuiceLoadCall<COMPONENT> call) { // user method
+        final COMPONENT component = getComponent(type);
+        final GuiceLoadResult result = new GuiceLoadDriver(callerCount, prepareLoadThreadFactory()).runCalls(component, callCount, call);
+        log("load of " + type.getSimpleName() + ": " + result.toDisplay());
+        return result;
+    }
+
+    /**
+     * Call the component by concurrent callers during the duration, recording latencies.
+     * @param <COMPONENT> The type of component.
+     * @param type The type of component to be called. (NotNull)
+     * @param callerCount The count of concurrent callers. (Positive)
+     * @param durationMillis The duration of load in milliseconds. (Positive)
+     * @param call The call against the component, errors are counted. (NotNull)
+     * @return The result of load, which has throughput and percentiles. (NotNull)
+     */
+    protected <COMPONENT> GuiceLoadResult runLoadDuration(Class<COMPONENT> type, int callerCount, long durationMillis,
+            GuiceLoadCall<COMPONENT> call) { // user method
+        final COMPONENT component = getComponent(type);
+        final GuiceLoadDriver driver = new GuiceLoadDriver(callerCount, prepareLoadThreadFactory());
+        final GuiceLoadResult result = driver.runDuration(component, durationMillis, call);
+        log("load of " + type.getSimpleName() + ": " + result.toDisplay());
+        return result;
+    }
+
+    /**
+     * Prepare the factory of load caller threads. (default: null, daemon platform threads) <br>
+     * Return e.g. Thread.ofVirtual().factory() to use virtual threads. (Java 21 or later)
+     * @return The factory of caller threads. (NullAllowed: default threads)
+     */
+    protected ThreadFactory prepareLoadThreadFactory() { // customize point
+        return null;
+    }
+
+    /**
+     * Assert the latency at the percentile is less than the limit.
+     * @param result The result of load. (NotNull)
+     * @param percentile The percentile e.g. 50.0, 99.0, 99.9 (0 to 100)
+     * @param limitMillis The limit of latency in milliseconds.
+     */
+    protected void assertLoadPercentileLessThan(GuiceLoadResult result, double percentile, long limitMillis) {
+        final long actualNanos = result.getPercentileNanos(percentile);
+        if (actualNanos >= limitMillis * 1000000L) {
+            fail("The p" + percentile + " latency is not less than " + limitMillis + "ms: " + result.toDisplay());
+        }
+    }
+
+    /**
+     * Assert the throughput (calls per second) is at least the expected.
+     * @param result The result of load. (NotNull)
+     * @param expectedThroughput The expected count of calls per second.
+     */
+    protected void assertLoadThroughputAtLeast(GuiceLoadResult result, double expectedThroughput) {
+        if (result.getThroughput() < expectedThroughput) {
+            fail("The throughput is less than " + expectedThroughput + " calls/sec: " + result.toDisplay());
+        }
+    }
+
+    /**
+     * Assert the load has no error.
+     * @param result The result of load. (NotNull)
+     */
+    protected void assertLoadNoError(GuiceLoadResult result) {
+        if (result.getErrorCount() > 0) {
+            fail("The load has errors: " + result.toDisplay());
+        }
+    }
+
+    // -----------------------------------------------------
+    //                                       Micro Benchmark
+    //                                       ---------------
+    /**
+     * Measure the call against the component by micro-benchmark, warm-up and measurement iterations. <br>
+     * Return the result of call from the lambda, it is consumed by blackhole not to be eliminated.
+     * <pre>
+     * GuiceBenchmarkResult result = benchmark(FooLogic.class, logic -&gt; logic.behaviorToString());
+     * </pre>
+     * It is for quick comparison in tests, use JMH for precise measurement.
+     * @param <COMPONENT> The type of component.
+     * @param type The type of component to be called. (NotNull)
+     * @param call The measured call, which returns its result. (NotNull)
+     * @return The result of benchmark, which has mean, stddev and confidence interval. (NotNull)
+     */
+    protected <COMPONENT> GuiceBenchmarkResult benchmark(Class<COMPONENT> type, GuiceBenchmarkCall<COMPONENT> call) { // user method
+        return benchmark(type.getSimpleName(), getComponent(type), call);
+    }
+
+    /**
+     * Measure the call against the component by micro-benchmark, warm-up and measurement iterations.
+     * <pre>
+     * GuiceBenchmarkResult fast = benchmark("fast", getComponent("fastFinder"), finder -&gt; finder.find(3));
+     * GuiceBenchmarkResult slow = benchmark("slow", getComponent("slowFinder"), finder -&gt; finder.find(3));
+     * assertFasterThan(fast, slow);
+     * </pre>
+     * @param <COMPONENT> The type of component.
+     * @param name The name of benchmark for display. (NotNull)
+     * @param component The component to be called, e.g. from getComponent(). (NotNull)
+     * @param call The measured call, which returns its result. (NotNull)
+     * @return The result of benchmark, which has mean, stddev and confidence interval. (NotNull)
+     */
+    protected <COMPONENT> GuiceBenchmarkResult benchmark(String name, COMPONENT component, GuiceBenchmarkCall<COMPONENT> call) { // user method
+        final GuiceMicroBenchmark microBenchmark = new GuiceMicroBenchmark();
+        microBenchmark.setWarmUpIterations(prepareBenchmarkWarmUpIterations());
+        microBenchmark.setMeasurementIterations(prepareBenchmarkMeasurementIterations());
+        microBenchmark.setIterationMillis(prepareBenchmarkIterationMillis());
+        final GuiceBenchmarkResult result;
         try {
-            getComponent(type);
-            return true;
+            result = microBenchmark.run(name, component, call);
         } catch (RuntimeException e) {
-            return false;
+            throw e;
+        } catch (Exception e) {
+            String msg = "Failed to call the component in the benchmark: " + name;
+            throw new IllegalStateException(msg, e);
         }
+        log("benchmark " + result.toDisplay());
+        return result;
     }
 
-    /** {@inheritDoc} */
-    protected boolean hasComponent(String name) { // user method
+    protected int prepareBenchmarkWarmUpIterations() { // customize point
+        return GuiceMicroBenchmark.DEFAULT_WARM_UP_ITERATIONS;
+    }
+
+    protected int prepareBenchmarkMeasurementIterations() { // customize point
+        return GuiceMicroBenchmark.DEFAULT_MEASUREMENT_ITERATIONS;
+    }
+
+    protected long prepareBenchmarkIterationMillis() { // customize point
+        return GuiceMicroBenchmark.DEFAULT_ITERATION_MILLIS;
+    }
+
+    /**
+     * Assert the first benchmark is faster than the second with statistical significance. <br>
+     * The 99% confidence intervals of the means should not overlap.
+     * @param faster The result of benchmark expected to be faster. (NotNull)
+     * @param slower The result of benchmark expected to be slower. (NotNull)
+     */
+    protected void assertFasterThan(GuiceBenchmarkResult faster, GuiceBenchmarkResult slower) {
+        if (!faster.isFasterThan(slower)) {
+            fail("Not significantly faster: expected=" + faster.toDisplay() + ", compared=" + slower.toDisplay());
+        }
+    }
+
+    // ===================================================================================
+    //                                                                         Test Timing
+    //                                                                         ===========
+    /**
+     * Store the timing of the test and compare it with the baseline of previous runs. <br>
+     * The timing is appended to the file per test class under the build directory,
+     * and the baseline is the median of latest records. <br>
+     * Transaction and body phases are compared because prepare phase depends on test order. (e.g. container creation)
+     * @param tearDownNanos The nanoseconds of tearDown() in the test.
+     */
+    protected void xstoreTestTiming(long tearDownNanos) {
+        final boolean bodySuccess = _xcurrentBodySuccess;
+        final long transactionNanos = _xcurrentTransactionNanos;
+        _xcurrentBodySuccess = false;
+        _xcurrentTransactionNanos = 0L;
+        if (!isUseTestTimingStore() || !bodySuccess) { // failed test is not compared
+            return;
+        }
+        final File storeDir = prepareTestTimingStoreDir();
+        if (storeDir == null) {
+            return;
+        }
+        final long prepareNanos = Math.max(0L, _xcurrentSetUpNanos + tearDownNanos - transactionNanos);
+        final GuiceTimingRecord record = new GuiceTimingRecord(getName(), System.currentTimeMillis(), prepareNanos / 1000L,
+                transactionNanos / 1000L, _xcurrentBodyNanos / 1000L);
+        final GuiceTimingStore store = new GuiceTimingStore(storeDir);
+        store.setBaselineSize(prepareTestTimingBaselineSize());
+        final long baselineMicros;
+        try {
+            baselineMicros = store.appendAndFindBaseline(getClass().getName(), record);
+        } catch (Exception e) { // not fail the test
+            log("*Failed to store the test timing: " + storeDir + ", " + e);
+            return;
+        }
+        if (baselineMicros < prepareTestTimingMinimumMillis() * 1000L) { // no history or too short to compare
+            return;
+        }
+        final double ratio = (double) record.getComparedMicros() / baselineMicros;
+        final String exp = String.format("%.1f times slower than baseline %.1fms: %s", ratio, baselineMicros / 1000.0, record.toDisplay());
+        final double failRatio = prepareTestTimingFailRatio();
+        if (failRatio > 0.0 && ratio >= failRatio) {
+            fail("The test is " + exp);
+        } else if (ratio >= prepareTestTimingWarnRatio()) {
+            log("*The test is " + exp);
+        }
+    }
+
+    /**
+     * Does it use the timing store of tests? (default: false) <br>
+     * The timings are stored under the build directory, and compared with the baseline.
+     * @return The determination, true or false.
+     */
+    protected boolean isUseTestTimingStore() { // customize point
+        return false;
+    }
+
+    /**
+     * Prepare the directory of timing store. (default: utflute-timing under build directory)
+     * @return The directory of timing store. (NullAllowed: if null, no store)
+     */
+    protected File prepareTestTimingStoreDir() { // customize point
+        final File buildDir;
         try {
-            getComponent(name);
-            return true;
+            buildDir = DfResourceUtil.getBuildDir(getClass());
+        } catch (RuntimeException ignored) { // e.g. in jar file
+            return null;
+        }
+        return buildDir != null ? new File(buildDir, "utflute-timing") : null;
+    }
+
+    protected int prepareTestTimingBaselineSize() { // customize point
+        return GuiceTimingStore.DEFAULT_BASELINE_SIZE;
+    }
+
+    /**
+     * @return The minimum milliseconds of baseline to be compared, shorter tests are too noisy.
+     */
+    protected long prepareTestTimingMinimumMillis() { // customize point
+        return 10L;
+    }
+
+    /**
+     * @return The ratio to baseline to log the slowdown warning.
+     */
+    protected double prepareTestTimingWarnRatio() { // customize point
+        return 2.0;
+    }
+
+    /**
+     * @return The ratio to baseline to fail the test. (zero or minus means no failure, default: 0)
+     */
+    protected double prepareTestTimingFailRatio() { // customize point
+        return 0.0;
+    }
+
+    // ===================================================================================
+    //                                                                      Resource Usage
+    //                                                                      ==============
+    /**
+     * Does it log the resource usage (allocated bytes, CPU and wall time) of test method? (default: false) <br>
+     * The usage is measured anyway, and you can get it by xgetCurrentBodyUsage() in tearDown().
+     * @return The determination, true or false.
+     */
+    protected boolean isUseTestResourceUsageReport() { // customize point
+        return false;
+    }
+
+    /**
+     * Measure the resource usage of the block in the test thread, allocated bytes, CPU and wall time.
+     * <pre>
+     * GuiceResourceUsage usage = measureResourceUsage("search", () -&gt; fooLogic.search(cb));
+     * </pre>
+     * Threads started in the block are not measured.
+     * @param title The title of the block for logging. (NotNull)
+     * @param block The measured block. (NotNull)
+     * @return The usage of the block. (NotNull)
+     */
+    protected GuiceResourceUsage measureResourceUsage(String title, GuiceMeasuredBlock block) { // user method
+        final GuiceResourceUsage usage = xmeasureResourceUsage(block);
+        log("resource usage of " + title + ": " + usage.toDisplay());
+        return usage;
+    }
+
+    /**
+     * Assert the bytes allocated by the block in the test thread is less than the limit. <br>
+     * Call the block once before this to exclude first-time costs. (e.g. class loading, cache)
+     * <pre>
+     * fooLogic.search(cb); // warm-up
+     * assertAllocatedLessThan(1024 * 1024, () -&gt; fooLogic.search(cb));
+     * </pre>
+     * If the JVM does not support allocation measurement, it is logged and not asserted.
+     * @param limitBytes The limit of allocated bytes, exclusive.
+     * @param block The measured block. (NotNull)
+     */
+    protected void assertAllocatedLessThan(long limitBytes, GuiceMeasuredBlock block) {
+        final GuiceResourceUsage usage = xmeasureResourceUsage(block);
+        if (!usage.isAllocationSupported()) {
+            log("*Cannot assert the allocated bytes because the JVM does not support it: " + usage.toDisplay());
+            return;
+        }
+        if (usage.getAllocatedBytes() >= limitBytes) {
+            fail("Allocated too many bytes: limit=" + limitBytes + ", actual=" + usage.getAllocatedBytes() + " (" + usage.toDisplay() + ")");
+        }
+    }
+
+    protected GuiceResourceUsage xmeasureResourceUsage(GuiceMeasuredBlock block) {
+        try {
+            return GuiceResourceMeter.measure(block);
         } catch (RuntimeException e) {
-            return false;
+            throw e;
+        } catch (Exception e) {
+            String msg = "Failed to execute the measured block.";
+            throw new IllegalStateException(msg, e);
         }
     }
 
+    protected GuiceResourceUsage xgetCurrentBodyUsage() {
+        return _xcurrentBodyUsage;
+    }
+
     // ===================================================================================
     //                                                                            Accessor
     //                                                                            ========
@@ -224,6 +1495,30 @@ public abstract class GuiceTestCase extends InjectionTestCase {
         _xcachedInjector = xcachedInjector;
     }
 
+    protected static GuiceContainerRegistry xgetContainerRegistry() {
+        return _xcontainerRegistry;
+    }
+
+    protected static GuiceElementCache xgetElementCache() {
+        return _xelementCache;
+    }
+
+    protected static GuiceInjectionPlanCache xgetInjectionPlanCache() {
+        return _xinjectionPlanCache;
+    }
+
+    protected static GuiceContainerMetrics xgetContainerMetrics() {
+        return _xcontainerMetrics;
+    }
+
+    protected static GuiceContainerBootstrapper xgetContainerBootstrapper() {
+        return _xcontainerBootstrapper;
+    }
+
+    protected static GuiceContainerFingerprint xgetLatestFingerprint() {
+        return _xlatestFingerprint;
+    }
+
     protected Injector xgetCurrentActiveInjector() {
         return _xcurrentActiveInjector;
     }
@@ -231,4 +1526,8 @@ public abstract class GuiceTestCase extends InjectionTestCase {
     protected void xsetCurrentActiveInjector(Injector xcurrentActiveInjector) {
         _xcurrentActiveInjector = xcurrentActiveInjector;
     }
+
+    protected GuiceContainerFingerprint xgetCurrentFingerprint() {
+        return _xcurrentFingerprint;
+    }
 }
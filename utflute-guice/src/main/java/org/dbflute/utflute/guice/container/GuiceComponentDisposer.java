@@ -0,0 +1,35 @@
+/*
+ * Copyright 2014-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.utflute.guice.container;
+
+/**
+ * The disposer of component owned by container, called when the container is destroyed. <br>
+ * Custom disposers are prior to the default ones (AutoCloseable and ExecutorService),
+ * and other types are disposed only by them. e.g. close() of component that is not AutoCloseable
+ * @author jflute
+ * @since 0.9.9 (2026/10/18 Sunday)
+ */
+@FunctionalInterface
+public interface GuiceComponentDisposer {
+
+    /**
+     * Dispose the component if it is the target of this disposer.
+     * @param component The component to be disposed, instance-bound or provisioned singleton. (NotNull)
+     * @return Is it disposed here? (false: not target so next disposer handles it)
+     * @throws Exception When it fails to dispose, which is logged and other components are disposed.
+     */
+    boolean dispose(Object component) throws Exception;
+}
@@ -0,0 +1,240 @@
+/*
+ * Copyright 2014-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.utflute.guice.container;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.google.inject.Binding;
+import com.google.inject.ConfigurationException;
+import com.google.inject.ImplementedBy;
+import com.google.inject.Injector;
+import com.google.inject.Key;
+import com.google.inject.ProvidedBy;
+import com.google.inject.Provider;
+
+/**
+ * The index of components in the injector, built when the injector is created. <br>
+ * It determines existence of components without instantiating them or throwing exceptions,
+ * and caches providers per key so that repeated lookups skip key resolution of Google Guice. <br>
+ * Keys annotated by &#64;Named (com.google.inject.name and javax.inject) are indexed by the name
+ * for by-name lookup. (thread-safe)
+ * @author jflute
+ * @since 0.9.9 (2026/10/18 Sunday)
+ */
+public class GuiceComponentIndex {
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final Injector _injector; // not null
+    protected final Map<Key<?>, Binding<?>> _bindingMap; // not null, read-only, bindings at creation (contains parents)
+    protected final Map<String, List<Key<?>>> _namedKeyMap; // not null, read-only, keyed by value of @Named
+    protected final ConcurrentHashMap<Key<?>, Provider<?>> _providerMap = new ConcurrentHashMap<Key<?>, Provider<?>>();
+    protected final ConcurrentHashMap<Class<?>, Boolean> _justInTimeMap = new ConcurrentHashMap<Class<?>, Boolean>();
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    public GuiceComponentIndex(Injector injector) {
+        _injector = injector;
+        final Map<Key<?>, Binding<?>> bindingMap = new HashMap<Key<?>, Binding<?>>();
+        for (Injector current = injector; current != null; current = current.getParent()) {
+            for (Map.Entry<Key<?>, Binding<?>> entry : current.getAllBindings().entrySet()) {
+                if (!bindingMap.containsKey(entry.getKey())) { // child is prior
+                    bindingMap.put(entry.getKey(), entry.getValue());
+                }
+            }
+        }
+        _bindingMap = Collections.unmodifiableMap(bindingMap);
+        _namedKeyMap = Collections.unmodifiableMap(indexNamedKey(bindingMap));
+    }
+
+    protected static Map<String, List<Key<?>>> indexNamedKey(Map<Key<?>, Binding<?>> bindingMap) {
+        final Map<String, List<Key<?>>> namedKeyMap = new HashMap<String, List<Key<?>>>();
+        for (Key<?> key : bindingMap.keySet()) {
+            final String name = extractName(key.getAnnotation());
+            if (name != null) {
+                namedKeyMap.computeIfAbsent(name, dummy -> new ArrayList<Key<?>>(1)).add(key);
+            }
+        }
+        return namedKeyMap;
+    }
+
+    protected static String extractName(Annotation annotation) { // null allowed
+        if (annotation instanceof com.google.inject.name.Named) {
+            return ((com.google.inject.name.Named) annotation).value();
+        } else if (annotation instanceof javax.inject.Named) { // basically converted to guice's by key
+            return ((javax.inject.Named) annotation).value();
+        }
+        return null;
+    }
+
+    // ===================================================================================
+    //                                                                       Determination
+    //                                                                       =============
+    /**
+     * Does the injector have the component for the key? (without instantiation and exception) <br>
+     * Just-in-time bindings are determined by the type structure (e.g. concrete class with default constructor)
+     * and confirmed by the injector once per type. e.g. dependencies of the constructor, requireExplicitBindings()
+     * @param key The key of component. (NotNull)
+     * @return The determination, true or false.
+     */
+    public boolean hasComponent(Key<?> key) {
+        if (_bindingMap.containsKey(key) || _providerMap.containsKey(key)) {
+            return true;
+        }
+        if (_injector.getExistingBinding(key) != null) { // e.g. just-in-time binding created after the index
+            return true;
+        }
+        if (key.getAnnotationType() != null || !key.getTypeLiteral().getType().equals(key.getTypeLiteral().getRawType())) {
+            return false; // just-in-time binding is only for plain class
+        }
+        return _justInTimeMap.computeIfAbsent(key.getTypeLiteral().getRawType(), type -> determineJustInTime(type));
+    }
+
+    protected boolean determineJustInTime(Class<?> type) {
+        if (!isJustInTimeStructure(type)) { // quick check not to throw exception of Google Guice
+            return false;
+        }
+        try {
+            _injector.getBinding(type); // created but not instantiated, and cached by the injector
+            return true;
+        } catch (ConfigurationException ignored) { // e.g. unbound dependency, explicit bindings required
+            return false;
+        }
+    }
+
+    protected boolean isJustInTimeStructure(Class<?> type) {
+        if (type.isAnnotationPresent(ImplementedBy.class) || type.isAnnotationPresent(ProvidedBy.class)) {
+            return true;
+        }
+        final int modifiers = type.getModifiers();
+        if (type.isInterface() || type.isPrimitive() || type.isArray() || Modifier.isAbstract(modifiers)) {
+            return false;
+        }
+        if (type.isMemberClass() && !Modifier.isStatic(modifiers)) { // inner class needs outer instance
+            return false;
+        }
+        for (Constructor<?> constructor : type.getDeclaredConstructors()) {
+            if (constructor.isAnnotationPresent(com.google.inject.Inject.class)
+                    || constructor.isAnnotationPresent(javax.inject.Inject.class)) {
+                return true;
+            }
+        }
+        for (Constructor<?> constructor : type.getDeclaredConstructors()) {
+            if (constructor.getParameterTypes().length == 0) { // private one is allowed only in private class
+                return !Modifier.isPrivate(constructor.getModifiers()) || Modifier.isPrivate(modifiers);
+            }
+        }
+        return false;
+    }
+
+    // ===================================================================================
+    //                                                                             By Name
+    //                                                                             =======
+    /**
+     * Does the injector have the component for the name of &#64;Named?
+     * @param name The value of &#64;Named. (NotNull)
+     * @return The determination, true or false. (also true if ambiguous)
+     */
+    public boolean hasComponent(String name) {
+        return _namedKeyMap.containsKey(name);
+    }
+
+    /**
+     * Get the component for the name of &#64;Named by the cached provider.
+     * @param <COMPONENT> The type of component.
+     * @param name The value of &#64;Named. (NotNull)
+     * @return The component instance. (NotNull)
+     * @throws IllegalStateException When the component is not found or the name is ambiguous.
+     */
+    @SuppressWarnings("unchecked")
+    public <COMPONENT> COMPONENT getComponent(String name) {
+        return (COMPONENT) findProvider(findNamedKey(name)).get();
+    }
+
+    /**
+     * Find the only key for the name of &#64;Named.
+     * @param name The value of &#64;Named. (NotNull)
+     * @return The key of named binding. (NotNull)
+     * @throws IllegalStateException When the component is not found or the name is ambiguous.
+     */
+    public Key<?> findNamedKey(String name) {
+        final List<Key<?>> keyList = _namedKeyMap.get(name);
+        if (keyList == null) {
+            String msg = "Not found the component by the name of @Named: " + name;
+            throw new IllegalStateException(msg);
+        }
+        if (keyList.size() > 1) {
+            String msg = "The name of @Named is ambiguous, specify the type instead: name=" + name + ", keys=" + keyList;
+            throw new IllegalStateException(msg);
+        }
+        return keyList.get(0);
+    }
+
+    // ===================================================================================
+    //                                                                            Provider
+    //                                                                            ========
+    /**
+     * Get the component for the type by the cached provider.
+     * @param <COMPONENT> The type of component.
+     * @param type The type of component. (NotNull)
+     * @return The component instance. (NotNull)
+     * @throws com.google.inject.ConfigurationException When the component is not found.
+     */
+    public <COMPONENT> COMPONENT getComponent(Class<COMPONENT> type) {
+        return findProvider(Key.get(type)).get();
+    }
+
+    /**
+     * Find the provider for the key, cached at the first time.
+     * @param <COMPONENT> The type of component.
+     * @param key The key of component. (NotNull)
+     * @return The provider of the component. (NotNull)
+     * @throws com.google.inject.ConfigurationException When the component is not found.
+     */
+    @SuppressWarnings("unchecked")
+    public <COMPONENT> Provider<COMPONENT> findProvider(Key<COMPONENT> key) {
+        final Provider<?> cached = _providerMap.get(key); // fast path without locking
+        if (cached != null) {
+            return (Provider<COMPONENT>) cached;
+        }
+        return (Provider<COMPONENT>) _providerMap.computeIfAbsent(key, cacheKey -> _injector.getProvider(cacheKey));
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public Injector getInjector() {
+        return _injector;
+    }
+
+    public Map<Key<?>, Binding<?>> getBindingMap() {
+        return _bindingMap;
+    }
+
+    public Map<String, List<Key<?>>> getNamedKeyMap() {
+        return _namedKeyMap;
+    }
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright 2014-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.utflute.guice.container;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.sql.DataSource;
+
+/**
+ * The warmer of connection pool, which opens and validates connections in parallel. <br>
+ * The connections are held until all of them are opened, so that the pool opens physical connections
+ * as many as the count (not reusing one), and they are returned to the pool (closed) after that. <br>
+ * The count should be less than the max size of the pool, or it waits for borrow timeout.
+ * @author jflute
+ * @since 0.9.9 (2026/10/18 Sunday)
+ */
+public class GuiceConnectionWarmer {
+
+    // ===================================================================================
+    //                                                                          Definition
+    //                                                                          ==========
+    /** The default timeout seconds to validate connection and to wait for others. */
+    public static final int DEFAULT_TIMEOUT_SECONDS = 10;
+
+    protected static final AtomicInteger _warmerThreadNumber = new AtomicInteger();
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final DataSource _dataSource; // not null
+    protected final int _connectionCount; // positive
+    protected int _timeoutSeconds = DEFAULT_TIMEOUT_SECONDS;
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    public GuiceConnectionWarmer(DataSource dataSource, int connectionCount) {
+        if (dataSource == null) {
+            String msg = "The argument 'dataSource' should not be null!";
+            throw new IllegalArgumentException(msg);
+        }
+        if (connectionCount <= 0) {
+            throw new IllegalArgumentException("The argument 'connectionCount' should be positive: " + connectionCount);
+        }
+        _dataSource = dataSource;
+        _connectionCount = connectionCount;
+    }
+
+    // ===================================================================================
+    //                                                                             Warm-up
+    //                                                                             =======
+    /**
+     * Open and validate the connections in parallel, and return them to the pool.
+     * @return The list of failures, e.g. invalid connection, borrow timeout. (NotNull, EmptyAllowed)
+     */
+    public List<Throwable> warmUp() {
+        final ExecutorService executor = Executors.newFixedThreadPool(_connectionCount, runnable -> {
+            final Thread thread = new Thread(runnable, "utflute-guice-warmer-" + _warmerThreadNumber.incrementAndGet());
+            thread.setDaemon(true); // not to block JVM end
+            return thread;
+        });
+        final List<Throwable> failureList = new ArrayList<Throwable>();
+        try {
+            final CountDownLatch openedLatch = new CountDownLatch(_connectionCount);
+            final List<Callable<Void>> taskList = new ArrayList<Callable<Void>>(_connectionCount);
+            for (int i = 0; i < _connectionCount; i++) {
+                taskList.add(() -> {
+                    openAndValidate(openedLatch);
+                    return null;
+                });
+            }
+            for (Future<Void> future : executor.invokeAll(taskList)) {
+                try {
+                    future.get();
+                } catch (ExecutionException e) {
+                    failureList.add(e.getCause());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            failureList.add(e);
+        } finally {
+            executor.shutdownNow();
+        }
+        return failureList;
+    }
+
+    protected void openAndValidate(CountDownLatch openedLatch) throws SQLException, InterruptedException {
+        Connection conn = null;
+        try {
+            try {
+                conn = _dataSource.getConnection();
+                validate(conn);
+            } finally {
+                openedLatch.countDown(); // also failure, not to wait for it
+            }
+            openedLatch.await(_timeoutSeconds, TimeUnit.SECONDS); // hold it for pool to open others
+        } finally {
+            if (conn != null) {
+                conn.close(); // returned to the pool
+            }
+        }
+    }
+
+    protected void validate(Connection conn) throws SQLException {
+        final boolean valid;
+        try {
+            valid = conn.isValid(_timeoutSeconds);
+        } catch (SQLFeatureNotSupportedException | AbstractMethodError ignored) { // old driver
+            return;
+        }
+        if (!valid) {
+            throw new SQLException("The connection is invalid: " + conn);
+        }
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public int getConnectionCount() {
+        return _connectionCount;
+    }
+
+    public void setTimeoutSeconds(int timeoutSeconds) {
+        _timeoutSeconds = timeoutSeconds;
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright 2014-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.utflute.guice.container;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * The bootstrapper of container in background thread. <br>
+ * It just runs bootstrap tasks reserved per test case type, the tasks themselves
+ * create and register the container under the preparation lock of the registry,
+ * so the test case (in main thread) waits for it only when it actually needs the container.
+ * @author jflute
+ * @since 0.9.9 (2026/10/18 Sunday)
+ */
+public class GuiceContainerBootstrapper {
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    /** The set of test case types already reserved, to bootstrap only once per type. (NotNull) */
+    protected final Set<Class<?>> _reservedTypeSet = ConcurrentHashMap.newKeySet();
+
+    /** The set of fingerprints being bootstrapped now. (NotNull) */
+    protected final Set<GuiceContainerFingerprint> _bootstrappingSet = ConcurrentHashMap.newKeySet();
+
+    /** The executor of bootstrap tasks. (NullAllowed: lazy-loaded) */
+    protected ExecutorService _executor;
+
+    // ===================================================================================
+    //                                                                             Reserve
+    //                                                                             =======
+    /**
+     * Reserve the bootstrap task of the test case type, executed in background thread.
+     * @param testCaseType The type of test case to bootstrap its container. (NotNull)
+     * @param bootstrapTask The task to create and register the container. (NotNull)
+     * @return true if reserved, false if already reserved before.
+     */
+    public boolean reserve(Class<?> testCaseType, Runnable bootstrapTask) {
+        if (!markReserved(testCaseType)) {
+            return false;
+        }
+        prepareExecutor().execute(bootstrapTask);
+        return true;
+    }
+
+    /**
+     * Mark the test case type as reserved without bootstrap task. e.g. test case that prepares its own container
+     * @param testCaseType The type of test case. (NotNull)
+     * @return true if marked now, false if already reserved before.
+     */
+    public boolean markReserved(Class<?> testCaseType) {
+        return _reservedTypeSet.add(testCaseType);
+    }
+
+    protected synchronized ExecutorService prepareExecutor() {
+        if (_executor == null) {
+            final int threadCount = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+            _executor = Executors.newFixedThreadPool(threadCount, runnable -> {
+                final Thread thread = new Thread(runnable, "utflute-guice-bootstrap");
+                thread.setDaemon(true); // not to block JVM exit
+                return thread;
+            });
+        }
+        return _executor;
+    }
+
+    // ===================================================================================
+    //                                                                       Bootstrapping
+    //                                                                       =============
+    public void markBootstrapping(GuiceContainerFingerprint fingerprint) {
+        _bootstrappingSet.add(fingerprint);
+    }
+
+    public void unmarkBootstrapping(GuiceContainerFingerprint fingerprint) {
+        _bootstrappingSet.remove(fingerprint);
+    }
+
+    /**
+     * @param fingerprint The fingerprint of container configuration. (NotNull)
+     * @return Is the container of the fingerprint being bootstrapped now?
+     */
+    public boolean isBootstrapping(GuiceContainerFingerprint fingerprint) {
+        return _bootstrappingSet.contains(fingerprint);
+    }
+}
@@ -0,0 +1,164 @@
+/*
+ * Copyright 2014-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.utflute.guice.container;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+
+import com.google.inject.Binding;
+import com.google.inject.Injector;
+import com.google.inject.Key;
+import com.google.inject.spi.InstanceBinding;
+
+/**
+ * The destroyer of container, which shuts down resources owned by the injector. <br>
+ * Google Guice has no container life-cycle so the components are disposed here by the pipeline:
+ * <pre>
+ * o custom disposers (registered by test case), prior to the default ones, also to opt in other types
+ * o AutoCloseable (e.g. data source pool), ExecutorService (shutdown)
+ * </pre>
+ * Components are disposed one by one in reverse dependency order:
+ * provisioned singletons tracked by {@link GuiceSingletonTracker} in reverse provision order (dependents first),
+ * and then instance-bound components in reverse binding order (basically dependencies of the singletons). <br>
+ * Each injector is destroyed only once (marked by the tracker), so destroying it again does nothing.
+ * @author jflute
+ * @since 0.9.9 (2026/10/18 Sunday)
+ */
+public class GuiceContainerDestroyer {
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final List<GuiceComponentDisposer> _customDisposerList; // not null, read-only
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    public GuiceContainerDestroyer() {
+        this(Collections.<GuiceComponentDisposer> emptyList());
+    }
+
+    /**
+     * @param customDisposerList The list of custom disposers, prior to default disposers. (NotNull, EmptyAllowed)
+     */
+    public GuiceContainerDestroyer(List<GuiceComponentDisposer> customDisposerList) {
+        _customDisposerList = Collections.unmodifiableList(new ArrayList<GuiceComponentDisposer>(customDisposerList));
+    }
+
+    // ===================================================================================
+    //                                                                             Destroy
+    //                                                                             =======
+    /**
+     * Destroy the container, disposing the provisioned singletons and instance-bound components.
+     * @param injector The injector to be destroyed. (NotNull)
+     * @return The list of failure messages, not thrown because destroying should continue. (NotNull, EmptyAllowed)
+     */
+    public List<String> destroy(Injector injector) {
+        final GuiceSingletonTracker tracker = findSingletonTracker(injector);
+        if (tracker != null && !tracker.markDestroyed()) { // already destroyed
+            return new ArrayList<String>();
+        }
+        final List<Object> componentList = extractProvisionedSingletonList(tracker);
+        final List<Object> instanceList = new ArrayList<Object>();
+        for (Binding<?> binding : injector.getBindings().values()) {
+            if (binding instanceof InstanceBinding<?>) {
+                instanceList.add(((InstanceBinding<?>) binding).getInstance());
+            }
+        }
+        Collections.reverse(instanceList); // later-bound first
+        componentList.addAll(instanceList);
+        return destroyInstances(componentList);
+    }
+
+    /**
+     * Destroy the container, disposing only the provisioned singletons. <br>
+     * Instance-bound components are not disposed because they are owned by others. e.g. cached element record
+     * @param injector The injector to be destroyed. (NotNull)
+     * @return The list of failure messages, not thrown because destroying should continue. (NotNull, EmptyAllowed)
+     */
+    public List<String> destroyProvisioned(Injector injector) {
+        final GuiceSingletonTracker tracker = findSingletonTracker(injector);
+        if (tracker != null && !tracker.markDestroyed()) { // already destroyed
+            return new ArrayList<String>();
+        }
+        return destroyInstances(extractProvisionedSingletonList(tracker));
+    }
+
+    protected GuiceSingletonTracker findSingletonTracker(Injector injector) { // null allowed
+        final Binding<GuiceSingletonTracker> trackerBinding = injector.getExistingBinding(Key.get(GuiceSingletonTracker.class));
+        return trackerBinding != null ? trackerBinding.getProvider().get() : null; // null e.g. injector created by sub class
+    }
+
+    protected List<Object> extractProvisionedSingletonList(GuiceSingletonTracker tracker) {
+        if (tracker == null) {
+            return new ArrayList<Object>();
+        }
+        final List<Object> singletonList = tracker.getSingletonList();
+        Collections.reverse(singletonList); // dependents first (created later)
+        return singletonList;
+    }
+
+    /**
+     * Destroy the instances one by one in the order, disposing them by the pipeline. e.g. instances of evicted element record
+     * @param instances The collection of instances, may contain same instances (disposed once). (NotNull, EmptyAllowed)
+     * @return The list of failure messages, not thrown because destroying should continue. (NotNull, EmptyAllowed)
+     */
+    public List<String> destroyInstances(Collection<Object> instances) {
+        final Set<Object> doneSet = Collections.newSetFromMap(new IdentityHashMap<Object, Boolean>());
+        final List<String> failureList = new ArrayList<String>();
+        for (Object instance : instances) {
+            if (instance == null || instance instanceof GuiceSingletonTracker || !doneSet.add(instance)) {
+                continue;
+            }
+            final String failure = disposeComponent(instance);
+            if (failure != null) {
+                failureList.add(failure);
+            }
+        }
+        return failureList;
+    }
+
+    // ===================================================================================
+    //                                                                             Dispose
+    //                                                                             =======
+    /**
+     * Dispose the component by the pipeline. (other types are not disposed unless custom disposers handle them)
+     * @param component The component to be disposed. (NotNull)
+     * @return The failure message. (NullAllowed: when success or no dispose)
+     */
+    protected String disposeComponent(Object component) {
+        try {
+            for (GuiceComponentDisposer disposer : _customDisposerList) {
+                if (disposer.dispose(component)) {
+                    return null;
+                }
+            }
+            if (component instanceof AutoCloseable) {
+                ((AutoCloseable) component).close();
+            } else if (component instanceof ExecutorService) {
+                ((ExecutorService) component).shutdown();
+            }
+            return null;
+        } catch (Exception e) {
+            return "Failed to dispose the component: " + component.getClass().getName() + ", " + e;
+        }
+    }
+}
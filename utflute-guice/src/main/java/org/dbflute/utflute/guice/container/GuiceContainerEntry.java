@@ -0,0 +1,168 @@
+/*
+ * Copyright 2014-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.utflute.guice.container;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import com.google.inject.Injector;
+import com.google.inject.Key;
+import com.google.inject.Module;
+
+/**
+ * The entry of cached container in the registry. <br>
+ * The reference count is guarded by the registry, so it is not destroyed while test cases use it.
+ * @author jflute
+ * @since 0.9.9 (2026/10/18 Sunday)
+ */
+public class GuiceContainerEntry {
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final GuiceContainerFingerprint _fingerprint; // not null
+    protected final Injector _injector; // not null
+    protected final GuiceElementRecord _elementRecord; // null allowed: when not recorded
+    protected final GuiceComponentIndex _componentIndex; // not null, built with the entry
+
+    /** The count of test cases using the container, guarded by the registry. */
+    protected int _referenceCount;
+
+    /** Is the entry removed from the registry? (destroyed when no reference) guarded by the registry. */
+    protected boolean _retired;
+
+    /** The map of base module for mock overlay, keyed by overridden keys. (NotNull) */
+    protected final Map<Set<Key<?>>, Module> _overlayBaseModuleMap = new ConcurrentHashMap<Set<Key<?>>, Module>();
+
+    /** The map of mock overlay built by the latest mocks, keyed by overridden keys, guarded by this entry. (NotNull) */
+    protected final Map<Set<Key<?>>, GuiceMockOverlay> _mockOverlayMap = new HashMap<Set<Key<?>>, GuiceMockOverlay>();
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    public GuiceContainerEntry(GuiceContainerFingerprint fingerprint, Injector injector, GuiceElementRecord elementRecord) {
+        _fingerprint = fingerprint;
+        _injector = injector;
+        _elementRecord = elementRecord;
+        _componentIndex = new GuiceComponentIndex(injector);
+    }
+
+    // ===================================================================================
+    //                                                                        Mock Overlay
+    //                                                                        ============
+    /**
+     * Find the base module for mock overlay, which is cached by the overridden keys.
+     * @param overriddenKeySet The set of keys overridden by mocks. (NotNull, EmptyAllowed)
+     * @param moduleCreator The creator of base module when not cached yet. (NotNull)
+     * @return The base module without the overridden keys. (NotNull)
+     */
+    public Module findOverlayBaseModule(Set<Key<?>> overriddenKeySet, Supplier<Module> moduleCreator) {
+        return _overlayBaseModuleMap.computeIfAbsent(overriddenKeySet, key -> moduleCreator.get());
+    }
+
+    /**
+     * Acquire the cached mock overlay built by the same mock instances (compared by identity).
+     * @param overriddenKeySet The set of keys overridden by the mocks. (NotNull)
+     * @param mockMap The map of mock instance keyed by overridden key. (NotNull)
+     * @return The acquired overlay, should be released after the test. (NullAllowed: when not cached or other mocks)
+     */
+    public synchronized GuiceMockOverlay acquireMockOverlay(Set<Key<?>> overriddenKeySet, Map<Key<?>, Object> mockMap) {
+        final GuiceMockOverlay cached = _mockOverlayMap.get(overriddenKeySet);
+        if (cached == null || !cached.isSameMocks(mockMap)) {
+            return null;
+        }
+        ++cached._acquiredCount;
+        return cached;
+    }
+
+    /**
+     * Register the new-built mock overlay as acquired, cached if the previous one of same keys is not used now.
+     * @param overlay The new-built overlay. (NotNull)
+     * @return The previous overlay replaced by the new one, should be disposed. (NullAllowed: when no replacement)
+     */
+    public synchronized GuiceMockOverlay registerMockOverlay(GuiceMockOverlay overlay) {
+        ++overlay._acquiredCount;
+        final Set<Key<?>> keySet = overlay.getOverriddenKeySet();
+        final GuiceMockOverlay previous = _mockOverlayMap.get(keySet);
+        if (previous != null && previous._acquiredCount > 0) { // used by other test case so not cached
+            return null;
+        }
+        _mockOverlayMap.put(keySet, overlay);
+        return previous;
+    }
+
+    /**
+     * Release the mock overlay acquired by the test case.
+     * @param overlay The acquired overlay. (NotNull)
+     * @return true if the overlay should be disposed now. (not cached and no longer used)
+     */
+    public synchronized boolean releaseMockOverlay(GuiceMockOverlay overlay) {
+        if (overlay._acquiredCount > 0) {
+            --overlay._acquiredCount;
+        }
+        return overlay._acquiredCount == 0 && _mockOverlayMap.get(overlay.getOverriddenKeySet()) != overlay;
+    }
+
+    /**
+     * Clear the cached mock overlays. e.g. when the container is shut down
+     * @return The list of cleared overlays, should be disposed. (NotNull, EmptyAllowed)
+     */
+    public synchronized List<GuiceMockOverlay> clearMockOverlay() {
+        final List<GuiceMockOverlay> clearedList = new ArrayList<GuiceMockOverlay>(_mockOverlayMap.values());
+        _mockOverlayMap.clear();
+        return clearedList;
+    }
+
+    // ===================================================================================
+    //                                                                      Basic Override
+    //                                                                      ==============
+    @Override
+    public String toString() {
+        return "entry:{" + _fingerprint + "}";
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public GuiceContainerFingerprint getFingerprint() {
+        return _fingerprint;
+    }
+
+    public Injector getInjector() {
+        return _injector;
+    }
+
+    public GuiceElementRecord getElementRecord() {
+        return _elementRecord;
+    }
+
+    public GuiceComponentIndex getComponentIndex() {
+        return _componentIndex;
+    }
+
+    public int getReferenceCount() {
+        return _referenceCount;
+    }
+
+    public boolean isRetired() {
+        return _retired;
+    }
+}
@@ -0,0 +1,158 @@
+/*
+ * Copyright 2014-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.utflute.guice.container;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.TreeMap;
+
+import com.google.inject.Module;
+
+/**
+ * The fingerprint of container configuration, which is the key of cached injectors. <br>
+ * It consists of module classes (in order) and declared configuration values. <br>
+ * Module instances are not compared because they are new-created per test case.
+ * @author jflute
+ * @since 0.9.9 (2026/10/18 Sunday)
+ */
+public class GuiceContainerFingerprint {
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final List<String> _moduleTypeList; // not null, read-only
+    protected final Map<String, String> _configMap; // not null, read-only, sorted by key
+    protected final int _hashCode; // cached because used as map key many times
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    protected GuiceContainerFingerprint(List<String> moduleTypeList, Map<String, String> configMap) {
+        _moduleTypeList = Collections.unmodifiableList(moduleTypeList);
+        _configMap = Collections.unmodifiableMap(configMap);
+        _hashCode = 31 * _moduleTypeList.hashCode() + _configMap.hashCode();
+    }
+
+    /**
+     * Create the fingerprint of the module list.
+     * @param moduleList The list of module for the container. (NotNull)
+     * @param configMap The map of declared configuration, e.g. key=value of module settings. (NotNull, EmptyAllowed)
+     * @return The new-created fingerprint. (NotNull)
+     */
+    public static GuiceContainerFingerprint of(List<Module> moduleList, Map<String, Object> configMap) {
+        if (moduleList == null) {
+            throw new IllegalArgumentException("The argument 'moduleList' should not be null.");
+        }
+        return ofModuleType(extractModuleTypeList(moduleList), configMap);
+    }
+
+    /**
+     * Create the fingerprint of the module types, without module instances. e.g. module types cached per test class
+     * @param moduleTypeList The list of module type names for the container. (NotNull)
+     * @param configMap The map of declared configuration, e.g. key=value of module settings. (NotNull, EmptyAllowed)
+     * @return The new-created fingerprint. (NotNull)
+     */
+    public static GuiceContainerFingerprint ofModuleType(List<String> moduleTypeList, Map<String, Object> configMap) {
+        if (moduleTypeList == null) {
+            throw new IllegalArgumentException("The argument 'moduleTypeList' should not be null.");
+        }
+        if (configMap == null) {
+            throw new IllegalArgumentException("The argument 'configMap' should not be null.");
+        }
+        final Map<String, String> stringMap = new TreeMap<String, String>(); // sorted for stable order
+        for (Entry<String, Object> entry : configMap.entrySet()) {
+            stringMap.put(entry.getKey(), String.valueOf(entry.getValue()));
+        }
+        return new GuiceContainerFingerprint(new ArrayList<String>(moduleTypeList), stringMap);
+    }
+
+    /**
+     * @param moduleList The list of module for the container. (NotNull)
+     * @return The list of module type names in order, which are the module part of fingerprint. (NotNull)
+     */
+    public static List<String> extractModuleTypeList(List<Module> moduleList) {
+        final List<String> moduleTypeList = new ArrayList<String>(moduleList.size());
+        for (Module module : moduleList) {
+            moduleTypeList.add(module != null ? module.getClass().getName() : "null");
+        }
+        return moduleTypeList;
+    }
+
+    // ===================================================================================
+    //                                                                          Difference
+    //                                                                          ==========
+    /**
+     * Extract the difference from the other fingerprint, for e.g. logging why not recycled.
+     * @param other The other fingerprint to be compared. (NotNull)
+     * @return The list of different element names, e.g. "modules", "config:webMock". (NotNull, EmptyAllowed: when same)
+     */
+    public List<String> extractDifference(GuiceContainerFingerprint other) {
+        final List<String> diffList = new ArrayList<String>();
+        if (!_moduleTypeList.equals(other._moduleTypeList)) {
+            diffList.add("modules");
+        }
+        final Map<String, String> mergedMap = new LinkedHashMap<String, String>(_configMap);
+        mergedMap.putAll(other._configMap);
+        for (String key : mergedMap.keySet()) {
+            final String mine = _configMap.get(key);
+            final String yours = other._configMap.get(key);
+            if (mine == null ? yours != null : !mine.equals(yours)) {
+                diffList.add("config:" + key);
+            }
+        }
+        return diffList;
+    }
+
+    // ===================================================================================
+    //                                                                      Basic Override
+    //                                                                      ==============
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof GuiceContainerFingerprint)) {
+            return false;
+        }
+        final GuiceContainerFingerprint other = (GuiceContainerFingerprint) obj;
+        return _hashCode == other._hashCode && _moduleTypeList.equals(other._moduleTypeList) && _configMap.equals(other._configMap);
+    }
+
+    @Override
+    public int hashCode() {
+        return _hashCode;
+    }
+
+    @Override
+    public String toString() {
+        return "fingerprint:{" + _moduleTypeList + (!_configMap.isEmpty() ? ", " + _configMap : "") + "}";
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public List<String> getModuleTypeList() {
+        return _moduleTypeList;
+    }
+
+    public Map<String, String> getConfigMap() {
+        return _configMap;
+    }
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright 2014-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.utflute.guice.container;
+
+import java.util.List;
+
+/**
+ * The result of container registration.
+ * @author jflute
+ * @since 0.9.9 (2026/10/18 Sunday)
+ */
+public class GuiceContainerRegistration {
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final GuiceContainerEntry _registeredEntry; // not null, acquired
+    protected final List<GuiceContainerEntry> _shutdownList; // not null, replaced or evicted
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    public GuiceContainerRegistration(GuiceContainerEntry registeredEntry, List<GuiceContainerEntry> shutdownList) {
+        _registeredEntry = registeredEntry;
+        _shutdownList = shutdownList;
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public GuiceContainerEntry getRegisteredEntry() {
+        return _registeredEntry;
+    }
+
+    public List<GuiceContainerEntry> getShutdownList() {
+        return _shutdownList;
+    }
+}
@@ -0,0 +1,267 @@
+/*
+ * Copyright 2014-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.utflute.guice.container;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.google.inject.Injector;
+
+/**
+ * The registry of cached injectors keyed by container fingerprint. <br>
+ * It is bounded LRU so the least recently used container is evicted when over capacity. <br>
+ * The registry does not destroy containers by itself, it returns the removed entries
+ * so that the caller can shut them down (and log them). <br>
+ * It is thread-safe for parallel test classes in one JVM:
+ * <pre>
+ * o test cases acquire the entry before using and release it after the test
+ * o removed (evicted or destroyed) entry is retired, returned to shut down when no reference
+ * o container preparation is serialized per fingerprint by the preparation lock
+ * </pre>
+ * @author jflute
+ * @since 0.9.9 (2026/10/18 Sunday)
+ */
+public class GuiceContainerRegistry {
+
+    // ===================================================================================
+    //                                                                          Definition
+    //                                                                          ==========
+    /** The default capacity of cached containers. */
+    public static final int DEFAULT_CAPACITY = 8;
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    /** The map of container entry, access-ordered for LRU, guarded by this registry. (NotNull) */
+    protected final LinkedHashMap<GuiceContainerFingerprint, GuiceContainerEntry> _entryMap =
+            new LinkedHashMap<GuiceContainerFingerprint, GuiceContainerEntry>(16, 0.75f, true);
+
+    /** The map of lock object to prepare container per fingerprint. (NotNull) */
+    protected final ConcurrentHashMap<GuiceContainerFingerprint, Object> _preparationLockMap =
+            new ConcurrentHashMap<GuiceContainerFingerprint, Object>();
+
+    /** The max count of cached containers, guarded by this registry. (Positive) */
+    protected int _capacity = DEFAULT_CAPACITY;
+
+    // ===================================================================================
+    //                                                                    Preparation Lock
+    //                                                                    ================
+    /**
+     * Find the lock object to prepare the container of the fingerprint. <br>
+     * Synchronize it while checking and creating the container so that same container is not created twice.
+     * @param fingerprint The fingerprint of container configuration. (NotNull)
+     * @return The lock object. (NotNull)
+     */
+    public Object findPreparationLock(GuiceContainerFingerprint fingerprint) {
+        return _preparationLockMap.computeIfAbsent(fingerprint, key -> new Object());
+    }
+
+    // ===================================================================================
+    //                                                                                Find
+    //                                                                                ====
+    /**
+     * Find the cached injector for the fingerprint, marking it as recently used.
+     * @param fingerprint The fingerprint of container configuration. (NotNull)
+     * @return The cached injector. (NullAllowed: when not found)
+     */
+    public Injector find(GuiceContainerFingerprint fingerprint) {
+        final GuiceContainerEntry entry = findEntry(fingerprint);
+        return entry != null ? entry.getInjector() : null;
+    }
+
+    /**
+     * Find the cached entry for the fingerprint, marking it as recently used.
+     * @param fingerprint The fingerprint of container configuration. (NotNull)
+     * @return The cached entry. (NullAllowed: when not found)
+     */
+    public synchronized GuiceContainerEntry findEntry(GuiceContainerFingerprint fingerprint) {
+        return _entryMap.get(fingerprint);
+    }
+
+    /**
+     * Is the element record used by cached containers? (compared by identity)
+     * @param elementRecord The element record to be determined. (NotNull)
+     * @return The determination, true or false.
+     */
+    public synchronized boolean isInUse(GuiceElementRecord elementRecord) {
+        for (GuiceContainerEntry entry : _entryMap.values()) {
+            if (entry.getElementRecord() == elementRecord) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Does the registry have the container for the fingerprint? (without LRU marking)
+     * @param fingerprint The fingerprint of container configuration. (NotNull)
+     * @return The determination, true or false.
+     */
+    public synchronized boolean contains(GuiceContainerFingerprint fingerprint) {
+        return _entryMap.containsKey(fingerprint);
+    }
+
+    // ===================================================================================
+    //                                                                           Reference
+    //                                                                           =========
+    /**
+     * Acquire the cached entry for the fingerprint, which is not destroyed until released.
+     * @param fingerprint The fingerprint of container configuration. (NotNull)
+     * @return The acquired entry. (NullAllowed: when not found)
+     */
+    public synchronized GuiceContainerEntry acquire(GuiceContainerFingerprint fingerprint) {
+        final GuiceContainerEntry entry = _entryMap.get(fingerprint);
+        if (entry != null) {
+            ++entry._referenceCount;
+        }
+        return entry;
+    }
+
+    /**
+     * Release the acquired entry.
+     * @param entry The entry acquired by acquire() or register(). (NotNull)
+     * @return The list of entries to be shut down, retired and no reference. (NotNull, EmptyAllowed)
+     */
+    public synchronized List<GuiceContainerEntry> release(GuiceContainerEntry entry) {
+        final List<GuiceContainerEntry> shutdownList = new ArrayList<GuiceContainerEntry>(1);
+        if (entry._referenceCount > 0) {
+            --entry._referenceCount;
+        }
+        if (entry._retired && entry._referenceCount == 0) {
+            shutdownList.add(entry);
+        }
+        return shutdownList;
+    }
+
+    // ===================================================================================
+    //                                                                            Register
+    //                                                                            ========
+    /**
+     * Register the injector for the fingerprint. <br>
+     * The registered entry is acquired by the caller, so release it after the test.
+     * @param fingerprint The fingerprint of container configuration. (NotNull)
+     * @param injector The new-created injector. (NotNull)
+     * @param elementRecord The record of elements that the injector is created from. (NullAllowed: when not recorded)
+     * @return The result of registration, which has the registered entry. (NotNull)
+     */
+    public synchronized GuiceContainerRegistration register(GuiceContainerFingerprint fingerprint, Injector injector,
+            GuiceElementRecord elementRecord) {
+        final List<GuiceContainerEntry> shutdownList = new ArrayList<GuiceContainerEntry>();
+        final GuiceContainerEntry entry = new GuiceContainerEntry(fingerprint, injector, elementRecord);
+        entry._referenceCount = 1; // acquired by the caller
+        final GuiceContainerEntry replaced = _entryMap.put(fingerprint, entry);
+        if (replaced != null) {
+            retire(replaced, shutdownList);
+        }
+        shutdownList.addAll(evictOverCapacity());
+        return new GuiceContainerRegistration(entry, shutdownList);
+    }
+
+    /**
+     * Register the injector for the fingerprint, without acquiring. e.g. bootstrap in background
+     * @param fingerprint The fingerprint of container configuration. (NotNull)
+     * @param injector The new-created injector. (NotNull)
+     * @param elementRecord The record of elements that the injector is created from. (NullAllowed: when not recorded)
+     * @return The list of entries to be shut down, replaced or evicted. (NotNull, EmptyAllowed)
+     */
+    public synchronized List<GuiceContainerEntry> registerWithoutAcquire(GuiceContainerFingerprint fingerprint, Injector injector,
+            GuiceElementRecord elementRecord) {
+        final GuiceContainerRegistration registration = register(fingerprint, injector, elementRecord);
+        final List<GuiceContainerEntry> shutdownList = new ArrayList<GuiceContainerEntry>(registration.getShutdownList());
+        shutdownList.addAll(release(registration.getRegisteredEntry())); // basically empty
+        return shutdownList;
+    }
+
+    // ===================================================================================
+    //                                                                              Remove
+    //                                                                              ======
+    /**
+     * Remove the container for the fingerprint. <br>
+     * The entry is retired, and it is returned only when no test case uses it.
+     * @param fingerprint The fingerprint of container configuration. (NotNull)
+     * @return The list of entries to be shut down. (NotNull, EmptyAllowed)
+     */
+    public synchronized List<GuiceContainerEntry> remove(GuiceContainerFingerprint fingerprint) {
+        final List<GuiceContainerEntry> shutdownList = new ArrayList<GuiceContainerEntry>(1);
+        final GuiceContainerEntry removed = _entryMap.remove(fingerprint);
+        if (removed != null) {
+            retire(removed, shutdownList);
+        }
+        return shutdownList;
+    }
+
+    /**
+     * Remove all containers.
+     * @return The list of entries to be shut down. (NotNull, EmptyAllowed)
+     */
+    public synchronized List<GuiceContainerEntry> clear() {
+        final List<GuiceContainerEntry> shutdownList = new ArrayList<GuiceContainerEntry>();
+        for (GuiceContainerEntry entry : _entryMap.values()) {
+            retire(entry, shutdownList);
+        }
+        _entryMap.clear();
+        return shutdownList;
+    }
+
+    protected void retire(GuiceContainerEntry entry, List<GuiceContainerEntry> shutdownList) {
+        entry._retired = true;
+        if (entry._referenceCount == 0) {
+            shutdownList.add(entry);
+        } // else: shut down when released
+    }
+
+    // ===================================================================================
+    //                                                                            Eviction
+    //                                                                            ========
+    protected List<GuiceContainerEntry> evictOverCapacity() { // in synchronized
+        final List<GuiceContainerEntry> shutdownList = new ArrayList<GuiceContainerEntry>();
+        final Iterator<Entry<GuiceContainerFingerprint, GuiceContainerEntry>> ite = _entryMap.entrySet().iterator();
+        while (_entryMap.size() > _capacity && ite.hasNext()) { // eldest first
+            final GuiceContainerEntry entry = ite.next().getValue();
+            ite.remove();
+            retire(entry, shutdownList);
+        }
+        return shutdownList;
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public synchronized int getCapacity() {
+        return _capacity;
+    }
+
+    /**
+     * Set the max count of cached containers.
+     * @param capacity The positive count.
+     * @return The list of entries to be shut down by the new capacity. (NotNull, EmptyAllowed)
+     */
+    public synchronized List<GuiceContainerEntry> setCapacity(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("The argument 'capacity' should be positive: " + capacity);
+        }
+        _capacity = capacity;
+        return evictOverCapacity();
+    }
+
+    public synchronized int size() {
+        return _entryMap.size();
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright 2014-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.utflute.guice.container;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map.Entry;
+
+/**
+ * The cache of module element records keyed by container fingerprint. <br>
+ * Rebuilding container (e.g. evicted by capacity) replays the cached elements,
+ * so module configuration (and its side effects e.g. transaction manager initialization) is skipped. <br>
+ * Instance-bound objects in the cached records are owned by this cache (not by containers),
+ * so the evicted records are returned to dispose them. (bounded LRU, thread-safe)
+ * @author jflute
+ * @since 0.9.9 (2026/10/18 Sunday)
+ */
+public class GuiceElementCache {
+
+    // ===================================================================================
+    //                                                                          Definition
+    //                                                                          ==========
+    /** The default capacity of cached records, larger than containers because records are lighter. */
+    public static final int DEFAULT_CAPACITY = GuiceContainerRegistry.DEFAULT_CAPACITY * 4;
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    /** The map of element record, access-ordered for LRU, guarded by this cache. (NotNull) */
+    protected final LinkedHashMap<GuiceContainerFingerprint, GuiceElementRecord> _recordMap =
+            new LinkedHashMap<GuiceContainerFingerprint, GuiceElementRecord>(16, 0.75f, true);
+
+    /** The max count of cached records, guarded by this cache. (Positive) */
+    protected int _capacity = DEFAULT_CAPACITY;
+
+    // ===================================================================================
+    //                                                                                Find
+    //                                                                                ====
+    /**
+     * Find the cached record for the fingerprint, marking it as recently used.
+     * @param fingerprint The fingerprint of container configuration. (NotNull)
+     * @return The cached record. (NullAllowed: when not found)
+     */
+    public synchronized GuiceElementRecord find(GuiceContainerFingerprint fingerprint) {
+        return _recordMap.get(fingerprint);
+    }
+
+    /**
+     * Touch the cached record for the fingerprint as recently used. (e.g. when its container is recycled) <br>
+     * Otherwise the record of long-lived container would be evicted first because it is not found after initialization.
+     * @param fingerprint The fingerprint of container configuration. (NotNull)
+     * @return true if the record is cached.
+     */
+    public synchronized boolean touch(GuiceContainerFingerprint fingerprint) {
+        return _recordMap.get(fingerprint) != null; // get() moves it to the tail in access order
+    }
+
+    /**
+     * Is the record cached? (compared by identity)
+     * @param record The element record to be determined. (NotNull)
+     * @return The determination, true or false.
+     */
+    public synchronized boolean isCached(GuiceElementRecord record) {
+        for (GuiceElementRecord cached : _recordMap.values()) {
+            if (cached == record) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // ===================================================================================
+    //                                                                            Register
+    //                                                                            ========
+    /**
+     * Register the record for the fingerprint. (only replayable record is cached)
+     * @param fingerprint The fingerprint of container configuration. (NotNull)
+     * @param record The new-recorded element record. (NotNull)
+     * @return The list of records removed by this registration, replaced or evicted. (NotNull, EmptyAllowed)
+     */
+    public synchronized List<GuiceElementRecord> register(GuiceContainerFingerprint fingerprint, GuiceElementRecord record) {
+        final List<GuiceElementRecord> removedList = new ArrayList<GuiceElementRecord>();
+        if (!record.isReplayable()) {
+            return removedList;
+        }
+        final GuiceElementRecord replaced = _recordMap.put(fingerprint, record);
+        if (replaced != null && replaced != record) {
+            removedList.add(replaced);
+        }
+        removedList.addAll(evictOverCapacity());
+        return removedList;
+    }
+
+    // ===================================================================================
+    //                                                                            Eviction
+    //                                                                            ========
+    protected List<GuiceElementRecord> evictOverCapacity() { // in synchronized
+        final List<GuiceElementRecord> evictedList = new ArrayList<GuiceElementRecord>();
+        final Iterator<Entry<GuiceContainerFingerprint, GuiceElementRecord>> ite = _recordMap.entrySet().iterator();
+        while (_recordMap.size() > _capacity && ite.hasNext()) { // eldest first
+            evictedList.add(ite.next().getValue());
+            ite.remove();
+        }
+        return evictedList;
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    /**
+     * Set the max count of cached records.
+     * @param capacity The positive count.
+     * @return The list of records evicted by the new capacity. (NotNull, EmptyAllowed)
+     */
+    public synchronized List<GuiceElementRecord> setCapacity(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("The argument 'capacity' should be positive: " + capacity);
+        }
+        _capacity = capacity;
+        return evictOverCapacity();
+    }
+
+    public synchronized int size() {
+        return _recordMap.size();
+    }
+}
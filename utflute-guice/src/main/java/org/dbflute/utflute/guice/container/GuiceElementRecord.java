@@ -0,0 +1,180 @@
+/*
+ * Copyright 2014-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.utflute.guice.container;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.function.UnaryOperator;
+
+import com.google.inject.Module;
+import com.google.inject.Stage;
+import com.google.inject.spi.Element;
+import com.google.inject.spi.Elements;
+import com.google.inject.spi.InstanceBinding;
+import com.google.inject.spi.MembersInjectorLookup;
+import com.google.inject.spi.PrivateElements;
+import com.google.inject.spi.ProviderInstanceBinding;
+import com.google.inject.spi.ProviderLookup;
+import com.google.inject.spi.ProviderWithExtensionVisitor;
+
+/**
+ * The record of module elements, which can be replayed to create injector without configuring modules. <br>
+ * Some elements keep the state of the injector that used them:
+ * <pre>
+ * o lookups (getProvider() in configure) and private modules cannot be replayed at all
+ * o extension providers (e.g. &#64;Provides methods, multibinder) can be replayed
+ *   but are re-initialized by the latest injector, so they cannot be shared by living injectors
+ * </pre>
+ * @author jflute
+ * @since 0.9.9 (2026/10/18 Sunday)
+ */
+public class GuiceElementRecord {
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final Stage _stage; // not null
+    protected final List<Element> _elementList; // not null, read-only
+    protected final String _unreplayableReason; // null allowed: when replayable
+    protected final String _unshareableReason; // null allowed: when shareable
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    protected GuiceElementRecord(Stage stage, List<Element> elementList) {
+        _stage = stage;
+        _elementList = Collections.unmodifiableList(elementList);
+        String unreplayableReason = null;
+        String unshareableReason = null;
+        for (Element element : elementList) {
+            if (element instanceof ProviderLookup<?> || element instanceof MembersInjectorLookup<?>) {
+                unreplayableReason = "lookup by getProvider() or getMembersInjector(): " + element.getSource();
+                break;
+            }
+            if (element instanceof PrivateElements) {
+                unreplayableReason = "private module: " + element.getSource();
+                break;
+            }
+            if (unshareableReason == null && element instanceof ProviderInstanceBinding<?>) {
+                final Object provider = ((ProviderInstanceBinding<?>) element).getUserSuppliedProvider();
+                if (provider instanceof ProviderWithExtensionVisitor<?>) {
+                    unshareableReason = "extension provider e.g. @Provides: " + element.getSource();
+                }
+            }
+        }
+        _unreplayableReason = unreplayableReason;
+        _unshareableReason = unreplayableReason != null ? unreplayableReason : unshareableReason;
+    }
+
+    /**
+     * Record the elements of the modules. (modules are configured here)
+     * @param stage The stage of Google Guice, which modules can refer. (NotNull)
+     * @param moduleList The list of module to be recorded. (NotNull)
+     * @return The new-created record. (NotNull)
+     */
+    public static GuiceElementRecord record(Stage stage, List<Module> moduleList) {
+        return new GuiceElementRecord(stage, Elements.getElements(stage, moduleList));
+    }
+
+    /**
+     * Create the record whose eager singletons are rewritten to lazy ones.
+     * @param rewriter The rewriter of lazy singleton, which has rewritten count after this. (NotNull)
+     * @return The new-created record. (NotNull)
+     */
+    public GuiceElementRecord toLazySingleton(GuiceLazySingletonRewriter rewriter) {
+        return new GuiceElementRecord(_stage, rewriter.rewrite(_stage, _elementList));
+    }
+
+    /**
+     * Create the record whose elements are rewritten by the function. e.g. wrapping data source
+     * @param rewriter The function to rewrite the element list. (NotNull)
+     * @return The new-created record. (NotNull)
+     */
+    public GuiceElementRecord toRewritten(UnaryOperator<List<Element>> rewriter) {
+        return new GuiceElementRecord(_stage, rewriter.apply(_elementList));
+    }
+
+    // ===================================================================================
+    //                                                                              Replay
+    //                                                                              ======
+    /**
+     * Convert the recorded elements to module to create injector. (not configure original modules)
+     * @return The module that applies the recorded elements. (NotNull)
+     */
+    public Module toModule() {
+        return Elements.getModule(_elementList);
+    }
+
+    // ===================================================================================
+    //                                                                            Instance
+    //                                                                            ========
+    /**
+     * Extract the instance-bound objects in the elements, which are shared by replayed injectors.
+     * @return The list of distinct instances. (NotNull, EmptyAllowed)
+     */
+    public List<Object> extractBoundInstanceList() {
+        final Set<Object> instanceSet = Collections.newSetFromMap(new IdentityHashMap<Object, Boolean>());
+        final List<Object> instanceList = new ArrayList<Object>();
+        for (Element element : _elementList) {
+            if (element instanceof InstanceBinding<?>) {
+                final Object instance = ((InstanceBinding<?>) element).getInstance();
+                if (instance != null && instanceSet.add(instance)) {
+                    instanceList.add(instance);
+                }
+            }
+        }
+        return instanceList;
+    }
+
+    // ===================================================================================
+    //                                                                       Determination
+    //                                                                       =============
+    /**
+     * @return Can the elements be used again for other injector? (after the first injector)
+     */
+    public boolean isReplayable() {
+        return _unreplayableReason == null;
+    }
+
+    /**
+     * @return Can the elements be used for other injector while the first injector is living?
+     */
+    public boolean isShareable() {
+        return _unshareableReason == null;
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public Stage getStage() {
+        return _stage;
+    }
+
+    public List<Element> getElementList() {
+        return _elementList;
+    }
+
+    public String getUnreplayableReason() {
+        return _unreplayableReason;
+    }
+
+    public String getUnshareableReason() {
+        return _unshareableReason;
+    }
+}
@@ -0,0 +1,136 @@
+/*
+ * Copyright 2014-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.utflute.guice.container;
+
+import java.util.List;
+import java.util.function.Function;
+
+import com.google.inject.Binder;
+import com.google.inject.Binding;
+import com.google.inject.Key;
+import com.google.inject.Scopes;
+import com.google.inject.Stage;
+import com.google.inject.binder.LinkedBindingBuilder;
+import com.google.inject.binder.ScopedBindingBuilder;
+import com.google.inject.spi.DefaultBindingScopingVisitor;
+import com.google.inject.spi.DefaultBindingTargetVisitor;
+import com.google.inject.spi.Element;
+import com.google.inject.spi.Elements;
+import com.google.inject.spi.InstanceBinding;
+import com.google.inject.spi.LinkedKeyBinding;
+import com.google.inject.spi.ProviderInstanceBinding;
+import com.google.inject.spi.ProviderKeyBinding;
+import com.google.inject.spi.UntargettedBinding;
+
+/**
+ * The rewriter of module elements, which changes asEagerSingleton() bindings to lazy singleton. <br>
+ * It is for quick startup of test, singletons are created when they are used first. <br>
+ * Supported targets are untargetted, linked key and provider, others are kept as eager.
+ * (and all singletons are eager in PRODUCTION stage anyway)
+ * @author jflute
+ * @since 0.9.9 (2026/10/18 Sunday)
+ */
+public class GuiceLazySingletonRewriter {
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected int _rewrittenCount; // for logging
+
+    // ===================================================================================
+    //                                                                             Rewrite
+    //                                                                             =======
+    /**
+     * Rewrite eager singleton bindings of the elements to lazy.
+     * @param stage The stage of Google Guice for recording. (NotNull)
+     * @param elementList The list of recorded elements. (NotNull)
+     * @return The list of rewritten elements. (NotNull)
+     */
+    public List<Element> rewrite(Stage stage, List<Element> elementList) {
+        _rewrittenCount = 0;
+        return Elements.getElements(stage, binder -> {
+            for (Element element : elementList) {
+                if (element instanceof Binding<?> && isEagerSingleton((Binding<?>) element)) {
+                    if (rebindLazily(binder, (Binding<?>) element)) {
+                        ++_rewrittenCount;
+                        continue;
+                    }
+                }
+                element.applyTo(binder);
+            }
+        });
+    }
+
+    protected boolean isEagerSingleton(Binding<?> binding) {
+        if (binding instanceof InstanceBinding<?>) { // already created
+            return false;
+        }
+        return Boolean.TRUE.equals(binding.acceptScopingVisitor(new DefaultBindingScopingVisitor<Boolean>() {
+            @Override
+            public Boolean visitEagerSingleton() {
+                return true;
+            }
+        }));
+    }
+
+    @SuppressWarnings("unchecked")
+    protected boolean rebindLazily(Binder binder, Binding<?> binding) {
+        final Function<LinkedBindingBuilder<Object>, ScopedBindingBuilder> targeter = binding.acceptTargetVisitor(new TargeterVisitor());
+        if (targeter == null) { // unsupported target
+            return false;
+        }
+        final LinkedBindingBuilder<Object> builder = binder.withSource(binding.getSource()).bind((Key<Object>) binding.getKey());
+        targeter.apply(builder).in(Scopes.SINGLETON); // lazy singleton in DEVELOPMENT and TOOL stage
+        return true;
+    }
+
+    protected static class TargeterVisitor
+            extends DefaultBindingTargetVisitor<Object, Function<LinkedBindingBuilder<Object>, ScopedBindingBuilder>> {
+
+        @Override
+        public Function<LinkedBindingBuilder<Object>, ScopedBindingBuilder> visit(UntargettedBinding<? extends Object> binding) {
+            return builder -> builder;
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public Function<LinkedBindingBuilder<Object>, ScopedBindingBuilder> visit(LinkedKeyBinding<? extends Object> binding) {
+            final Key<?> linkedKey = binding.getLinkedKey();
+            return builder -> builder.to((Key<Object>) linkedKey);
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public Function<LinkedBindingBuilder<Object>, ScopedBindingBuilder> visit(ProviderInstanceBinding<? extends Object> binding) {
+            final javax.inject.Provider<?> provider = binding.getUserSuppliedProvider();
+            return builder -> builder.toProvider((javax.inject.Provider<Object>) provider);
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public Function<LinkedBindingBuilder<Object>, ScopedBindingBuilder> visit(ProviderKeyBinding<? extends Object> binding) {
+            final Key<?> providerKey = binding.getProviderKey();
+            return builder -> builder.toProvider((Key<javax.inject.Provider<Object>>) providerKey);
+        }
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public int getRewrittenCount() {
+        return _rewrittenCount;
+    }
+}
@@ -0,0 +1,248 @@
+/*
+ * Copyright 2014-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.utflute.guice.container;
+
+import java.lang.reflect.Constructor;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import com.google.inject.Binder;
+import com.google.inject.Binding;
+import com.google.inject.ConfigurationException;
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+import com.google.inject.Key;
+import com.google.inject.Module;
+import com.google.inject.Scopes;
+import com.google.inject.Stage;
+import com.google.inject.spi.Element;
+import com.google.inject.spi.InjectionPoint;
+import com.google.inject.spi.InjectionRequest;
+import com.google.inject.spi.InstanceBinding;
+import com.google.inject.spi.StaticInjectionRequest;
+import com.google.inject.util.Providers;
+
+/**
+ * The overlay container that has mock bindings on the recorded elements of base container. <br>
+ * Guice child injector cannot re-bind keys already bound in the parent,
+ * so the overlay is sibling injector from base elements except the mocked keys. <br>
+ * Modules are not configured again (recorded elements are replayed),
+ * and objects owned by the base container are never injected by the overlay:
+ * <pre>
+ * o instance-bound component that has injection points: own instance of the overlay (singleton) by its constructor
+ *   (so state set to the base instance after construction is not inherited)
+ * o instance-bound component that has no injection point or no injectable constructor: shared as it is (no mocks)
+ * o injection requests (e.g. requestInjection()): not applied again
+ * </pre>
+ * So parallel test classes sharing the base container do not see the mocks. <br>
+ * Singletons provisioned by the overlay are its own. The overlay is cached in the base entry per overridden keys
+ * while the mock instances are the same (e.g. mocks held by static fields), so its singletons are recycled like the base ones,
+ * and it is disposed when it is replaced by other mocks or the base container is shut down. <br>
+ * (mocks created per test still create the overlay injector per test, from the recorded elements without module configuration)
+ * @author jflute
+ * @since 0.9.9 (2026/10/18 Sunday)
+ */
+public class GuiceMockOverlay {
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final GuiceContainerEntry _baseEntry; // not null
+    protected final Injector _overlayInjector; // not null
+    protected final Set<Key<?>> _overriddenKeySet; // not null, read-only
+    protected final GuiceComponentIndex _componentIndex; // not null, of the overlay injector
+    protected final Map<Key<?>, Object> _mockMap; // not null, read-only, to compare mock instances
+
+    /** The count of test cases using the overlay, guarded by the base entry. */
+    protected int _acquiredCount;
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    protected GuiceMockOverlay(GuiceContainerEntry baseEntry, Injector overlayInjector, Set<Key<?>> overriddenKeySet,
+            Map<Key<?>, Object> mockMap) {
+        _baseEntry = baseEntry;
+        _overlayInjector = overlayInjector;
+        _overriddenKeySet = overriddenKeySet;
+        _componentIndex = new GuiceComponentIndex(overlayInjector);
+        _mockMap = mockMap;
+    }
+
+    // ===================================================================================
+    //                                                                               Build
+    //                                                                               =====
+    /**
+     * Build the overlay container for the mock instances, or get the cached one built by the same instances. <br>
+     * Mock instance overrides explicit bindings whose type is assignable from it, e.g. interface of mock class. <br>
+     * Mocks that match no binding are not in the overlay. (they are only for outer injection)
+     * @param baseEntry The entry of base container that has recorded elements. (NotNull)
+     * @param mockList The list of mock instances, latter is prior. (NotNull, EmptyAllowed)
+     * @param replacedDisposer The disposer of previous overlay replaced by the new-built one. (NotNull)
+     * @return The acquired overlay, should be released by the base entry after the test. (NotNull)
+     */
+    public static GuiceMockOverlay build(GuiceContainerEntry baseEntry, List<Object> mockList, Consumer<GuiceMockOverlay> replacedDisposer) {
+        final GuiceElementRecord baseRecord = baseEntry.getElementRecord();
+        if (baseRecord == null) {
+            String msg = "Cannot build the mock overlay because the base container has no recorded elements: " + baseEntry;
+            throw new IllegalStateException(msg);
+        }
+        if (!baseRecord.isShareable()) {
+            String msg = "Cannot build the mock overlay because the elements cannot be shared: " + baseRecord.getUnshareableReason();
+            msg = msg + " (use one-time container instead)";
+            throw new IllegalStateException(msg);
+        }
+        final List<Element> baseElementList = baseRecord.getElementList();
+        final Map<Key<?>, Object> mockMap = new LinkedHashMap<Key<?>, Object>();
+        for (Object mock : mockList) {
+            for (Element element : baseElementList) {
+                if (!(element instanceof Binding<?>)) {
+                    continue;
+                }
+                final Key<?> key = ((Binding<?>) element).getKey();
+                final Class<?> rawType = key.getTypeLiteral().getRawType();
+                if (!Object.class.equals(rawType) && rawType.isInstance(mock)) {
+                    mockMap.put(key, mock);
+                }
+            }
+        }
+        final Set<Key<?>> keySet = Collections.unmodifiableSet(mockMap.keySet());
+        final GuiceMockOverlay cached = baseEntry.acquireMockOverlay(keySet, mockMap);
+        if (cached != null) { // same mock instances
+            return cached;
+        }
+        final Module baseModule = baseEntry.findOverlayBaseModule(keySet, () -> {
+            return createOverlayBaseModule(baseElementList, keySet);
+        });
+        final Module mockModule = binder -> {
+            for (Entry<Key<?>, Object> entry : mockMap.entrySet()) {
+                bindMock(binder, entry.getKey(), entry.getValue());
+            }
+        };
+        final Stage stage = baseRecord.getStage(); // same stage as base
+        final GuiceSingletonTracker tracker = new GuiceSingletonTracker(); // to dispose own singletons of the overlay
+        final Injector overlayInjector = Guice.createInjector(stage, baseModule, mockModule, tracker);
+        final GuiceMockOverlay overlay = new GuiceMockOverlay(baseEntry, overlayInjector, keySet, Collections.unmodifiableMap(mockMap));
+        final GuiceMockOverlay replaced = baseEntry.registerMockOverlay(overlay);
+        if (replaced != null) {
+            replacedDisposer.accept(replaced);
+        }
+        return overlay;
+    }
+
+    protected static Module createOverlayBaseModule(List<Element> baseElementList, Set<Key<?>> keySet) {
+        return binder -> {
+            final Map<Object, Key<?>> ownKeyMap = new IdentityHashMap<Object, Key<?>>(); // base instance to first key
+            for (Element element : baseElementList) {
+                if (element instanceof Binding<?> && keySet.contains(((Binding<?>) element).getKey())) { // mocked
+                    continue;
+                }
+                if (element instanceof InjectionRequest<?> || element instanceof StaticInjectionRequest) { // not to inject base objects
+                    continue;
+                }
+                if (element instanceof InstanceBinding<?>) {
+                    bindOverlayInstance(binder, (InstanceBinding<?>) element, ownKeyMap);
+                    continue;
+                }
+                element.applyTo(binder);
+            }
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    protected static void bindOverlayInstance(Binder binder, InstanceBinding<?> binding, Map<Object, Key<?>> ownKeyMap) {
+        final Key<Object> key = (Key<Object>) binding.getKey();
+        final Object instance = binding.getInstance();
+        final Binder sourceBinder = binder.withSource(binding.getSource());
+        if (instance == null || binding.getInjectionPoints().isEmpty()) { // nothing to inject so shared
+            sourceBinder.bind(key).toProvider(Providers.of(instance)); // provided instance is not injected
+            return;
+        }
+        final Key<?> ownKey = ownKeyMap.get(instance);
+        if (ownKey != null) { // same instance bound to other keys e.g. interfaces
+            sourceBinder.bind(key).to((Key<Object>) ownKey);
+            return;
+        }
+        final Constructor<?> constructor = findOwnConstructor(instance.getClass());
+        if (constructor == null) { // cannot create own instance so shared without mocks
+            sourceBinder.bind(key).toProvider(Providers.of(instance));
+            return;
+        }
+        sourceBinder.bind(key).toConstructor((Constructor<Object>) constructor).in(Scopes.SINGLETON);
+        ownKeyMap.put(instance, key);
+    }
+
+    protected static Constructor<?> findOwnConstructor(Class<?> instanceType) {
+        try {
+            return (Constructor<?>) InjectionPoint.forConstructorOf(instanceType).getMember(); // @Inject or no-arg
+        } catch (ConfigurationException ignored) { // e.g. inner class
+            return null;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    protected static void bindMock(Binder binder, Key<?> key, Object mock) {
+        binder.bind((Key<Object>) key).toInstance(mock);
+    }
+
+    // ===================================================================================
+    //                                                                      Determination
+    //                                                                      =============
+    /**
+     * Is the overlay built by the same mock instances? (compared by identity)
+     * @param mockMap The map of mock instance keyed by overridden key. (NotNull)
+     * @return The determination, true or false.
+     */
+    public boolean isSameMocks(Map<Key<?>, Object> mockMap) {
+        if (_mockMap.size() != mockMap.size()) {
+            return false;
+        }
+        for (Entry<Key<?>, Object> entry : mockMap.entrySet()) {
+            if (_mockMap.get(entry.getKey()) != entry.getValue()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public GuiceContainerEntry getBaseEntry() {
+        return _baseEntry;
+    }
+
+    public Injector getBaseInjector() {
+        return _baseEntry.getInjector();
+    }
+
+    public Injector getOverlayInjector() {
+        return _overlayInjector;
+    }
+
+    public Set<Key<?>> getOverriddenKeySet() {
+        return _overriddenKeySet;
+    }
+
+    public GuiceComponentIndex getComponentIndex() {
+        return _componentIndex;
+    }
+}
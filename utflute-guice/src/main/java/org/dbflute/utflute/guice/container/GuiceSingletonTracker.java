@@ -0,0 +1,93 @@
+/*
+ * Copyright 2014-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.utflute.guice.container;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.google.inject.Binder;
+import com.google.inject.Module;
+import com.google.inject.Scopes;
+import com.google.inject.matcher.Matchers;
+import com.google.inject.spi.ProvisionListener;
+
+/**
+ * The tracker of singletons provisioned by the injector, to dispose them when the container is destroyed. <br>
+ * Google Guice cannot tell whether a singleton has been created or not,
+ * so this module listens provisions and keeps singleton instances. (instance bindings are not provisioned) <br>
+ * It is installed per injector (not recorded in elements) and bound to itself for the destroyer.
+ * @author jflute
+ * @since 0.9.9 (2026/10/18 Sunday)
+ */
+public class GuiceSingletonTracker implements Module, ProvisionListener {
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    /** The list of provisioned singletons, in provision order, guarded by this. (NotNull) */
+    protected final List<Object> _singletonList = new ArrayList<Object>();
+
+    /** Has the injector been destroyed? guarded by this. */
+    protected boolean _destroyed;
+
+    // ===================================================================================
+    //                                                                              Module
+    //                                                                              ======
+    @Override
+    public void configure(Binder binder) {
+        binder.bind(GuiceSingletonTracker.class).toInstance(this);
+        binder.bindListener(Matchers.any(), this);
+    }
+
+    // ===================================================================================
+    //                                                                            Listener
+    //                                                                            ========
+    @Override
+    public <T> void onProvision(ProvisionInvocation<T> provision) {
+        final T provisioned = provision.provision();
+        if (provisioned != null && Scopes.isSingleton(provision.getBinding())) { // called once per singleton
+            synchronized (this) {
+                _singletonList.add(provisioned);
+            }
+        }
+    }
+
+    // ===================================================================================
+    //                                                                             Destroy
+    //                                                                             =======
+    /**
+     * Mark the injector as destroyed, to destroy it only once.
+     * @return true if marked now, false if already destroyed.
+     */
+    public synchronized boolean markDestroyed() {
+        if (_destroyed) {
+            return false;
+        }
+        _destroyed = true;
+        return true;
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    /**
+     * Get the provisioned singletons as snapshot.
+     * @return The copied list of singletons, in provision order. (NotNull, EmptyAllowed)
+     */
+    public synchronized List<Object> getSingletonList() {
+        return new ArrayList<Object>(_singletonList);
+    }
+}
@@ -0,0 +1,136 @@
+/*
+ * Copyright 2014-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.utflute.guice.fixture;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map.Entry;
+
+/**
+ * The cache of parsed fixtures keyed by location, which is shared across tests. <br>
+ * The cached fixture is validated by last-modified and size of the file, so edited fixture is parsed again. <br>
+ * It is bounded by total cells (values) with LRU eviction. (thread-safe)
+ * @author jflute
+ * @since 0.9.9 (2026/10/18 Sunday)
+ */
+public class GuiceFixtureCache {
+
+    // ===================================================================================
+    //                                                                          Definition
+    //                                                                          ==========
+    /** The default max count of total cached cells. */
+    public static final long DEFAULT_CELL_CAPACITY = 2000000L;
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    /** The map of cached fixture, access-ordered for LRU, guarded by this cache. (NotNull) */
+    protected final LinkedHashMap<String, CachedFixture> _fixtureMap = new LinkedHashMap<String, CachedFixture>(16, 0.75f, true);
+
+    /** The count of total cached cells, guarded by this cache. */
+    protected long _cellCount;
+
+    /** The max count of total cached cells, guarded by this cache. (Positive) */
+    protected long _cellCapacity = DEFAULT_CELL_CAPACITY;
+
+    protected static class CachedFixture {
+
+        protected final long _lastModified;
+        protected final long _size;
+        protected final GuiceFixtureTable _table;
+        protected final long _cellCount;
+
+        public CachedFixture(long lastModified, long size, GuiceFixtureTable table) {
+            _lastModified = lastModified;
+            _size = size;
+            _table = table;
+            _cellCount = (long) table.getColumnNames().length * Math.max(table.getRowList().size(), 1);
+        }
+    }
+
+    // ===================================================================================
+    //                                                                                Find
+    //                                                                                ====
+    /**
+     * Find the cached fixture for the location if the file is not modified.
+     * @param location The location of fixture e.g. absolute path, URL. (NotNull)
+     * @param lastModified The last-modified time of the file. (zero if unknown)
+     * @param size The size of the file. (minus if unknown)
+     * @return The cached fixture. (NullAllowed: when not found or modified)
+     */
+    public synchronized GuiceFixtureTable find(String location, long lastModified, long size) {
+        final CachedFixture cached = _fixtureMap.get(location);
+        if (cached == null) {
+            return null;
+        }
+        if (cached._lastModified != lastModified || cached._size != size) { // modified
+            remove(location);
+            return null;
+        }
+        return cached._table;
+    }
+
+    // ===================================================================================
+    //                                                                            Register
+    //                                                                            ========
+    /**
+     * Register the parsed fixture, it is not cached if it is over the capacity by itself.
+     * @param location The location of fixture e.g. absolute path, URL. (NotNull)
+     * @param lastModified The last-modified time of the file. (zero if unknown)
+     * @param size The size of the file. (minus if unknown)
+     * @param table The parsed fixture. (NotNull)
+     */
+    public synchronized void register(String location, long lastModified, long size, GuiceFixtureTable table) {
+        final CachedFixture cached = new CachedFixture(lastModified, size, table);
+        if (cached._cellCount > _cellCapacity) {
+            return;
+        }
+        remove(location);
+        _fixtureMap.put(location, cached);
+        _cellCount += cached._cellCount;
+        evictOverCapacity();
+    }
+
+    protected void remove(String location) { // in synchronized
+        final CachedFixture removed = _fixtureMap.remove(location);
+        if (removed != null) {
+            _cellCount -= removed._cellCount;
+        }
+    }
+
+    protected void evictOverCapacity() { // in synchronized
+        final Iterator<Entry<String, CachedFixture>> ite = _fixtureMap.entrySet().iterator();
+        while (_cellCount > _cellCapacity && ite.hasNext()) { // eldest first
+            _cellCount -= ite.next().getValue()._cellCount;
+            ite.remove();
+        }
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public synchronized void setCellCapacity(long cellCapacity) {
+        if (cellCapacity <= 0) {
+            throw new IllegalArgumentException("The argument 'cellCapacity' should be positive: " + cellCapacity);
+        }
+        _cellCapacity = cellCapacity;
+        evictOverCapacity();
+    }
+
+    public synchronized int size() {
+        return _fixtureMap.size();
+    }
+}
@@ -0,0 +1,308 @@
+/*
+ * Copyright 2014-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.utflute.guice.fixture;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The loader of fixture file into table by JDBC batch. <br>
+ * The connection is given by caller, so the rows are inserted in the current transaction. <br>
+ * Parsed fixtures are cached (validated by last-modified) and reused by other tests,
+ * but large file (over the mapped threshold) is streamed memory-mapped and not cached.
+ * @author jflute
+ * @since 0.9.9 (2026/10/18 Sunday)
+ */
+public class GuiceFixtureLoader {
+
+    // ===================================================================================
+    //                                                                          Definition
+    //                                                                          ==========
+    /** The default count of rows per executeBatch(). */
+    public static final int DEFAULT_BATCH_SIZE = 500;
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final GuiceFixtureCache _fixtureCache; // null allowed: no cache
+    protected int _batchSize = DEFAULT_BATCH_SIZE;
+    protected long _mappedThreshold = GuiceFixtureReader.DEFAULT_MAPPED_THRESHOLD;
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    /**
+     * @param fixtureCache The cache of parsed fixtures. (NullAllowed: if null, always parsed)
+     */
+    public GuiceFixtureLoader(GuiceFixtureCache fixtureCache) {
+        _fixtureCache = fixtureCache;
+    }
+
+    // ===================================================================================
+    //                                                                                Load
+    //                                                                                ====
+    /**
+     * Load the fixture file into the table.
+     * @param conn The connection in the current transaction, not closed here. (NotNull)
+     * @param tableName The name of table to insert rows. (NotNull)
+     * @param fixtureFile The path of fixture file, TSV or CSV by extension. (NotNull)
+     * @return The count of inserted rows.
+     * @throws IOException When it fails to read the file.
+     * @throws SQLException When it fails to insert rows.
+     */
+    public int load(Connection conn, String tableName, Path fixtureFile) throws IOException, SQLException {
+        final GuiceFixtureReader reader = createReader(fixtureFile.getFileName().toString());
+        final long size = Files.size(fixtureFile);
+        if (size > _mappedThreshold) { // streamed without cache
+            final BatchInserter inserter = new BatchInserter(conn, tableName);
+            try {
+                reader.read(fixtureFile, columnNames -> inserter.prepare(columnNames), values -> inserter.add(values));
+                return inserter.finish();
+            } catch (SQLRuntimeException e) {
+                throw e.getCause();
+            } finally {
+                inserter.close();
+            }
+        }
+        final String location = fixtureFile.toAbsolutePath().toString();
+        final long lastModified = Files.getLastModifiedTime(fixtureFile).toMillis();
+        GuiceFixtureTable table = findCachedTable(location, lastModified, size);
+        if (table == null) {
+            table = parse(reader, fixtureFile, null);
+            registerCachedTable(location, lastModified, size, table);
+        }
+        return insert(conn, tableName, table);
+    }
+
+    /**
+     * Load the fixture resource into the table. (file resource is loaded as file)
+     * @param conn The connection in the current transaction, not closed here. (NotNull)
+     * @param tableName The name of table to insert rows. (NotNull)
+     * @param fixtureUrl The URL of fixture resource e.g. class-path resource, TSV or CSV by extension. (NotNull)
+     * @return The count of inserted rows.
+     * @throws IOException When it fails to read the resource.
+     * @throws SQLException When it fails to insert rows.
+     */
+    public int load(Connection conn, String tableName, URL fixtureUrl) throws IOException, SQLException {
+        if ("file".equals(fixtureUrl.getProtocol())) {
+            try {
+                return load(conn, tableName, Paths.get(fixtureUrl.toURI()));
+            } catch (URISyntaxException e) {
+                throw new IOException("Invalid fixture URL: " + fixtureUrl, e);
+            }
+        }
+        final URLConnection urlConn = fixtureUrl.openConnection();
+        final String location = fixtureUrl.toExternalForm();
+        final long lastModified = urlConn.getLastModified();
+        final long size = urlConn.getContentLengthLong();
+        GuiceFixtureTable table = findCachedTable(location, lastModified, size);
+        if (table == null) {
+            table = parse(createReader(fixtureUrl.getPath()), null, urlConn);
+            registerCachedTable(location, lastModified, size, table);
+        } else {
+            urlConn.getInputStream().close(); // e.g. release jar file
+        }
+        return insert(conn, tableName, table);
+    }
+
+    protected GuiceFixtureReader createReader(String fileName) {
+        final GuiceFixtureReader reader = GuiceFixtureReader.of(fileName);
+        reader.setMappedThreshold(_mappedThreshold);
+        return reader;
+    }
+
+    // ===================================================================================
+    //                                                                               Parse
+    //                                                                               =====
+    protected GuiceFixtureTable parse(GuiceFixtureReader reader, Path fixtureFile, URLConnection urlConn) throws IOException {
+        final List<String[]> headerList = new ArrayList<String[]>(1);
+        final List<String[]> rowList = new ArrayList<String[]>();
+        if (fixtureFile != null) {
+            reader.read(fixtureFile, columnNames -> headerList.add(columnNames), values -> rowList.add(values));
+        } else {
+            try (InputStream ins = urlConn.getInputStream()) {
+                reader.read(ins, columnNames -> headerList.add(columnNames), values -> rowList.add(values));
+            }
+        }
+        if (headerList.isEmpty()) {
+            String msg = "The fixture has no header (column names): " + (fixtureFile != null ? fixtureFile : urlConn.getURL());
+            throw new IllegalStateException(msg);
+        }
+        return new GuiceFixtureTable(headerList.get(0), rowList);
+    }
+
+    protected GuiceFixtureTable findCachedTable(String location, long lastModified, long size) {
+        return _fixtureCache != null ? _fixtureCache.find(location, lastModified, size) : null;
+    }
+
+    protected void registerCachedTable(String location, long lastModified, long size, GuiceFixtureTable table) {
+        if (_fixtureCache != null) {
+            _fixtureCache.register(location, lastModified, size, table);
+        }
+    }
+
+    // ===================================================================================
+    //                                                                              Insert
+    //                                                                              ======
+    protected int insert(Connection conn, String tableName, GuiceFixtureTable table) throws SQLException {
+        final BatchInserter inserter = new BatchInserter(conn, tableName);
+        try {
+            inserter.prepare(table.getColumnNames());
+            for (String[] values : table.getRowList()) {
+                inserter.add(values);
+            }
+            return inserter.finish();
+        } catch (SQLRuntimeException e) {
+            throw e.getCause();
+        } finally {
+            inserter.close();
+        }
+    }
+
+    /**
+     * The inserter of rows by JDBC batch, values are set as the parameter types of the statement.
+     */
+    protected class BatchInserter {
+
+        protected final Connection _conn;
+        protected final String _tableName;
+        protected PreparedStatement _ps; // null allowed: until prepared
+        protected int[] _parameterTypes; // null elements means unknown
+        protected int _batchCount;
+        protected int _insertedCount;
+
+        public BatchInserter(Connection conn, String tableName) {
+            _conn = conn;
+            _tableName = tableName;
+        }
+
+        public void prepare(String[] columnNames) {
+            final StringBuilder sb = new StringBuilder();
+            sb.append("insert into ").append(_tableName).append(" (");
+            sb.append(String.join(", ", columnNames)).append(") values (");
+            for (int i = 0; i < columnNames.length; i++) {
+                sb.append(i > 0 ? ", ?" : "?");
+            }
+            sb.append(")");
+            try {
+                _ps = _conn.prepareStatement(sb.toString());
+                _parameterTypes = extractParameterTypes(_ps, columnNames.length);
+            } catch (SQLException e) {
+                throw new SQLRuntimeException(e);
+            }
+        }
+
+        protected int[] extractParameterTypes(PreparedStatement ps, int count) {
+            final int[] types = new int[count];
+            try {
+                for (int i = 0; i < count; i++) {
+                    types[i] = ps.getParameterMetaData().getParameterType(i + 1);
+                }
+            } catch (SQLException e) { // unsupported by the driver
+                return null;
+            }
+            return types;
+        }
+
+        public void add(String[] values) {
+            if (_ps == null) {
+                String msg = "The fixture has no header (column names) for the table: " + _tableName;
+                throw new IllegalStateException(msg);
+            }
+            try {
+                for (int i = 0; i < values.length; i++) {
+                    final int type = _parameterTypes != null ? _parameterTypes[i] : Types.VARCHAR;
+                    if (values[i] == null) {
+                        _ps.setNull(i + 1, type);
+                    } else if (_parameterTypes != null) {
+                        _ps.setObject(i + 1, values[i], type); // converted by the driver
+                    } else {
+                        _ps.setString(i + 1, values[i]);
+                    }
+                }
+                _ps.addBatch();
+                if (++_batchCount >= _batchSize) {
+                    executeBatch();
+                }
+            } catch (SQLException e) {
+                throw new SQLRuntimeException(e);
+            }
+        }
+
+        protected void executeBatch() throws SQLException {
+            for (int result : _ps.executeBatch()) {
+                _insertedCount += result >= 0 ? result : 1; // e.g. SUCCESS_NO_INFO
+            }
+            _batchCount = 0;
+        }
+
+        public int finish() throws SQLException {
+            if (_ps != null && _batchCount > 0) {
+                executeBatch();
+            }
+            return _insertedCount;
+        }
+
+        public void close() throws SQLException {
+            if (_ps != null) {
+                _ps.close();
+            }
+        }
+    }
+
+    /**
+     * The carrier of SQLException through row handlers.
+     */
+    protected static class SQLRuntimeException extends RuntimeException {
+
+        private static final long serialVersionUID = 1L;
+
+        public SQLRuntimeException(SQLException cause) {
+            super(cause);
+        }
+
+        @Override
+        public synchronized SQLException getCause() {
+            return (SQLException) super.getCause();
+        }
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public void setBatchSize(int batchSize) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("The argument 'batchSize' should be positive: " + batchSize);
+        }
+        _batchSize = batchSize;
+    }
+
+    public void setMappedThreshold(long mappedThreshold) {
+        _mappedThreshold = mappedThreshold;
+    }
+}
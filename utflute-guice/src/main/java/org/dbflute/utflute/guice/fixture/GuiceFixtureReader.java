@@ -0,0 +1,285 @@
+/*
+ * Copyright 2014-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.utflute.guice.fixture;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * The streaming reader of fixture file, TSV or CSV (UTF-8) whose first line is column names. <br>
+ * Rows are passed to the handler one by one, so the whole file is not held in memory:
+ * <pre>
+ * o large file (over the mapped threshold) is read by memory-mapped windows
+ * o CSV supports double-quoted cells (with "" as escape and line separators in quotes)
+ * o TSV has no quoting, tab and line separators cannot be in cells
+ * o empty cell is treated as null
+ * </pre>
+ * @author jflute
+ * @since 0.9.9 (2026/10/18 Sunday)
+ */
+public class GuiceFixtureReader {
+
+    // ===================================================================================
+    //                                                                          Definition
+    //                                                                          ==========
+    /** The default size of file to be memory-mapped. (8MB) */
+    public static final long DEFAULT_MAPPED_THRESHOLD = 8L * 1024L * 1024L;
+
+    /** The size of memory-mapped window. (64MB) */
+    protected static final long MAPPED_WINDOW_SIZE = 64L * 1024L * 1024L;
+
+    /** The size of char buffer to decode. */
+    protected static final int CHAR_BUFFER_SIZE = 16 * 1024;
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final char _delimiter; // comma or tab
+    protected long _mappedThreshold = DEFAULT_MAPPED_THRESHOLD;
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    public GuiceFixtureReader(char delimiter) {
+        _delimiter = delimiter;
+    }
+
+    /**
+     * Create the reader for the fixture file by its extension. ('.csv' is CSV, others are TSV)
+     * @param fileName The name of fixture file. (NotNull)
+     * @return The new-created reader. (NotNull)
+     */
+    public static GuiceFixtureReader of(String fileName) {
+        return new GuiceFixtureReader(fileName.toLowerCase().endsWith(".csv") ? ',' : '\t');
+    }
+
+    // ===================================================================================
+    //                                                                                Read
+    //                                                                                ====
+    /**
+     * Read the fixture file, memory-mapped if large.
+     * @param fixtureFile The path of fixture file. (NotNull)
+     * @param headerHandler The handler of column names. (NotNull)
+     * @param rowHandler The handler of row values, the array is new-created per row. (NotNull)
+     * @throws IOException When it fails to read the file.
+     */
+    public void read(Path fixtureFile, Consumer<String[]> headerHandler, Consumer<String[]> rowHandler) throws IOException {
+        if (Files.size(fixtureFile) > _mappedThreshold) {
+            readMapped(fixtureFile, headerHandler, rowHandler);
+        } else {
+            try (InputStream ins = Files.newInputStream(fixtureFile)) {
+                read(ins, headerHandler, rowHandler);
+            }
+        }
+    }
+
+    /**
+     * Read the fixture stream. (not closed here)
+     * @param ins The input stream of fixture. (NotNull)
+     * @param headerHandler The handler of column names. (NotNull)
+     * @param rowHandler The handler of row values, the array is new-created per row. (NotNull)
+     * @throws IOException When it fails to read the stream.
+     */
+    public void read(InputStream ins, Consumer<String[]> headerHandler, Consumer<String[]> rowHandler) throws IOException {
+        final Tokenizer tokenizer = new Tokenizer(_delimiter, headerHandler, rowHandler);
+        final Reader reader = new InputStreamReader(ins, StandardCharsets.UTF_8);
+        final char[] chars = new char[CHAR_BUFFER_SIZE];
+        int length;
+        while ((length = reader.read(chars)) >= 0) {
+            tokenizer.accept(chars, 0, length);
+        }
+        tokenizer.finish();
+    }
+
+    protected void readMapped(Path fixtureFile, Consumer<String[]> headerHandler, Consumer<String[]> rowHandler) throws IOException {
+        final Tokenizer tokenizer = new Tokenizer(_delimiter, headerHandler, rowHandler);
+        final CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder();
+        decoder.onMalformedInput(CodingErrorAction.REPORT).onUnmappableCharacter(CodingErrorAction.REPORT);
+        final CharBuffer charBuf = CharBuffer.allocate(CHAR_BUFFER_SIZE);
+        try (FileChannel channel = FileChannel.open(fixtureFile, StandardOpenOption.READ)) {
+            final long size = channel.size();
+            long position = 0;
+            while (position < size) {
+                final long windowSize = Math.min(MAPPED_WINDOW_SIZE, size - position);
+                final boolean lastWindow = position + windowSize == size;
+                final MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, position, windowSize);
+                decodeWindow(decoder, mapped, charBuf, lastWindow, tokenizer);
+                if (!lastWindow && mapped.position() == 0) { // no progress
+                    String msg = "Cannot decode the fixture file at " + position + ": " + fixtureFile;
+                    throw new IOException(msg);
+                }
+                position += lastWindow ? windowSize : mapped.position(); // carry over split multi-byte char
+            }
+        }
+        tokenizer.finish();
+    }
+
+    protected void decodeWindow(CharsetDecoder decoder, ByteBuffer mapped, CharBuffer charBuf, boolean lastWindow, Tokenizer tokenizer)
+            throws CharacterCodingException {
+        while (true) {
+            final CoderResult result = decoder.decode(mapped, charBuf, lastWindow);
+            if (result.isError()) {
+                result.throwException();
+            }
+            flushCharBuffer(charBuf, tokenizer);
+            if (result.isUnderflow()) {
+                break;
+            }
+        }
+        if (lastWindow) {
+            while (decoder.flush(charBuf).isOverflow()) {
+                flushCharBuffer(charBuf, tokenizer);
+            }
+            flushCharBuffer(charBuf, tokenizer);
+        }
+    }
+
+    protected void flushCharBuffer(CharBuffer charBuf, Tokenizer tokenizer) {
+        charBuf.flip();
+        tokenizer.accept(charBuf.array(), charBuf.arrayOffset() + charBuf.position(), charBuf.remaining());
+        charBuf.clear();
+    }
+
+    // ===================================================================================
+    //                                                                           Tokenizer
+    //                                                                           =========
+    /**
+     * The tokenizer of fixture characters, which accepts chunks of characters and handles completed rows.
+     */
+    protected static class Tokenizer {
+
+        protected final char _delimiter;
+        protected final boolean _quoteEnabled; // CSV only
+        protected final Consumer<String[]> _headerHandler;
+        protected final Consumer<String[]> _rowHandler;
+        protected final StringBuilder _cell = new StringBuilder();
+        protected final List<String> _cellList = new ArrayList<String>();
+        protected boolean _inQuote;
+        protected boolean _quotePending; // quote in quote, escape or end
+        protected boolean _cellQuoted; // quoted cell is not null even if empty
+        protected int _columnCount = -1; // minus until header
+        protected long _lineNumber = 1;
+
+        public Tokenizer(char delimiter, Consumer<String[]> headerHandler, Consumer<String[]> rowHandler) {
+            _delimiter = delimiter;
+            _quoteEnabled = delimiter == ',';
+            _headerHandler = headerHandler;
+            _rowHandler = rowHandler;
+        }
+
+        public void accept(char[] chars, int offset, int length) {
+            final int end = offset + length;
+            for (int i = offset; i < end; i++) {
+                accept(chars[i]);
+            }
+        }
+
+        protected void accept(char ch) {
+            if (_inQuote) {
+                if (_quotePending) {
+                    _quotePending = false;
+                    if (ch == '"') { // escaped quote
+                        _cell.append(ch);
+                        return;
+                    }
+                    _inQuote = false; // end of quote, handle the character as normal
+                } else {
+                    if (ch == '"') {
+                        _quotePending = true;
+                    } else {
+                        if (ch == '\n') {
+                            ++_lineNumber;
+                        }
+                        _cell.append(ch);
+                    }
+                    return;
+                }
+            }
+            if (ch == _delimiter) {
+                endCell();
+            } else if (ch == '\n') {
+                endRow();
+                ++_lineNumber;
+            } else if (ch == '\r') { // ignored, CRLF
+            } else if (ch == '"' && _quoteEnabled && _cell.length() == 0 && !_cellQuoted) {
+                _inQuote = true;
+                _cellQuoted = true;
+            } else {
+                _cell.append(ch);
+            }
+        }
+
+        protected void endCell() {
+            _cellList.add(_cell.length() > 0 || _cellQuoted ? _cell.toString() : null);
+            _cell.setLength(0);
+            _cellQuoted = false;
+        }
+
+        protected void endRow() {
+            if (_cellList.isEmpty() && _cell.length() == 0 && !_cellQuoted) { // empty line
+                return;
+            }
+            endCell();
+            if (_columnCount < 0) {
+                _columnCount = _cellList.size();
+                _headerHandler.accept(_cellList.toArray(new String[_columnCount]));
+            } else {
+                if (_cellList.size() > _columnCount) {
+                    String msg = "The row has more cells than columns: line=" + _lineNumber;
+                    msg = msg + ", cells=" + _cellList.size() + ", columns=" + _columnCount;
+                    throw new IllegalStateException(msg);
+                }
+                final String[] values = new String[_columnCount]; // short row is filled by null
+                _rowHandler.accept(_cellList.toArray(values));
+            }
+            _cellList.clear();
+        }
+
+        public void finish() {
+            if (_inQuote && !_quotePending) {
+                String msg = "The quote is not closed at the end of fixture: line=" + _lineNumber;
+                throw new IllegalStateException(msg);
+            }
+            _inQuote = false;
+            _quotePending = false;
+            endRow(); // last line without line separator
+        }
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public void setMappedThreshold(long mappedThreshold) {
+        _mappedThreshold = mappedThreshold;
+    }
+}
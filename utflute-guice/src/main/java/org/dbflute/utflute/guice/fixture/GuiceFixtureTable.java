@@ -0,0 +1,58 @@
+/*
+ * Copyright 2014-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.utflute.guice.fixture;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The parsed fixture data, column names and rows of string values. (immutable, cached across tests)
+ * @author jflute
+ * @since 0.9.9 (2026/10/18 Sunday)
+ */
+public class GuiceFixtureTable {
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final String[] _columnNames; // not null
+    protected final List<String[]> _rowList; // not null, read-only
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    public GuiceFixtureTable(String[] columnNames, List<String[]> rowList) {
+        _columnNames = columnNames;
+        _rowList = Collections.unmodifiableList(rowList);
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    /**
+     * @return The array of column names, don't modify it. (NotNull)
+     */
+    public String[] getColumnNames() {
+        return _columnNames;
+    }
+
+    /**
+     * @return The read-only list of row values, don't modify the arrays. (NotNull, EmptyAllowed)
+     */
+    public List<String[]> getRowList() {
+        return _rowList;
+    }
+}
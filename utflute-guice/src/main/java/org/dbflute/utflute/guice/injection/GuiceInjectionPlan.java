@@ -0,0 +1,260 @@
+/*
+ * Copyright 2014-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.utflute.guice.injection;
+
+import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import com.google.inject.BindingAnnotation;
+import com.google.inject.Key;
+import com.google.inject.TypeLiteral;
+
+/**
+ * The plan of injection for the class, resolved once and invoked through method handles. <br>
+ * The injection points are same as the component binder of UTFlute core (annotation-only binding),
+ * annotated by com.google.inject.Inject or javax.inject.Inject in the class hierarchy:
+ * <pre>
+ * o fields of any visibility, but static fields are not injected
+ * o public setter methods, e.g. protected setter is not injected (unlike Google Guice)
+ * o overridden setters are injected only when the overriding one has the annotation
+ * o super class first, fields before setters in the same class
+ * o unbound dependencies are not injected (the field keeps its value), not error
+ * </pre>
+ * The plan does not depend on injector so it can be shared by any (recycled or rebuilt) containers.
+ * @author jflute
+ * @since 0.9.9 (2026/10/18 Sunday)
+ */
+public class GuiceInjectionPlan {
+
+    // ===================================================================================
+    //                                                                          Definition
+    //                                                                          ==========
+    protected static final MethodType FIELD_SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+    protected static final MethodType METHOD_SPREADER_TYPE = MethodType.methodType(void.class, Object.class, Object[].class);
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final Class<?> _targetType; // not null
+    protected final List<InjectionPoint> _pointList; // not null, read-only
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    protected GuiceInjectionPlan(Class<?> targetType, List<InjectionPoint> pointList) {
+        _targetType = targetType;
+        _pointList = Collections.unmodifiableList(pointList);
+    }
+
+    /**
+     * Resolve the plan of the class by scanning its hierarchy. (called once per class via the cache)
+     * @param targetType The type of bean to be injected. (NotNull)
+     * @return The new-created plan. (NotNull)
+     */
+    public static GuiceInjectionPlan resolve(Class<?> targetType) {
+        final List<Class<?>> hierarchyList = new ArrayList<Class<?>>();
+        for (Class<?> current = targetType; current != null && !Object.class.equals(current); current = current.getSuperclass()) {
+            hierarchyList.add(current);
+        }
+        final Set<String> overriddenSet = new HashSet<String>(); // signatures of methods in sub classes
+        final List<List<InjectionPoint>> levelList = new ArrayList<List<InjectionPoint>>();
+        final MethodHandles.Lookup lookup = MethodHandles.lookup();
+        for (Class<?> current : hierarchyList) { // sub class first to know overridden methods
+            final List<InjectionPoint> pointList = new ArrayList<InjectionPoint>();
+            for (Field field : current.getDeclaredFields()) {
+                if (isInjectionTarget(field.getAnnotations()) && !Modifier.isStatic(field.getModifiers())) {
+                    pointList.add(createFieldPoint(lookup, current, field));
+                }
+            }
+            for (Method method : current.getDeclaredMethods()) {
+                if (!isSetterMethod(method)) {
+                    continue;
+                }
+                final boolean overridden = !overriddenSet.add(buildSignature(method));
+                if (!overridden && isInjectionTarget(method.getAnnotations())) {
+                    pointList.add(createMethodPoint(lookup, current, method));
+                }
+            }
+            levelList.add(pointList);
+        }
+        final List<InjectionPoint> planList = new ArrayList<InjectionPoint>();
+        for (int i = levelList.size() - 1; i >= 0; --i) { // super class first
+            planList.addAll(levelList.get(i));
+        }
+        return new GuiceInjectionPlan(targetType, planList);
+    }
+
+    protected static boolean isSetterMethod(Method method) {
+        final int modifiers = method.getModifiers();
+        if (method.isBridge() || method.isSynthetic() || Modifier.isStatic(modifiers) || !Modifier.isPublic(modifiers)) {
+            return false;
+        }
+        return method.getName().startsWith("set") && method.getParameterTypes().length == 1;
+    }
+
+    protected static boolean isInjectionTarget(Annotation[] annotations) {
+        for (Annotation annotation : annotations) {
+            final Class<? extends Annotation> annotationType = annotation.annotationType();
+            if (com.google.inject.Inject.class.equals(annotationType) || javax.inject.Inject.class.equals(annotationType)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    protected static boolean isOptional(Annotation[] annotations) {
+        for (Annotation annotation : annotations) {
+            if (annotation instanceof com.google.inject.Inject) {
+                return ((com.google.inject.Inject) annotation).optional();
+            }
+        }
+        return false;
+    }
+
+    protected static String buildSignature(Method method) {
+        return method.getName() + Arrays.toString(method.getParameterTypes());
+    }
+
+    // ===================================================================================
+    //                                                                     Injection Point
+    //                                                                     ===============
+    protected static InjectionPoint createFieldPoint(MethodHandles.Lookup lookup, Class<?> declaringType, Field field) {
+        final Key<?> key = createKey(field.getGenericType(), field.getAnnotations(), field);
+        field.setAccessible(true);
+        final MethodHandle setter;
+        try {
+            setter = lookup.unreflectSetter(field).asType(FIELD_SETTER_TYPE);
+        } catch (IllegalAccessException e) { // e.g. final field
+            String msg = "Cannot inject the field: " + declaringType.getName() + "#" + field.getName();
+            throw new IllegalStateException(msg, e);
+        }
+        final boolean optional = isOptional(field.getAnnotations());
+        return new InjectionPoint(field.toString(), setter, Collections.<Key<?>> singletonList(key), optional);
+    }
+
+    protected static InjectionPoint createMethodPoint(MethodHandles.Lookup lookup, Class<?> declaringType, Method method) {
+        final Type[] parameterTypes = method.getGenericParameterTypes();
+        final Annotation[][] parameterAnnotations = method.getParameterAnnotations();
+        final List<Key<?>> keyList = new ArrayList<Key<?>>(parameterTypes.length);
+        for (int i = 0; i < parameterTypes.length; i++) {
+            keyList.add(createKey(parameterTypes[i], parameterAnnotations[i], method));
+        }
+        method.setAccessible(true);
+        final MethodHandle invoker;
+        try {
+            invoker = lookup.unreflect(method).asSpreader(Object[].class, parameterTypes.length).asType(METHOD_SPREADER_TYPE);
+        } catch (IllegalAccessException e) {
+            String msg = "Cannot inject the method: " + declaringType.getName() + "#" + method.getName();
+            throw new IllegalStateException(msg, e);
+        }
+        final boolean optional = isOptional(method.getAnnotations());
+        return new InjectionPoint(method.toString(), invoker, Collections.unmodifiableList(keyList), optional);
+    }
+
+    protected static Key<?> createKey(Type type, Annotation[] annotations, Object member) {
+        final TypeLiteral<?> typeLiteral = TypeLiteral.get(type);
+        Annotation bindingAnnotation = null;
+        for (Annotation annotation : annotations) {
+            final Class<? extends Annotation> annotationType = annotation.annotationType();
+            if (annotationType.isAnnotationPresent(BindingAnnotation.class)
+                    || annotationType.isAnnotationPresent(javax.inject.Qualifier.class)) {
+                if (bindingAnnotation != null) {
+                    String msg = "Duplicate binding annotations: " + member + ", " + bindingAnnotation + ", " + annotation;
+                    throw new IllegalStateException(msg);
+                }
+                bindingAnnotation = annotation;
+            }
+        }
+        return bindingAnnotation != null ? Key.get(typeLiteral, bindingAnnotation) : Key.get(typeLiteral);
+    }
+
+    // ===================================================================================
+    //                                                                              Inject
+    //                                                                              ======
+    /**
+     * Inject the dependencies to the bean by the plan.
+     * @param bean The bean to be injected, instance of the target type. (NotNull)
+     * @param resolver The resolver of dependency. (NotNull)
+     */
+    public void inject(Object bean, GuiceInjectionResolver resolver) {
+        for (InjectionPoint point : _pointList) {
+            point.inject(bean, resolver);
+        }
+    }
+
+    protected static class InjectionPoint {
+
+        protected final String _memberExp; // not null, for exception message
+        protected final MethodHandle _handle; // not null, (Object, Object) for field, (Object, Object[]) for method
+        protected final List<Key<?>> _keyList; // not null, one element for field
+        protected final boolean _optional;
+        protected final boolean _field;
+
+        public InjectionPoint(String memberExp, MethodHandle handle, List<Key<?>> keyList, boolean optional) {
+            _memberExp = memberExp;
+            _handle = handle;
+            _keyList = keyList;
+            _optional = optional;
+            _field = handle.type().equals(FIELD_SETTER_TYPE);
+        }
+
+        public void inject(Object bean, GuiceInjectionResolver resolver) {
+            final Object[] args = new Object[_keyList.size()];
+            for (int i = 0; i < args.length; i++) {
+                final Object resolved = resolver.resolve(_keyList.get(i), _optional);
+                if (resolved == null) { // not found, skip the point as the component binder of UTFlute core
+                    return;
+                }
+                args[i] = resolved;
+            }
+            try {
+                if (_field) {
+                    _handle.invokeExact(bean, args[0]);
+                } else {
+                    _handle.invokeExact(bean, args);
+                }
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                String msg = "Failed to inject the dependency: " + _memberExp;
+                throw new IllegalStateException(msg, e);
+            }
+        }
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public Class<?> getTargetType() {
+        return _targetType;
+    }
+
+    public int getInjectionPointCount() {
+        return _pointList.size();
+    }
+}
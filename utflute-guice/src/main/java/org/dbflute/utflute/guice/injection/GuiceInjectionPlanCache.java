@@ -0,0 +1,57 @@
+/*
+ * Copyright 2014-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.utflute.guice.injection;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The cache of injection plans keyed by bean type. <br>
+ * Plans do not depend on injector, so the cache is shared by all containers. (thread-safe)
+ * @author jflute
+ * @since 0.9.9 (2026/10/18 Sunday)
+ */
+public class GuiceInjectionPlanCache {
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    /** The map of injection plan keyed by bean type. (NotNull) */
+    protected final ConcurrentHashMap<Class<?>, GuiceInjectionPlan> _planMap = new ConcurrentHashMap<Class<?>, GuiceInjectionPlan>();
+
+    // ===================================================================================
+    //                                                                                Find
+    //                                                                                ====
+    /**
+     * Find the injection plan of the type, resolved at the first time.
+     * @param targetType The type of bean to be injected. (NotNull)
+     * @return The cached plan. (NotNull)
+     */
+    public GuiceInjectionPlan findPlan(Class<?> targetType) {
+        final GuiceInjectionPlan cached = _planMap.get(targetType); // fast path without locking
+        return cached != null ? cached : _planMap.computeIfAbsent(targetType, GuiceInjectionPlan::resolve);
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public int size() {
+        return _planMap.size();
+    }
+
+    public void clear() {
+        _planMap.clear();
+    }
+}
@@ -0,0 +1,35 @@
+/*
+ * Copyright 2014-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.utflute.guice.injection;
+
+import com.google.inject.Key;
+
+/**
+ * The resolver of dependency for injection plan. e.g. mock instance or component of injector
+ * @author jflute
+ * @since 0.9.9 (2026/10/18 Sunday)
+ */
+@FunctionalInterface
+public interface GuiceInjectionResolver {
+
+    /**
+     * Resolve the dependency for the key.
+     * @param key The key of the injection point, may have binding annotation. (NotNull)
+     * @param optional Is the injection point optional? (not found is skipped whether optional or not)
+     * @return The resolved dependency. (NullAllowed: when not found, then the injection point is skipped)
+     */
+    Object resolve(Key<?> key, boolean optional);
+}
@@ -0,0 +1,142 @@
+/*
+ * Copyright 2014-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.utflute.guice.load;
+
+/**
+ * The result of micro-benchmark, nanoseconds per operation with statistics of iterations.
+ * @author jflute
+ * @since 0.9.9 (2026/10/18 Sunday)
+ */
+public class GuiceBenchmarkResult {
+
+    // ===================================================================================
+    //                                                                          Definition
+    //                                                                          ==========
+    /** The two-sided t-values of 99% confidence for degrees of freedom 1 to 30. */
+    protected static final double[] T_VALUES_99 = { 63.657, 9.925, 5.841, 4.604, 4.032, 3.707, 3.499, 3.355, 3.250, 3.169, 3.106,
+            3.055, 3.012, 2.977, 2.947, 2.921, 2.898, 2.878, 2.861, 2.845, 2.831, 2.819, 2.807, 2.797, 2.787, 2.779, 2.771, 2.763,
+            2.756, 2.750 };
+
+    protected static final double Z_VALUE_99 = 2.576; // over 30 degrees
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final String _name; // not null
+    protected final double[] _scores; // nanoseconds per operation per iteration, not null, not empty
+    protected final long _operationCount; // in measurement
+    protected final double _mean;
+    protected final double _stddev; // sample standard deviation
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    public GuiceBenchmarkResult(String name, double[] scores, long operationCount) {
+        if (scores.length == 0) {
+            throw new IllegalArgumentException("The argument 'scores' should not be empty: " + name);
+        }
+        _name = name;
+        _scores = scores.clone();
+        _operationCount = operationCount;
+        double sum = 0.0;
+        for (double score : scores) {
+            sum += score;
+        }
+        _mean = sum / scores.length;
+        double squareSum = 0.0;
+        for (double score : scores) {
+            squareSum += (score - _mean) * (score - _mean);
+        }
+        _stddev = scores.length > 1 ? Math.sqrt(squareSum / (scores.length - 1)) : 0.0;
+    }
+
+    // ===================================================================================
+    //                                                                          Confidence
+    //                                                                          ==========
+    /**
+     * @return The half width of 99% confidence interval of the mean, in nanoseconds per operation.
+     */
+    public double getConfidenceHalfWidth() {
+        final int degrees = _scores.length - 1;
+        if (degrees <= 0) {
+            return Double.POSITIVE_INFINITY; // unknown by one iteration
+        }
+        final double tValue = degrees <= T_VALUES_99.length ? T_VALUES_99[degrees - 1] : Z_VALUE_99;
+        return tValue * _stddev / Math.sqrt(_scores.length);
+    }
+
+    public double getConfidenceLower() {
+        return _mean - getConfidenceHalfWidth();
+    }
+
+    public double getConfidenceUpper() {
+        return _mean + getConfidenceHalfWidth();
+    }
+
+    /**
+     * Is this faster than the other with statistical significance? (99% confidence intervals do not overlap)
+     * @param other The result of other benchmark. (NotNull)
+     * @return The determination, true or false.
+     */
+    public boolean isFasterThan(GuiceBenchmarkResult other) {
+        return getConfidenceUpper() < other.getConfidenceLower();
+    }
+
+    // ===================================================================================
+    //                                                                             Display
+    //                                                                             =======
+    /**
+     * @return The display string for log e.g. "fooLogic: 12.345 +- 0.456 ns/op (99% CI, stddev=0.321, 10 iterations)" (NotNull)
+     */
+    public String toDisplay() {
+        return String.format("%s: %.3f +- %.3f ns/op (99%% CI, stddev=%.3f, %d iterations, %d ops)", _name, _mean,
+                getConfidenceHalfWidth(), _stddev, _scores.length, _operationCount);
+    }
+
+    @Override
+    public String toString() {
+        return toDisplay();
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public String getName() {
+        return _name;
+    }
+
+    public double[] getScores() {
+        return _scores.clone();
+    }
+
+    public long getOperationCount() {
+        return _operationCount;
+    }
+
+    /**
+     * @return The mean of nanoseconds per operation.
+     */
+    public double getMean() {
+        return _mean;
+    }
+
+    /**
+     * @return The sample standard deviation of nanoseconds per operation.
+     */
+    public double getStddev() {
+        return _stddev;
+    }
+}
@@ -0,0 +1,49 @@
+/*
+ * Copyright 2014-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.utflute.guice.load;
+
+import java.lang.ref.WeakReference;
+
+/**
+ * The sink of benchmark results, to prevent dead-code elimination of the measured calls. <br>
+ * Same way as Blackhole of JMH for objects: the result is stored (as weak reference not to keep it alive)
+ * only by rare random chance, which gets rarer and rarer, so consuming costs almost nothing
+ * (JIT cannot know the chance so the result must be computed). <br>
+ * Primitive results are boxed by the call of benchmark (returns Object), so only object is consumed.
+ * @author jflute
+ * @since 0.9.9 (2026/10/18 Sunday)
+ */
+public class GuiceBlackhole {
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected int _randomSeed = (int) System.nanoTime();
+    protected volatile int _randomMask = 1;
+    protected Object _objectSink; // weak reference of consumed object, stored by rare chance
+
+    // ===================================================================================
+    //                                                                             Consume
+    //                                                                             =======
+    public void consume(Object obj) {
+        final int mask = _randomMask;
+        final int random = (_randomSeed = _randomSeed * 1664525 + 1013904223); // linear congruential
+        if ((random & mask) == 0) { // rarely, and more rarely next time
+            _objectSink = new WeakReference<Object>(obj);
+            _randomMask = (mask << 1) + 1;
+        }
+    }
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright 2014-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.utflute.guice.load;
+
+/**
+ * The low-allocation histogram of latency in nanoseconds, log-linear buckets with about 1% precision. <br>
+ * Values under 128 are exact, and larger values are bucketed by 64 sub-buckets per power of two. <br>
+ * Recording allocates nothing, and it is not thread-safe (use one histogram per caller and merge them).
+ * @author jflute
+ * @since 0.9.9 (2026/10/18 Sunday)
+ */
+public class GuiceLatencyHistogram {
+
+    // ===================================================================================
+    //                                                                          Definition
+    //                                                                          ==========
+    protected static final int SUB_BUCKET_BITS = 6;
+    protected static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS; // 64
+    protected static final int LINEAR_LIMIT = SUB_BUCKET_COUNT * 2; // 128, exact under this
+    protected static final int BUCKET_COUNT = (64 - SUB_BUCKET_BITS) * SUB_BUCKET_COUNT; // enough for Long.MAX_VALUE
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final long[] _counts = new long[BUCKET_COUNT];
+    protected long _totalCount;
+    protected long _totalNanos;
+    protected long _minNanos = Long.MAX_VALUE;
+    protected long _maxNanos;
+
+    // ===================================================================================
+    //                                                                              Record
+    //                                                                              ======
+    /**
+     * Record the latency.
+     * @param nanos The latency in nanoseconds, minus is treated as zero.
+     */
+    public void record(long nanos) {
+        final long value = nanos > 0 ? nanos : 0L;
+        ++_counts[indexOf(value)];
+        ++_totalCount;
+        _totalNanos += value;
+        if (value < _minNanos) {
+            _minNanos = value;
+        }
+        if (value > _maxNanos) {
+            _maxNanos = value;
+        }
+    }
+
+    /**
+     * Merge the other histogram into this.
+     * @param other The other histogram. (NotNull)
+     */
+    public void merge(GuiceLatencyHistogram other) {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            _counts[i] += other._counts[i];
+        }
+        _totalCount += other._totalCount;
+        _totalNanos += other._totalNanos;
+        _minNanos = Math.min(_minNanos, other._minNanos);
+        _maxNanos = Math.max(_maxNanos, other._maxNanos);
+    }
+
+    protected static int indexOf(long value) {
+        if (value < LINEAR_LIMIT) {
+            return (int) value;
+        }
+        final int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS; // value >>> shift is 64 to 127
+        return (shift + 1) * SUB_BUCKET_COUNT + (int) ((value >>> shift) - SUB_BUCKET_COUNT);
+    }
+
+    protected static long valueOf(int index) { // middle of the bucket
+        if (index < LINEAR_LIMIT) {
+            return index;
+        }
+        final int shift = index / SUB_BUCKET_COUNT - 1;
+        final long lower = ((long) (index % SUB_BUCKET_COUNT + SUB_BUCKET_COUNT)) << shift;
+        return lower + (((1L << shift) - 1L) >>> 1);
+    }
+
+    // ===================================================================================
+    //                                                                          Percentile
+    //                                                                          ==========
+    /**
+     * Get the latency at the percentile. (bucket precision, but not over the max)
+     * @param percentile The percentile e.g. 50.0, 99.0, 99.9 (0 to 100)
+     * @return The latency in nanoseconds. (zero if no record)
+     */
+    public long getPercentileNanos(double percentile) {
+        if (percentile < 0.0 || percentile > 100.0) {
+            throw new IllegalArgumentException("The argument 'percentile' should be 0 to 100: " + percentile);
+        }
+        if (_totalCount == 0L) {
+            return 0L;
+        }
+        final long targetCount = Math.max(1L, (long) Math.ceil(_totalCount * percentile / 100.0));
+        long count = 0L;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            count += _counts[i];
+            if (count >= targetCount) {
+                return Math.max(_minNanos, Math.min(valueOf(i), _maxNanos));
+            }
+        }
+        return _maxNanos;
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public long getTotalCount() {
+        return _totalCount;
+    }
+
+    public long getMeanNanos() {
+        return _totalCount > 0 ? _totalNanos / _totalCount : 0L;
+    }
+
+    public long getMinNanos() {
+        return _totalCount > 0 ? _minNanos : 0L;
+    }
+
+    public long getMaxNanos() {
+        return _maxNanos;
+    }
+}
@@ -0,0 +1,199 @@
+/*
+ * Copyright 2014-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.utflute.guice.load;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The driver of load, which calls the component by concurrent callers for call count or duration. <br>
+ * Callers are threads made by the thread factory, so virtual threads can be used
+ * by e.g. Thread.ofVirtual().factory() (Java 21 or later). <br>
+ * Each caller has its own histogram (no contention, no allocation per call), merged after the load.
+ * @author jflute
+ * @since 0.9.9 (2026/10/18 Sunday)
+ */
+public class GuiceLoadDriver {
+
+    // ===================================================================================
+    //                                                                          Definition
+    //                                                                          ==========
+    protected static final AtomicInteger _callerThreadNumber = new AtomicInteger();
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final int _callerCount; // positive
+    protected final ThreadFactory _threadFactory; // not null
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    /**
+     * @param callerCount The count of concurrent callers. (Positive)
+     * @param threadFactory The factory of caller threads. (NullAllowed: if null, daemon platform threads)
+     */
+    public GuiceLoadDriver(int callerCount, ThreadFactory threadFactory) {
+        if (callerCount <= 0) {
+            throw new IllegalArgumentException("The argument 'callerCount' should be positive: " + callerCount);
+        }
+        _callerCount = callerCount;
+        _threadFactory = threadFactory != null ? threadFactory : createDefaultThreadFactory();
+    }
+
+    protected ThreadFactory createDefaultThreadFactory() {
+        return runnable -> {
+            final Thread thread = new Thread(runnable, "utflute-guice-load-" + _callerThreadNumber.incrementAndGet());
+            thread.setDaemon(true); // not to block JVM end
+            return thread;
+        };
+    }
+
+    // ===================================================================================
+    //                                                                                 Run
+    //                                                                                 ===
+    /**
+     * Call the component by the callers until the total calls are done.
+     * @param <COMPONENT> The type of component.
+     * @param component The component to be called. (NotNull)
+     * @param callCount The total count of calls by all callers. (Positive)
+     * @param call The call against the component. (NotNull)
+     * @return The result of load. (NotNull)
+     */
+    public <COMPONENT> GuiceLoadResult runCalls(COMPONENT component, long callCount, GuiceLoadCall<COMPONENT> call) {
+        if (callCount <= 0) {
+            throw new IllegalArgumentException("The argument 'callCount' should be positive: " + callCount);
+        }
+        final AtomicLong remaining = new AtomicLong(callCount);
+        return run(component, call, () -> remaining.getAndDecrement() > 0);
+    }
+
+    /**
+     * Call the component by the callers during the duration.
+     * @param <COMPONENT> The type of component.
+     * @param component The component to be called. (NotNull)
+     * @param durationMillis The duration of load in milliseconds. (Positive)
+     * @param call The call against the component. (NotNull)
+     * @return The result of load. (NotNull)
+     */
+    public <COMPONENT> GuiceLoadResult runDuration(COMPONENT component, long durationMillis, GuiceLoadCall<COMPONENT> call) {
+        if (durationMillis <= 0) {
+            throw new IllegalArgumentException("The argument 'durationMillis' should be positive: " + durationMillis);
+        }
+        final long durationNanos = durationMillis * 1000000L;
+        final AtomicLong deadline = new AtomicLong(); // set at start
+        return run(component, call, () -> {
+            final long current = deadline.get();
+            if (current == 0L) {
+                deadline.compareAndSet(0L, System.nanoTime() + durationNanos);
+                return true;
+            }
+            return System.nanoTime() - current < 0L;
+        });
+    }
+
+    protected <COMPONENT> GuiceLoadResult run(COMPONENT component, GuiceLoadCall<COMPONENT> call, Continuation continuation) {
+        final CountDownLatch startLatch = new CountDownLatch(1);
+        final CountDownLatch doneLatch = new CountDownLatch(_callerCount);
+        final List<Caller<COMPONENT>> callerList = new ArrayList<Caller<COMPONENT>>(_callerCount);
+        for (int i = 0; i < _callerCount; i++) {
+            final Caller<COMPONENT> caller = new Caller<COMPONENT>(component, call, continuation, startLatch, doneLatch);
+            callerList.add(caller);
+            _threadFactory.newThread(caller).start();
+        }
+        final long before = System.nanoTime();
+        startLatch.countDown();
+        try {
+            doneLatch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the load callers.", e);
+        }
+        final long elapsedNanos = System.nanoTime() - before;
+        final GuiceLatencyHistogram histogram = new GuiceLatencyHistogram();
+        long errorCount = 0L;
+        Throwable firstError = null;
+        for (Caller<COMPONENT> caller : callerList) {
+            histogram.merge(caller._histogram);
+            errorCount += caller._errorCount;
+            if (firstError == null) {
+                firstError = caller._firstError;
+            }
+        }
+        return new GuiceLoadResult(_callerCount, histogram.getTotalCount(), errorCount, elapsedNanos, histogram, firstError);
+    }
+
+    /**
+     * The continuation of calls, shared by callers.
+     */
+    @FunctionalInterface
+    protected interface Continuation {
+
+        boolean next();
+    }
+
+    /**
+     * The caller of the component, running in its own thread.
+     * @param <COMPONENT> The type of component.
+     */
+    protected static class Caller<COMPONENT> implements Runnable {
+
+        protected final COMPONENT _component;
+        protected final GuiceLoadCall<COMPONENT> _call;
+        protected final Continuation _continuation;
+        protected final CountDownLatch _startLatch;
+        protected final CountDownLatch _doneLatch;
+        protected final GuiceLatencyHistogram _histogram = new GuiceLatencyHistogram(); // own histogram
+        protected long _errorCount;
+        protected Throwable _firstError;
+
+        public Caller(COMPONENT component, GuiceLoadCall<COMPONENT> call, Continuation continuation, CountDownLatch startLatch,
+                CountDownLatch doneLatch) {
+            _component = component;
+            _call = call;
+            _continuation = continuation;
+            _startLatch = startLatch;
+            _doneLatch = doneLatch;
+        }
+
+        @Override
+        public void run() {
+            try {
+                _startLatch.await();
+                while (_continuation.next()) {
+                    final long before = System.nanoTime();
+                    try {
+                        _call.call(_component);
+                    } catch (Throwable e) { // also error, to be counted
+                        ++_errorCount;
+                        if (_firstError == null) {
+                            _firstError = e;
+                        }
+                    }
+                    _histogram.record(System.nanoTime() - before);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                _doneLatch.countDown(); // also happens-before for the histogram
+            }
+        }
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright 2014-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.utflute.guice.load;
+
+/**
+ * The result of load, throughput and latency percentiles.
+ * @author jflute
+ * @since 0.9.9 (2026/10/18 Sunday)
+ */
+public class GuiceLoadResult {
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final int _callerCount;
+    protected final long _callCount; // including errors
+    protected final long _errorCount;
+    protected final long _elapsedNanos;
+    protected final GuiceLatencyHistogram _histogram; // not null, merged
+    protected final Throwable _firstError; // null allowed: when no error
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    public GuiceLoadResult(int callerCount, long callCount, long errorCount, long elapsedNanos, GuiceLatencyHistogram histogram,
+            Throwable firstError) {
+        _callerCount = callerCount;
+        _callCount = callCount;
+        _errorCount = errorCount;
+        _elapsedNanos = elapsedNanos;
+        _histogram = histogram;
+        _firstError = firstError;
+    }
+
+    // ===================================================================================
+    //                                                                          Throughput
+    //                                                                          ==========
+    /**
+     * @return The count of calls per second, including errors.
+     */
+    public double getThroughput() {
+        return _elapsedNanos > 0 ? _callCount * 1000000000.0 / _elapsedNanos : 0.0;
+    }
+
+    // ===================================================================================
+    //                                                                          Percentile
+    //                                                                          ==========
+    public long getPercentileNanos(double percentile) {
+        return _histogram.getPercentileNanos(percentile);
+    }
+
+    public long getP50Nanos() {
+        return getPercentileNanos(50.0);
+    }
+
+    public long getP99Nanos() {
+        return getPercentileNanos(99.0);
+    }
+
+    public long getP999Nanos() {
+        return getPercentileNanos(99.9);
+    }
+
+    // ===================================================================================
+    //                                                                             Display
+    //                                                                             =======
+    /**
+     * @return The display string for log e.g. "10000 calls by 8 callers in 120ms (83333 calls/sec), p50=0.080ms, ..." (NotNull)
+     */
+    public String toDisplay() {
+        final StringBuilder sb = new StringBuilder();
+        sb.append(_callCount).append(" calls by ").append(_callerCount).append(" callers");
+        sb.append(" in ").append(_elapsedNanos / 1000000L).append("ms");
+        sb.append(" (").append(Math.round(getThroughput())).append(" calls/sec)");
+        sb.append(", p50=").append(toMillisExp(getP50Nanos()));
+        sb.append(", p99=").append(toMillisExp(getP99Nanos()));
+        sb.append(", p999=").append(toMillisExp(getP999Nanos()));
+        sb.append(", max=").append(toMillisExp(_histogram.getMaxNanos()));
+        if (_errorCount > 0) {
+            sb.append(", errors=").append(_errorCount).append(" (first: ").append(_firstError).append(")");
+        }
+        return sb.toString();
+    }
+
+    protected String toMillisExp(long nanos) {
+        return String.format("%.3fms", nanos / 1000000.0);
+    }
+
+    @Override
+    public String toString() {
+        return toDisplay();
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public int getCallerCount() {
+        return _callerCount;
+    }
+
+    public long getCallCount() {
+        return _callCount;
+    }
+
+    public long getErrorCount() {
+        return _errorCount;
+    }
+
+    public long getElapsedNanos() {
+        return _elapsedNanos;
+    }
+
+    public GuiceLatencyHistogram getHistogram() {
+        return _histogram;
+    }
+
+    public Throwable getFirstError() {
+        return _firstError;
+    }
+}
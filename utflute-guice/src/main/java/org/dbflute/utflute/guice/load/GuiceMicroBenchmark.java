@@ -0,0 +1,119 @@
+/*
+ * Copyright 2014-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.utflute.guice.load;
+
+/**
+ * The micro-benchmark runner for quick measurement in ordinary tests. (not replacement of JMH) <br>
+ * It runs warm-up iterations and measurement iterations of the fixed time,
+ * and each iteration score is nanoseconds per operation. Results of calls are consumed by blackhole. <br>
+ * Operations are executed in chunks calibrated by warm-up, so time is not read per operation.
+ * @author jflute
+ * @since 0.9.9 (2026/10/18 Sunday)
+ */
+public class GuiceMicroBenchmark {
+
+    // ===================================================================================
+    //                                                                          Definition
+    //                                                                          ==========
+    public static final int DEFAULT_WARM_UP_ITERATIONS = 5;
+    public static final int DEFAULT_MEASUREMENT_ITERATIONS = 10;
+    public static final long DEFAULT_ITERATION_MILLIS = 100L;
+
+    /** The target time of one chunk, time is read per chunk. (1ms) */
+    protected static final long CHUNK_NANOS = 1000000L;
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected int _warmUpIterations = DEFAULT_WARM_UP_ITERATIONS;
+    protected int _measurementIterations = DEFAULT_MEASUREMENT_ITERATIONS;
+    protected long _iterationMillis = DEFAULT_ITERATION_MILLIS;
+    protected final GuiceBlackhole _blackhole = new GuiceBlackhole();
+
+    // ===================================================================================
+    //                                                                                 Run
+    //                                                                                 ===
+    /**
+     * Run the benchmark of the call against the component.
+     * @param <COMPONENT> The type of component.
+     * @param name The name of benchmark for display. (NotNull)
+     * @param component The component to be called. (NotNull)
+     * @param call The measured call. (NotNull)
+     * @return The result of benchmark. (NotNull)
+     * @throws Exception When the call fails.
+     */
+    public <COMPONENT> GuiceBenchmarkResult run(String name, COMPONENT component, GuiceBenchmarkCall<COMPONENT> call) throws Exception {
+        final long iterationNanos = _iterationMillis * 1000000L;
+        long chunkSize = 1L;
+        for (int i = 0; i < _warmUpIterations; i++) {
+            final long[] measured = iterate(component, call, iterationNanos, chunkSize);
+            chunkSize = calibrateChunkSize(measured);
+        }
+        final double[] scores = new double[_measurementIterations];
+        long operationCount = 0L;
+        for (int i = 0; i < _measurementIterations; i++) {
+            final long[] measured = iterate(component, call, iterationNanos, chunkSize); // operations, nanos
+            scores[i] = (double) measured[1] / measured[0];
+            operationCount += measured[0];
+        }
+        return new GuiceBenchmarkResult(name, scores, operationCount);
+    }
+
+    protected <COMPONENT> long[] iterate(COMPONENT component, GuiceBenchmarkCall<COMPONENT> call, long iterationNanos, long chunkSize)
+            throws Exception {
+        final GuiceBlackhole blackhole = _blackhole;
+        long operations = 0L;
+        final long before = System.nanoTime();
+        long elapsed;
+        do {
+            for (long i = 0; i < chunkSize; i++) {
+                blackhole.consume(call.call(component));
+            }
+            operations += chunkSize;
+            elapsed = System.nanoTime() - before;
+        } while (elapsed < iterationNanos);
+        return new long[] { operations, elapsed };
+    }
+
+    protected long calibrateChunkSize(long[] measured) {
+        final double nanosPerOperation = Math.max(1.0, (double) measured[1] / measured[0]);
+        return Math.max(1L, (long) (CHUNK_NANOS / nanosPerOperation));
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public void setWarmUpIterations(int warmUpIterations) {
+        if (warmUpIterations < 0) {
+            throw new IllegalArgumentException("The argument 'warmUpIterations' should not be minus: " + warmUpIterations);
+        }
+        _warmUpIterations = warmUpIterations;
+    }
+
+    public void setMeasurementIterations(int measurementIterations) {
+        if (measurementIterations <= 0) {
+            throw new IllegalArgumentException("The argument 'measurementIterations' should be positive: " + measurementIterations);
+        }
+        _measurementIterations = measurementIterations;
+    }
+
+    public void setIterationMillis(long iterationMillis) {
+        if (iterationMillis <= 0) {
+            throw new IllegalArgumentException("The argument 'iterationMillis' should be positive: " + iterationMillis);
+        }
+        _iterationMillis = iterationMillis;
+    }
+}
@@ -0,0 +1,183 @@
+/*
+ * Copyright 2014-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.utflute.guice.metrics;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * The metrics of container lifecycle in the JVM, to see where suite time goes:
+ * <pre>
+ * o container build time (by test case or in background)
+ * o recycle hit and miss with the reason (e.g. one-time, config change)
+ * o prepare (setUp) and tear-down latency per test
+ * o transaction begin and roll-back latency
+ * o connection warm-up time
+ * </pre>
+ * The summary can be dumped at the end of JVM by the shutdown hook. (thread-safe)
+ * @author jflute
+ * @since 0.9.9 (2026/10/18 Sunday)
+ */
+public class GuiceContainerMetrics {
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final GuiceLatencyStatistics _containerBuild = new GuiceLatencyStatistics();
+    protected final GuiceLatencyStatistics _backgroundBuild = new GuiceLatencyStatistics();
+    protected final GuiceLatencyStatistics _testPrepare = new GuiceLatencyStatistics();
+    protected final GuiceLatencyStatistics _testTearDown = new GuiceLatencyStatistics();
+    protected final GuiceLatencyStatistics _transactionBegin = new GuiceLatencyStatistics();
+    protected final GuiceLatencyStatistics _transactionRollback = new GuiceLatencyStatistics();
+    protected final GuiceLatencyStatistics _connectionWarmUp = new GuiceLatencyStatistics();
+    protected final LongAdder _recycleHitCount = new LongAdder();
+    protected final ConcurrentHashMap<String, LongAdder> _recycleMissMap = new ConcurrentHashMap<String, LongAdder>();
+    protected final AtomicBoolean _summaryHookRegistered = new AtomicBoolean();
+
+    // ===================================================================================
+    //                                                                              Record
+    //                                                                              ======
+    public void recordContainerBuild(long nanos) {
+        _containerBuild.record(nanos);
+    }
+
+    public void recordBackgroundBuild(long nanos) {
+        _backgroundBuild.record(nanos);
+    }
+
+    public void recordRecycleHit() {
+        _recycleHitCount.increment();
+    }
+
+    /**
+     * Record the recycle miss, which means the container is created for the test case.
+     * @param reason The reason of the miss, used as category of the summary. e.g. one-time (NotNull)
+     */
+    public void recordRecycleMiss(String reason) {
+        _recycleMissMap.computeIfAbsent(reason, key -> new LongAdder()).increment();
+    }
+
+    public void recordTestPrepare(long nanos) {
+        _testPrepare.record(nanos);
+    }
+
+    public void recordTestTearDown(long nanos) {
+        _testTearDown.record(nanos);
+    }
+
+    public void recordTransactionBegin(long nanos) {
+        _transactionBegin.record(nanos);
+    }
+
+    public void recordTransactionRollback(long nanos) {
+        _transactionRollback.record(nanos);
+    }
+
+    public void recordConnectionWarmUp(long nanos) {
+        _connectionWarmUp.record(nanos);
+    }
+
+    // ===================================================================================
+    //                                                                             Summary
+    //                                                                             =======
+    /**
+     * Build the summary of the metrics as multiple lines.
+     * @return The display expression of summary. (NotNull)
+     */
+    public String buildSummary() {
+        final long hitCount = _recycleHitCount.sum();
+        long missCount = 0;
+        final Map<String, Long> missMap = new TreeMap<String, Long>();
+        for (Map.Entry<String, LongAdder> entry : _recycleMissMap.entrySet()) {
+            final long count = entry.getValue().sum();
+            missMap.put(entry.getKey(), count);
+            missCount += count;
+        }
+        final long totalCount = hitCount + missCount;
+        final String hitRateExp = totalCount > 0 ? String.format("%.1f%%", hitCount * 100.0 / totalCount) : "-";
+        final String ln = "\n";
+        final StringBuilder sb = new StringBuilder();
+        sb.append("[Guice Container Metrics]");
+        sb.append(ln).append(" container build: ").append(_containerBuild.toDisplay());
+        sb.append(ln).append(" background build: ").append(_backgroundBuild.toDisplay());
+        sb.append(ln).append(" recycle: hit=").append(hitCount).append(", miss=").append(missCount);
+        sb.append(" (hit rate ").append(hitRateExp).append(")");
+        for (Map.Entry<String, Long> entry : missMap.entrySet()) {
+            sb.append(ln).append("   miss by ").append(entry.getKey()).append(": ").append(entry.getValue());
+        }
+        sb.append(ln).append(" test prepare: ").append(_testPrepare.toDisplay());
+        sb.append(ln).append(" test tear-down: ").append(_testTearDown.toDisplay());
+        sb.append(ln).append(" transaction begin: ").append(_transactionBegin.toDisplay());
+        sb.append(ln).append(" transaction roll-back: ").append(_transactionRollback.toDisplay());
+        sb.append(ln).append(" connection warm-up: ").append(_connectionWarmUp.toDisplay());
+        return sb.toString();
+    }
+
+    /**
+     * Register the shutdown hook to dump the summary at the end of JVM. (only once)
+     * @param summaryLogger The logger of the summary, e.g. log() of test case. (NotNull)
+     */
+    public void registerSummaryHookIfNeeds(Consumer<String> summaryLogger) {
+        if (_summaryHookRegistered.compareAndSet(false, true)) {
+            final Thread hook = new Thread(() -> summaryLogger.accept(buildSummary()), "utflute-guice-metrics");
+            Runtime.getRuntime().addShutdownHook(hook);
+        }
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public GuiceLatencyStatistics getContainerBuild() {
+        return _containerBuild;
+    }
+
+    public GuiceLatencyStatistics getBackgroundBuild() {
+        return _backgroundBuild;
+    }
+
+    public long getRecycleHitCount() {
+        return _recycleHitCount.sum();
+    }
+
+    public long getRecycleMissCount(String reason) {
+        final LongAdder adder = _recycleMissMap.get(reason);
+        return adder != null ? adder.sum() : 0L;
+    }
+
+    public GuiceLatencyStatistics getTestPrepare() {
+        return _testPrepare;
+    }
+
+    public GuiceLatencyStatistics getTestTearDown() {
+        return _testTearDown;
+    }
+
+    public GuiceLatencyStatistics getTransactionBegin() {
+        return _transactionBegin;
+    }
+
+    public GuiceLatencyStatistics getTransactionRollback() {
+        return _transactionRollback;
+    }
+
+    public GuiceLatencyStatistics getConnectionWarmUp() {
+        return _connectionWarmUp;
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2014-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.utflute.guice.metrics;
+
+/**
+ * The statistics of latency, count and total/min/max time. (thread-safe)
+ * @author jflute
+ * @since 0.9.9 (2026/10/18 Sunday)
+ */
+public class GuiceLatencyStatistics {
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected long _count; // guarded by this
+    protected long _totalNanos; // guarded by this
+    protected long _minNanos = Long.MAX_VALUE; // guarded by this
+    protected long _maxNanos; // guarded by this
+
+    // ===================================================================================
+    //                                                                              Record
+    //                                                                              ======
+    /**
+     * Record the latency.
+     * @param nanos The elapsed time as nanoseconds. (NotMinus)
+     */
+    public synchronized void record(long nanos) {
+        ++_count;
+        _totalNanos += nanos;
+        if (nanos < _minNanos) {
+            _minNanos = nanos;
+        }
+        if (nanos > _maxNanos) {
+            _maxNanos = nanos;
+        }
+    }
+
+    // ===================================================================================
+    //                                                                             Display
+    //                                                                             =======
+    /**
+     * Build the display expression. e.g. count=3, total=120.500ms, avg=40.167ms, min=1.000ms, max=100.000ms
+     * @return The expression of statistics. (NotNull)
+     */
+    public synchronized String toDisplay() {
+        if (_count == 0) {
+            return "count=0";
+        }
+        return "count=" + _count + ", total=" + toMillisExp(_totalNanos) + ", avg=" + toMillisExp(_totalNanos / _count) + ", min="
+                + toMillisExp(_minNanos) + ", max=" + toMillisExp(_maxNanos);
+    }
+
+    protected String toMillisExp(long nanos) {
+        return String.format("%.3fms", nanos / 1000000.0);
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public synchronized long getCount() {
+        return _count;
+    }
+
+    public synchronized long getTotalNanos() {
+        return _totalNanos;
+    }
+
+    public synchronized long getMinNanos() {
+        return _count > 0 ? _minNanos : 0L;
+    }
+
+    public synchronized long getMaxNanos() {
+        return _maxNanos;
+    }
+}
@@ -0,0 +1,31 @@
+/*
+ * Copyright 2014-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.utflute.guice.metrics;
+
+/**
+ * The block measured by {@link GuiceResourceMeter}, executed in the current thread.
+ * @author jflute
+ * @since 0.9.9 (2026/10/18 Sunday)
+ */
+@FunctionalInterface
+public interface GuiceMeasuredBlock {
+
+    /**
+     * Execute the measured process.
+     * @throws Exception When the process fails.
+     */
+    void execute() throws Exception;
+}
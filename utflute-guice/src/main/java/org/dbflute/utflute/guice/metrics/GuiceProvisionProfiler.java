@@ -0,0 +1,268 @@
+/*
+ * Copyright 2014-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.utflute.guice.metrics;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Logger;
+
+import com.google.inject.Binder;
+import com.google.inject.Binding;
+import com.google.inject.Key;
+import com.google.inject.Module;
+import com.google.inject.matcher.Matchers;
+import com.google.inject.spi.ConstructorBinding;
+import com.google.inject.spi.InstanceBinding;
+import com.google.inject.spi.LinkedKeyBinding;
+import com.google.inject.spi.ProviderInstanceBinding;
+import com.google.inject.spi.ProviderKeyBinding;
+import com.google.inject.spi.ProvisionListener;
+
+/**
+ * The profiler of provisions in the container, which listens all bindings. <br>
+ * It records provision time, call count and dependency chain (first seen) per key:
+ * <pre>
+ * o total: provision time including dependencies provisioned in it
+ * o self: total minus the dependencies, cost of the provider or constructor itself
+ * </pre>
+ * The dependency chain is tracked by the nested provisions in the thread.
+ * Provisions in Guice.createInjector() (e.g. eager singletons) are also recorded. <br>
+ * It is bound to itself so that the report can be logged when the container is destroyed,
+ * and the report is logged at the end of JVM if not logged after the latest provision. (thread-safe) <br>
+ * The report is logged by the static logger of this class (not standard output),
+ * because the profiler lives as long as the cached container and should not refer to test case instances.
+ * @author jflute
+ * @since 0.9.9 (2026/10/18 Sunday)
+ */
+public class GuiceProvisionProfiler implements Module, ProvisionListener {
+
+    // ===================================================================================
+    //                                                                          Definition
+    //                                                                          ==========
+    /** The default count of rows in the report. */
+    public static final int DEFAULT_REPORT_LIMIT = 20;
+
+    /** The logger of the report. (NotNull) */
+    private static final Logger _logger = Logger.getLogger(GuiceProvisionProfiler.class.getName());
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final int _reportLimit;
+    protected final ConcurrentHashMap<Key<?>, ProvisionProfile> _profileMap = new ConcurrentHashMap<Key<?>, ProvisionProfile>();
+    protected final ThreadLocal<Deque<ProvisionFrame>> _frameStackLocal = ThreadLocal.withInitial(() -> new ArrayDeque<ProvisionFrame>());
+    protected final AtomicBoolean _unreported = new AtomicBoolean();
+    protected final AtomicBoolean _reportHookRegistered = new AtomicBoolean();
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    public GuiceProvisionProfiler() {
+        this(DEFAULT_REPORT_LIMIT);
+    }
+
+    /**
+     * @param reportLimit The count of rows (most expensive keys) in the report. (Positive)
+     */
+    public GuiceProvisionProfiler(int reportLimit) {
+        if (reportLimit <= 0) {
+            throw new IllegalArgumentException("The argument 'reportLimit' should be positive: " + reportLimit);
+        }
+        _reportLimit = reportLimit;
+    }
+
+    // ===================================================================================
+    //                                                                              Module
+    //                                                                              ======
+    @Override
+    public void configure(Binder binder) {
+        binder.bind(GuiceProvisionProfiler.class).toInstance(this);
+        binder.bindListener(Matchers.any(), this);
+    }
+
+    // ===================================================================================
+    //                                                                            Listener
+    //                                                                            ========
+    @Override
+    public <T> void onProvision(ProvisionInvocation<T> provision) {
+        final Binding<T> binding = provision.getBinding();
+        final Deque<ProvisionFrame> frameStack = _frameStackLocal.get();
+        final ProvisionFrame parent = frameStack.peek();
+        final ProvisionFrame frame = new ProvisionFrame(binding.getKey(), parent);
+        frameStack.push(frame);
+        final long before = System.nanoTime();
+        try {
+            provision.provision();
+        } finally {
+            final long totalNanos = System.nanoTime() - before;
+            frameStack.pop();
+            if (parent != null) {
+                parent._childNanos += totalNanos;
+            }
+            final ProvisionProfile profile = _profileMap.computeIfAbsent(binding.getKey(), key -> {
+                return new ProvisionProfile(key, deriveBindingKind(binding), frame.buildChain());
+            });
+            profile.record(totalNanos, totalNanos - frame._childNanos);
+            _unreported.set(true);
+            registerReportHookIfNeeds();
+        }
+    }
+
+    protected String deriveBindingKind(Binding<?> binding) {
+        if (binding instanceof ConstructorBinding<?>) {
+            return "constructor";
+        } else if (binding instanceof ProviderInstanceBinding<?> || binding instanceof ProviderKeyBinding<?>) {
+            return "provider";
+        } else if (binding instanceof LinkedKeyBinding<?>) {
+            return "linked";
+        } else if (binding instanceof InstanceBinding<?>) {
+            return "instance";
+        }
+        return "other";
+    }
+
+    protected static class ProvisionFrame {
+
+        protected final Key<?> _key;
+        protected final ProvisionFrame _parent; // null allowed: when root
+        protected long _childNanos; // only in the thread
+
+        public ProvisionFrame(Key<?> key, ProvisionFrame parent) {
+            _key = key;
+            _parent = parent;
+        }
+
+        public String buildChain() { // e.g. FooAction -> FooService -> FooLogic
+            final List<String> nameList = new ArrayList<String>();
+            for (ProvisionFrame current = this; current != null; current = current._parent) {
+                nameList.add(toKeyExp(current._key));
+            }
+            Collections.reverse(nameList);
+            return String.join(" -> ", nameList);
+        }
+    }
+
+    protected static class ProvisionProfile {
+
+        protected final Key<?> _key;
+        protected final String _kind;
+        protected final String _chain; // first seen
+        protected long _count; // guarded by this
+        protected long _totalNanos; // guarded by this
+        protected long _selfNanos; // guarded by this
+        protected long _maxNanos; // guarded by this
+
+        public ProvisionProfile(Key<?> key, String kind, String chain) {
+            _key = key;
+            _kind = kind;
+            _chain = chain;
+        }
+
+        public synchronized void record(long totalNanos, long selfNanos) {
+            ++_count;
+            _totalNanos += totalNanos;
+            _selfNanos += selfNanos;
+            if (totalNanos > _maxNanos) {
+                _maxNanos = totalNanos;
+            }
+        }
+
+        public synchronized long getSelfNanos() {
+            return _selfNanos;
+        }
+
+        public synchronized String toRow() {
+            return String.format("%10.3f %10.3f %10.3f %7d  %-11s %s", _selfNanos / 1000000.0, _totalNanos / 1000000.0,
+                    _maxNanos / 1000000.0, _count, _kind, _chain);
+        }
+    }
+
+    protected static String toKeyExp(Key<?> key) {
+        final String typeExp = key.getTypeLiteral().getRawType().getSimpleName();
+        return key.getAnnotationType() != null ? "@" + key.getAnnotationType().getSimpleName() + " " + typeExp : typeExp;
+    }
+
+    // ===================================================================================
+    //                                                                              Report
+    //                                                                              ======
+    /**
+     * Build the report of the most expensive keys by self time as table.
+     * @return The display expression of report as multiple lines. (NotNull)
+     */
+    public String buildReport() {
+        final List<ProvisionProfile> profileList = new ArrayList<ProvisionProfile>(_profileMap.values());
+        Collections.sort(profileList, (o1, o2) -> Long.compare(o2.getSelfNanos(), o1.getSelfNanos()));
+        final StringBuilder sb = new StringBuilder();
+        sb.append("[Guice Provision Profile] top ").append(Math.min(_reportLimit, profileList.size()));
+        sb.append(" of ").append(profileList.size()).append(" keys by self time");
+        sb.append("\n").append(String.format("%10s %10s %10s %7s  %-11s %s", "self(ms)", "total(ms)", "max(ms)", "count", "kind", "chain"));
+        for (ProvisionProfile profile : profileList.subList(0, Math.min(_reportLimit, profileList.size()))) {
+            sb.append("\n").append(profile.toRow());
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Log the report by the logger if provisions are recorded after the latest report.
+     */
+    public void reportIfNeeds() {
+        if (_unreported.compareAndSet(true, false)) {
+            logReport(buildReport());
+        }
+    }
+
+    protected void logReport(String report) {
+        _logger.info(report);
+    }
+
+    protected void registerReportHookIfNeeds() {
+        if (_reportHookRegistered.compareAndSet(false, true)) {
+            final Thread hook = new Thread(() -> reportIfNeeds(), "utflute-guice-provision-profiler");
+            Runtime.getRuntime().addShutdownHook(hook);
+        }
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    /**
+     * @param key The key of binding. (NotNull)
+     * @return The count of provisions of the key. (zero if not provisioned)
+     */
+    public long getProvisionCount(Key<?> key) {
+        final ProvisionProfile profile = _profileMap.get(key);
+        if (profile == null) {
+            return 0L;
+        }
+        synchronized (profile) {
+            return profile._count;
+        }
+    }
+
+    /**
+     * @param key The key of binding. (NotNull)
+     * @return The dependency chain of the key first seen. e.g. FooAction -&gt; FooService (NullAllowed: if not provisioned)
+     */
+    public String getDependencyChain(Key<?> key) {
+        final ProvisionProfile profile = _profileMap.get(key);
+        return profile != null ? profile._chain : null;
+    }
+}
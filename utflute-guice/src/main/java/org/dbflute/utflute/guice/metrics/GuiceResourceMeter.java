@@ -0,0 +1,118 @@
+/*
+ * Copyright 2014-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.utflute.guice.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * The meter of resource usage in the current thread, by ThreadMXBean. <br>
+ * Allocated bytes needs HotSpot extension (com.sun.management.ThreadMXBean),
+ * and only the current thread is measured (not worker threads started in the period).
+ * <pre>
+ * GuiceResourceMeter meter = GuiceResourceMeter.start();
+ * ... // measured process
+ * GuiceResourceUsage usage = meter.stop();
+ * </pre>
+ * @author jflute
+ * @since 0.9.9 (2026/10/18 Sunday)
+ */
+public class GuiceResourceMeter {
+
+    // ===================================================================================
+    //                                                                          Definition
+    //                                                                          ==========
+    protected static final ThreadMXBean _threadBean = ManagementFactory.getThreadMXBean();
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final Thread _thread; // not null, measured thread
+    protected final long _beginAllocatedBytes; // minus if unsupported
+    protected final long _beginCpuNanos; // minus if unsupported
+    protected final long _beginWallNanos;
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    protected GuiceResourceMeter() {
+        _thread = Thread.currentThread();
+        _beginAllocatedBytes = readAllocatedBytes();
+        _beginCpuNanos = readCpuNanos();
+        _beginWallNanos = System.nanoTime();
+    }
+
+    /**
+     * Start measuring the current thread.
+     * @return The new-created meter, which should be stopped in the same thread. (NotNull)
+     */
+    public static GuiceResourceMeter start() {
+        return new GuiceResourceMeter();
+    }
+
+    // ===================================================================================
+    //                                                                             Measure
+    //                                                                             =======
+    /**
+     * Stop measuring and return the usage since start.
+     * @return The usage of the thread in the period. (NotNull)
+     */
+    public GuiceResourceUsage stop() {
+        final long wallNanos = System.nanoTime() - _beginWallNanos;
+        if (Thread.currentThread() != _thread) {
+            String msg = "The meter should be stopped in the started thread: started=" + _thread + ", current=" + Thread.currentThread();
+            throw new IllegalStateException(msg);
+        }
+        final long endCpuNanos = readCpuNanos();
+        final long endAllocatedBytes = readAllocatedBytes();
+        final long allocatedBytes = _beginAllocatedBytes >= 0 && endAllocatedBytes >= 0 ? endAllocatedBytes - _beginAllocatedBytes : -1L;
+        final long cpuNanos = _beginCpuNanos >= 0 && endCpuNanos >= 0 ? endCpuNanos - _beginCpuNanos : -1L;
+        return new GuiceResourceUsage(allocatedBytes, cpuNanos, wallNanos);
+    }
+
+    /**
+     * Measure the block in the current thread.
+     * @param block The measured block. (NotNull)
+     * @return The usage of the block. (NotNull)
+     * @throws Exception When the block fails.
+     */
+    public static GuiceResourceUsage measure(GuiceMeasuredBlock block) throws Exception {
+        final GuiceResourceMeter meter = start();
+        block.execute();
+        return meter.stop();
+    }
+
+    // ===================================================================================
+    //                                                                         Thread Bean
+    //                                                                         ===========
+    protected static long readAllocatedBytes() {
+        if (!(_threadBean instanceof com.sun.management.ThreadMXBean)) { // e.g. not HotSpot
+            return -1L;
+        }
+        final com.sun.management.ThreadMXBean hotspotBean = (com.sun.management.ThreadMXBean) _threadBean;
+        if (!hotspotBean.isThreadAllocatedMemorySupported() || !hotspotBean.isThreadAllocatedMemoryEnabled()) {
+            return -1L;
+        }
+        return hotspotBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    protected static long readCpuNanos() {
+        if (!_threadBean.isCurrentThreadCpuTimeSupported()) {
+            return -1L;
+        }
+        return _threadBean.getCurrentThreadCpuTime(); // minus if disabled
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2014-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.utflute.guice.metrics;
+
+/**
+ * The resource usage of the thread in a measured period, allocated bytes, CPU time and wall time. <br>
+ * Allocated bytes and CPU time are minus if the JVM does not support them.
+ * @author jflute
+ * @since 0.9.9 (2026/10/18 Sunday)
+ */
+public class GuiceResourceUsage {
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final long _allocatedBytes; // minus if unsupported
+    protected final long _cpuNanos; // minus if unsupported
+    protected final long _wallNanos;
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    public GuiceResourceUsage(long allocatedBytes, long cpuNanos, long wallNanos) {
+        _allocatedBytes = allocatedBytes;
+        _cpuNanos = cpuNanos;
+        _wallNanos = wallNanos;
+    }
+
+    // ===================================================================================
+    //                                                                       Determination
+    //                                                                       =============
+    public boolean isAllocationSupported() {
+        return _allocatedBytes >= 0;
+    }
+
+    public boolean isCpuTimeSupported() {
+        return _cpuNanos >= 0;
+    }
+
+    // ===================================================================================
+    //                                                                             Display
+    //                                                                             =======
+    /**
+     * Build the display expression. e.g. allocated=1.250MB, cpu=10.300ms, wall=12.000ms (cpu 86%)
+     * @return The expression of usage. (NotNull)
+     */
+    public String toDisplay() {
+        final String allocatedExp = isAllocationSupported() ? String.format("%.3fMB", _allocatedBytes / 1024.0 / 1024.0) : "-";
+        final String cpuExp = isCpuTimeSupported() ? String.format("%.3fms", _cpuNanos / 1000000.0) : "-";
+        final String wallExp = String.format("%.3fms", _wallNanos / 1000000.0);
+        final String rateExp = isCpuTimeSupported() && _wallNanos > 0 ? String.format(" (cpu %.0f%%)", _cpuNanos * 100.0 / _wallNanos) : "";
+        return "allocated=" + allocatedExp + ", cpu=" + cpuExp + ", wall=" + wallExp + rateExp;
+    }
+
+    @Override
+    public String toString() {
+        return toDisplay();
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public long getAllocatedBytes() {
+        return _allocatedBytes;
+    }
+
+    public long getCpuNanos() {
+        return _cpuNanos;
+    }
+
+    public long getWallNanos() {
+        return _wallNanos;
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright 2014-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.utflute.guice.metrics;
+
+/**
+ * The timing record of one test execution, split into phases:
+ * <pre>
+ * o prepare: setUp() and tearDown() except transaction (e.g. container preparation)
+ * o transaction: begin and roll-back of transactions
+ * o body: test method
+ * </pre>
+ * @author jflute
+ * @since 0.9.9 (2026/10/18 Sunday)
+ */
+public class GuiceTimingRecord {
+
+    // ===================================================================================
+    //                                                                          Definition
+    //                                                                          ==========
+    protected static final String DELIMITER = "\t";
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final String _testName; // not null, method name
+    protected final long _timestamp; // epoch millis
+    protected final long _prepareMicros;
+    protected final long _transactionMicros;
+    protected final long _bodyMicros;
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    public GuiceTimingRecord(String testName, long timestamp, long prepareMicros, long transactionMicros, long bodyMicros) {
+        _testName = testName;
+        _timestamp = timestamp;
+        _prepareMicros = prepareMicros;
+        _transactionMicros = transactionMicros;
+        _bodyMicros = bodyMicros;
+    }
+
+    // ===================================================================================
+    //                                                                         Line Format
+    //                                                                         ===========
+    /**
+     * @return The line for the store, tab-separated: testName, timestamp, prepare, transaction, body (micros) (NotNull)
+     */
+    public String toLine() {
+        return _testName + DELIMITER + _timestamp + DELIMITER + _prepareMicros + DELIMITER + _transactionMicros + DELIMITER + _bodyMicros;
+    }
+
+    /**
+     * @param line The line in the store. (NotNull)
+     * @return The parsed record. (NullAllowed: when broken line)
+     */
+    public static GuiceTimingRecord parse(String line) {
+        final String[] tokens = line.split(DELIMITER);
+        if (tokens.length < 5) {
+            return null;
+        }
+        try {
+            return new GuiceTimingRecord(tokens[0], Long.parseLong(tokens[1]), Long.parseLong(tokens[2]), Long.parseLong(tokens[3]),
+                    Long.parseLong(tokens[4]));
+        } catch (NumberFormatException ignored) { // e.g. broken by concurrent write
+            return null;
+        }
+    }
+
+    // ===================================================================================
+    //                                                                             Display
+    //                                                                             =======
+    /**
+     * @return The display of phases e.g. "prepare=120.0ms, transaction=1.2ms, body=35.4ms" (NotNull)
+     */
+    public String toDisplay() {
+        return String.format("prepare=%.1fms, transaction=%.1fms, body=%.1fms", _prepareMicros / 1000.0, _transactionMicros / 1000.0,
+                _bodyMicros / 1000.0);
+    }
+
+    @Override
+    public String toString() {
+        return _testName + ": " + toDisplay();
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public String getTestName() {
+        return _testName;
+    }
+
+    public long getTimestamp() {
+        return _timestamp;
+    }
+
+    public long getPrepareMicros() {
+        return _prepareMicros;
+    }
+
+    public long getTransactionMicros() {
+        return _transactionMicros;
+    }
+
+    public long getBodyMicros() {
+        return _bodyMicros;
+    }
+
+    /**
+     * @return The micros of the phases compared with baseline, transaction and body. (prepare depends on test order)
+     */
+    public long getComparedMicros() {
+        return _transactionMicros + _bodyMicros;
+    }
+}
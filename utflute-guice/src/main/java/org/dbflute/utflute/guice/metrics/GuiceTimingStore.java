@@ -0,0 +1,159 @@
+/*
+ * Copyright 2014-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.utflute.guice.metrics;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The persistent store of test timings, a TSV file per test class in the store directory. <br>
+ * The baseline of a test is the median of its latest records (rolling window),
+ * and old records are compacted when the file becomes large.
+ * @author jflute
+ * @since 0.9.9 (2026/10/18 Sunday)
+ */
+public class GuiceTimingStore {
+
+    // ===================================================================================
+    //                                                                          Definition
+    //                                                                          ==========
+    /** The default count of latest records for baseline. */
+    public static final int DEFAULT_BASELINE_SIZE = 10;
+
+    /** The count of lines to compact the file. */
+    protected static final int COMPACTION_LINE_COUNT = 2000;
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final File _storeDir; // not null
+    protected int _baselineSize = DEFAULT_BASELINE_SIZE;
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    public GuiceTimingStore(File storeDir) {
+        _storeDir = storeDir;
+    }
+
+    // ===================================================================================
+    //                                                                              Append
+    //                                                                              ======
+    /**
+     * Append the record and return the baseline before the record.
+     * @param className The FQCN of test class, used as file name. (NotNull)
+     * @param record The timing record of the test execution. (NotNull)
+     * @return The baseline micros (median of latest records) of the test. (minus if no history)
+     * @throws IOException When it fails to read or write the file.
+     */
+    public synchronized long appendAndFindBaseline(String className, GuiceTimingRecord record) throws IOException {
+        final Path file = new File(_storeDir, className + ".tsv").toPath();
+        final List<String> lineList = Files.exists(file) ? Files.readAllLines(file, StandardCharsets.UTF_8) : new ArrayList<String>();
+        final List<GuiceTimingRecord> historyList = new ArrayList<GuiceTimingRecord>();
+        for (String line : lineList) {
+            final GuiceTimingRecord history = GuiceTimingRecord.parse(line);
+            if (history != null && history.getTestName().equals(record.getTestName())) {
+                historyList.add(history);
+            }
+        }
+        final long baseline = calculateBaseline(historyList);
+        Files.createDirectories(_storeDir.toPath());
+        if (lineList.size() >= COMPACTION_LINE_COUNT) {
+            final List<String> compactedList = compact(lineList);
+            compactedList.add(record.toLine());
+            Files.write(file, compactedList, StandardCharsets.UTF_8);
+        } else {
+            Files.write(file, Collections.singletonList(record.toLine()), StandardCharsets.UTF_8, StandardOpenOption.CREATE,
+                    StandardOpenOption.APPEND);
+        }
+        return baseline;
+    }
+
+    protected long calculateBaseline(List<GuiceTimingRecord> historyList) {
+        if (historyList.isEmpty()) {
+            return -1L;
+        }
+        final List<GuiceTimingRecord> latestList = historyList.subList(Math.max(0, historyList.size() - _baselineSize), historyList.size());
+        final long[] values = new long[latestList.size()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = latestList.get(i).getComparedMicros();
+        }
+        Arrays.sort(values);
+        final int middle = values.length / 2;
+        return values.length % 2 == 1 ? values[middle] : (values[middle - 1] + values[middle]) / 2L;
+    }
+
+    protected List<String> compact(List<String> lineList) { // keep latest records per test
+        final Map<String, List<String>> testLineMap = new LinkedHashMap<String, List<String>>();
+        for (String line : lineList) {
+            final GuiceTimingRecord record = GuiceTimingRecord.parse(line);
+            if (record != null) {
+                testLineMap.computeIfAbsent(record.getTestName(), key -> new ArrayList<String>()).add(line);
+            }
+        }
+        final List<String> compactedList = new ArrayList<String>();
+        for (List<String> testLineList : testLineMap.values()) {
+            compactedList.addAll(testLineList.subList(Math.max(0, testLineList.size() - _baselineSize), testLineList.size()));
+        }
+        return compactedList;
+    }
+
+    /**
+     * Count the records of the test in the store.
+     * @param className The FQCN of test class. (NotNull)
+     * @param testName The name of test method. (NotNull)
+     * @return The count of records.
+     * @throws IOException When it fails to read the file.
+     */
+    public synchronized int countRecord(String className, String testName) throws IOException {
+        final Path file = new File(_storeDir, className + ".tsv").toPath();
+        if (!Files.exists(file)) {
+            return 0;
+        }
+        int count = 0;
+        for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+            final GuiceTimingRecord record = GuiceTimingRecord.parse(line);
+            if (record != null && record.getTestName().equals(testName)) {
+                ++count;
+            }
+        }
+        return count;
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public File getStoreDir() {
+        return _storeDir;
+    }
+
+    public void setBaselineSize(int baselineSize) {
+        if (baselineSize <= 0) {
+            throw new IllegalArgumentException("The argument 'baselineSize' should be positive: " + baselineSize);
+        }
+        _baselineSize = baselineSize;
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright 2014-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.utflute.guice.statement;
+
+/**
+ * The slow query found by {@link GuiceSlowQueryListener}, with its execution plan.
+ * @author jflute
+ * @since 0.9.9 (2026/10/18 Sunday)
+ */
+public class GuiceSlowQuery {
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final GuiceStatementRecord _record; // not null
+    protected final String _plan; // not null, or failure message of explain
+    protected final boolean _fullScan;
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    public GuiceSlowQuery(GuiceStatementRecord record, String plan, boolean fullScan) {
+        _record = record;
+        _plan = plan;
+        _fullScan = fullScan;
+    }
+
+    // ===================================================================================
+    //                                                                             Display
+    //                                                                             =======
+    /**
+     * @return The display of the query with elapsed time. e.g. "152.3ms (full scan) select ..." (NotNull)
+     */
+    public String toDisplay() {
+        final String scanExp = _fullScan ? " (full scan)" : "";
+        return String.format("%.1fms%s %s", _record.getElapsedNanos() / 1000000.0, scanExp, _record.getSql());
+    }
+
+    @Override
+    public String toString() {
+        return toDisplay();
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public GuiceStatementRecord getRecord() {
+        return _record;
+    }
+
+    public String getPlan() {
+        return _plan;
+    }
+
+    public boolean isFullScan() {
+        return _fullScan;
+    }
+}
@@ -0,0 +1,163 @@
+/*
+ * Copyright 2014-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.utflute.guice.statement;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The listener of slow queries, which explains the statement on the same connection. <br>
+ * Statements slower than the threshold are explained with the same bind values,
+ * and full table scans are flagged by the keywords in the plan:
+ * <pre>
+ * o H2: tableScan (e.g. &#47;* PUBLIC.MEMBER.tableScan *&#47;)
+ * o PostgreSQL: Seq Scan
+ * o Oracle: TABLE ACCESS FULL
+ * </pre>
+ * Batch statements and statements other than query, update and delete are not explained. (thread-safe)
+ * @author jflute
+ * @since 0.9.9 (2026/10/18 Sunday)
+ */
+public class GuiceSlowQueryListener implements GuiceStatementListener {
+
+    // ===================================================================================
+    //                                                                          Definition
+    //                                                                          ==========
+    /** The default keywords of full table scan in the plan. */
+    public static final String[] DEFAULT_FULL_SCAN_KEYWORDS = { "tableScan", "Seq Scan", "TABLE ACCESS FULL" };
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final long _thresholdNanos;
+    protected String _explainPrefix = "EXPLAIN ";
+    protected String[] _fullScanKeywords = DEFAULT_FULL_SCAN_KEYWORDS;
+    protected final List<GuiceSlowQuery> _slowQueryList = new ArrayList<GuiceSlowQuery>(); // guarded by itself
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    /**
+     * @param thresholdMillis The threshold milliseconds of slow query. (NotMinus: zero means all statements)
+     */
+    public GuiceSlowQueryListener(long thresholdMillis) {
+        if (thresholdMillis < 0) {
+            throw new IllegalArgumentException("The argument 'thresholdMillis' should not be minus: " + thresholdMillis);
+        }
+        _thresholdNanos = thresholdMillis * 1000000L;
+    }
+
+    // ===================================================================================
+    //                                                                              Listen
+    //                                                                              ======
+    @Override
+    public void statementExecuted(Statement statement, GuiceStatementRecord record, List<Object> bindValueList) {
+        if (record.getElapsedNanos() < _thresholdNanos || record.getBatchCount() > 0 || !isExplainable(record.getSql())) {
+            return;
+        }
+        String plan;
+        try {
+            plan = explain(statement.getConnection(), record.getSql(), bindValueList);
+        } catch (SQLException e) { // e.g. unsupported explain
+            plan = "(failed to explain: " + e.getMessage() + ")";
+        }
+        final GuiceSlowQuery slowQuery = new GuiceSlowQuery(record, plan, containsFullScanKeyword(plan));
+        synchronized (_slowQueryList) {
+            _slowQueryList.add(slowQuery);
+        }
+    }
+
+    protected boolean isExplainable(String sql) {
+        final String trimmed = sql.trim().toLowerCase();
+        return trimmed.startsWith("select") || trimmed.startsWith("with") || trimmed.startsWith("update") || trimmed.startsWith("delete");
+    }
+
+    // ===================================================================================
+    //                                                                             Explain
+    //                                                                             =======
+    /**
+     * Explain the SQL on the connection with the bind values.
+     * @param conn The connection that executed the SQL, which is not closed here. (NotNull)
+     * @param sql The executed SQL. (NotNull)
+     * @param bindValueList The list of bind values. (NotNull, EmptyAllowed)
+     * @return The plan text, rows are separated by line separator. (NotNull)
+     * @throws SQLException When it fails to explain.
+     */
+    protected String explain(Connection conn, String sql, List<Object> bindValueList) throws SQLException {
+        final StringBuilder sb = new StringBuilder();
+        try (PreparedStatement ps = conn.prepareStatement(_explainPrefix + sql)) {
+            for (int i = 0; i < bindValueList.size(); i++) {
+                ps.setObject(i + 1, bindValueList.get(i));
+            }
+            try (ResultSet rs = ps.executeQuery()) {
+                final ResultSetMetaData meta = rs.getMetaData();
+                while (rs.next()) {
+                    if (sb.length() > 0) {
+                        sb.append("\n");
+                    }
+                    for (int i = 1; i <= meta.getColumnCount(); i++) {
+                        if (i > 1) {
+                            sb.append("\t");
+                        }
+                        sb.append(rs.getString(i));
+                    }
+                }
+            }
+        }
+        return sb.toString();
+    }
+
+    protected boolean containsFullScanKeyword(String plan) {
+        for (String keyword : _fullScanKeywords) {
+            if (plan.contains(keyword)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    /**
+     * @return The snapshot list of slow queries in executed order. (NotNull, EmptyAllowed)
+     */
+    public List<GuiceSlowQuery> getSlowQueryList() {
+        synchronized (_slowQueryList) {
+            return new ArrayList<GuiceSlowQuery>(_slowQueryList);
+        }
+    }
+
+    /**
+     * @param explainPrefix The prefix of SQL to explain the statement. (default: "EXPLAIN ") (NotNull)
+     */
+    public void setExplainPrefix(String explainPrefix) {
+        _explainPrefix = explainPrefix;
+    }
+
+    /**
+     * @param fullScanKeywords The keywords of full table scan in the plan. (NotNull)
+     */
+    public void setFullScanKeywords(String[] fullScanKeywords) {
+        _fullScanKeywords = fullScanKeywords;
+    }
+}
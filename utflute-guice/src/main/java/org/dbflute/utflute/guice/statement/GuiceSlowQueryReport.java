@@ -0,0 +1,96 @@
+/*
+ * Copyright 2014-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.utflute.guice.statement;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The report of slow queries, a text file per test class in the report directory. <br>
+ * The file is recreated by the first test of the class in the JVM, and slow queries of tests are appended to it.
+ * @author jflute
+ * @since 0.9.9 (2026/10/18 Sunday)
+ */
+public class GuiceSlowQueryReport {
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    /** The set of report files already recreated in the JVM. (NotNull) */
+    protected static final Set<Path> _recreatedFileSet = ConcurrentHashMap.newKeySet();
+
+    protected final File _reportDir; // not null
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    public GuiceSlowQueryReport(File reportDir) {
+        _reportDir = reportDir;
+    }
+
+    // ===================================================================================
+    //                                                                               Write
+    //                                                                               =====
+    /**
+     * Write the slow queries of the test to the report of the test class.
+     * @param className The FQCN of test class, used as file name. (NotNull)
+     * @param testName The name of test method. (NotNull)
+     * @param slowQueryList The list of slow queries in the test. (NotNull, EmptyAllowed: only recreates the file)
+     * @return The path of report file. (NotNull)
+     * @throws IOException When it fails to write the file.
+     */
+    public Path write(String className, String testName, List<GuiceSlowQuery> slowQueryList) throws IOException {
+        final Path file = new File(_reportDir, className + ".txt").toPath();
+        synchronized (_recreatedFileSet) {
+            if (_recreatedFileSet.add(file)) {
+                Files.createDirectories(_reportDir.toPath());
+                Files.deleteIfExists(file); // previous run
+            }
+            if (!slowQueryList.isEmpty()) {
+                Files.write(file, buildLineList(testName, slowQueryList), StandardCharsets.UTF_8, StandardOpenOption.CREATE,
+                        StandardOpenOption.APPEND);
+            }
+        }
+        return file;
+    }
+
+    protected List<String> buildLineList(String testName, List<GuiceSlowQuery> slowQueryList) {
+        final List<String> lineList = new ArrayList<String>();
+        for (GuiceSlowQuery slowQuery : slowQueryList) {
+            lineList.add("[" + testName + "] " + slowQuery.toDisplay());
+            for (String planLine : slowQuery.getPlan().split("\n")) {
+                lineList.add("  " + planLine);
+            }
+            lineList.add("");
+        }
+        return lineList;
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public File getReportDir() {
+        return _reportDir;
+    }
+}
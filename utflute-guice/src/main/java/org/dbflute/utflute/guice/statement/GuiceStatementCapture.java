@@ -0,0 +1,169 @@
+/*
+ * Copyright 2014-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.utflute.guice.statement;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.regex.Pattern;
+
+/**
+ * The capture of executed statements in a test, recorded by {@link GuiceStatementCaptureDataSource}. (thread-safe) <br>
+ * Statements are grouped by shape (SQL whose literals and IN lists are normalized),
+ * so the same query repeated with different values (e.g. N+1) can be found.
+ * @author jflute
+ * @since 0.9.9 (2026/10/18 Sunday)
+ */
+public class GuiceStatementCapture {
+
+    // ===================================================================================
+    //                                                                          Definition
+    //                                                                          ==========
+    protected static final Pattern BLOCK_COMMENT_PATTERN = Pattern.compile("/\\*.*?\\*/", Pattern.DOTALL);
+    protected static final Pattern LINE_COMMENT_PATTERN = Pattern.compile("--[^\\r\\n]*");
+    protected static final Pattern STRING_LITERAL_PATTERN = Pattern.compile("'(?:[^']|'')*'");
+    protected static final Pattern NUMBER_LITERAL_PATTERN = Pattern.compile("(?<![\\w.])-?\\d+(?:\\.\\d+)?(?![\\w.])");
+    protected static final Pattern IN_LIST_PATTERN = Pattern.compile("(?i)\\bin\\s*\\(\\s*\\?(?:\\s*,\\s*\\?)*\\s*\\)");
+    protected static final Pattern SPACE_PATTERN = Pattern.compile("\\s+");
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final List<GuiceStatementRecord> _recordList = new ArrayList<GuiceStatementRecord>(); // guarded by itself
+
+    // ===================================================================================
+    //                                                                              Record
+    //                                                                              ======
+    public void record(GuiceStatementRecord record) {
+        synchronized (_recordList) {
+            _recordList.add(record);
+        }
+    }
+
+    /**
+     * @return The snapshot list of captured records in executed order. (NotNull, EmptyAllowed)
+     */
+    public List<GuiceStatementRecord> getRecordList() {
+        synchronized (_recordList) {
+            return new ArrayList<GuiceStatementRecord>(_recordList);
+        }
+    }
+
+    public int getStatementCount() {
+        synchronized (_recordList) {
+            return _recordList.size();
+        }
+    }
+
+    // ===================================================================================
+    //                                                                               Shape
+    //                                                                               =====
+    /**
+     * Normalize the SQL to the shape, literals are replaced with '?' and IN lists are collapsed.
+     * <pre>
+     * select * from MEMBER where MEMBER_ID in (1, 2, 3) and STATUS = 'FML'
+     *  =&gt; select * from MEMBER where MEMBER_ID in (?) and STATUS = ?
+     * </pre>
+     * @param sql The SQL to be normalized. (NotNull)
+     * @return The shape of SQL. (NotNull)
+     */
+    public static String normalizeShape(String sql) {
+        String shape = BLOCK_COMMENT_PATTERN.matcher(sql).replaceAll(" ");
+        shape = LINE_COMMENT_PATTERN.matcher(shape).replaceAll(" ");
+        shape = STRING_LITERAL_PATTERN.matcher(shape).replaceAll("?");
+        shape = NUMBER_LITERAL_PATTERN.matcher(shape).replaceAll("?");
+        shape = IN_LIST_PATTERN.matcher(shape).replaceAll("in (?)");
+        return SPACE_PATTERN.matcher(shape).replaceAll(" ").trim();
+    }
+
+    /**
+     * Group the captured records by shape. (normalized here, not while recording)
+     * @return The map of shape and records, ordered by first execution. (NotNull, EmptyAllowed)
+     */
+    public Map<String, List<GuiceStatementRecord>> groupByShape() {
+        final Map<String, List<GuiceStatementRecord>> shapeMap = new LinkedHashMap<String, List<GuiceStatementRecord>>();
+        for (GuiceStatementRecord record : getRecordList()) {
+            shapeMap.computeIfAbsent(normalizeShape(record.getSql()), key -> new ArrayList<GuiceStatementRecord>()).add(record);
+        }
+        return shapeMap;
+    }
+
+    /**
+     * Find the query shapes repeated more than the threshold, which are suspected as N+1 queries.
+     * @param threshold The max count of same query shape allowed. (Positive)
+     * @return The map of shape and execution count, ordered by count desc. (NotNull, EmptyAllowed)
+     */
+    public Map<String, Integer> findRepeatedQueryShape(int threshold) {
+        final List<Entry<String, List<GuiceStatementRecord>>> entryList =
+                new ArrayList<Entry<String, List<GuiceStatementRecord>>>(groupByShape().entrySet());
+        Collections.sort(entryList, (o1, o2) -> Integer.compare(o2.getValue().size(), o1.getValue().size()));
+        final Map<String, Integer> repeatedMap = new LinkedHashMap<String, Integer>();
+        for (Entry<String, List<GuiceStatementRecord>> entry : entryList) {
+            final List<GuiceStatementRecord> recordList = entry.getValue();
+            if (recordList.size() > threshold && recordList.get(0).isQuery()) {
+                repeatedMap.put(entry.getKey(), recordList.size());
+            }
+        }
+        return repeatedMap;
+    }
+
+    // ===================================================================================
+    //                                                                             Summary
+    //                                                                             =======
+    /**
+     * Build the summary of captured statements, with repeated shapes (executed twice or more).
+     * @param limit The max count of shapes in the summary. (Positive)
+     * @return The display expression of summary as multiple lines. (NotNull)
+     */
+    public String buildSummary(int limit) {
+        final Map<String, List<GuiceStatementRecord>> shapeMap = groupByShape();
+        long totalNanos = 0L;
+        int statementCount = 0;
+        for (List<GuiceStatementRecord> recordList : shapeMap.values()) {
+            for (GuiceStatementRecord record : recordList) {
+                totalNanos += record.getElapsedNanos();
+                ++statementCount;
+            }
+        }
+        final StringBuilder sb = new StringBuilder();
+        sb.append("statements: ").append(statementCount).append(" (").append(shapeMap.size()).append(" shapes) ");
+        sb.append(String.format("%.1fms", totalNanos / 1000000.0));
+        final List<Entry<String, List<GuiceStatementRecord>>> entryList =
+                new ArrayList<Entry<String, List<GuiceStatementRecord>>>(shapeMap.entrySet());
+        Collections.sort(entryList, (o1, o2) -> Integer.compare(o2.getValue().size(), o1.getValue().size()));
+        int shown = 0;
+        for (Entry<String, List<GuiceStatementRecord>> entry : entryList) {
+            final List<GuiceStatementRecord> recordList = entry.getValue();
+            if (recordList.size() < 2 || shown >= limit) {
+                break;
+            }
+            long shapeNanos = 0L;
+            long shapeRows = 0L;
+            for (GuiceStatementRecord record : recordList) {
+                shapeNanos += record.getElapsedNanos();
+                shapeRows += record.getRowCount();
+            }
+            sb.append("\n  x").append(recordList.size());
+            sb.append(String.format(" %.1fms", shapeNanos / 1000000.0)).append(" rows=").append(shapeRows);
+            sb.append(" ").append(entry.getKey());
+            ++shown;
+        }
+        return sb.toString();
+    }
+}
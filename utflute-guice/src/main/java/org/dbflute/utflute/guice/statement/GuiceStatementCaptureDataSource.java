@@ -0,0 +1,330 @@
+/*
+ * Copyright 2014-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.utflute.guice.statement;
+
+import java.io.PrintWriter;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.logging.Logger;
+
+import javax.sql.DataSource;
+
+import com.google.inject.Inject;
+import com.google.inject.name.Named;
+
+/**
+ * The data source that captures executed statements (SQL, bind count, execution time, rows). <br>
+ * The container wraps the bound DataSource by {@link GuiceStatementCaptureRewriter}. <br>
+ * Executed statements are also notified to the listeners. e.g. slow query report <br>
+ * Connections are wrapped only while capturing or listening, so it costs nothing out of them,
+ * and the SQL is normalized only when the capture is summarized. <br>
+ * The capture is thread-scoped because the data source is shared by test classes running in parallel,
+ * so statements executed in other threads (e.g. worker threads) are not captured (listeners are notified).
+ * @author jflute
+ * @since 0.9.9 (2026/10/18 Sunday)
+ */
+public class GuiceStatementCaptureDataSource implements DataSource {
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final DataSource _realDataSource; // not null
+    protected final ThreadLocal<GuiceStatementCapture> _captureLocal = new ThreadLocal<GuiceStatementCapture>(); // per test thread
+    protected final List<GuiceStatementListener> _listenerList = new CopyOnWriteArrayList<GuiceStatementListener>();
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    @Inject
+    public GuiceStatementCaptureDataSource(@Named(GuiceStatementCaptureRewriter.REAL_DATA_SOURCE_NAME) DataSource realDataSource) {
+        if (realDataSource == null) {
+            String msg = "The argument 'realDataSource' should not be null!";
+            throw new IllegalArgumentException(msg);
+        }
+        _realDataSource = realDataSource;
+    }
+
+    // ===================================================================================
+    //                                                                             Capture
+    //                                                                             =======
+    /**
+     * Start capturing statements executed in the current thread from now.
+     * @param capture The capture to record statements. (NotNull)
+     */
+    public void startCapture(GuiceStatementCapture capture) {
+        _captureLocal.set(capture);
+    }
+
+    /**
+     * Stop capturing statements in the current thread.
+     * @return The capture that has recorded statements. (NullAllowed: when not capturing)
+     */
+    public GuiceStatementCapture stopCapture() {
+        final GuiceStatementCapture capture = _captureLocal.get();
+        _captureLocal.remove();
+        return capture;
+    }
+
+    protected void record(GuiceStatementRecord record, Statement real, List<Object> bindValueList) {
+        final GuiceStatementCapture capture = _captureLocal.get();
+        if (capture != null) {
+            capture.record(record);
+        }
+        for (GuiceStatementListener listener : _listenerList) {
+            listener.statementExecuted(real, record, bindValueList);
+        }
+    }
+
+    protected boolean isActive() {
+        return _captureLocal.get() != null || !_listenerList.isEmpty();
+    }
+
+    // ===================================================================================
+    //                                                                            Listener
+    //                                                                            ========
+    /**
+     * Add the listener of executed statements, notified in the executing thread.
+     * @param listener The listener to be added. (NotNull)
+     */
+    public void addListener(GuiceStatementListener listener) {
+        _listenerList.add(listener);
+    }
+
+    /**
+     * @param listener The listener to be removed. (NotNull)
+     */
+    public void removeListener(GuiceStatementListener listener) {
+        _listenerList.remove(listener);
+    }
+
+    // ===================================================================================
+    //                                                                          Connection
+    //                                                                          ==========
+    @Override
+    public Connection getConnection() throws SQLException {
+        final Connection real = _realDataSource.getConnection();
+        return isActive() ? createCaptureConnection(real) : real;
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        final Connection real = _realDataSource.getConnection(username, password);
+        return isActive() ? createCaptureConnection(real) : real;
+    }
+
+    protected Connection createCaptureConnection(Connection real) {
+        final ClassLoader loader = GuiceStatementCaptureDataSource.class.getClassLoader();
+        return (Connection) Proxy.newProxyInstance(loader, new Class<?>[] { Connection.class }, (proxy, method, args) -> {
+            final String methodName = method.getName();
+            final Object result = invokeReal(real, method, args);
+            if ("prepareCall".equals(methodName)) {
+                return createCaptureStatement(CallableStatement.class, (Statement) result, (String) args[0], (Connection) proxy);
+            } else if ("prepareStatement".equals(methodName)) {
+                return createCaptureStatement(PreparedStatement.class, (Statement) result, (String) args[0], (Connection) proxy);
+            } else if ("createStatement".equals(methodName)) {
+                return createCaptureStatement(Statement.class, (Statement) result, null, (Connection) proxy);
+            }
+            return result;
+        });
+    }
+
+    protected Statement createCaptureStatement(Class<? extends Statement> type, Statement real, String preparedSql, Connection connection) {
+        final ClassLoader loader = GuiceStatementCaptureDataSource.class.getClassLoader();
+        final StatementHandler handler = new StatementHandler(real, preparedSql, connection);
+        final Statement proxy = (Statement) Proxy.newProxyInstance(loader, new Class<?>[] { type }, handler);
+        handler._statementProxy = proxy;
+        return proxy;
+    }
+
+    protected class StatementHandler implements InvocationHandler {
+
+        protected final Statement _real; // not null
+        protected final String _preparedSql; // null allowed: when plain statement
+        protected final Connection _connection; // not null, proxy
+        protected Statement _statementProxy; // not null after creation
+        protected int _bindCount;
+        protected int _batchCount;
+        protected final List<Object> _bindValueList = new ArrayList<Object>(); // for e.g. explain
+        protected GuiceStatementRecord _latestRecord; // for getResultSet()
+
+        public StatementHandler(Statement real, String preparedSql, Connection connection) {
+            _real = real;
+            _preparedSql = preparedSql;
+            _connection = connection;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            final String methodName = method.getName();
+            if (methodName.startsWith("execute")) {
+                return invokeExecute(method, args);
+            }
+            if (methodName.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer) {
+                final int parameterIndex = (Integer) args[0];
+                _bindCount = Math.max(_bindCount, parameterIndex);
+                while (_bindValueList.size() < parameterIndex) {
+                    _bindValueList.add(null);
+                }
+                _bindValueList.set(parameterIndex - 1, "setNull".equals(methodName) ? null : args[1]);
+            } else if ("clearParameters".equals(methodName)) {
+                _bindCount = 0;
+                _bindValueList.clear();
+            } else if ("addBatch".equals(methodName)) {
+                ++_batchCount;
+            } else if ("clearBatch".equals(methodName)) {
+                _batchCount = 0;
+            } else if ("getConnection".equals(methodName)) {
+                return _connection;
+            }
+            final Object result = invokeReal(_real, method, args);
+            if (result instanceof ResultSet && _latestRecord != null) { // e.g. getResultSet()
+                return createCaptureResultSet((ResultSet) result, _latestRecord, _statementProxy);
+            }
+            return result;
+        }
+
+        protected Object invokeExecute(Method method, Object[] args) throws Throwable {
+            if (!isActive()) { // stopped after the connection was wrapped
+                return invokeReal(_real, method, args);
+            }
+            final String sql = args != null && args.length > 0 && args[0] instanceof String ? (String) args[0] : _preparedSql;
+            final long before = System.nanoTime();
+            final Object result = invokeReal(_real, method, args);
+            final long elapsedNanos = System.nanoTime() - before;
+            final GuiceStatementRecord record = new GuiceStatementRecord(sql, _bindCount, _batchCount, elapsedNanos, deriveRowCount(result));
+            if (method.getName().contains("Batch")) { // cleared by execution
+                _batchCount = 0;
+            }
+            _latestRecord = record;
+            record(record, _real, _bindValueList);
+            if (result instanceof ResultSet) {
+                return createCaptureResultSet((ResultSet) result, record, _statementProxy);
+            }
+            return result;
+        }
+
+        protected long deriveRowCount(Object result) {
+            if (result instanceof Integer) { // executeUpdate()
+                return Math.max(0, (Integer) result);
+            } else if (result instanceof Long) { // executeLargeUpdate()
+                return Math.max(0L, (Long) result);
+            } else if (result instanceof int[]) { // executeBatch()
+                long rowCount = 0L;
+                for (int count : (int[]) result) {
+                    rowCount += Math.max(0, count); // e.g. SUCCESS_NO_INFO
+                }
+                return rowCount;
+            } else if (result instanceof long[]) { // executeLargeBatch()
+                long rowCount = 0L;
+                for (long count : (long[]) result) {
+                    rowCount += Math.max(0L, count);
+                }
+                return rowCount;
+            }
+            return 0L; // query rows are counted while reading
+        }
+    }
+
+    protected ResultSet createCaptureResultSet(ResultSet real, GuiceStatementRecord record, Statement statement) {
+        final ClassLoader loader = GuiceStatementCaptureDataSource.class.getClassLoader();
+        return (ResultSet) Proxy.newProxyInstance(loader, new Class<?>[] { ResultSet.class }, (proxy, method, args) -> {
+            final String methodName = method.getName();
+            if ("getStatement".equals(methodName)) {
+                return statement;
+            }
+            final Object result = invokeReal(real, method, args);
+            if ("next".equals(methodName) && Boolean.TRUE.equals(result)) {
+                record.incrementRowCount();
+            }
+            return result;
+        });
+    }
+
+    protected static Object invokeReal(Object real, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(real, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    // ===================================================================================
+    //                                                                         Data Source
+    //                                                                         ===========
+    @Override
+    public PrintWriter getLogWriter() throws SQLException {
+        return _realDataSource.getLogWriter();
+    }
+
+    @Override
+    public void setLogWriter(PrintWriter out) throws SQLException {
+        _realDataSource.setLogWriter(out);
+    }
+
+    @Override
+    public void setLoginTimeout(int seconds) throws SQLException {
+        _realDataSource.setLoginTimeout(seconds);
+    }
+
+    @Override
+    public int getLoginTimeout() throws SQLException {
+        return _realDataSource.getLoginTimeout();
+    }
+
+    @Override
+    public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+        return _realDataSource.getParentLogger();
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        if (iface.isInstance(this)) {
+            return iface.cast(this);
+        }
+        return _realDataSource.unwrap(iface);
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) throws SQLException {
+        return iface.isInstance(this) || _realDataSource.isWrapperFor(iface);
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public DataSource getRealDataSource() {
+        return _realDataSource;
+    }
+
+    /**
+     * @return The capture of the current thread. (NullAllowed: when not capturing)
+     */
+    public GuiceStatementCapture getCapture() {
+        return _captureLocal.get();
+    }
+}
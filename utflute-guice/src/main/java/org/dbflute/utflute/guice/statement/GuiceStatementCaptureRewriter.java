@@ -0,0 +1,155 @@
+/*
+ * Copyright 2014-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.utflute.guice.statement;
+
+import java.lang.annotation.Annotation;
+import java.util.List;
+import java.util.function.Function;
+
+import javax.sql.DataSource;
+
+import com.google.inject.Binder;
+import com.google.inject.Binding;
+import com.google.inject.Key;
+import com.google.inject.Scope;
+import com.google.inject.Scopes;
+import com.google.inject.Stage;
+import com.google.inject.binder.LinkedBindingBuilder;
+import com.google.inject.binder.ScopedBindingBuilder;
+import com.google.inject.name.Names;
+import com.google.inject.spi.DefaultBindingScopingVisitor;
+import com.google.inject.spi.DefaultBindingTargetVisitor;
+import com.google.inject.spi.Element;
+import com.google.inject.spi.Elements;
+import com.google.inject.spi.InstanceBinding;
+import com.google.inject.spi.LinkedKeyBinding;
+import com.google.inject.spi.ProviderInstanceBinding;
+import com.google.inject.spi.ProviderKeyBinding;
+
+/**
+ * The rewriter of module elements, which wraps the bound DataSource by {@link GuiceStatementCaptureDataSource}. <br>
+ * The original binding is moved to the named key (with the same target and scope),
+ * and DataSource is bound to the capture data source (singleton) that refers to it. <br>
+ * Supported targets are instance, linked key and provider, others are kept as they are.
+ * @author jflute
+ * @since 0.9.9 (2026/10/18 Sunday)
+ */
+public class GuiceStatementCaptureRewriter {
+
+    // ===================================================================================
+    //                                                                          Definition
+    //                                                                          ==========
+    /** The name of the key that the original DataSource is moved to. */
+    public static final String REAL_DATA_SOURCE_NAME = "utflute.statementCapture.realDataSource";
+
+    protected static final Key<DataSource> DATA_SOURCE_KEY = Key.get(DataSource.class);
+    protected static final Key<DataSource> REAL_DATA_SOURCE_KEY = Key.get(DataSource.class, Names.named(REAL_DATA_SOURCE_NAME));
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected int _rewrittenCount; // for logging
+
+    // ===================================================================================
+    //                                                                             Rewrite
+    //                                                                             =======
+    /**
+     * Rewrite the DataSource binding of the elements to the capture data source.
+     * @param stage The stage of Google Guice for recording. (NotNull)
+     * @param elementList The list of recorded elements. (NotNull)
+     * @return The list of rewritten elements. (NotNull)
+     */
+    @SuppressWarnings("unchecked")
+    public List<Element> rewrite(Stage stage, List<Element> elementList) {
+        _rewrittenCount = 0;
+        return Elements.getElements(stage, binder -> {
+            for (Element element : elementList) {
+                if (element instanceof Binding<?> && DATA_SOURCE_KEY.equals(((Binding<?>) element).getKey())) {
+                    if (rebindAsReal(binder, (Binding<DataSource>) element)) {
+                        binder.withSource(element.getSource()).bind(GuiceStatementCaptureDataSource.class).in(Scopes.SINGLETON);
+                        binder.withSource(element.getSource()).bind(DATA_SOURCE_KEY).to(GuiceStatementCaptureDataSource.class);
+                        ++_rewrittenCount;
+                        continue;
+                    }
+                }
+                element.applyTo(binder);
+            }
+        });
+    }
+
+    protected boolean rebindAsReal(Binder binder, Binding<DataSource> binding) {
+        if (binding instanceof InstanceBinding<?>) { // e.g. connection pool created in module
+            final DataSource instance = ((InstanceBinding<DataSource>) binding).getInstance();
+            binder.withSource(binding.getSource()).bind(REAL_DATA_SOURCE_KEY).toInstance(instance);
+            return true;
+        }
+        final Function<LinkedBindingBuilder<DataSource>, ScopedBindingBuilder> targeter = binding.acceptTargetVisitor(new TargeterVisitor());
+        if (targeter == null) { // unsupported target
+            return false;
+        }
+        final ScopedBindingBuilder scoped = targeter.apply(binder.withSource(binding.getSource()).bind(REAL_DATA_SOURCE_KEY));
+        binding.acceptScopingVisitor(new DefaultBindingScopingVisitor<Void>() {
+            @Override
+            public Void visitEagerSingleton() {
+                scoped.asEagerSingleton();
+                return null;
+            }
+
+            @Override
+            public Void visitScope(Scope scope) {
+                scoped.in(scope);
+                return null;
+            }
+
+            @Override
+            public Void visitScopeAnnotation(Class<? extends Annotation> scopeAnnotation) {
+                scoped.in(scopeAnnotation);
+                return null;
+            }
+        });
+        return true;
+    }
+
+    protected static class TargeterVisitor
+            extends DefaultBindingTargetVisitor<DataSource, Function<LinkedBindingBuilder<DataSource>, ScopedBindingBuilder>> {
+
+        @Override
+        public Function<LinkedBindingBuilder<DataSource>, ScopedBindingBuilder> visit(LinkedKeyBinding<? extends DataSource> binding) {
+            final Key<? extends DataSource> linkedKey = binding.getLinkedKey();
+            return builder -> builder.to(linkedKey);
+        }
+
+        @Override
+        public Function<LinkedBindingBuilder<DataSource>, ScopedBindingBuilder> visit(
+                ProviderInstanceBinding<? extends DataSource> binding) {
+            final javax.inject.Provider<? extends DataSource> provider = binding.getUserSuppliedProvider();
+            return builder -> builder.toProvider(provider);
+        }
+
+        @Override
+        public Function<LinkedBindingBuilder<DataSource>, ScopedBindingBuilder> visit(ProviderKeyBinding<? extends DataSource> binding) {
+            final Key<? extends javax.inject.Provider<? extends DataSource>> providerKey = binding.getProviderKey();
+            return builder -> builder.toProvider(providerKey);
+        }
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public int getRewrittenCount() {
+        return _rewrittenCount;
+    }
+}
@@ -0,0 +1,37 @@
+/*
+ * Copyright 2014-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.utflute.guice.statement;
+
+import java.sql.Statement;
+import java.util.List;
+
+/**
+ * The listener of statements executed via {@link GuiceStatementCaptureDataSource}.
+ * @author jflute
+ * @since 0.9.9 (2026/10/18 Sunday)
+ */
+@FunctionalInterface
+public interface GuiceStatementListener {
+
+    /**
+     * Handle the executed statement, called in the executing thread after execution. <br>
+     * The statement is still open, so the listener can use its connection. (e.g. explain)
+     * @param statement The real statement that executed the SQL, not wrapped. (NotNull)
+     * @param record The record of the executed statement. (NotNull)
+     * @param bindValueList The list of bind values of prepared statement, read-only. (NotNull, EmptyAllowed)
+     */
+    void statementExecuted(Statement statement, GuiceStatementRecord record, List<Object> bindValueList);
+}
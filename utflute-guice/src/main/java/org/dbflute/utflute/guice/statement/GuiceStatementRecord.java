@@ -0,0 +1,98 @@
+/*
+ * Copyright 2014-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.utflute.guice.statement;
+
+/**
+ * The record of executed statement captured by {@link GuiceStatementCaptureDataSource}. <br>
+ * The row count of query is incremented while the result set is read, so it is final after reading.
+ * @author jflute
+ * @since 0.9.9 (2026/10/18 Sunday)
+ */
+public class GuiceStatementRecord {
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final String _sql; // not null
+    protected final int _bindCount; // max parameter index of prepared statement
+    protected final int _batchCount; // count of addBatch() for executeBatch()
+    protected final long _elapsedNanos; // of execute method
+    protected long _rowCount; // update count or read rows
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    public GuiceStatementRecord(String sql, int bindCount, int batchCount, long elapsedNanos, long rowCount) {
+        _sql = sql;
+        _bindCount = bindCount;
+        _batchCount = batchCount;
+        _elapsedNanos = elapsedNanos;
+        _rowCount = rowCount;
+    }
+
+    // ===================================================================================
+    //                                                                           Row Count
+    //                                                                           =========
+    /**
+     * Increment the row count, called when result set moves to the next row.
+     */
+    public void incrementRowCount() {
+        ++_rowCount;
+    }
+
+    // ===================================================================================
+    //                                                                       Determination
+    //                                                                       =============
+    /**
+     * @return Is the statement query? (select or with clause)
+     */
+    public boolean isQuery() {
+        final String trimmed = _sql.trim().toLowerCase();
+        return trimmed.startsWith("select") || trimmed.startsWith("with");
+    }
+
+    // ===================================================================================
+    //                                                                      Basic Override
+    //                                                                      ==============
+    @Override
+    public String toString() {
+        final String batchExp = _batchCount > 0 ? ", batch=" + _batchCount : "";
+        return String.format("{%s, bind=%d%s, rows=%d, %.3fms}", _sql, _bindCount, batchExp, _rowCount, _elapsedNanos / 1000000.0);
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public String getSql() {
+        return _sql;
+    }
+
+    public int getBindCount() {
+        return _bindCount;
+    }
+
+    public int getBatchCount() {
+        return _batchCount;
+    }
+
+    public long getElapsedNanos() {
+        return _elapsedNanos;
+    }
+
+    public long getRowCount() {
+        return _rowCount;
+    }
+}
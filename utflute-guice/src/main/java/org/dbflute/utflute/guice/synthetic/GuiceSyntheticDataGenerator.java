@@ -0,0 +1,558 @@
+/*
+ * Copyright 2014-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.utflute.guice.synthetic;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.sql.DataSource;
+
+import org.dbflute.utflute.guice.synthetic.GuiceSyntheticTable.Column;
+import org.dbflute.utflute.guice.synthetic.GuiceSyntheticTable.ForeignKey;
+
+/**
+ * The generator of synthetic data for high-volume tests, whose columns are derived from JDBC metadata. <br>
+ * Values are computed from (seed, table, column, row) without state, so the data is deterministic
+ * regardless of the count of writers:
+ * <pre>
+ * o primary key: sequential from the current max (numeric) or count (string)
+ * o foreign key: a row of the referenced table, generated by this generator or existing in the database
+ * o others: pseudo-random value by the JDBC type in the range of size (and scale)
+ * o auto-increment (and generated) columns are not inserted
+ * </pre>
+ * Single writer inserts in the current transaction of the calling thread (not committed here). <br>
+ * Multiple writers use their own connections in worker threads, and commit per batch. <br>
+ * Composite primary key only of foreign keys, unique constraints except primary key,
+ * and not-null self reference are unsupported.
+ * @author jflute
+ * @since 0.9.9 (2026/10/18 Sunday)
+ */
+public class GuiceSyntheticDataGenerator {
+
+    // ===================================================================================
+    //                                                                          Definition
+    //                                                                          ==========
+    /** The default count of rows per executeBatch(). */
+    public static final int DEFAULT_BATCH_SIZE = 1000;
+
+    protected static final LocalDate BASE_DATE = LocalDate.of(2000, 1, 1);
+    protected static final long DATE_RANGE_DAYS = 365L * 30L;
+    protected static final int MAX_STRING_LENGTH = 16;
+    protected static final char[] ALNUM_CHARS = "0123456789abcdefghijklmnopqrstuvwxyz".toCharArray();
+    protected static final Object UNSUPPORTED = new Object();
+    protected static final AtomicInteger _writerThreadNumber = new AtomicInteger();
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final DataSource _dataSource; // not null
+    protected final long _seed;
+    protected int _writerCount = 1;
+    protected int _batchSize = DEFAULT_BATCH_SIZE;
+    protected int _nullPercent; // of nullable columns, zero means no null
+
+    /** The map of generated tables keyed by upper-case table name, referenced as parents. (NotNull) */
+    protected final Map<String, GeneratedTable> _generatedTableMap = new ConcurrentHashMap<String, GeneratedTable>();
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    /**
+     * @param dataSource The data source to get connections. (NotNull)
+     * @param seed The seed of data, same seed generates same data.
+     */
+    public GuiceSyntheticDataGenerator(DataSource dataSource, long seed) {
+        if (dataSource == null) {
+            String msg = "The argument 'dataSource' should not be null!";
+            throw new IllegalArgumentException(msg);
+        }
+        _dataSource = dataSource;
+        _seed = seed;
+    }
+
+    // ===================================================================================
+    //                                                                            Generate
+    //                                                                            ========
+    /**
+     * Generate the rows into the table. <br>
+     * Generate parent tables before child tables so that children reference the generated parents.
+     * @param tableName The name of table, case-insensitive. (NotNull)
+     * @param rowCount The count of rows to be inserted. (NotMinus)
+     * @return The result of generation, which has rows per second. (NotNull)
+     * @throws SQLException When it fails to read metadata or insert rows.
+     */
+    public GuiceSyntheticResult generate(String tableName, long rowCount) throws SQLException {
+        if (rowCount < 0) {
+            throw new IllegalArgumentException("The argument 'rowCount' should not be minus: " + rowCount);
+        }
+        final GeneratedTable generated = prepareGeneratedTable(tableName, rowCount);
+        final int writerCount = (int) Math.max(1L, Math.min(_writerCount, rowCount / _batchSize));
+        final long before = System.nanoTime();
+        if (writerCount <= 1) {
+            try (Connection conn = _dataSource.getConnection()) { // in the current transaction
+                write(conn, generated, 0L, rowCount, false);
+            }
+        } else {
+            writeParallel(generated, writerCount);
+        }
+        final long elapsedNanos = System.nanoTime() - before;
+        _generatedTableMap.put(generated._table.getTableName().toUpperCase(), generated);
+        return new GuiceSyntheticResult(generated._table.getTableName(), rowCount, writerCount, elapsedNanos);
+    }
+
+    // ===================================================================================
+    //                                                                             Prepare
+    //                                                                             =======
+    protected GeneratedTable prepareGeneratedTable(String tableName, long rowCount) throws SQLException {
+        try (Connection conn = _dataSource.getConnection()) {
+            final GuiceSyntheticTable table = GuiceSyntheticTable.load(conn.getMetaData(), tableName);
+            final List<Column> columnList = table.getColumnList();
+            final List<Integer> insertedIndexList = new ArrayList<Integer>();
+            final ParentReference[] referenceArray = new ParentReference[columnList.size()];
+            final int[] referencePositionArray = new int[columnList.size()];
+            Column keyColumn = null;
+            for (int i = 0; i < columnList.size(); i++) {
+                final Column column = columnList.get(i);
+                if (column.isAutoIncrement()) {
+                    continue;
+                }
+                insertedIndexList.add(i);
+                final ForeignKey foreignKey = table.findForeignKey(column.getColumnName());
+                if (foreignKey != null) {
+                    if (foreignKey.getReferencedTableName().equalsIgnoreCase(table.getTableName())) { // self reference
+                        assertNullableSelfReference(table, column);
+                        continue; // null
+                    }
+                    referenceArray[i] = prepareParentReference(conn, foreignKey);
+                    referencePositionArray[i] = new ArrayList<String>(foreignKey.getColumnMap().keySet()).indexOf(column.getColumnName());
+                } else if (column.isPrimaryKey()) {
+                    if (keyColumn == null) { // first non-FK key column decides offset, others are in the same sequence
+                        keyColumn = column;
+                    }
+                } else if (!column.isNullable() && generateRandomValue(column, 0L) == UNSUPPORTED) {
+                    String msg = "Unsupported type of not-null column for synthetic data: " + column + " in " + table.getTableName();
+                    throw new IllegalStateException(msg);
+                }
+            }
+            assertKeyGeneratable(table, keyColumn);
+            final long keyOffset = keyColumn != null ? selectKeyOffset(conn, table, keyColumn) : 0L;
+            final int[] insertedIndexes = insertedIndexList.stream().mapToInt(Integer::intValue).toArray();
+            return new GeneratedTable(table, insertedIndexes, referenceArray, referencePositionArray, keyOffset, rowCount);
+        }
+    }
+
+    protected void assertNullableSelfReference(GuiceSyntheticTable table, Column column) {
+        if (!column.isNullable()) {
+            String msg = "Unsupported not-null self reference for synthetic data: " + column + " in " + table.getTableName();
+            throw new IllegalStateException(msg);
+        }
+    }
+
+    protected void assertKeyGeneratable(GuiceSyntheticTable table, Column keyColumn) {
+        if (keyColumn != null) {
+            return;
+        }
+        for (Column column : table.getColumnList()) {
+            if (column.isPrimaryKey() && !column.isAutoIncrement()) { // all primary key columns are foreign keys
+                String msg = "Unsupported primary key only of foreign keys for synthetic data: " + table;
+                throw new IllegalStateException(msg);
+            }
+        }
+    }
+
+    protected long selectKeyOffset(Connection conn, GuiceSyntheticTable table, Column keyColumn) throws SQLException {
+        final boolean numeric = isNumericType(keyColumn.getJdbcType());
+        final String expression = numeric ? "max(" + keyColumn.getColumnName() + ")" : "count(*)";
+        try (Statement st = conn.createStatement();
+                ResultSet rs = st.executeQuery("select " + expression + " from " + table.getTableName())) {
+            return rs.next() ? rs.getLong(1) : 0L; // null max is zero
+        }
+    }
+
+    protected ParentReference prepareParentReference(Connection conn, ForeignKey foreignKey) throws SQLException {
+        final String referencedTableName = foreignKey.getReferencedTableName();
+        final List<String> referencedColumnList = new ArrayList<String>(foreignKey.getColumnMap().values());
+        final GeneratedTable generated = _generatedTableMap.get(referencedTableName.toUpperCase());
+        if (generated != null) {
+            final int[] columnIndexes = new int[referencedColumnList.size()];
+            for (int i = 0; i < columnIndexes.length; i++) {
+                columnIndexes[i] = generated._table.indexOfColumn(referencedColumnList.get(i));
+            }
+            return new ParentReference(foreignKey, generated, columnIndexes, null);
+        }
+        // not generated by this generator, so existing rows are referenced
+        final List<Object[]> existingRowList = new ArrayList<Object[]>();
+        final String sql = "select " + String.join(", ", referencedColumnList) + " from " + referencedTableName;
+        try (Statement st = conn.createStatement(); ResultSet rs = st.executeQuery(sql)) {
+            while (rs.next()) {
+                final Object[] keys = new Object[referencedColumnList.size()];
+                for (int i = 0; i < keys.length; i++) {
+                    keys[i] = rs.getObject(i + 1);
+                }
+                existingRowList.add(keys);
+            }
+        }
+        return new ParentReference(foreignKey, null, null, existingRowList);
+    }
+
+    // ===================================================================================
+    //                                                                               Write
+    //                                                                               =====
+    protected void writeParallel(GeneratedTable generated, int writerCount) throws SQLException {
+        final ExecutorService executor = Executors.newFixedThreadPool(writerCount, runnable -> {
+            final Thread thread = new Thread(runnable, "utflute-guice-generator-" + _writerThreadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            final long chunkSize = (generated._rowCount + writerCount - 1) / writerCount;
+            final List<Callable<Void>> taskList = new ArrayList<Callable<Void>>(writerCount);
+            for (long start = 0; start < generated._rowCount; start += chunkSize) {
+                final long chunkStart = start;
+                final long chunkEnd = Math.min(start + chunkSize, generated._rowCount);
+                taskList.add(() -> {
+                    try (Connection conn = _dataSource.getConnection()) { // out of transaction
+                        write(conn, generated, chunkStart, chunkEnd, true);
+                    }
+                    return null;
+                });
+            }
+            for (Future<Void> future : executor.invokeAll(taskList)) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while generating synthetic data: " + generated._table.getTableName(), e);
+        } catch (ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof SQLException) {
+                throw (SQLException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IllegalStateException("Failed to generate synthetic data: " + generated._table.getTableName(), cause);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    protected void write(Connection conn, GeneratedTable generated, long start, long end, boolean commitPerBatch) throws SQLException {
+        final boolean originalAutoCommit = commitPerBatch ? conn.getAutoCommit() : false;
+        if (commitPerBatch) {
+            conn.setAutoCommit(false);
+        }
+        try (PreparedStatement ps = conn.prepareStatement(buildInsertSql(generated))) {
+            final int[] insertedIndexes = generated._insertedIndexes;
+            final List<Column> columnList = generated._table.getColumnList();
+            int batchCount = 0;
+            for (long row = start; row < end; row++) {
+                for (int i = 0; i < insertedIndexes.length; i++) {
+                    final int columnIndex = insertedIndexes[i];
+                    final Object value = valueAt(generated, columnIndex, row);
+                    if (value == null || value == UNSUPPORTED) {
+                        ps.setNull(i + 1, columnList.get(columnIndex).getJdbcType());
+                    } else {
+                        ps.setObject(i + 1, value);
+                    }
+                }
+                ps.addBatch();
+                if (++batchCount >= _batchSize) {
+                    ps.executeBatch();
+                    batchCount = 0;
+                    if (commitPerBatch) {
+                        conn.commit();
+                    }
+                }
+            }
+            if (batchCount > 0) {
+                ps.executeBatch();
+            }
+            if (commitPerBatch) {
+                conn.commit();
+            }
+        } finally {
+            if (commitPerBatch) {
+                conn.setAutoCommit(originalAutoCommit);
+            }
+        }
+    }
+
+    protected String buildInsertSql(GeneratedTable generated) {
+        final List<Column> columnList = generated._table.getColumnList();
+        final StringBuilder columnSb = new StringBuilder();
+        final StringBuilder valueSb = new StringBuilder();
+        for (int columnIndex : generated._insertedIndexes) {
+            if (columnSb.length() > 0) {
+                columnSb.append(", ");
+                valueSb.append(", ");
+            }
+            columnSb.append(columnList.get(columnIndex).getColumnName());
+            valueSb.append("?");
+        }
+        return "insert into " + generated._table.getTableName() + " (" + columnSb + ") values (" + valueSb + ")";
+    }
+
+    // ===================================================================================
+    //                                                                               Value
+    //                                                                               =====
+    /**
+     * Compute the value of the column at the row. (stateless, so parent values are computed again by children)
+     * @param generated The generated table. (NotNull)
+     * @param columnIndex The index of column in the table.
+     * @param row The index of generated row, zero origin.
+     * @return The value of column. (NullAllowed)
+     */
+    protected Object valueAt(GeneratedTable generated, int columnIndex, long row) {
+        final Column column = generated._table.getColumnList().get(columnIndex);
+        final String columnName = column.getColumnName();
+        final ParentReference reference = generated._referenceArray[columnIndex];
+        if (reference != null) {
+            final long parentRowCount = reference.getRowCount();
+            if (parentRowCount == 0L) {
+                if (column.isNullable()) {
+                    return null;
+                }
+                String msg = "No rows in the referenced table for synthetic data: " + reference._foreignKey;
+                throw new IllegalStateException(msg);
+            }
+            final long hash = hash(generated._table.getTableName(), reference._foreignKey.getForeignKeyName(), row);
+            return reference.valueAt(this, (hash >>> 1) % parentRowCount, generated._referencePositionArray[columnIndex]);
+        }
+        if (generated._table.findForeignKey(columnName) != null) { // self reference
+            return null;
+        }
+        if (column.isPrimaryKey()) {
+            return generateKeyValue(column, generated._keyOffset + row + 1L);
+        }
+        final long hash = hash(generated._table.getTableName(), columnName, row);
+        if (column.isNullable() && _nullPercent > 0 && ((hash >>> 32) % 100L) < _nullPercent) {
+            return null;
+        }
+        return generateRandomValue(column, hash);
+    }
+
+    protected Object generateKeyValue(Column column, long sequence) {
+        final int jdbcType = column.getJdbcType();
+        if (isNumericType(jdbcType)) {
+            if (jdbcType == Types.DECIMAL || jdbcType == Types.NUMERIC) {
+                return BigDecimal.valueOf(sequence);
+            }
+            return jdbcType == Types.BIGINT ? (Object) sequence : (Object) Integer.valueOf((int) sequence);
+        }
+        final String key = Long.toString(sequence, Character.MAX_RADIX);
+        final int columnSize = column.getColumnSize();
+        if (columnSize > 0 && key.length() > columnSize) {
+            String msg = "The key sequence is over the column size for synthetic data: " + column + ", key=" + key;
+            throw new IllegalStateException(msg);
+        }
+        return key;
+    }
+
+    protected Object generateRandomValue(Column column, long hash) {
+        final long positive = hash >>> 1;
+        final int columnSize = column.getColumnSize();
+        switch (column.getJdbcType()) {
+        case Types.BIT:
+        case Types.BOOLEAN:
+            return (hash & 1L) == 1L;
+        case Types.TINYINT:
+            return (int) (positive % 128L);
+        case Types.SMALLINT:
+            return (int) (positive % 32768L);
+        case Types.INTEGER:
+            return (int) (hash >>> 33);
+        case Types.BIGINT:
+            return positive;
+        case Types.DECIMAL:
+        case Types.NUMERIC:
+            final int scale = Math.max(column.getDecimalDigits(), 0);
+            final int digits = Math.min(columnSize > 0 ? columnSize : 18, 18);
+            return BigDecimal.valueOf(positive % pow10(digits), scale);
+        case Types.REAL:
+        case Types.FLOAT:
+        case Types.DOUBLE:
+            return (hash >>> 11) * 0x1.0p-53 * 10000.0;
+        case Types.CHAR:
+        case Types.NCHAR:
+            return generateString(hash, columnSize, true);
+        case Types.VARCHAR:
+        case Types.NVARCHAR:
+        case Types.LONGVARCHAR:
+        case Types.LONGNVARCHAR:
+        case Types.CLOB:
+        case Types.NCLOB:
+            return generateString(hash, columnSize, false);
+        case Types.DATE:
+            return java.sql.Date.valueOf(BASE_DATE.plusDays(positive % DATE_RANGE_DAYS));
+        case Types.TIME:
+            return Time.valueOf(LocalTime.ofSecondOfDay(positive % 86400L));
+        case Types.TIMESTAMP:
+            return Timestamp.valueOf(BASE_DATE.atStartOfDay().plusSeconds(positive % (DATE_RANGE_DAYS * 86400L)));
+        case Types.BINARY:
+        case Types.VARBINARY:
+        case Types.LONGVARBINARY:
+        case Types.BLOB:
+            final byte[] bytes = new byte[columnSize > 0 ? Math.min(columnSize, MAX_STRING_LENGTH) : MAX_STRING_LENGTH];
+            long current = hash;
+            for (int i = 0; i < bytes.length; i++) {
+                current = nextRandom(current);
+                bytes[i] = (byte) (current >>> 56);
+            }
+            return bytes;
+        default:
+            return UNSUPPORTED;
+        }
+    }
+
+    protected String generateString(long hash, int columnSize, boolean fixed) {
+        final int maxLength = columnSize > 0 ? Math.min(columnSize, MAX_STRING_LENGTH) : MAX_STRING_LENGTH;
+        final int length = fixed ? maxLength : 1 + (int) ((hash >>> 1) % maxLength);
+        final char[] chars = new char[length];
+        long current = hash;
+        for (int i = 0; i < length; i++) {
+            current = nextRandom(current);
+            chars[i] = ALNUM_CHARS[(int) ((current >>> 33) % ALNUM_CHARS.length)];
+        }
+        return new String(chars);
+    }
+
+    protected long hash(String tableName, String columnName, long row) {
+        return mix(mix(mix(_seed + tableName.hashCode()) + columnName.hashCode()) + row);
+    }
+
+    protected static long mix(long value) { // SplitMix64 finalizer
+        long z = value + 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    protected static long nextRandom(long current) { // LCG step, cheap for sequence in one value
+        return current * 6364136223846793005L + 1442695040888963407L;
+    }
+
+    protected static long pow10(int digits) {
+        long result = 1L;
+        for (int i = 0; i < digits; i++) {
+            result *= 10L;
+        }
+        return result;
+    }
+
+    protected static boolean isNumericType(int jdbcType) {
+        return jdbcType == Types.TINYINT || jdbcType == Types.SMALLINT || jdbcType == Types.INTEGER || jdbcType == Types.BIGINT
+                || jdbcType == Types.DECIMAL || jdbcType == Types.NUMERIC;
+    }
+
+    // ===================================================================================
+    //                                                                     Generated Table
+    //                                                                     ===============
+    /**
+     * The table generated (or being generated) by this generator, enough to compute its values again.
+     */
+    protected static class GeneratedTable {
+
+        protected final GuiceSyntheticTable _table;
+        protected final int[] _insertedIndexes; // column indexes except auto-increment
+        protected final ParentReference[] _referenceArray; // per column, null elements for non-FK
+        protected final int[] _referencePositionArray; // per column, position in the foreign key
+        protected final long _keyOffset;
+        protected final long _rowCount;
+
+        public GeneratedTable(GuiceSyntheticTable table, int[] insertedIndexes, ParentReference[] referenceArray,
+                int[] referencePositionArray, long keyOffset, long rowCount) {
+            _table = table;
+            _insertedIndexes = insertedIndexes;
+            _referenceArray = referenceArray;
+            _referencePositionArray = referencePositionArray;
+            _keyOffset = keyOffset;
+            _rowCount = rowCount;
+        }
+    }
+
+    /**
+     * The reference to parent table, generated one or existing rows.
+     */
+    protected static class ParentReference {
+
+        protected final ForeignKey _foreignKey;
+        protected final GeneratedTable _generated; // null allowed: when existing rows
+        protected final int[] _columnIndexes; // of generated table, null allowed: when existing rows
+        protected final List<Object[]> _existingRowList; // null allowed: when generated
+
+        public ParentReference(ForeignKey foreignKey, GeneratedTable generated, int[] columnIndexes, List<Object[]> existingRowList) {
+            _foreignKey = foreignKey;
+            _generated = generated;
+            _columnIndexes = columnIndexes;
+            _existingRowList = existingRowList;
+        }
+
+        public long getRowCount() {
+            return _generated != null ? _generated._rowCount : _existingRowList.size();
+        }
+
+        public Object valueAt(GuiceSyntheticDataGenerator generator, long parentRow, int position) {
+            if (_generated != null) {
+                return generator.valueAt(_generated, _columnIndexes[position], parentRow);
+            }
+            return _existingRowList.get((int) parentRow)[position];
+        }
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public void setWriterCount(int writerCount) {
+        if (writerCount <= 0) {
+            throw new IllegalArgumentException("The argument 'writerCount' should be positive: " + writerCount);
+        }
+        _writerCount = writerCount;
+    }
+
+    public void setBatchSize(int batchSize) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("The argument 'batchSize' should be positive: " + batchSize);
+        }
+        _batchSize = batchSize;
+    }
+
+    public void setNullPercent(int nullPercent) {
+        if (nullPercent < 0 || nullPercent > 100) {
+            throw new IllegalArgumentException("The argument 'nullPercent' should be 0 to 100: " + nullPercent);
+        }
+        _nullPercent = nullPercent;
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright 2014-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.utflute.guice.synthetic;
+
+/**
+ * The result of synthetic data generation.
+ * @author jflute
+ * @since 0.9.9 (2026/10/18 Sunday)
+ */
+public class GuiceSyntheticResult {
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final String _tableName; // not null
+    protected final long _rowCount;
+    protected final int _writerCount;
+    protected final long _elapsedNanos;
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    public GuiceSyntheticResult(String tableName, long rowCount, int writerCount, long elapsedNanos) {
+        _tableName = tableName;
+        _rowCount = rowCount;
+        _writerCount = writerCount;
+        _elapsedNanos = elapsedNanos;
+    }
+
+    // ===================================================================================
+    //                                                                          Throughput
+    //                                                                          ==========
+    /**
+     * @return The count of inserted rows per second.
+     */
+    public double getRowsPerSecond() {
+        return _elapsedNanos > 0 ? _rowCount * 1000000000.0 / _elapsedNanos : 0.0;
+    }
+
+    /**
+     * @return The display string for log e.g. "MEMBER 100000 rows in 850ms (117647 rows/sec, 4 writers)". (NotNull)
+     */
+    public String toDisplay() {
+        final long millis = _elapsedNanos / 1000000L;
+        final String writer = _writerCount + (_writerCount > 1 ? " writers" : " writer");
+        return _tableName + " " + _rowCount + " rows in " + millis + "ms (" + Math.round(getRowsPerSecond()) + " rows/sec, " + writer + ")";
+    }
+
+    @Override
+    public String toString() {
+        return toDisplay();
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public String getTableName() {
+        return _tableName;
+    }
+
+    public long getRowCount() {
+        return _rowCount;
+    }
+
+    public int getWriterCount() {
+        return _writerCount;
+    }
+
+    public long getElapsedNanos() {
+        return _elapsedNanos;
+    }
+}
@@ -0,0 +1,257 @@
+/*
+ * Copyright 2014-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.utflute.guice.synthetic;
+
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The table meta for synthetic data, derived from JDBC metadata. <br>
+ * It has columns (type, size, nullable), primary key and foreign keys (imported keys).
+ * @author jflute
+ * @since 0.9.9 (2026/10/18 Sunday)
+ */
+public class GuiceSyntheticTable {
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final String _tableName; // not null, as database metadata
+    protected final List<Column> _columnList; // not null, read-only, column order
+    protected final List<ForeignKey> _foreignKeyList; // not null, read-only
+
+    /**
+     * The column of table.
+     */
+    public static class Column {
+
+        protected final String _columnName;
+        protected final int _jdbcType; // java.sql.Types
+        protected final int _columnSize;
+        protected final int _decimalDigits;
+        protected final boolean _nullable;
+        protected final boolean _autoIncrement; // not inserted
+        protected boolean _primaryKey; // set after construction
+
+        public Column(String columnName, int jdbcType, int columnSize, int decimalDigits, boolean nullable, boolean autoIncrement) {
+            _columnName = columnName;
+            _jdbcType = jdbcType;
+            _columnSize = columnSize;
+            _decimalDigits = decimalDigits;
+            _nullable = nullable;
+            _autoIncrement = autoIncrement;
+        }
+
+        @Override
+        public String toString() {
+            return _columnName + "(" + _jdbcType + ", " + _columnSize + ")";
+        }
+
+        public String getColumnName() {
+            return _columnName;
+        }
+
+        public int getJdbcType() {
+            return _jdbcType;
+        }
+
+        public int getColumnSize() {
+            return _columnSize;
+        }
+
+        public int getDecimalDigits() {
+            return _decimalDigits;
+        }
+
+        public boolean isNullable() {
+            return _nullable;
+        }
+
+        public boolean isAutoIncrement() {
+            return _autoIncrement;
+        }
+
+        public boolean isPrimaryKey() {
+            return _primaryKey;
+        }
+    }
+
+    /**
+     * The foreign key of table, mapping local columns to referenced columns.
+     */
+    public static class ForeignKey {
+
+        protected final String _foreignKeyName;
+        protected final String _referencedTableName;
+        protected final Map<String, String> _columnMap = new LinkedHashMap<String, String>(); // local to referenced
+
+        public ForeignKey(String foreignKeyName, String referencedTableName) {
+            _foreignKeyName = foreignKeyName;
+            _referencedTableName = referencedTableName;
+        }
+
+        @Override
+        public String toString() {
+            return _foreignKeyName + _columnMap + " -> " + _referencedTableName;
+        }
+
+        public String getForeignKeyName() {
+            return _foreignKeyName;
+        }
+
+        public String getReferencedTableName() {
+            return _referencedTableName;
+        }
+
+        public Map<String, String> getColumnMap() {
+            return Collections.unmodifiableMap(_columnMap);
+        }
+    }
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    protected GuiceSyntheticTable(String tableName, List<Column> columnList, List<ForeignKey> foreignKeyList) {
+        _tableName = tableName;
+        _columnList = Collections.unmodifiableList(columnList);
+        _foreignKeyList = Collections.unmodifiableList(foreignKeyList);
+    }
+
+    /**
+     * Load the table meta from the database metadata. (the table name is resolved ignoring case)
+     * @param metaData The metadata of the database. (NotNull)
+     * @param tableName The name of table. (NotNull)
+     * @return The loaded table meta. (NotNull)
+     * @throws SQLException When it fails to read the metadata.
+     */
+    public static GuiceSyntheticTable load(DatabaseMetaData metaData, String tableName) throws SQLException {
+        final String[] resolved = resolveTable(metaData, tableName); // catalog, schema, table
+        final String catalog = resolved[0];
+        final String schema = resolved[1];
+        final String realName = resolved[2];
+        final List<Column> columnList = new ArrayList<Column>();
+        try (ResultSet rs = metaData.getColumns(catalog, schema, realName, null)) {
+            while (rs.next()) {
+                final String autoIncrement = rs.getString("IS_AUTOINCREMENT");
+                final String generated = findGeneratedColumn(rs);
+                columnList.add(new Column(rs.getString("COLUMN_NAME"), rs.getInt("DATA_TYPE"), rs.getInt("COLUMN_SIZE"),
+                        rs.getInt("DECIMAL_DIGITS"), rs.getInt("NULLABLE") != DatabaseMetaData.columnNoNulls,
+                        "YES".equalsIgnoreCase(autoIncrement) || "YES".equalsIgnoreCase(generated)));
+            }
+        }
+        try (ResultSet rs = metaData.getPrimaryKeys(catalog, schema, realName)) {
+            while (rs.next()) {
+                final String pkColumnName = rs.getString("COLUMN_NAME");
+                for (Column column : columnList) {
+                    if (column._columnName.equals(pkColumnName)) {
+                        column._primaryKey = true;
+                    }
+                }
+            }
+        }
+        final Map<String, ForeignKey> foreignKeyMap = new LinkedHashMap<String, ForeignKey>();
+        try (ResultSet rs = metaData.getImportedKeys(catalog, schema, realName)) {
+            while (rs.next()) {
+                final String referencedTableName = rs.getString("PKTABLE_NAME");
+                final String fkName = rs.getString("FK_NAME");
+                final String key = fkName != null ? fkName : referencedTableName;
+                final ForeignKey foreignKey = foreignKeyMap.computeIfAbsent(key, k -> new ForeignKey(k, referencedTableName));
+                foreignKey._columnMap.put(rs.getString("FKCOLUMN_NAME"), rs.getString("PKCOLUMN_NAME"));
+            }
+        }
+        return new GuiceSyntheticTable(realName, columnList, new ArrayList<ForeignKey>(foreignKeyMap.values()));
+    }
+
+    protected static String[] resolveTable(DatabaseMetaData metaData, String tableName) throws SQLException {
+        for (String candidate : new String[] { tableName, tableName.toUpperCase(), tableName.toLowerCase() }) {
+            try (ResultSet rs = metaData.getTables(null, null, candidate, null)) {
+                if (rs.next()) {
+                    return new String[] { rs.getString("TABLE_CAT"), rs.getString("TABLE_SCHEM"), rs.getString("TABLE_NAME") };
+                }
+            }
+        }
+        String msg = "Not found the table in the database metadata: " + tableName;
+        throw new IllegalStateException(msg);
+    }
+
+    protected static String findGeneratedColumn(ResultSet rs) {
+        try {
+            return rs.getString("IS_GENERATEDCOLUMN"); // since JDBC 4.1
+        } catch (SQLException ignored) { // old driver
+            return null;
+        }
+    }
+
+    // ===================================================================================
+    //                                                                              Finder
+    //                                                                              ======
+    /**
+     * @param columnName The name of column, case-insensitive. (NotNull)
+     * @return The index of column in the column list. (minus if not found)
+     */
+    public int indexOfColumn(String columnName) {
+        for (int i = 0; i < _columnList.size(); i++) {
+            if (_columnList.get(i)._columnName.equalsIgnoreCase(columnName)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @param columnName The name of column, case-insensitive. (NotNull)
+     * @return The foreign key that contains the column. (NullAllowed: when not foreign key column)
+     */
+    public ForeignKey findForeignKey(String columnName) {
+        for (ForeignKey foreignKey : _foreignKeyList) {
+            for (String localColumnName : foreignKey._columnMap.keySet()) {
+                if (localColumnName.equalsIgnoreCase(columnName)) {
+                    return foreignKey;
+                }
+            }
+        }
+        return null;
+    }
+
+    // ===================================================================================
+    //                                                                      Basic Override
+    //                                                                      ==============
+    @Override
+    public String toString() {
+        return "table:{" + _tableName + ", " + _columnList + ", " + _foreignKeyList + "}";
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public String getTableName() {
+        return _tableName;
+    }
+
+    public List<Column> getColumnList() {
+        return _columnList;
+    }
+
+    public List<ForeignKey> getForeignKeyList() {
+        return _foreignKeyList;
+    }
+}
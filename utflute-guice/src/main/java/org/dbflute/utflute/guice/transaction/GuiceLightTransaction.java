@@ -0,0 +1,216 @@
+/*
+ * Copyright 2014-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.utflute.guice.transaction;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.transaction.HeuristicMixedException;
+import javax.transaction.RollbackException;
+import javax.transaction.Status;
+import javax.transaction.Synchronization;
+import javax.transaction.SystemException;
+import javax.transaction.Transaction;
+import javax.transaction.xa.XAResource;
+
+/**
+ * The transaction of {@link GuiceLightTransactionManager}, which has only one JDBC connection as resource. <br>
+ * It is bound to the thread that begins it, no log, no recovery and no XA (two-phase commit).
+ * @author jflute
+ * @since 0.9.9 (2026/10/18 Sunday)
+ */
+public class GuiceLightTransaction implements Transaction {
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final long _deadlineMillis; // zero means no timeout
+    protected int _status = Status.STATUS_ACTIVE;
+    protected Connection _connection; // null allowed: until data source enlists it
+    protected final List<Synchronization> _synchronizationList = new ArrayList<Synchronization>();
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    public GuiceLightTransaction(int timeoutSeconds) {
+        _deadlineMillis = timeoutSeconds > 0 ? System.currentTimeMillis() + timeoutSeconds * 1000L : 0L;
+    }
+
+    // ===================================================================================
+    //                                                                            Resource
+    //                                                                            ========
+    /**
+     * Enlist the JDBC connection as the only resource of the transaction. (called by data source)
+     * @param connection The physical connection, auto-commit is set to false here. (NotNull)
+     * @throws SQLException When it fails to set auto-commit.
+     */
+    public void enlistConnection(Connection connection) throws SQLException {
+        assertActive();
+        if (_connection != null) {
+            String msg = "The transaction already has the connection, single resource only: " + _connection;
+            throw new IllegalStateException(msg);
+        }
+        connection.setAutoCommit(false);
+        _connection = connection;
+    }
+
+    public Connection getConnection() {
+        return _connection;
+    }
+
+    @Override
+    public boolean enlistResource(XAResource xaRes) throws SystemException {
+        String msg = "XA resource is unsupported in the light transaction, use GuiceLightTransactionDataSource: " + xaRes;
+        throw new SystemException(msg);
+    }
+
+    @Override
+    public boolean delistResource(XAResource xaRes, int flag) throws SystemException {
+        return false; // no XA resource
+    }
+
+    // ===================================================================================
+    //                                                                          Completion
+    //                                                                          ==========
+    @Override
+    public void commit() throws RollbackException, HeuristicMixedException, SystemException {
+        assertActive();
+        if (_deadlineMillis > 0 && System.currentTimeMillis() > _deadlineMillis) {
+            _status = Status.STATUS_MARKED_ROLLBACK;
+        }
+        if (_status == Status.STATUS_ACTIVE) {
+            try {
+                for (Synchronization synchronization : new ArrayList<Synchronization>(_synchronizationList)) {
+                    synchronization.beforeCompletion();
+                }
+            } catch (RuntimeException e) { // cannot commit, and not to keep the connection
+                rollback();
+                final RollbackException rollbackEx = new RollbackException("Rolled back by failure before completion: " + e.getMessage());
+                rollbackEx.initCause(e);
+                throw rollbackEx;
+            }
+        }
+        if (_status == Status.STATUS_MARKED_ROLLBACK) {
+            rollback();
+            throw new RollbackException("The transaction was marked as roll-back only (or timed out).");
+        }
+        _status = Status.STATUS_COMMITTING;
+        boolean committed = false;
+        try {
+            if (_connection != null) {
+                _connection.commit();
+            }
+            _status = Status.STATUS_COMMITTED;
+            committed = true;
+        } catch (SQLException e) {
+            _status = Status.STATUS_ROLLEDBACK; // single resource so it is not committed
+            throw createSystemException("Failed to commit the connection.", e);
+        } finally {
+            complete(!committed);
+        }
+    }
+
+    @Override
+    public void rollback() throws SystemException {
+        if (_status != Status.STATUS_ACTIVE && _status != Status.STATUS_MARKED_ROLLBACK) {
+            String msg = "The transaction cannot be rolled back: status=" + _status;
+            throw new IllegalStateException(msg);
+        }
+        _status = Status.STATUS_ROLLING_BACK;
+        boolean rolledBack = false;
+        try {
+            if (_connection != null) {
+                _connection.rollback();
+            }
+            rolledBack = true;
+        } catch (SQLException e) {
+            throw createSystemException("Failed to roll back the connection.", e);
+        } finally {
+            _status = Status.STATUS_ROLLEDBACK;
+            complete(!rolledBack);
+        }
+    }
+
+    /**
+     * Complete the transaction, releasing the connection and calling afterCompletion() of synchronizations.
+     * @param failed Has the completion failed? (then the connection is rolled back before restoring auto-commit)
+     * @throws SystemException When it fails to release the connection, but the connection is closed anyway.
+     */
+    protected void complete(boolean failed) throws SystemException {
+        final Connection connection = _connection;
+        _connection = null;
+        try {
+            if (connection != null) {
+                releaseConnection(connection, failed);
+            }
+        } catch (SQLException e) {
+            throw createSystemException("Failed to release the connection.", e);
+        } finally {
+            for (Synchronization synchronization : _synchronizationList) {
+                synchronization.afterCompletion(_status);
+            }
+        }
+    }
+
+    protected void releaseConnection(Connection connection, boolean failed) throws SQLException {
+        try {
+            if (failed) { // restoring auto-commit commits pending work
+                connection.rollback(); // if it fails, auto-commit is not restored (closed with pending work)
+            }
+            connection.setAutoCommit(true); // for pool
+        } finally {
+            connection.close(); // always not to leak the connection
+        }
+    }
+
+    protected SystemException createSystemException(String msg, SQLException cause) {
+        final SystemException e = new SystemException(msg + " " + cause.getMessage());
+        e.initCause(cause);
+        return e;
+    }
+
+    // ===================================================================================
+    //                                                                              Status
+    //                                                                              ======
+    @Override
+    public int getStatus() {
+        return _status;
+    }
+
+    @Override
+    public void setRollbackOnly() {
+        assertActive();
+        _status = Status.STATUS_MARKED_ROLLBACK;
+    }
+
+    @Override
+    public void registerSynchronization(Synchronization sync) throws RollbackException {
+        if (_status == Status.STATUS_MARKED_ROLLBACK) {
+            throw new RollbackException("The transaction was marked as roll-back only.");
+        }
+        assertActive();
+        _synchronizationList.add(sync);
+    }
+
+    protected void assertActive() {
+        if (_status != Status.STATUS_ACTIVE && _status != Status.STATUS_MARKED_ROLLBACK) {
+            String msg = "The transaction is not active: status=" + _status;
+            throw new IllegalStateException(msg);
+        }
+    }
+}
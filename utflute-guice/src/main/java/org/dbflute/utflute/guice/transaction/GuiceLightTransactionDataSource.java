@@ -0,0 +1,151 @@
+/*
+ * Copyright 2014-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.utflute.guice.transaction;
+
+import java.io.PrintWriter;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.logging.Logger;
+
+import javax.sql.DataSource;
+
+/**
+ * The data source for {@link GuiceLightTransactionManager}, which enlists connections to the thread's transaction. <br>
+ * In transaction, the same connection is returned in the thread and its close(), commit(), rollback() and
+ * setAutoCommit() are ignored (the transaction completes it). Out of transaction, the real connection is returned.
+ * @author jflute
+ * @since 0.9.9 (2026/10/18 Sunday)
+ */
+public class GuiceLightTransactionDataSource implements DataSource {
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final DataSource _realDataSource; // not null
+    protected final GuiceLightTransactionManager _transactionManager; // not null
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    public GuiceLightTransactionDataSource(DataSource realDataSource, GuiceLightTransactionManager transactionManager) {
+        if (realDataSource == null) {
+            String msg = "The argument 'realDataSource' should not be null!";
+            throw new IllegalArgumentException(msg);
+        }
+        if (transactionManager == null) {
+            String msg = "The argument 'transactionManager' should not be null!";
+            throw new IllegalArgumentException(msg);
+        }
+        _realDataSource = realDataSource;
+        _transactionManager = transactionManager;
+    }
+
+    // ===================================================================================
+    //                                                                          Connection
+    //                                                                          ==========
+    @Override
+    public Connection getConnection() throws SQLException {
+        final GuiceLightTransaction transaction = _transactionManager.findActiveTransaction();
+        if (transaction == null) {
+            return _realDataSource.getConnection();
+        }
+        if (transaction.getConnection() == null) {
+            transaction.enlistConnection(_realDataSource.getConnection());
+        }
+        return createTransactionalConnection(transaction.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return getConnection(); // enlisted connection is only one
+    }
+
+    protected Connection createTransactionalConnection(Connection physical) {
+        final ClassLoader loader = GuiceLightTransactionDataSource.class.getClassLoader();
+        return (Connection) Proxy.newProxyInstance(loader, new Class<?>[] { Connection.class }, (proxy, method, args) -> {
+            final String methodName = method.getName();
+            if ("close".equals(methodName) || "commit".equals(methodName) || "setAutoCommit".equals(methodName)) {
+                return null; // completed by transaction
+            }
+            if ("rollback".equals(methodName) && (args == null || args.length == 0)) {
+                return null; // completed by transaction (to savepoint is allowed)
+            }
+            if ("isClosed".equals(methodName)) {
+                return physical.isClosed();
+            }
+            try {
+                return method.invoke(physical, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        });
+    }
+
+    // ===================================================================================
+    //                                                                         Data Source
+    //                                                                         ===========
+    @Override
+    public PrintWriter getLogWriter() throws SQLException {
+        return _realDataSource.getLogWriter();
+    }
+
+    @Override
+    public void setLogWriter(PrintWriter out) throws SQLException {
+        _realDataSource.setLogWriter(out);
+    }
+
+    @Override
+    public void setLoginTimeout(int seconds) throws SQLException {
+        _realDataSource.setLoginTimeout(seconds);
+    }
+
+    @Override
+    public int getLoginTimeout() throws SQLException {
+        return _realDataSource.getLoginTimeout();
+    }
+
+    @Override
+    public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+        return _realDataSource.getParentLogger();
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        if (iface.isInstance(this)) {
+            return iface.cast(this);
+        }
+        return _realDataSource.unwrap(iface);
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) throws SQLException {
+        return iface.isInstance(this) || _realDataSource.isWrapperFor(iface);
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public DataSource getRealDataSource() {
+        return _realDataSource;
+    }
+
+    public GuiceLightTransactionManager getTransactionManager() {
+        return _transactionManager;
+    }
+}
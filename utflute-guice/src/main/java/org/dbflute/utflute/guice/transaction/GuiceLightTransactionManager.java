@@ -0,0 +1,147 @@
+/*
+ * Copyright 2014-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.utflute.guice.transaction;
+
+import javax.transaction.HeuristicMixedException;
+import javax.transaction.InvalidTransactionException;
+import javax.transaction.NotSupportedException;
+import javax.transaction.RollbackException;
+import javax.transaction.Status;
+import javax.transaction.SystemException;
+import javax.transaction.Transaction;
+import javax.transaction.TransactionManager;
+import javax.transaction.UserTransaction;
+
+/**
+ * The lightweight in-process JTA transaction manager for tests. <br>
+ * The transaction is thread-bound and has single resource (JDBC connection of {@link GuiceLightTransactionDataSource}),
+ * so it writes no transaction log and starts no recovery thread. (also usable as UserTransaction) <br>
+ * Nested transaction is unsupported, suspend() and resume() are supported.
+ * @author jflute
+ * @since 0.9.9 (2026/10/18 Sunday)
+ */
+public class GuiceLightTransactionManager implements TransactionManager, UserTransaction {
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final ThreadLocal<GuiceLightTransaction> _transactionLocal = new ThreadLocal<GuiceLightTransaction>();
+    protected final ThreadLocal<Integer> _timeoutLocal = new ThreadLocal<Integer>();
+
+    // ===================================================================================
+    //                                                                               Begin
+    //                                                                               =====
+    @Override
+    public void begin() throws NotSupportedException, SystemException {
+        if (findActiveTransaction() != null) {
+            throw new NotSupportedException("Nested transaction is unsupported in the light transaction manager.");
+        }
+        final Integer timeout = _timeoutLocal.get();
+        _transactionLocal.set(new GuiceLightTransaction(timeout != null ? timeout : 0));
+    }
+
+    // ===================================================================================
+    //                                                                          Completion
+    //                                                                          ==========
+    @Override
+    public void commit() throws RollbackException, HeuristicMixedException, SystemException {
+        final GuiceLightTransaction transaction = getRequiredTransaction();
+        try {
+            transaction.commit();
+        } finally {
+            _transactionLocal.remove();
+        }
+    }
+
+    @Override
+    public void rollback() throws SystemException {
+        final GuiceLightTransaction transaction = getRequiredTransaction();
+        try {
+            transaction.rollback();
+        } finally {
+            _transactionLocal.remove();
+        }
+    }
+
+    @Override
+    public void setRollbackOnly() {
+        getRequiredTransaction().setRollbackOnly();
+    }
+
+    // ===================================================================================
+    //                                                                         Transaction
+    //                                                                         ===========
+    @Override
+    public int getStatus() {
+        final GuiceLightTransaction transaction = _transactionLocal.get();
+        return transaction != null ? transaction.getStatus() : Status.STATUS_NO_TRANSACTION;
+    }
+
+    @Override
+    public Transaction getTransaction() {
+        return _transactionLocal.get();
+    }
+
+    /**
+     * Find the active transaction of the current thread.
+     * @return The active transaction. (NullAllowed: when no transaction or completed)
+     */
+    public GuiceLightTransaction findActiveTransaction() {
+        final GuiceLightTransaction transaction = _transactionLocal.get();
+        if (transaction == null) {
+            return null;
+        }
+        final int status = transaction.getStatus();
+        return status == Status.STATUS_ACTIVE || status == Status.STATUS_MARKED_ROLLBACK ? transaction : null;
+    }
+
+    protected GuiceLightTransaction getRequiredTransaction() {
+        final GuiceLightTransaction transaction = _transactionLocal.get();
+        if (transaction == null) {
+            throw new IllegalStateException("No transaction in the current thread: " + Thread.currentThread());
+        }
+        return transaction;
+    }
+
+    @Override
+    public void setTransactionTimeout(int seconds) throws SystemException {
+        if (seconds < 0) {
+            throw new SystemException("The timeout should not be minus: " + seconds);
+        }
+        _timeoutLocal.set(seconds > 0 ? seconds : null); // zero means default (no timeout)
+    }
+
+    // ===================================================================================
+    //                                                                      Suspend/Resume
+    //                                                                      ==============
+    @Override
+    public Transaction suspend() {
+        final GuiceLightTransaction transaction = _transactionLocal.get();
+        _transactionLocal.remove();
+        return transaction;
+    }
+
+    @Override
+    public void resume(Transaction tobj) throws InvalidTransactionException {
+        if (!(tobj instanceof GuiceLightTransaction)) {
+            throw new InvalidTransactionException("The transaction is not light transaction: " + tobj);
+        }
+        if (_transactionLocal.get() != null) {
+            throw new IllegalStateException("The thread already has transaction: " + _transactionLocal.get());
+        }
+        _transactionLocal.set((GuiceLightTransaction) tobj);
+    }
+}
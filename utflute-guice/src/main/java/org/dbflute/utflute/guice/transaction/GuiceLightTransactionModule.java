@@ -0,0 +1,57 @@
+/*
+ * Copyright 2014-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.utflute.guice.transaction;
+
+import javax.sql.DataSource;
+import javax.transaction.TransactionManager;
+import javax.transaction.UserTransaction;
+
+import com.google.inject.AbstractModule;
+
+/**
+ * The module of light transaction, binding TransactionManager, UserTransaction and DataSource. <br>
+ * Use this instead of the module of full JTA implementation (e.g. Atomikos) for quick startup and transaction.
+ * <pre>
+ * &#64;Override
+ * protected List&lt;Module&gt; prepareModuleList() {
+ *     final List&lt;Module&gt; moduleList = super.prepareModuleList();
+ *     moduleList.add(new GuiceLightTransactionModule(realDataSource)); // e.g. connection pool
+ *     ...
+ * }
+ * </pre>
+ * @author jflute
+ * @since 0.9.9 (2026/10/18 Sunday)
+ */
+public class GuiceLightTransactionModule extends AbstractModule {
+
+    protected final DataSource _realDataSource;
+
+    public GuiceLightTransactionModule(DataSource realDataSource) {
+        if (realDataSource == null) {
+            String msg = "The argument 'realDataSource' should not be null!";
+            throw new IllegalArgumentException(msg);
+        }
+        _realDataSource = realDataSource;
+    }
+
+    @Override
+    protected void configure() {
+        final GuiceLightTransactionManager transactionManager = new GuiceLightTransactionManager();
+        bind(TransactionManager.class).toInstance(transactionManager);
+        bind(UserTransaction.class).toInstance(transactionManager);
+        bind(DataSource.class).toInstance(new GuiceLightTransactionDataSource(_realDataSource, transactionManager));
+    }
+}
@@ -0,0 +1,213 @@
+/*
+ * Copyright 2014-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.utflute.guice.transaction;
+
+import java.io.PrintWriter;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Savepoint;
+import java.util.logging.Logger;
+
+import javax.sql.DataSource;
+
+/**
+ * The data source for savepoint transaction mode, which has one long-lived physical transaction. <br>
+ * All connections from this data source share the physical connection (auto-commit false),
+ * and each test runs inside a JDBC savepoint rolled back at tear-down,
+ * so per-test transaction cost is only one savepoint round-trip. <br>
+ * Bind it instead of the real data source in your module:
+ * <pre>
+ * bind(DataSource.class).toInstance(new GuiceSavepointDataSource(realDataSource));
+ * </pre>
+ * The transaction is managed by the test case so close(), commit(), rollback() and setAutoCommit()
+ * of the shared connection are ignored. It is for single-thread tests. (thread-fire shares the connection) <br>
+ * The physical transaction is rolled back and closed when the container is destroyed (as AutoCloseable).
+ * @author jflute
+ * @since 0.9.9 (2026/10/18 Sunday)
+ */
+public class GuiceSavepointDataSource implements DataSource, AutoCloseable {
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final DataSource _realDataSource; // not null
+    protected Connection _physicalConnection; // null allowed: lazy-loaded, guarded by this
+    protected Connection _sharedConnection; // null allowed: proxy of physical one, guarded by this
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    public GuiceSavepointDataSource(DataSource realDataSource) {
+        if (realDataSource == null) {
+            String msg = "The argument 'realDataSource' should not be null!";
+            throw new IllegalArgumentException(msg);
+        }
+        _realDataSource = realDataSource;
+    }
+
+    // ===================================================================================
+    //                                                                           Savepoint
+    //                                                                           =========
+    /**
+     * Begin the savepoint transaction in the physical transaction.
+     * @return The resource of savepoint transaction to roll back at tear-down. (NotNull)
+     * @throws SQLException When it fails to open the physical connection or to set savepoint.
+     */
+    public synchronized GuiceSavepointTransactionResource beginSavepoint() throws SQLException {
+        final Savepoint savepoint = preparePhysicalConnection().setSavepoint();
+        return new GuiceSavepointTransactionResource(this, savepoint);
+    }
+
+    protected synchronized void rollbackToSavepoint(Savepoint savepoint) throws SQLException {
+        assertPhysicalConnectionActive();
+        _physicalConnection.rollback(savepoint);
+        releaseSavepointQuietly(savepoint);
+    }
+
+    protected synchronized void releaseSavepoint(Savepoint savepoint) throws SQLException {
+        assertPhysicalConnectionActive();
+        _physicalConnection.releaseSavepoint(savepoint); // changes are kept in the physical transaction
+    }
+
+    protected void releaseSavepointQuietly(Savepoint savepoint) {
+        try {
+            _physicalConnection.releaseSavepoint(savepoint);
+        } catch (SQLException ignored) { // e.g. released by rollback on some databases
+        }
+    }
+
+    protected void assertPhysicalConnectionActive() {
+        if (_physicalConnection == null) {
+            String msg = "The physical connection was already closed, the container may be destroyed.";
+            throw new IllegalStateException(msg);
+        }
+    }
+
+    // ===================================================================================
+    //                                                                 Physical Connection
+    //                                                                 ===================
+    protected synchronized Connection preparePhysicalConnection() throws SQLException {
+        if (_physicalConnection == null) {
+            final Connection physical = _realDataSource.getConnection();
+            physical.setAutoCommit(false);
+            _physicalConnection = physical;
+            _sharedConnection = createSharedConnection(physical);
+        }
+        return _physicalConnection;
+    }
+
+    protected Connection createSharedConnection(Connection physical) {
+        final ClassLoader loader = GuiceSavepointDataSource.class.getClassLoader();
+        return (Connection) Proxy.newProxyInstance(loader, new Class<?>[] { Connection.class }, (proxy, method, args) -> {
+            final String methodName = method.getName();
+            if ("close".equals(methodName) || "commit".equals(methodName) || "setAutoCommit".equals(methodName)) {
+                return null; // managed by test case
+            }
+            if ("rollback".equals(methodName) && (args == null || args.length == 0)) {
+                return null; // whole roll-back is managed by test case (to savepoint is allowed)
+            }
+            if ("isClosed".equals(methodName)) {
+                return false;
+            }
+            try {
+                return method.invoke(physical, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        });
+    }
+
+    /**
+     * Roll back the physical transaction and close the connection. (called when container is destroyed)
+     * @throws SQLException When it fails to roll back or close.
+     */
+    @Override
+    public synchronized void close() throws SQLException {
+        if (_physicalConnection == null) {
+            return;
+        }
+        final Connection physical = _physicalConnection;
+        _physicalConnection = null;
+        _sharedConnection = null;
+        try {
+            physical.rollback();
+        } finally {
+            physical.close();
+        }
+    }
+
+    // ===================================================================================
+    //                                                                         Data Source
+    //                                                                         ===========
+    @Override
+    public synchronized Connection getConnection() throws SQLException {
+        preparePhysicalConnection();
+        return _sharedConnection;
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return getConnection(); // shared connection only
+    }
+
+    @Override
+    public PrintWriter getLogWriter() throws SQLException {
+        return _realDataSource.getLogWriter();
+    }
+
+    @Override
+    public void setLogWriter(PrintWriter out) throws SQLException {
+        _realDataSource.setLogWriter(out);
+    }
+
+    @Override
+    public void setLoginTimeout(int seconds) throws SQLException {
+        _realDataSource.setLoginTimeout(seconds);
+    }
+
+    @Override
+    public int getLoginTimeout() throws SQLException {
+        return _realDataSource.getLoginTimeout();
+    }
+
+    @Override
+    public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+        return _realDataSource.getParentLogger();
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        if (iface.isInstance(this)) {
+            return iface.cast(this);
+        }
+        return _realDataSource.unwrap(iface);
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) throws SQLException {
+        return iface.isInstance(this) || _realDataSource.isWrapperFor(iface);
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public DataSource getRealDataSource() {
+        return _realDataSource;
+    }
+}
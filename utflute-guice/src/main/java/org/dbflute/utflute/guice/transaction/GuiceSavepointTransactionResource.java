@@ -0,0 +1,63 @@
+/*
+ * Copyright 2014-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.utflute.guice.transaction;
+
+import java.sql.SQLException;
+import java.sql.Savepoint;
+
+import org.dbflute.utflute.core.transaction.TransactionFailureException;
+import org.dbflute.utflute.core.transaction.TransactionResource;
+
+/**
+ * The transaction resource of savepoint in the long-lived physical transaction. <br>
+ * Roll-back restores the savepoint, and commit releases it (changes are kept until the container is destroyed).
+ * @author jflute
+ * @since 0.9.9 (2026/10/18 Sunday)
+ */
+public class GuiceSavepointTransactionResource implements TransactionResource {
+
+    protected final GuiceSavepointDataSource _dataSource;
+    protected final Savepoint _savepoint;
+
+    public GuiceSavepointTransactionResource(GuiceSavepointDataSource dataSource, Savepoint savepoint) {
+        _dataSource = dataSource;
+        _savepoint = savepoint;
+    }
+
+    public void commit() {
+        try {
+            _dataSource.releaseSavepoint(_savepoint);
+        } catch (SQLException e) {
+            throw new TransactionFailureException("Failed to release the savepoint.", e);
+        }
+    }
+
+    public void rollback() {
+        try {
+            _dataSource.rollbackToSavepoint(_savepoint);
+        } catch (SQLException e) {
+            throw new TransactionFailureException("Failed to roll-back to the savepoint.", e);
+        }
+    }
+
+    public GuiceSavepointDataSource getDataSource() {
+        return _dataSource;
+    }
+
+    public Savepoint getSavepoint() {
+        return _savepoint;
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2014-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.utflute.guice.transaction;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.transaction.Status;
+import javax.transaction.Transaction;
+
+/**
+ * The registry of worker transactions, each worker thread (including virtual thread) has its own transaction. <br>
+ * The transactions are suspended from the worker threads after each task, kept open until tear-down,
+ * and rolled back there by the test thread. (thread-safe)
+ * @author jflute
+ * @since 0.9.9 (2026/10/18 Sunday)
+ */
+public class GuiceWorkerTransactionRegistry {
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    /** The map of worker transaction keyed by worker thread. (NotNull) */
+    protected final Map<Thread, Transaction> _transactionMap = new ConcurrentHashMap<Thread, Transaction>();
+
+    /** Is the registry closed by roll-back? (no more registration) */
+    protected volatile boolean _closed;
+
+    // ===================================================================================
+    //                                                                            Register
+    //                                                                            ========
+    /**
+     * Find the transaction of the worker thread.
+     * @param worker The worker thread. (NotNull)
+     * @return The transaction of the worker. (NullAllowed: when not registered)
+     */
+    public Transaction find(Thread worker) {
+        return _transactionMap.get(worker);
+    }
+
+    /**
+     * Register the transaction of the worker thread.
+     * @param worker The worker thread. (NotNull)
+     * @param transaction The transaction begun by the worker. (NotNull)
+     * @throws IllegalStateException When the registry is already closed. (e.g. worker after tear-down)
+     */
+    public void register(Thread worker, Transaction transaction) {
+        if (_closed) {
+            String msg = "The worker transaction registry is already closed (after tear-down): " + worker;
+            throw new IllegalStateException(msg);
+        }
+        _transactionMap.put(worker, transaction);
+    }
+
+    // ===================================================================================
+    //                                                                           Roll-back
+    //                                                                           =========
+    /**
+     * Roll back all worker transactions and close the registry. <br>
+     * Workers should have finished their tasks before this.
+     * @return The list of failures in roll-back. (NotNull, EmptyAllowed)
+     */
+    public List<Throwable> rollbackAll() {
+        _closed = true;
+        final List<Throwable> failureList = new ArrayList<Throwable>();
+        for (Transaction transaction : _transactionMap.values()) {
+            try {
+                final int status = transaction.getStatus();
+                if (status == Status.STATUS_ACTIVE || status == Status.STATUS_MARKED_ROLLBACK) {
+                    transaction.rollback();
+                }
+            } catch (Exception e) {
+                failureList.add(e);
+            }
+        }
+        _transactionMap.clear();
+        return failureList;
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public int size() {
+        return _transactionMap.size();
+    }
+
+    public boolean isClosed() {
+        return _closed;
+    }
+}
@@ -15,7 +15,10 @@
  */
 package org.dbflute.utflute.guice;
 
+import java.util.Collections;
 import java.util.List;
+import java.util.Set;
+import java.util.WeakHashMap;
 
 import javax.sql.DataSource;
 import javax.transaction.SystemException;
@@ -42,6 +45,23 @@ import com.google.inject.Module;
  */
 public abstract class MockUnitTestCase extends ContainerTestCase {
 
+    /** The Atomikos components closed by the container disposer, weak not to keep them. (NotNull) */
+    protected static final Set<Object> _closedAtomikosSet = Collections.synchronizedSet(Collections.newSetFromMap(new WeakHashMap<Object, Boolean>()));
+
+    static { // Atomikos components are not AutoCloseable, so close them when the container is destroyed
+        registerContainerDisposer(component -> {
+            if (component instanceof UserTransactionManager) {
+                ((UserTransactionManager) component).close();
+            } else if (component instanceof AtomikosNonXADataSourceBean) {
+                ((AtomikosNonXADataSourceBean) component).close();
+            } else {
+                return false;
+            }
+            _closedAtomikosSet.add(component);
+            return true;
+        });
+    }
+
     @Override
     protected List<Module> prepareModuleList() {
         final List<Module> moduleList = super.prepareModuleList();
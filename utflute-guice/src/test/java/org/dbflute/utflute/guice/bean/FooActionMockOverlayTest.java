@@ -0,0 +1,107 @@
+/*
+ * Copyright 2014-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.utflute.guice.bean;
+
+import org.dbflute.utflute.guice.MockUnitTestCase;
+
+import com.google.inject.Injector;
+
+/**
+ * @author jflute
+ * @since 0.9.9 (2026/10/18 Sunday)
+ */
+public class FooActionMockOverlayTest extends MockUnitTestCase {
+
+    private static final MockFooService _sharedService = new MockFooService();
+    private static Injector _sharedOverlayInjector;
+
+    @Override
+    protected boolean isUseMockOverlayContainer() {
+        return true;
+    }
+
+    public void test_inject_mockInstance_deep() throws Exception {
+        // ## Arrange ##
+        FooAction action = new FooAction();
+        MockFooService service = new MockFooService();
+        registerMockInstance(service);
+
+        // ## Act ##
+        inject(action);
+
+        // ## Assert ##
+        log(action.fooLogic.fooService);
+        assertSame(service, action.fooLogic.fooService); // deep in the graph
+        assertSame(service, action.fooLogic.fooHelper);
+        assertSame(service, getComponent(FooLogic.class).getFooService());
+        assertNotNull(action.fooLogic.getTransactionManager());
+    }
+
+    public void test_inject_mockInstance_restored() throws Exception {
+        // ## Arrange ##
+        FooAction action = new FooAction();
+
+        // ## Act ##
+        inject(action);
+
+        // ## Assert ##
+        assertNotNull(action.fooLogic.fooService);
+        assertFalse(action.fooLogic.fooService instanceof MockFooService); // not inherit previous test
+    }
+
+    public void test_overlay_recycled_bySameMocks_first() throws Exception {
+        assertOverlayRecycled();
+    }
+
+    public void test_overlay_recycled_bySameMocks_second() throws Exception {
+        assertOverlayRecycled();
+    }
+
+    protected void assertOverlayRecycled() {
+        // ## Arrange ##
+        registerMockInstance(_sharedService);
+
+        // ## Act ##
+        Injector overlayInjector = getComponent(Injector.class);
+
+        // ## Assert ##
+        assertSame(_sharedService, getComponent(FooLogic.class).getFooService());
+        if (_sharedOverlayInjector == null) {
+            _sharedOverlayInjector = overlayInjector;
+        } else { // cached by the same mock instance
+            assertSame(_sharedOverlayInjector, overlayInjector);
+        }
+    }
+
+    public void test_overlay_rebuilt_byOtherMocks() throws Exception {
+        // ## Arrange ##
+        MockFooService first = new MockFooService();
+        registerMockInstance(first);
+        Injector firstInjector = getComponent(Injector.class);
+        MockFooService second = new MockFooService();
+
+        // ## Act ##
+        registerMockInstance(second); // latter is prior
+
+        // ## Assert ##
+        Injector secondInjector = getComponent(Injector.class);
+        assertNotSame(firstInjector, secondInjector);
+        assertSame(second, getComponent(FooLogic.class).getFooService());
+    }
+
+    public static class MockFooService extends FooService {
+    }
+}
@@ -15,9 +15,16 @@
  */
 package org.dbflute.utflute.guice.bean;
 
+import java.util.Arrays;
+
 import org.dbflute.utflute.guice.MockUnitTestCase;
+import org.dbflute.utflute.guice.container.GuiceComponentIndex;
 import org.dbflute.utflute.guice.dbflute.exbhv.FooBhv;
 
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+import com.google.inject.Key;
+
 /**
  * @author jflute
  * @since 0.4.0 (2014/03/16 Sunday)
@@ -150,4 +157,77 @@ public class FooActionTest extends MockUnitTestCase {
         assertNull(facade.transactionManager);
         assertNull(facade.fooService); // different
     }
+
+    public void test_injectAll_basic() throws Exception {
+        // ## Arrange ##
+        FooAction action = new FooAction();
+        FooFacade facade = new FooFacade();
+
+        // ## Act ##
+        injectAll(Arrays.asList(action, facade));
+
+        // ## Assert ##
+        assertNotNull(action.fooBhv);
+        assertNotNull(action.fooLogic);
+        assertNull(action.transactionManager);
+        assertNotNull(facade.myBehaviorInstance());
+        assertNotNull(facade.superBehaviorInstance());
+        assertNull(facade.fooService); // same as inject()
+    }
+
+    public void test_inject_unboundField_notInjected() throws Exception {
+        // ## Arrange ##
+        UnboundHolder holder = new UnboundHolder();
+
+        // ## Act ##
+        inject(holder); // no exception
+
+        // ## Assert ##
+        assertNull(holder.unboundFacade); // abstract and not bound so skipped
+        assertNotNull(holder.fooLogic); // others are injected
+    }
+
+    public static class UnboundHolder {
+
+        @com.google.inject.Inject
+        protected FooBaseFacade unboundFacade;
+
+        @com.google.inject.Inject
+        protected FooLogic fooLogic;
+    }
+
+    public void test_hasComponent_byType() throws Exception {
+        assertTrue(hasComponent(FooLogic.class)); // explicit binding
+        assertTrue(hasComponent(FooController.class)); // interface bound to instance
+        assertTrue(hasComponent(FooAction.class)); // just-in-time binding
+        assertFalse(hasComponent(FooBaseFacade.class)); // abstract and not bound
+        assertSame(getComponent(FooLogic.class), getComponent(FooLogic.class));
+    }
+
+    public void test_hasComponent_justInTime_unsatisfied() throws Exception {
+        assertFalse(hasComponent(UnsatisfiedComponent.class)); // constructor dependency is not bound
+        assertFalse(hasComponent(UnsatisfiedComponent.class)); // cached
+    }
+
+    public static class UnsatisfiedComponent {
+
+        @com.google.inject.Inject
+        public UnsatisfiedComponent(FooBaseFacade facade) {
+        }
+    }
+
+    public void test_hasComponent_justInTime_requireExplicitBindings() throws Exception {
+        // ## Arrange ##
+        Injector injector = Guice.createInjector(binder -> {
+            binder.requireExplicitBindings();
+            binder.bind(FooLogic.class).toInstance(new FooLogic());
+        });
+
+        // ## Act ##
+        GuiceComponentIndex index = new GuiceComponentIndex(injector);
+
+        // ## Assert ##
+        assertTrue(index.hasComponent(Key.get(FooLogic.class)));
+        assertFalse(index.hasComponent(Key.get(FooAction.class))); // structurally just-in-time but not allowed
+    }
 }
@@ -0,0 +1,63 @@
+/*
+ * Copyright 2014-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.utflute.guice.container;
+
+import java.util.List;
+
+import org.dbflute.utflute.guice.ContainerTestCase;
+
+import com.google.inject.Binder;
+import com.google.inject.Module;
+import com.google.inject.name.Names;
+
+/**
+ * @author jflute
+ * @since 0.9.9 (2026/10/18 Sunday)
+ */
+public class ComponentByNameTest extends ContainerTestCase {
+
+    @Override
+    protected List<Module> prepareModuleList() {
+        final List<Module> moduleList = super.prepareModuleList();
+        moduleList.add(new ByNameModule());
+        return moduleList;
+    }
+
+    public static class ByNameModule implements Module {
+
+        public void configure(Binder binder) {
+            binder.bind(String.class).annotatedWith(Names.named("byName")).toInstance("sea");
+            binder.bind(Integer.class).annotatedWith(Names.named("ambiguous")).toInstance(1);
+            binder.bind(Long.class).annotatedWith(Names.named("ambiguous")).toInstance(2L);
+        }
+    }
+
+    public void test_getComponent_byName() throws Exception {
+        assertEquals("sea", getComponent("byName"));
+        assertTrue(hasComponent("byName"));
+        assertFalse(hasComponent("none"));
+    }
+
+    public void test_getComponent_byName_ambiguous() throws Exception {
+        assertTrue(hasComponent("ambiguous"));
+        try {
+            getComponent("ambiguous");
+            fail();
+        } catch (IllegalStateException e) {
+            log(e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright 2014-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.utflute.guice.fixture;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.dbflute.utflute.guice.MockUnitTestCase;
+
+/**
+ * @author jflute
+ * @since 0.9.9 (2026/10/18 Sunday)
+ */
+public class FixtureLoadTest extends MockUnitTestCase {
+
+    protected long _mappedThreshold = GuiceFixtureReader.DEFAULT_MAPPED_THRESHOLD;
+
+    @Override
+    public void setUp() throws Exception {
+        super.setUp();
+        Connection conn = getDataSource().getConnection();
+        try {
+            Statement st = conn.createStatement();
+            st.execute("create local temporary table if not exists FIXTURE_TEST" // in transaction
+                    + " (ID int primary key, NAME varchar(100), BIRTHDATE date) transactional");
+            st.execute("delete from FIXTURE_TEST");
+        } finally {
+            conn.close();
+        }
+    }
+
+    @Override
+    protected long prepareFixtureMappedThreshold() {
+        return _mappedThreshold;
+    }
+
+    public void test_loadFixture_tsv() throws Exception {
+        // ## Arrange ##
+        // ## Act ##
+        int count = loadFixture("fixture/FIXTURE_TEST.tsv");
+
+        // ## Assert ##
+        assertEquals(3, count);
+        List<String> rowList = selectRowList();
+        log(rowList);
+        assertEquals(3, rowList.size());
+        assertEquals("1|stojkovic|1965-03-03", rowList.get(0));
+        assertEquals("2|pixy|null", rowList.get(1)); // empty cell is null
+    }
+
+    public void test_loadFixture_csv_mapped() throws Exception {
+        // ## Arrange ##
+        _mappedThreshold = 0; // streamed by memory-mapping
+
+        // ## Act ##
+        int count = loadFixture("FIXTURE_TEST", "/fixture/fixture-test.csv");
+
+        // ## Assert ##
+        assertEquals(2, count);
+        List<String> rowList = selectRowList();
+        log(rowList);
+        assertEquals("1|dragan, \"pixy\"|1965-03-03", rowList.get(0));
+        assertEquals("2|two\r\nlines|null", rowList.get(1));
+    }
+
+    public void test_loadFixture_cached() throws Exception {
+        // ## Arrange ##
+        loadFixture("fixture/FIXTURE_TEST.tsv");
+        int cachedSize = xgetFixtureCache().size();
+        Connection conn = getDataSource().getConnection();
+        try {
+            conn.createStatement().execute("delete from FIXTURE_TEST");
+        } finally {
+            conn.close();
+        }
+
+        // ## Act ##
+        int count = loadFixture("fixture/FIXTURE_TEST.tsv");
+
+        // ## Assert ##
+        assertEquals(3, count);
+        assertTrue(cachedSize > 0);
+        assertEquals(cachedSize, xgetFixtureCache().size()); // reused
+    }
+
+    protected List<String> selectRowList() throws Exception {
+        List<String> rowList = new ArrayList<String>();
+        Connection conn = getDataSource().getConnection();
+        try {
+            ResultSet rs = conn.createStatement().executeQuery("select ID, NAME, BIRTHDATE from FIXTURE_TEST order by ID");
+            while (rs.next()) {
+                rowList.add(rs.getInt(1) + "|" + rs.getString(2) + "|" + rs.getDate(3));
+            }
+        } finally {
+            conn.close();
+        }
+        return rowList;
+    }
+}
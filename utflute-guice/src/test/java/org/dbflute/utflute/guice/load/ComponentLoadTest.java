@@ -0,0 +1,117 @@
+/*
+ * Copyright 2014-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.utflute.guice.load;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.dbflute.utflute.guice.MockUnitTestCase;
+import org.dbflute.utflute.guice.bean.FooLogic;
+
+/**
+ * @author jflute
+ * @since 0.9.9 (2026/10/18 Sunday)
+ */
+public class ComponentLoadTest extends MockUnitTestCase {
+
+    @Override
+    protected int prepareBenchmarkWarmUpIterations() {
+        return 2;
+    }
+
+    @Override
+    protected int prepareBenchmarkMeasurementIterations() {
+        return 5;
+    }
+
+    @Override
+    protected long prepareBenchmarkIterationMillis() {
+        return 20L;
+    }
+
+    public void test_runLoad_callCount() throws Exception {
+        // ## Arrange ##
+        AtomicInteger counter = new AtomicInteger();
+
+        // ## Act ##
+        GuiceLoadResult result = runLoad(FooLogic.class, 4, 2000, logic -> {
+            logic.behaviorToString();
+            counter.incrementAndGet();
+        });
+
+        // ## Assert ##
+        assertEquals(2000, result.getCallCount());
+        assertEquals(2000, counter.get());
+        assertLoadNoError(result);
+        assertTrue(result.getP50Nanos() <= result.getP99Nanos());
+        assertTrue(result.getP99Nanos() <= result.getP999Nanos());
+        assertLoadPercentileLessThan(result, 50.0, 1000);
+    }
+
+    public void test_runLoadDuration_error() throws Exception {
+        // ## Arrange ##
+        // ## Act ##
+        GuiceLoadResult result = runLoadDuration(FooLogic.class, 2, 50, logic -> {
+            throw new IllegalStateException("load error");
+        });
+
+        // ## Assert ##
+        assertTrue(result.getCallCount() > 0);
+        assertEquals(result.getCallCount(), result.getErrorCount());
+        assertTrue(result.getFirstError() instanceof IllegalStateException);
+    }
+
+    public void test_benchmark_assertFasterThan() throws Exception {
+        // ## Arrange ##
+        FooLogic logic = getComponent(FooLogic.class);
+
+        // ## Act ##
+        GuiceBenchmarkResult cheap = benchmark(FooLogic.class, component -> component.behaviorToString());
+        GuiceBenchmarkResult heavy = benchmark("heavy", logic, component -> {
+            StringBuilder sb = new StringBuilder();
+            for (int i = 0; i < 1000; i++) {
+                sb.append(component.behaviorToString());
+            }
+            return sb.toString();
+        });
+
+        // ## Assert ##
+        assertEquals("FooLogic", cheap.getName());
+        assertEquals(5, cheap.getScores().length);
+        assertTrue(cheap.getMean() > 0);
+        assertTrue(cheap.getConfidenceLower() <= cheap.getMean());
+        assertFasterThan(cheap, heavy);
+        assertFalse(heavy.isFasterThan(cheap));
+    }
+
+    public void test_histogram_percentile() throws Exception {
+        // ## Arrange ##
+        GuiceLatencyHistogram histogram = new GuiceLatencyHistogram();
+
+        // ## Act ##
+        for (long i = 1; i <= 1000; i++) {
+            histogram.record(i * 1000L); // 1us to 1ms
+        }
+
+        // ## Assert ##
+        assertEquals(1000, histogram.getTotalCount());
+        assertEquals(1000L, histogram.getMinNanos());
+        assertEquals(1000000L, histogram.getMaxNanos());
+        long p50 = histogram.getPercentileNanos(50.0);
+        assertTrue(String.valueOf(p50), Math.abs(p50 - 500000L) <= 500000L * 2 / 100); // 2% precision
+        long p99 = histogram.getPercentileNanos(99.0);
+        assertTrue(String.valueOf(p99), Math.abs(p99 - 990000L) <= 990000L * 2 / 100);
+    }
+}
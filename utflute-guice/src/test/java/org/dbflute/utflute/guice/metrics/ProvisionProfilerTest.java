@@ -0,0 +1,103 @@
+/*
+ * Copyright 2014-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.utflute.guice.metrics;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.dbflute.utflute.guice.MockUnitTestCase;
+
+import com.google.inject.Guice;
+import com.google.inject.Inject;
+import com.google.inject.Injector;
+import com.google.inject.Key;
+import com.google.inject.Module;
+
+/**
+ * @author jflute
+ * @since 0.9.9 (2026/10/18 Sunday)
+ */
+public class ProvisionProfilerTest extends MockUnitTestCase {
+
+    @Override
+    protected List<Module> prepareModuleList() {
+        final List<Module> moduleList = super.prepareModuleList();
+        moduleList.add(binder -> {
+            binder.bind(ProfiledParent.class);
+            binder.bind(ProfiledChild.class);
+        });
+        return moduleList;
+    }
+
+    @Override
+    protected boolean isUseProvisionProfiler() {
+        return true;
+    }
+
+    public void test_profile_dependencyChain() throws Exception {
+        // ## Arrange ##
+        GuiceProvisionProfiler profiler = getComponent(GuiceProvisionProfiler.class);
+
+        // ## Act ##
+        ProfiledParent parent = getComponent(ProfiledParent.class);
+
+        // ## Assert ##
+        assertNotNull(parent.child);
+        assertTrue(profiler.getProvisionCount(Key.get(ProfiledParent.class)) >= 1L);
+        assertTrue(profiler.getProvisionCount(Key.get(ProfiledChild.class)) >= 1L);
+        assertEquals("ProfiledParent -> ProfiledChild", profiler.getDependencyChain(Key.get(ProfiledChild.class)));
+        String report = profiler.buildReport();
+        log(report);
+        assertTrue(report.contains("constructor"));
+    }
+
+    public void test_reportIfNeeds_byLogger() throws Exception {
+        // ## Arrange ##
+        List<String> reportList = new ArrayList<String>();
+        GuiceProvisionProfiler profiler = new GuiceProvisionProfiler(5) {
+            @Override
+            protected void logReport(String report) {
+                reportList.add(report);
+            }
+        };
+        Injector injector = Guice.createInjector(profiler);
+        injector.getInstance(ProfiledParent.class);
+
+        // ## Act ##
+        profiler.reportIfNeeds();
+        profiler.reportIfNeeds(); // no provision after the report
+
+        // ## Assert ##
+        assertEquals(1, reportList.size());
+        assertTrue(reportList.get(0).contains("ProfiledParent"));
+        injector.getInstance(ProfiledParent.class);
+        profiler.reportIfNeeds();
+        assertEquals(2, reportList.size());
+    }
+
+    public static class ProfiledParent {
+
+        protected final ProfiledChild child;
+
+        @Inject
+        public ProfiledParent(ProfiledChild child) {
+            this.child = child;
+        }
+    }
+
+    public static class ProfiledChild {
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2014-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.utflute.guice.metrics;
+
+import org.dbflute.utflute.guice.MockUnitTestCase;
+
+/**
+ * @author jflute
+ * @since 0.9.9 (2026/10/18 Sunday)
+ */
+public class ResourceUsageTest extends MockUnitTestCase {
+
+    private static final int ARRAY_SIZE = 4 * 1024 * 1024;
+    private static volatile Object _sink; // not to eliminate the allocation
+
+    @Override
+    protected boolean isUseTestResourceUsageReport() {
+        return true;
+    }
+
+    public void test_measureResourceUsage_allocatedArray() throws Exception {
+        // ## Arrange ##
+        // ## Act ##
+        GuiceResourceUsage usage = measureResourceUsage("byte array", () -> {
+            _sink = new byte[ARRAY_SIZE];
+        });
+
+        // ## Assert ##
+        assertTrue(usage.getWallNanos() > 0L);
+        if (!usage.isAllocationSupported()) {
+            log("*Allocation measurement is not supported in the JVM");
+            return;
+        }
+        assertTrue("allocated=" + usage.getAllocatedBytes(), usage.getAllocatedBytes() >= ARRAY_SIZE);
+    }
+
+    public void test_measureResourceUsage_cpuTime() throws Exception {
+        // ## Arrange ##
+        // ## Act ##
+        GuiceResourceUsage usage = measureResourceUsage("busy loop", () -> {
+            final long before = System.nanoTime();
+            long sum = 0L;
+            while (System.nanoTime() - before < 20_000_000L) { // 20ms
+                sum += System.nanoTime() % 7;
+            }
+            _sink = sum;
+        });
+
+        // ## Assert ##
+        assertTrue(usage.getWallNanos() >= 20_000_000L);
+        if (!usage.isCpuTimeSupported()) {
+            log("*CPU time measurement is not supported in the JVM");
+            return;
+        }
+        assertTrue("cpu=" + usage.getCpuNanos(), usage.getCpuNanos() > 0L);
+    }
+
+    public void test_assertAllocatedLessThan_within() throws Exception {
+        if (!isAllocationSupported()) {
+            return;
+        }
+        assertAllocatedLessThan(ARRAY_SIZE * 4L, () -> {
+            _sink = new byte[ARRAY_SIZE];
+        });
+    }
+
+    public void test_assertAllocatedLessThan_exceeded() throws Exception {
+        if (!isAllocationSupported()) {
+            return;
+        }
+        // ## Arrange ##
+        String failureMessage = null;
+
+        // ## Act ##
+        try {
+            assertAllocatedLessThan(ARRAY_SIZE / 4L, () -> {
+                _sink = new byte[ARRAY_SIZE];
+            });
+        } catch (AssertionError e) {
+            failureMessage = e.getMessage();
+        }
+
+        // ## Assert ##
+        log(failureMessage);
+        assertNotNull(failureMessage); // budget exceeded
+        assertTrue(failureMessage.startsWith("Allocated too many bytes"));
+    }
+
+    protected boolean isAllocationSupported() {
+        final boolean supported = xmeasureResourceUsage(() -> {}).isAllocationSupported();
+        if (!supported) {
+            log("*Allocation measurement is not supported in the JVM");
+        }
+        return supported;
+    }
+}
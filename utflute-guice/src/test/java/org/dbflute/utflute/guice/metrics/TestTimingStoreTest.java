@@ -0,0 +1,80 @@
+/*
+ * Copyright 2014-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.utflute.guice.metrics;
+
+import java.io.File;
+import java.nio.file.Files;
+
+import org.dbflute.utflute.guice.MockUnitTestCase;
+
+/**
+ * @author jflute
+ * @since 0.9.9 (2026/10/18 Sunday)
+ */
+public class TestTimingStoreTest extends MockUnitTestCase {
+
+    @Override
+    protected boolean isUseTestTimingStore() {
+        return true; // store the timings of this test class
+    }
+
+    public void test_appendAndFindBaseline_median() throws Exception {
+        // ## Arrange ##
+        File storeDir = Files.createTempDirectory("utflute-timing").toFile();
+        GuiceTimingStore store = new GuiceTimingStore(storeDir);
+        store.setBaselineSize(3);
+        String className = getClass().getName();
+
+        // ## Act ##
+        long first = store.appendAndFindBaseline(className, new GuiceTimingRecord("test_foo", 1L, 500L, 1000L, 9000L));
+        store.appendAndFindBaseline(className, new GuiceTimingRecord("test_foo", 2L, 500L, 1000L, 29000L));
+        store.appendAndFindBaseline(className, new GuiceTimingRecord("test_bar", 3L, 500L, 0L, 99000L));
+        store.appendAndFindBaseline(className, new GuiceTimingRecord("test_foo", 4L, 500L, 1000L, 19000L));
+        store.appendAndFindBaseline(className, new GuiceTimingRecord("test_foo", 5L, 500L, 1000L, 39000L));
+        long baseline = store.appendAndFindBaseline(className, new GuiceTimingRecord("test_foo", 6L, 500L, 1000L, 10000L));
+
+        // ## Assert ##
+        assertTrue(first < 0L); // no history
+        assertEquals(30000L, baseline); // median of latest 3 (30ms, 20ms, 40ms), prepare is excluded
+        assertEquals(5, store.countRecord(className, "test_foo"));
+        assertEquals(1, store.countRecord(className, "test_bar"));
+        assertEquals(0, store.countRecord(className, "test_qux"));
+    }
+
+    public void test_parse_brokenLine() throws Exception {
+        // ## Arrange ##
+        GuiceTimingRecord record = new GuiceTimingRecord("test_foo", 1L, 100L, 200L, 300L);
+
+        // ## Act ##
+        GuiceTimingRecord parsed = GuiceTimingRecord.parse(record.toLine());
+
+        // ## Assert ##
+        assertEquals("test_foo", parsed.getTestName());
+        assertEquals(500L, parsed.getComparedMicros());
+        assertNull(GuiceTimingRecord.parse("test_foo\t1\t100"));
+        assertNull(GuiceTimingRecord.parse("test_foo\t1\t100\tbroken\t300"));
+    }
+
+    public void test_prepareTestTimingStoreDir() throws Exception {
+        // ## Arrange ##
+        // ## Act ##
+        File storeDir = prepareTestTimingStoreDir();
+
+        // ## Assert ##
+        assertNotNull(storeDir);
+        assertEquals("utflute-timing", storeDir.getName());
+    }
+}
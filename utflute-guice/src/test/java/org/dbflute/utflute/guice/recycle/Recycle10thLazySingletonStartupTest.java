@@ -0,0 +1,128 @@
+/*
+ * Copyright 2014-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.utflute.guice.recycle;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.dbflute.utflute.guice.MockUnitTestCase;
+import org.dbflute.utflute.guice.container.GuiceElementRecord;
+import org.dbflute.utflute.guice.container.GuiceLazySingletonRewriter;
+
+import com.google.inject.AbstractModule;
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+import com.google.inject.Module;
+import com.google.inject.Stage;
+
+/**
+ * @author jflute
+ * @since 0.9.9 (2026/10/18 Sunday)
+ */
+public class Recycle10thLazySingletonStartupTest extends MockUnitTestCase {
+
+    private static final AtomicInteger _createdCount = new AtomicInteger();
+
+    @Override
+    protected boolean isUseLazySingletonStartup() {
+        return true;
+    }
+
+    @Override
+    protected List<Module> prepareModuleList() {
+        final List<Module> moduleList = super.prepareModuleList();
+        moduleList.add(new EagerModule());
+        return moduleList;
+    }
+
+    public static class EagerModule extends AbstractModule {
+
+        @Override
+        protected void configure() {
+            bind(EagerComponent.class).asEagerSingleton();
+        }
+    }
+
+    public static class EagerComponent {
+
+        public EagerComponent() {
+            _createdCount.incrementAndGet();
+        }
+    }
+
+    // ===================================================================================
+    //                                                                           Container
+    //                                                                           =========
+    public void test_container_lazySingleton() throws Exception {
+        // ## Arrange ##
+        // ## Act ##
+        EagerComponent first = getComponent(EagerComponent.class);
+        EagerComponent second = getComponent(EagerComponent.class);
+
+        // ## Assert ##
+        assertSame(first, second); // still singleton
+        assertEquals("true", xgetCurrentFingerprint().getConfigMap().get("lazySingleton"));
+        assertEquals(Stage.DEVELOPMENT.name(), xgetCurrentFingerprint().getConfigMap().get("stage"));
+    }
+
+    // ===================================================================================
+    //                                                                              Record
+    //                                                                              ======
+    public void test_record_lazyInDevelopment() throws Exception {
+        // ## Arrange ##
+        GuiceLazySingletonRewriter rewriter = new GuiceLazySingletonRewriter();
+        GuiceElementRecord record = GuiceElementRecord.record(Stage.DEVELOPMENT, Collections.singletonList(new EagerModule()));
+        GuiceElementRecord lazyRecord = record.toLazySingleton(rewriter);
+        int before = _createdCount.get();
+
+        // ## Act ##
+        Injector injector = Guice.createInjector(lazyRecord.getStage(), lazyRecord.toModule());
+
+        // ## Assert ##
+        assertEquals(1, rewriter.getRewrittenCount());
+        assertEquals(before, _createdCount.get()); // not created at startup
+        EagerComponent component = injector.getInstance(EagerComponent.class);
+        assertEquals(before + 1, _createdCount.get());
+        assertSame(component, injector.getInstance(EagerComponent.class));
+    }
+
+    public void test_record_eagerWithoutRewriting() throws Exception {
+        // ## Arrange ##
+        GuiceElementRecord record = GuiceElementRecord.record(Stage.DEVELOPMENT, Collections.singletonList(new EagerModule()));
+        int before = _createdCount.get();
+
+        // ## Act ##
+        Guice.createInjector(record.getStage(), record.toModule());
+
+        // ## Assert ##
+        assertEquals(before + 1, _createdCount.get()); // created at startup
+    }
+
+    public void test_record_eagerInProduction() throws Exception {
+        // ## Arrange ##
+        GuiceLazySingletonRewriter rewriter = new GuiceLazySingletonRewriter();
+        GuiceElementRecord record = GuiceElementRecord.record(Stage.PRODUCTION, Collections.singletonList(new EagerModule()));
+        GuiceElementRecord lazyRecord = record.toLazySingleton(rewriter);
+        int before = _createdCount.get();
+
+        // ## Act ##
+        Guice.createInjector(lazyRecord.getStage(), lazyRecord.toModule());
+
+        // ## Assert ##
+        assertEquals(before + 1, _createdCount.get()); // all singletons are eager in PRODUCTION
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright 2014-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.utflute.guice.recycle;
+
+import org.dbflute.utflute.guice.MockUnitTestCase;
+import org.dbflute.utflute.guice.metrics.GuiceContainerMetrics;
+import org.dbflute.utflute.guice.metrics.GuiceLatencyStatistics;
+
+/**
+ * @author jflute
+ * @since 0.9.9 (2026/10/18 Sunday)
+ */
+public class Recycle11thContainerMetricsTest extends MockUnitTestCase {
+
+    public void test_metrics_recordedByTestCase() throws Exception {
+        // ## Arrange ##
+        GuiceContainerMetrics metrics = xgetContainerMetrics();
+
+        // ## Act ##
+        // ## Assert ##
+        assertTrue(metrics.getTestPrepare().getCount() > 0); // this setUp at least
+        assertTrue(metrics.getContainerBuild().getCount() + metrics.getBackgroundBuild().getCount() > 0);
+        assertTrue(metrics.buildSummary().contains("recycle: hit="));
+    }
+
+    public void test_metrics_recycleCounter() throws Exception {
+        // ## Arrange ##
+        GuiceContainerMetrics metrics = new GuiceContainerMetrics();
+
+        // ## Act ##
+        metrics.recordRecycleHit();
+        metrics.recordRecycleHit();
+        metrics.recordRecycleMiss("one-time");
+        metrics.recordRecycleMiss("config change");
+        metrics.recordRecycleMiss("one-time");
+
+        // ## Assert ##
+        assertEquals(2, metrics.getRecycleHitCount());
+        assertEquals(2, metrics.getRecycleMissCount("one-time"));
+        assertEquals(1, metrics.getRecycleMissCount("config change"));
+        assertEquals(0, metrics.getRecycleMissCount("none"));
+        String summary = metrics.buildSummary();
+        log(summary);
+        assertTrue(summary.contains("hit=2, miss=3"));
+        assertTrue(summary.contains("hit rate 40.0%"));
+        assertTrue(summary.contains("miss by one-time: 2"));
+    }
+
+    public void test_metrics_latencyStatistics() throws Exception {
+        // ## Arrange ##
+        GuiceContainerMetrics metrics = new GuiceContainerMetrics();
+
+        // ## Act ##
+        metrics.recordTransactionBegin(3000L);
+        metrics.recordTransactionBegin(1000L);
+        metrics.recordTransactionBegin(2000L);
+
+        // ## Assert ##
+        GuiceLatencyStatistics begin = metrics.getTransactionBegin();
+        assertEquals(3, begin.getCount());
+        assertEquals(6000L, begin.getTotalNanos());
+        assertEquals(1000L, begin.getMinNanos());
+        assertEquals(3000L, begin.getMaxNanos());
+        assertEquals(0, metrics.getTransactionRollback().getCount()); // independent
+    }
+}
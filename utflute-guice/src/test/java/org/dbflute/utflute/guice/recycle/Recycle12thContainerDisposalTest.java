@@ -0,0 +1,191 @@
+/*
+ * Copyright 2014-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.utflute.guice.recycle;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+import org.dbflute.utflute.guice.MockUnitTestCase;
+import org.dbflute.utflute.guice.container.GuiceComponentDisposer;
+import org.dbflute.utflute.guice.container.GuiceContainerDestroyer;
+import org.dbflute.utflute.guice.container.GuiceSingletonTracker;
+
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+
+/**
+ * @author jflute
+ * @since 0.9.9 (2026/10/18 Sunday)
+ */
+public class Recycle12thContainerDisposalTest extends MockUnitTestCase {
+
+    private static final List<String> _disposedList = new CopyOnWriteArrayList<String>();
+
+    @Override
+    public void setUp() throws Exception {
+        super.setUp();
+        _disposedList.clear();
+    }
+
+    // ===================================================================================
+    //                                                                               Order
+    //                                                                               =====
+    public void test_destroy_reverseDependencyOrder() throws Exception {
+        // ## Arrange ##
+        Injector injector = createDisposalInjector();
+        injector.getInstance(DisposalAction.class); // logic is created before action
+
+        // ## Act ##
+        List<String> failureList = new GuiceContainerDestroyer().destroy(injector);
+
+        // ## Assert ##
+        assertHasZeroElement(failureList);
+        assertEquals(Arrays.asList("action", "logic", "pool"), _disposedList); // dependents first, instances last
+    }
+
+    public void test_destroyProvisioned_instanceNotDisposed() throws Exception {
+        // ## Arrange ##
+        Injector injector = createDisposalInjector();
+        injector.getInstance(DisposalAction.class);
+
+        // ## Act ##
+        new GuiceContainerDestroyer().destroyProvisioned(injector);
+
+        // ## Assert ##
+        assertEquals(Arrays.asList("action", "logic"), _disposedList); // pool is owned by others
+    }
+
+    // ===================================================================================
+    //                                                                         Idempotence
+    //                                                                         ===========
+    public void test_destroy_onlyOnce() throws Exception {
+        // ## Arrange ##
+        Injector injector = createDisposalInjector();
+        injector.getInstance(DisposalAction.class);
+        GuiceContainerDestroyer destroyer = new GuiceContainerDestroyer();
+        destroyer.destroy(injector);
+
+        // ## Act ##
+        List<String> failureList = destroyer.destroy(injector);
+        new GuiceContainerDestroyer().destroyProvisioned(injector);
+
+        // ## Assert ##
+        assertHasZeroElement(failureList);
+        assertEquals(3, _disposedList.size()); // not disposed again
+    }
+
+    public void test_destroyInstances_sameInstanceOnce() throws Exception {
+        // ## Arrange ##
+        DisposalPool pool = new DisposalPool();
+
+        // ## Act ##
+        new GuiceContainerDestroyer().destroyInstances(Arrays.asList(pool, pool));
+
+        // ## Assert ##
+        assertEquals(Arrays.asList("pool"), _disposedList);
+    }
+
+    // ===================================================================================
+    //                                                                              Target
+    //                                                                              ======
+    public void test_dispose_onlyDefaultTypes() throws Exception {
+        // ## Arrange ##
+        PlainCloser closer = new PlainCloser();
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        // ## Act ##
+        List<String> failureList = new GuiceContainerDestroyer().destroyInstances(Arrays.asList(closer, executor));
+
+        // ## Assert ##
+        assertHasZeroElement(failureList);
+        assertHasZeroElement(_disposedList); // close() is not called by reflection
+        assertTrue(executor.isShutdown());
+    }
+
+    public void test_dispose_customDisposer() throws Exception {
+        // ## Arrange ##
+        GuiceComponentDisposer disposer = component -> {
+            if (component instanceof PlainCloser) {
+                ((PlainCloser) component).close();
+                return true;
+            }
+            return false;
+        };
+        GuiceContainerDestroyer destroyer = new GuiceContainerDestroyer(Arrays.asList(disposer));
+
+        // ## Act ##
+        destroyer.destroyInstances(Arrays.asList(new PlainCloser(), new DisposalPool()));
+
+        // ## Assert ##
+        assertEquals(Arrays.asList("closer", "pool"), _disposedList); // opted in, and default
+    }
+
+    // ===================================================================================
+    //                                                                        Assist Logic
+    //                                                                        ============
+    protected Injector createDisposalInjector() {
+        return Guice.createInjector(binder -> {
+            binder.bind(DisposalPool.class).toInstance(new DisposalPool());
+        }, new GuiceSingletonTracker());
+    }
+
+    @Singleton
+    public static class DisposalAction implements AutoCloseable {
+
+        @Inject
+        public DisposalAction(DisposalLogic logic) {
+        }
+
+        @Override
+        public void close() {
+            _disposedList.add("action");
+        }
+    }
+
+    @Singleton
+    public static class DisposalLogic implements AutoCloseable {
+
+        @Inject
+        public DisposalLogic(DisposalPool pool) {
+        }
+
+        @Override
+        public void close() {
+            _disposedList.add("logic");
+        }
+    }
+
+    public static class DisposalPool implements AutoCloseable {
+
+        @Override
+        public void close() {
+            _disposedList.add("pool");
+        }
+    }
+
+    public static class PlainCloser {
+
+        public void close() {
+            _disposedList.add("closer");
+        }
+    }
+}
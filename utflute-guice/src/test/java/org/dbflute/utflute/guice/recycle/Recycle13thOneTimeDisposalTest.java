@@ -0,0 +1,64 @@
+/*
+ * Copyright 2014-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.utflute.guice.recycle;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import javax.sql.DataSource;
+import javax.transaction.TransactionManager;
+
+import org.dbflute.utflute.guice.MockUnitTestCase;
+
+import com.atomikos.icatch.jta.UserTransactionManager;
+import com.atomikos.jdbc.AtomikosNonXADataSourceBean;
+
+/**
+ * @author jflute
+ * @since 0.9.9 (2026/10/18 Sunday)
+ */
+public class Recycle13thOneTimeDisposalTest extends MockUnitTestCase {
+
+    private static final List<Object> _previousList = new CopyOnWriteArrayList<Object>();
+
+    @Override
+    protected boolean isUseOneTimeContainer() {
+        return true; // previous container is destroyed at next setUp()
+    }
+
+    public void test_first() throws Exception {
+        assertPreviousClosed();
+    }
+
+    public void test_second() throws Exception {
+        assertPreviousClosed();
+    }
+
+    protected void assertPreviousClosed() {
+        TransactionManager manager = getComponent(TransactionManager.class);
+        DataSource dataSource = getComponent(DataSource.class);
+        assertTrue(manager instanceof UserTransactionManager);
+        assertTrue(dataSource instanceof AtomikosNonXADataSourceBean);
+        for (Object previous : _previousList) { // of one-time containers already destroyed
+            log("closed: " + previous);
+            assertTrue(_closedAtomikosSet.contains(previous));
+        }
+        assertFalse(_closedAtomikosSet.contains(manager)); // current one is alive
+        assertFalse(_closedAtomikosSet.contains(dataSource));
+        _previousList.add(manager);
+        _previousList.add(dataSource);
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright 2014-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.utflute.guice.recycle;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.dbflute.utflute.guice.MockUnitTestCase;
+
+import com.google.inject.Binder;
+import com.google.inject.Injector;
+import com.google.inject.Module;
+
+/**
+ * @author jflute
+ * @since 0.9.9 (2026/10/18 Sunday)
+ */
+public class Recycle14thElementReplayAfterEvictionTest extends MockUnitTestCase {
+
+    private static final Map<String, AtomicInteger> _configuredCountMap = new ConcurrentHashMap<String, AtomicInteger>();
+    private static Injector _firstInjector;
+
+    @Override
+    protected void setupContainerConfig(Map<String, Object> configMap) {
+        configMap.put("phase", derivePhase()); // second test uses other container
+    }
+
+    @Override
+    protected int prepareContainerCacheCapacity() {
+        return 1; // container of first phase is evicted by second test
+    }
+
+    @Override
+    protected List<Module> prepareModuleList() {
+        final List<Module> moduleList = super.prepareModuleList();
+        moduleList.add(new PhaseCountingModule(derivePhase()));
+        return moduleList;
+    }
+
+    protected String derivePhase() {
+        return getName().equals("test_second") ? "B" : "A";
+    }
+
+    public static class PhaseCountingModule implements Module {
+
+        protected final String _phase;
+
+        public PhaseCountingModule(String phase) {
+            _phase = phase;
+        }
+
+        public void configure(Binder binder) {
+            _configuredCountMap.computeIfAbsent(_phase, key -> new AtomicInteger()).incrementAndGet();
+        }
+    }
+
+    public void test_first() throws Exception {
+        // ## Arrange ##
+        // ## Act ##
+        _firstInjector = xgetCachedInjector();
+
+        // ## Assert ##
+        assertNotNull(_firstInjector);
+        assertEquals(1, _configuredCountMap.get("A").get());
+    }
+
+    public void test_second() throws Exception {
+        // ## Arrange ##
+        // ## Act ##
+        // ## Assert ##
+        assertEquals(1, _configuredCountMap.get("B").get());
+        assertEquals(1, xgetContainerRegistry().size()); // container of first phase is evicted
+    }
+
+    public void test_third() throws Exception {
+        // ## Arrange ##
+        // ## Act ##
+        Injector rebuiltInjector = xgetCachedInjector();
+
+        // ## Assert ##
+        assertNotSame(_firstInjector, rebuiltInjector); // rebuilt after eviction
+        assertEquals(1, _configuredCountMap.get("A").get()); // replayed without configure()
+    }
+}
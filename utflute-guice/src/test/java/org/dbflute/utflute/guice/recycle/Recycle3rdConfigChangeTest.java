@@ -15,22 +15,50 @@
  */
 package org.dbflute.utflute.guice.recycle;
 
+import java.util.List;
+import java.util.Map;
+
 import org.dbflute.utflute.guice.ContainerTestCase;
 
+import com.google.inject.Binder;
+import com.google.inject.Key;
+import com.google.inject.Module;
+import com.google.inject.name.Names;
+
 /**
  * @author jflute
  * @since 0.4.1 (2014/03/25 Tuesday)
  */
 public class Recycle3rdConfigChangeTest extends ContainerTestCase {
 
-    // configuration-change unsupported
-    //@Override
-    //protected List<Module> prepareModuleList() {
-    //    return ...;
-    //}
+    @Override
+    protected List<Module> prepareModuleList() {
+        final List<Module> moduleList = super.prepareModuleList();
+        moduleList.add(new RecycleModule("3rd"));
+        return moduleList;
+    }
+
+    @Override
+    protected void setupContainerConfig(Map<String, Object> configMap) {
+        configMap.put("recycle", "3rd"); // same module class as 4th so declare it
+    }
+
+    public static class RecycleModule implements Module {
+
+        protected final String _value;
+
+        public RecycleModule(String value) {
+            _value = value;
+        }
+
+        public void configure(Binder binder) {
+            binder.bind(String.class).annotatedWith(Names.named("recycle")).toInstance(_value);
+        }
+    }
 
     public void test_first() throws Exception {
         // confirm log
+        assertEquals("3rd", xgetCurrentActiveInjector().getInstance(Key.get(String.class, Names.named("recycle"))));
     }
 
     public void test_second() throws Exception {
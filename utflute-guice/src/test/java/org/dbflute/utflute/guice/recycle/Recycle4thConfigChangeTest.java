@@ -15,22 +15,36 @@
  */
 package org.dbflute.utflute.guice.recycle;
 
+import java.util.List;
+import java.util.Map;
+
 import org.dbflute.utflute.guice.ContainerTestCase;
 
+import com.google.inject.Key;
+import com.google.inject.Module;
+import com.google.inject.name.Names;
+
 /**
  * @author jflute
  * @since 0.4.1 (2014/03/25 Tuesday)
  */
 public class Recycle4thConfigChangeTest extends ContainerTestCase {
 
-    // configuration-change unsupported
-    //@Override
-    //protected List<Module> prepareModuleList() {
-    //    return ...;
-    //}
+    @Override
+    protected List<Module> prepareModuleList() {
+        final List<Module> moduleList = super.prepareModuleList();
+        moduleList.add(new Recycle3rdConfigChangeTest.RecycleModule("4th"));
+        return moduleList;
+    }
+
+    @Override
+    protected void setupContainerConfig(Map<String, Object> configMap) {
+        configMap.put("recycle", "4th"); // same module class as 3rd so declare it
+    }
 
     public void test_first() throws Exception {
         // confirm log
+        assertEquals("4th", xgetCurrentActiveInjector().getInstance(Key.get(String.class, Names.named("recycle"))));
     }
 
     public void test_second() throws Exception {
@@ -0,0 +1,56 @@
+/*
+ * Copyright 2014-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.utflute.guice.recycle;
+
+import javax.sql.DataSource;
+
+import org.dbflute.utflute.guice.MockUnitTestCase;
+import org.dbflute.utflute.guice.bean.FooService;
+
+/**
+ * @author jflute
+ * @since 0.9.9 (2026/10/18 Sunday)
+ */
+public class Recycle5thOneTimeReplayTest extends MockUnitTestCase {
+
+    private static DataSource _firstDataSource;
+    private static FooService _firstFooService;
+
+    @Override
+    protected boolean isUseOneTimeContainer() {
+        return true;
+    }
+
+    public void test_first() throws Exception {
+        assertFreshInstance();
+    }
+
+    public void test_second() throws Exception {
+        assertFreshInstance();
+    }
+
+    protected void assertFreshInstance() {
+        DataSource dataSource = getComponent(DataSource.class);
+        FooService fooService = getComponent(FooService.class);
+        if (_firstDataSource == null) {
+            _firstDataSource = dataSource;
+            _firstFooService = fooService;
+        } else { // rebuilt by one-time container from fresh modules (not replayed)
+            assertNotSame(_firstDataSource, dataSource);
+            assertNotSame(_firstFooService, fooService);
+        }
+    }
+}
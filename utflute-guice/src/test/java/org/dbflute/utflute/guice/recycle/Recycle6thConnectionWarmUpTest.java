@@ -0,0 +1,53 @@
+/*
+ * Copyright 2014-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.utflute.guice.recycle;
+
+import java.util.List;
+
+import org.dbflute.utflute.guice.MockUnitTestCase;
+import org.dbflute.utflute.guice.container.GuiceConnectionWarmer;
+
+/**
+ * @author jflute
+ * @since 0.9.9 (2026/10/18 Sunday)
+ */
+public class Recycle6thConnectionWarmUpTest extends MockUnitTestCase {
+
+    @Override
+    protected boolean isUseOneTimeContainer() {
+        return true; // created (warmed up) for the test
+    }
+
+    @Override
+    protected int prepareWarmUpConnectionCount() {
+        return 3;
+    }
+
+    public void test_warmUp_atInitialization() throws Exception {
+        assertTrue(xgetContainerMetrics().getConnectionWarmUp().getCount() > 0);
+    }
+
+    public void test_warmUp_direct() throws Exception {
+        // ## Arrange ##
+        GuiceConnectionWarmer warmer = new GuiceConnectionWarmer(getDataSource(), 3);
+
+        // ## Act ##
+        List<Throwable> failureList = warmer.warmUp();
+
+        // ## Assert ##
+        assertHasZeroElement(failureList);
+    }
+}
@@ -0,0 +1,46 @@
+/*
+ * Copyright 2014-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.utflute.guice.recycle;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.dbflute.utflute.guice.MockUnitTestCase;
+
+import com.google.inject.Module;
+
+/**
+ * @author jflute
+ * @since 0.9.9 (2026/10/18 Sunday)
+ */
+public class Recycle7thModulePreparationTest extends MockUnitTestCase {
+
+    private static final AtomicInteger _preparedCount = new AtomicInteger();
+
+    @Override
+    protected List<Module> prepareModuleList() {
+        _preparedCount.incrementAndGet();
+        return super.prepareModuleList();
+    }
+
+    public void test_first() throws Exception {
+        assertEquals(1, _preparedCount.get()); // for fingerprint (and creation if not cached)
+    }
+
+    public void test_second() throws Exception {
+        assertEquals(1, _preparedCount.get()); // recycled without preparing modules
+    }
+}
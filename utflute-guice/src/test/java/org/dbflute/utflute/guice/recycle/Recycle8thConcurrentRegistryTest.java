@@ -0,0 +1,114 @@
+/*
+ * Copyright 2014-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.utflute.guice.recycle;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.dbflute.utflute.guice.MockUnitTestCase;
+import org.dbflute.utflute.guice.container.GuiceContainerEntry;
+import org.dbflute.utflute.guice.container.GuiceContainerFingerprint;
+import org.dbflute.utflute.guice.container.GuiceContainerRegistry;
+
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+
+/**
+ * @author jflute
+ * @since 0.9.9 (2026/10/18 Sunday)
+ */
+public class Recycle8thConcurrentRegistryTest extends MockUnitTestCase {
+
+    public void test_registry_concurrentTestClasses() throws Exception {
+        // ## Arrange ##
+        GuiceContainerRegistry registry = new GuiceContainerRegistry();
+        List<GuiceContainerFingerprint> fingerprintList = new ArrayList<GuiceContainerFingerprint>();
+        fingerprintList.add(GuiceContainerFingerprint.ofModuleType(Collections.singletonList("FooModule"), Collections.emptyMap()));
+        fingerprintList.add(GuiceContainerFingerprint.ofModuleType(Collections.singletonList("BarModule"), Collections.emptyMap()));
+        AtomicInteger createdCount = new AtomicInteger();
+        int classCount = 16;
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<GuiceContainerEntry>> futureList = new ArrayList<Future<GuiceContainerEntry>>();
+            for (int i = 0; i < classCount; i++) {
+                GuiceContainerFingerprint fingerprint = fingerprintList.get(i % fingerprintList.size());
+                futureList.add(executor.submit(createTestClassTask(registry, fingerprint, createdCount)));
+            }
+
+            // ## Act ##
+            List<GuiceContainerEntry> entryList = new ArrayList<GuiceContainerEntry>();
+            for (Future<GuiceContainerEntry> future : futureList) {
+                entryList.add(future.get());
+            }
+
+            // ## Assert ##
+            assertEquals(fingerprintList.size(), createdCount.get()); // one creation per fingerprint
+            assertEquals(fingerprintList.size(), registry.size());
+            for (GuiceContainerEntry entry : entryList) {
+                assertSame(entry, registry.findEntry(entry.getFingerprint())); // recycled by the other classes
+                assertEquals(0, entry.getReferenceCount()); // all released
+                assertFalse(entry.isRetired());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    protected Callable<GuiceContainerEntry> createTestClassTask(GuiceContainerRegistry registry, GuiceContainerFingerprint fingerprint,
+            AtomicInteger createdCount) {
+        return () -> {
+            final GuiceContainerEntry entry;
+            synchronized (registry.findPreparationLock(fingerprint)) {
+                GuiceContainerEntry acquired = registry.acquire(fingerprint);
+                if (acquired == null) {
+                    createdCount.incrementAndGet();
+                    acquired = registry.register(fingerprint, Guice.createInjector(), null).getRegisteredEntry();
+                }
+                entry = acquired;
+            }
+            Thread.sleep(5); // as test execution
+            assertHasZeroElement(registry.release(entry)); // not retired
+            return entry;
+        };
+    }
+
+    public void test_registry_removeWhileInUse() throws Exception {
+        // ## Arrange ##
+        GuiceContainerRegistry registry = new GuiceContainerRegistry();
+        Map<String, Object> configMap = Collections.emptyMap();
+        GuiceContainerFingerprint fingerprint = GuiceContainerFingerprint.ofModuleType(Collections.singletonList("FooModule"), configMap);
+        Injector injector = Guice.createInjector();
+        GuiceContainerEntry entry = registry.register(fingerprint, injector, null).getRegisteredEntry();
+
+        // ## Act ##
+        List<GuiceContainerEntry> removedList = registry.remove(fingerprint); // by other test class
+
+        // ## Assert ##
+        assertHasZeroElement(removedList); // in use so not shut down yet
+        assertTrue(entry.isRetired());
+        assertNull(registry.findEntry(fingerprint));
+        List<GuiceContainerEntry> releasedList = registry.release(entry);
+        assertEquals(1, releasedList.size());
+        assertSame(entry, releasedList.get(0)); // shut down by the last user
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright 2014-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.utflute.guice.recycle;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.dbflute.utflute.guice.MockUnitTestCase;
+import org.dbflute.utflute.guice.bean.FooService;
+import org.dbflute.utflute.guice.container.GuiceContainerBootstrapper;
+import org.dbflute.utflute.guice.container.GuiceContainerFingerprint;
+
+import com.google.inject.AbstractModule;
+import com.google.inject.Module;
+
+/**
+ * @author jflute
+ * @since 0.9.9 (2026/10/18 Sunday)
+ */
+public class Recycle9thAsyncBootstrapTest extends MockUnitTestCase {
+
+    private static final AtomicInteger _configuredCount = new AtomicInteger();
+    private static volatile String _configuredThreadName;
+
+    static { // static registration, before instances are created by test runner
+        reserveAsyncContainerBootstrap(Recycle9thAsyncBootstrapTest.class);
+    }
+
+    @Override
+    protected boolean isUseAsyncContainerBootstrap() {
+        return true;
+    }
+
+    @Override
+    protected List<Module> prepareModuleList() {
+        final List<Module> moduleList = super.prepareModuleList();
+        moduleList.add(new BootstrapCountModule()); // own container for the test
+        return moduleList;
+    }
+
+    public static class BootstrapCountModule extends AbstractModule {
+
+        @Override
+        protected void configure() {
+            _configuredCount.incrementAndGet();
+            _configuredThreadName = Thread.currentThread().getName();
+        }
+    }
+
+    // ===================================================================================
+    //                                                                           Container
+    //                                                                           =========
+    public void test_bootstrap_createdOnlyOnce() throws Exception {
+        log("configured in " + _configuredThreadName); // basically background
+        assertEquals(1, _configuredCount.get()); // background or test case, not both
+        assertNotNull(getComponent(FooService.class));
+    }
+
+    public void test_bootstrap_recycled() throws Exception {
+        assertEquals(1, _configuredCount.get());
+    }
+
+    // ===================================================================================
+    //                                                                        Bootstrapper
+    //                                                                        ============
+    public void test_bootstrapper_reserveOncePerType() throws Exception {
+        // ## Arrange ##
+        GuiceContainerBootstrapper bootstrapper = new GuiceContainerBootstrapper();
+        CountDownLatch latch = new CountDownLatch(1);
+        AtomicInteger taskCount = new AtomicInteger();
+
+        // ## Act ##
+        boolean first = bootstrapper.reserve(getClass(), () -> {
+            taskCount.incrementAndGet();
+            latch.countDown();
+        });
+        boolean second = bootstrapper.reserve(getClass(), () -> taskCount.incrementAndGet());
+
+        // ## Assert ##
+        assertTrue(first);
+        assertFalse(second);
+        assertTrue(latch.await(10, TimeUnit.SECONDS)); // executed in background
+        assertEquals(1, taskCount.get());
+    }
+
+    public void test_bootstrapper_markReserved() throws Exception {
+        // ## Arrange ##
+        GuiceContainerBootstrapper bootstrapper = new GuiceContainerBootstrapper();
+
+        // ## Act ##
+        boolean first = bootstrapper.markReserved(getClass());
+        boolean reserved = bootstrapper.reserve(getClass(), () -> fail("not executed"));
+
+        // ## Assert ##
+        assertTrue(first);
+        assertFalse(reserved); // the test case prepares its own container
+        assertFalse(xgetContainerBootstrapper().markReserved(getClass())); // reserved statically or at first setUp()
+    }
+
+    public void test_bootstrapper_bootstrapping() throws Exception {
+        // ## Arrange ##
+        GuiceContainerBootstrapper bootstrapper = new GuiceContainerBootstrapper();
+        GuiceContainerFingerprint fingerprint = xgetCurrentFingerprint();
+
+        // ## Act ##
+        // ## Assert ##
+        assertFalse(bootstrapper.isBootstrapping(fingerprint));
+        bootstrapper.markBootstrapping(fingerprint);
+        assertTrue(bootstrapper.isBootstrapping(fingerprint));
+        bootstrapper.unmarkBootstrapping(fingerprint);
+        assertFalse(bootstrapper.isBootstrapping(fingerprint));
+    }
+}
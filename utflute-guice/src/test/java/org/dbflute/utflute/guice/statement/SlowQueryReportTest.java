@@ -0,0 +1,99 @@
+/*
+ * Copyright 2014-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.utflute.guice.statement;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.dbflute.utflute.guice.MockUnitTestCase;
+import org.dbflute.utflute.guice.transaction.GuiceLightTransactionDataSource;
+import org.dbflute.utflute.guice.transaction.GuiceLightTransactionModule;
+import org.h2.jdbcx.JdbcDataSource;
+
+import com.google.inject.Module;
+
+/**
+ * @author jflute
+ * @since 0.9.9 (2026/10/18 Sunday)
+ */
+public class SlowQueryReportTest extends MockUnitTestCase {
+
+    @Override
+    protected List<Module> prepareModuleList() {
+        final List<Module> moduleList = super.prepareModuleList();
+        final JdbcDataSource realDataSource = new JdbcDataSource();
+        realDataSource.setURL("jdbc:h2:mem:slowquery;DB_CLOSE_DELAY=-1");
+        realDataSource.setUser("sa");
+        moduleList.add(new GuiceLightTransactionModule(realDataSource));
+        return moduleList;
+    }
+
+    @Override
+    protected TransactionModule createTransactionModule() {
+        return null; // light transaction instead
+    }
+
+    @Override
+    protected boolean isUseSlowQueryReport() {
+        return true;
+    }
+
+    @Override
+    protected long prepareSlowQueryThresholdMillis() {
+        return 0L; // all statements
+    }
+
+    public void test_slowQuery_explain() throws Exception {
+        // ## Arrange ##
+        prepareSlowTable();
+        Connection conn = getDataSource().getConnection();
+
+        // ## Act ##
+        try {
+            PreparedStatement byName = conn.prepareStatement("select * from SLOW_TEST where NAME = ?");
+            byName.setString(1, "foo");
+            byName.executeQuery().close();
+            PreparedStatement byId = conn.prepareStatement("select * from SLOW_TEST where ID = ?");
+            byId.setInt(1, 1);
+            byId.executeQuery().close();
+        } finally {
+            conn.close();
+        }
+
+        // ## Assert ##
+        List<GuiceSlowQuery> slowQueryList = getSlowQueryList();
+        assertEquals(2, slowQueryList.size());
+        GuiceSlowQuery byName = slowQueryList.get(0);
+        log(byName.getPlan());
+        assertTrue(byName.isFullScan()); // no index
+        GuiceSlowQuery byId = slowQueryList.get(1);
+        log(byId.getPlan());
+        assertFalse(byId.isFullScan()); // primary key
+    }
+
+    protected void prepareSlowTable() throws Exception { // out of transaction
+        DataSource wrapped = ((GuiceStatementCaptureDataSource) getDataSource()).getRealDataSource();
+        Connection conn = ((GuiceLightTransactionDataSource) wrapped).getRealDataSource().getConnection();
+        try {
+            conn.createStatement().execute("create table if not exists SLOW_TEST (ID int primary key, NAME varchar(20))");
+        } finally {
+            conn.close();
+        }
+    }
+}
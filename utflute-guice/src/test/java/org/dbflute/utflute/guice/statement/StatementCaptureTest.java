@@ -0,0 +1,187 @@
+/*
+ * Copyright 2014-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.utflute.guice.statement;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import javax.sql.DataSource;
+
+import org.dbflute.utflute.guice.MockUnitTestCase;
+import org.dbflute.utflute.guice.transaction.GuiceLightTransactionDataSource;
+import org.dbflute.utflute.guice.transaction.GuiceLightTransactionModule;
+import org.h2.jdbcx.JdbcDataSource;
+
+import com.google.inject.Module;
+
+/**
+ * @author jflute
+ * @since 0.9.9 (2026/10/18 Sunday)
+ */
+public class StatementCaptureTest extends MockUnitTestCase {
+
+    @Override
+    protected List<Module> prepareModuleList() {
+        final List<Module> moduleList = super.prepareModuleList();
+        final JdbcDataSource realDataSource = new JdbcDataSource();
+        realDataSource.setURL("jdbc:h2:mem:statementcapture;DB_CLOSE_DELAY=-1");
+        realDataSource.setUser("sa");
+        moduleList.add(new GuiceLightTransactionModule(realDataSource));
+        return moduleList;
+    }
+
+    @Override
+    protected TransactionModule createTransactionModule() {
+        return null; // light transaction instead
+    }
+
+    @Override
+    protected boolean isUseStatementCapture() {
+        return true;
+    }
+
+    @Override
+    protected int prepareNPlusOneThreshold() {
+        return 3;
+    }
+
+    public void test_capture_basic() throws Exception {
+        // ## Arrange ##
+        DataSource dataSource = getDataSource();
+        assertTrue(dataSource instanceof GuiceStatementCaptureDataSource);
+        assertSame(dataSource, getComponent(DataSource.class)); // components also use it
+        prepareCaptureTable();
+        clearCapturedStatement();
+
+        // ## Act ##
+        Connection conn = dataSource.getConnection();
+        try {
+            PreparedStatement ps = conn.prepareStatement("insert into CAPTURE_TEST values (?, ?)");
+            ps.setInt(1, 1);
+            ps.setString(2, "foo");
+            ps.executeUpdate();
+            ResultSet rs = conn.createStatement().executeQuery("select * from CAPTURE_TEST");
+            while (rs.next()) {
+                rs.getString(2);
+            }
+        } finally {
+            conn.close();
+        }
+
+        // ## Assert ##
+        assertQueryCount(2);
+        List<GuiceStatementRecord> recordList = getCapturedStatementList();
+        GuiceStatementRecord insert = recordList.get(0);
+        assertEquals(2, insert.getBindCount());
+        assertEquals(1L, insert.getRowCount());
+        assertFalse(insert.isQuery());
+        GuiceStatementRecord select = recordList.get(1);
+        assertEquals(0, select.getBindCount());
+        assertEquals(1L, select.getRowCount()); // counted while reading
+        assertTrue(select.isQuery());
+        assertNoNPlusOne();
+    }
+
+    public void test_capture_NPlusOne() throws Exception {
+        // ## Arrange ##
+        prepareCaptureTable();
+        clearCapturedStatement();
+
+        // ## Act ##
+        Connection conn = getDataSource().getConnection();
+        try {
+            for (int i = 0; i < 5; i++) {
+                conn.createStatement().executeQuery("select * from CAPTURE_TEST where ID = " + i).close();
+            }
+        } finally {
+            conn.close();
+        }
+
+        // ## Assert ##
+        assertQueryCount(5);
+        try {
+            assertNoNPlusOne();
+            fail();
+        } catch (AssertionError e) {
+            log(e.getMessage());
+            assertTrue(e.getMessage().contains("select * from CAPTURE_TEST where ID = ?"));
+        }
+        String summary = xgetCurrentStatementCapture().buildSummary(3);
+        log(summary);
+        assertTrue(summary.contains("x5"));
+    }
+
+    public void test_capture_threadScoped() throws Exception {
+        // ## Arrange ##
+        prepareCaptureTable();
+        clearCapturedStatement();
+        GuiceStatementCaptureDataSource dataSource = (GuiceStatementCaptureDataSource) getDataSource();
+        GuiceStatementCapture otherCapture = new GuiceStatementCapture();
+        List<GuiceStatementCapture> stoppedList = new CopyOnWriteArrayList<GuiceStatementCapture>();
+
+        // ## Act ##
+        Thread other = new Thread(() -> { // e.g. test class running in parallel
+            dataSource.startCapture(otherCapture);
+            try {
+                Connection conn = dataSource.getConnection();
+                try {
+                    conn.createStatement().executeQuery("select * from CAPTURE_TEST").close();
+                } finally {
+                    conn.close();
+                }
+            } catch (Exception e) {
+                throw new IllegalStateException("Failed to execute the query in other thread.", e);
+            } finally {
+                stoppedList.add(dataSource.stopCapture());
+            }
+        });
+        other.start();
+        other.join();
+        Connection conn = dataSource.getConnection();
+        try {
+            conn.createStatement().executeQuery("select * from CAPTURE_TEST where ID = 1").close();
+        } finally {
+            conn.close();
+        }
+
+        // ## Assert ##
+        assertSame(otherCapture, stoppedList.get(0));
+        assertEquals(1, otherCapture.getStatementCount());
+        assertQueryCount(1); // neither overwritten nor stopped by other thread
+        assertSame(xgetCurrentStatementCapture(), dataSource.getCapture());
+    }
+
+    public void test_normalizeShape() throws Exception {
+        assertEquals("select * from MEMBER where MEMBER_ID in (?) and STATUS = ?",
+                GuiceStatementCapture.normalizeShape("select * from MEMBER where MEMBER_ID in (1, 2, 3) and STATUS = 'FML'"));
+        assertEquals("select * from MEMBER where MEMBER_ID in (?)",
+                GuiceStatementCapture.normalizeShape("/* BehaviorCommand */ select *\n  from MEMBER where MEMBER_ID in (?, ?)"));
+        assertEquals("select COL1 from T2 where X = ?", GuiceStatementCapture.normalizeShape("select COL1 from T2 where X = -3.5"));
+    }
+
+    protected void prepareCaptureTable() throws Exception { // out of transaction
+        DataSource wrapped = ((GuiceStatementCaptureDataSource) getDataSource()).getRealDataSource();
+        Connection conn = ((GuiceLightTransactionDataSource) wrapped).getRealDataSource().getConnection();
+        try {
+            conn.createStatement().execute("create table if not exists CAPTURE_TEST (ID int, NAME varchar(20))");
+        } finally {
+            conn.close();
+        }
+    }
+}
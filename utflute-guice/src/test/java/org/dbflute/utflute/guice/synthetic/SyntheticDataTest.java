@@ -0,0 +1,128 @@
+/*
+ * Copyright 2014-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.utflute.guice.synthetic;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.sql.DataSource;
+import javax.transaction.TransactionManager;
+
+import org.dbflute.utflute.guice.MockUnitTestCase;
+import org.dbflute.utflute.guice.transaction.GuiceLightTransactionDataSource;
+import org.dbflute.utflute.guice.transaction.GuiceLightTransactionModule;
+import org.h2.jdbcx.JdbcDataSource;
+
+import com.google.inject.Module;
+
+/**
+ * @author jflute
+ * @since 0.9.9 (2026/10/18 Sunday)
+ */
+public class SyntheticDataTest extends MockUnitTestCase {
+
+    @Override
+    protected List<Module> prepareModuleList() {
+        final List<Module> moduleList = super.prepareModuleList();
+        final JdbcDataSource realDataSource = new JdbcDataSource();
+        realDataSource.setURL("jdbc:h2:mem:synthetic;DB_CLOSE_DELAY=-1");
+        realDataSource.setUser("sa");
+        moduleList.add(new GuiceLightTransactionModule(realDataSource));
+        return moduleList;
+    }
+
+    @Override
+    protected TransactionModule createTransactionModule() {
+        return null; // light transaction for own database
+    }
+
+    @Override
+    public void setUp() throws Exception {
+        super.setUp();
+        DataSource realDataSource = ((GuiceLightTransactionDataSource) getDataSource()).getRealDataSource();
+        Connection conn = realDataSource.getConnection(); // out of transaction
+        try {
+            conn.createStatement().execute("create table if not exists SYN_MEMBER (MEMBER_ID int primary key"
+                    + ", MEMBER_NAME varchar(50) not null, BIRTHDATE date, STATUS char(3) not null)");
+            conn.createStatement().execute("create table if not exists SYN_PURCHASE (PURCHASE_ID bigint auto_increment primary key"
+                    + ", MEMBER_ID int not null references SYN_MEMBER (MEMBER_ID)"
+                    + ", PRICE decimal(8, 2) not null, PURCHASE_DATETIME timestamp not null)");
+        } finally {
+            conn.close();
+        }
+    }
+
+    public void test_generateSyntheticData_foreignKey() throws Exception {
+        // ## Arrange ##
+        // ## Act ##
+        GuiceSyntheticResult memberResult = generateSyntheticData("syn_member", 100);
+        GuiceSyntheticResult purchaseResult = generateSyntheticData("SYN_PURCHASE", 3000);
+
+        // ## Assert ##
+        assertEquals("SYN_MEMBER", memberResult.getTableName());
+        assertEquals(100, selectCount("select count(*) from SYN_MEMBER"));
+        assertEquals(3000, selectCount("select count(*) from SYN_PURCHASE"));
+        assertEquals(0, selectCount("select count(*) from SYN_PURCHASE p" // also checked by constraint
+                + " where not exists (select 1 from SYN_MEMBER m where m.MEMBER_ID = p.MEMBER_ID)"));
+        assertTrue(selectCount("select count(distinct MEMBER_ID) from SYN_PURCHASE") > 1);
+        assertTrue(purchaseResult.getRowsPerSecond() > 0);
+    }
+
+    public void test_generateSyntheticData_deterministic() throws Exception {
+        // ## Arrange ##
+        generateSyntheticData("SYN_MEMBER", 10);
+        List<String> firstList = selectMemberList();
+        TransactionManager manager = getComponent(TransactionManager.class);
+        manager.rollback();
+        manager.begin();
+        assertEquals(0, selectCount("select count(*) from SYN_MEMBER"));
+
+        // ## Act ##
+        createSyntheticDataGenerator().generate("SYN_MEMBER", 10); // new generator by same seed
+
+        // ## Assert ##
+        List<String> secondList = selectMemberList();
+        log(secondList);
+        assertEquals(firstList, secondList);
+    }
+
+    protected int selectCount(String sql) throws Exception {
+        Connection conn = getDataSource().getConnection();
+        try {
+            ResultSet rs = conn.createStatement().executeQuery(sql);
+            rs.next();
+            return rs.getInt(1);
+        } finally {
+            conn.close();
+        }
+    }
+
+    protected List<String> selectMemberList() throws Exception {
+        List<String> memberList = new ArrayList<String>();
+        Connection conn = getDataSource().getConnection();
+        try {
+            ResultSet rs = conn.createStatement().executeQuery("select * from SYN_MEMBER order by MEMBER_ID");
+            while (rs.next()) {
+                memberList.add(rs.getInt(1) + "|" + rs.getString(2) + "|" + rs.getDate(3) + "|" + rs.getString(4));
+            }
+        } finally {
+            conn.close();
+        }
+        return memberList;
+    }
+}
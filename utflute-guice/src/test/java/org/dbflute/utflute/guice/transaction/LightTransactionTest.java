@@ -0,0 +1,144 @@
+/*
+ * Copyright 2014-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.utflute.guice.transaction;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.List;
+
+import javax.sql.DataSource;
+import javax.transaction.RollbackException;
+import javax.transaction.Status;
+import javax.transaction.Synchronization;
+import javax.transaction.TransactionManager;
+
+import org.dbflute.utflute.guice.MockUnitTestCase;
+import org.h2.jdbcx.JdbcDataSource;
+
+import com.google.inject.Module;
+
+/**
+ * @author jflute
+ * @since 0.9.9 (2026/10/18 Sunday)
+ */
+public class LightTransactionTest extends MockUnitTestCase {
+
+    @Override
+    protected List<Module> prepareModuleList() {
+        final List<Module> moduleList = super.prepareModuleList();
+        final JdbcDataSource realDataSource = new JdbcDataSource();
+        realDataSource.setURL("jdbc:h2:mem:lighttx;DB_CLOSE_DELAY=-1");
+        realDataSource.setUser("sa");
+        moduleList.add(new GuiceLightTransactionModule(realDataSource));
+        return moduleList;
+    }
+
+    @Override
+    protected TransactionModule createTransactionModule() {
+        return null; // light transaction instead
+    }
+
+    public void test_light_rollback() throws Exception {
+        // ## Arrange ##
+        TransactionManager manager = getComponent(TransactionManager.class);
+        assertTrue(manager instanceof GuiceLightTransactionManager);
+        assertEquals(Status.STATUS_ACTIVE, manager.getStatus()); // test case transaction
+        DataSource realDataSource = ((GuiceLightTransactionDataSource) getDataSource()).getRealDataSource();
+        executeOutOfTransaction(realDataSource, "create table if not exists LIGHT_TEST (ID int)");
+
+        // ## Act ##
+        Connection conn = getDataSource().getConnection();
+        Statement st = conn.createStatement();
+        st.executeUpdate("insert into LIGHT_TEST values (1)");
+        conn.close(); // ignored in transaction
+        assertEquals(1, countRow(getDataSource().getConnection()));
+        manager.rollback();
+
+        // ## Assert ##
+        assertEquals(Status.STATUS_NO_TRANSACTION, manager.getStatus());
+        assertTrue(conn.isClosed()); // physical connection is released
+        assertEquals(0, countRow(realDataSource.getConnection()));
+        manager.begin(); // for test case transaction
+    }
+
+    public void test_light_rollbackOnly() throws Exception {
+        // ## Arrange ##
+        TransactionManager manager = getComponent(TransactionManager.class);
+        manager.setRollbackOnly();
+
+        // ## Act ##
+        try {
+            manager.commit();
+            // ## Assert ##
+            fail();
+        } catch (RollbackException e) {
+            log(e.getMessage());
+        }
+        assertEquals(Status.STATUS_NO_TRANSACTION, manager.getStatus());
+        manager.begin(); // for test case transaction
+    }
+
+    public void test_light_beforeCompletionFailure() throws Exception {
+        // ## Arrange ##
+        TransactionManager manager = getComponent(TransactionManager.class);
+        DataSource realDataSource = ((GuiceLightTransactionDataSource) getDataSource()).getRealDataSource();
+        executeOutOfTransaction(realDataSource, "create table if not exists LIGHT_TEST (ID int)");
+        Connection conn = getDataSource().getConnection();
+        conn.createStatement().executeUpdate("insert into LIGHT_TEST values (2)");
+        manager.getTransaction().registerSynchronization(new Synchronization() {
+            public void beforeCompletion() {
+                throw new IllegalStateException("before completion failure");
+            }
+
+            public void afterCompletion(int status) {
+            }
+        });
+
+        // ## Act ##
+        try {
+            manager.commit();
+            // ## Assert ##
+            fail();
+        } catch (RollbackException e) {
+            log(e.getMessage());
+            assertTrue(e.getCause() instanceof IllegalStateException);
+        }
+        assertEquals(Status.STATUS_NO_TRANSACTION, manager.getStatus());
+        assertTrue(conn.isClosed()); // not held
+        assertEquals(0, countRow(realDataSource.getConnection())); // rolled back
+        manager.begin(); // for test case transaction
+    }
+
+    protected void executeOutOfTransaction(DataSource dataSource, String sql) throws Exception {
+        Connection conn = dataSource.getConnection();
+        try {
+            conn.createStatement().execute(sql);
+        } finally {
+            conn.close();
+        }
+    }
+
+    protected int countRow(Connection conn) throws Exception {
+        ResultSet rs = conn.createStatement().executeQuery("select count(*) from LIGHT_TEST");
+        try {
+            rs.next();
+            return rs.getInt(1);
+        } finally {
+            rs.close();
+        }
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright 2014-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.utflute.guice.transaction;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+import org.dbflute.utflute.core.transaction.TransactionResource;
+import org.dbflute.utflute.guice.MockUnitTestCase;
+
+/**
+ * @author jflute
+ * @since 0.9.9 (2026/10/18 Sunday)
+ */
+public class SavepointTransactionTest extends MockUnitTestCase {
+
+    @Override
+    protected TransactionModule createTransactionModule() {
+        return new TransactionModule(new GuiceSavepointDataSource(createDataSource()));
+    }
+
+    @Override
+    protected boolean isUseSavepointTransaction() {
+        return true;
+    }
+
+    public void test_savepoint_rollback() throws Exception {
+        // ## Arrange ##
+        assertTrue(getDataSource() instanceof GuiceSavepointDataSource);
+        Connection conn = getDataSource().getConnection();
+        Statement st = conn.createStatement();
+        st.execute("create local temporary table if not exists SAVEPOINT_TEST (ID int) transactional");
+
+        // ## Act ##
+        TransactionResource resource = beginNewTransaction();
+        st.executeUpdate("insert into SAVEPOINT_TEST values (1)");
+        assertEquals(1, countRow(st));
+        resource.rollback();
+
+        // ## Assert ##
+        assertEquals(0, countRow(st));
+        conn.close(); // ignored, shared connection
+        assertSame(conn, getDataSource().getConnection());
+    }
+
+    protected int countRow(Statement st) throws Exception {
+        ResultSet rs = st.executeQuery("select count(*) from SAVEPOINT_TEST");
+        try {
+            rs.next();
+            return rs.getInt(1);
+        } finally {
+            rs.close();
+        }
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright 2014-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.utflute.guice.transaction;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import javax.sql.DataSource;
+
+import org.dbflute.utflute.guice.MockUnitTestCase;
+import org.h2.jdbcx.JdbcDataSource;
+
+import com.google.inject.Module;
+
+/**
+ * @author jflute
+ * @since 0.9.9 (2026/10/18 Sunday)
+ */
+public class WorkerTransactionTest extends MockUnitTestCase {
+
+    @Override
+    protected List<Module> prepareModuleList() {
+        final List<Module> moduleList = super.prepareModuleList();
+        final JdbcDataSource realDataSource = new JdbcDataSource();
+        realDataSource.setURL("jdbc:h2:mem:workertx;DB_CLOSE_DELAY=-1");
+        realDataSource.setUser("sa");
+        moduleList.add(new GuiceLightTransactionModule(realDataSource));
+        return moduleList;
+    }
+
+    @Override
+    protected TransactionModule createTransactionModule() {
+        return null; // light transaction for own database
+    }
+
+    @Override
+    public void setUp() throws Exception {
+        super.setUp();
+        Connection conn = getRealDataSource().getConnection(); // out of transaction
+        try {
+            conn.createStatement().execute("create table if not exists WORKER_TEST (ID int)");
+        } finally {
+            conn.close();
+        }
+    }
+
+    public void test_inWorkerTransaction_perThread() throws Exception {
+        // ## Arrange ##
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            // ## Act ##
+            for (int i = 0; i < 10; i++) {
+                final int id = i;
+                executor.submit(inWorkerTransaction(() -> {
+                    insertRow(id);
+                })).get();
+            }
+            Future<Integer> countFuture = executor.submit(inWorkerTransaction(() -> countRow(getDataSource())));
+
+            // ## Assert ##
+            assertTrue(countFuture.get() > 0); // sees own rows in resumed transaction
+            int workerCount = xgetWorkerTransactionRegistry().size();
+            assertTrue(workerCount >= 1 && workerCount <= 2);
+            assertEquals(0, countRow(getRealDataSource())); // not committed
+            xrollbackWorkerTransaction();
+            assertEquals(0, countRow(getRealDataSource()));
+            assertTrue(xgetWorkerTransactionRegistry().isClosed());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    public void test_inWorkerTransaction_callerRuns() throws Exception {
+        // ## Arrange ##
+        // ## Act ##
+        int count = inWorkerTransaction(() -> { // in test case transaction
+            insertRow(1);
+            return countRow(getDataSource());
+        }).call();
+
+        // ## Assert ##
+        assertEquals(1, count);
+        assertEquals(0, xgetWorkerTransactionRegistry().size());
+    }
+
+    protected DataSource getRealDataSource() {
+        return ((GuiceLightTransactionDataSource) getDataSource()).getRealDataSource();
+    }
+
+    protected void insertRow(int id) {
+        try {
+            Connection conn = getDataSource().getConnection();
+            try {
+                conn.createStatement().executeUpdate("insert into WORKER_TEST values (" + id + ")");
+            } finally {
+                conn.close();
+            }
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    protected int countRow(DataSource dataSource) throws Exception {
+        Connection conn = dataSource.getConnection();
+        try {
+            ResultSet rs = conn.createStatement().executeQuery("select count(*) from WORKER_TEST");
+            rs.next();
+            return rs.getInt(1);
+        } finally {
+            conn.close();
+        }
+    }
+}